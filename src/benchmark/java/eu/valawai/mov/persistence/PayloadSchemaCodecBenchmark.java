@@ -0,0 +1,175 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import static eu.valawai.mov.api.v1.components.PayloadSchemaTestCase.nextPayloadSchema;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.RawBsonDocumentCodec;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.valawai.mov.api.v1.components.PayloadSchema;
+
+/**
+ * Compare the {@link PayloadSchemaCodec} with the {@link JacksonCodec} that was
+ * used before to store the payload schemas. Run it with:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=PayloadSchemaCodecBenchmark
+ * </pre>
+ *
+ * @see PayloadSchemaCodec
+ * @see JacksonCodec
+ *
+ * @author VALAWAI
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadSchemaCodecBenchmark {
+
+	/**
+	 * The maximum depth of the schemas to encode.
+	 */
+	@Param({ "2", "4" })
+	public int depth;
+
+	/**
+	 * The codec that read and write the BSON values.
+	 */
+	private final PayloadSchemaCodec codec = new PayloadSchemaCodec();
+
+	/**
+	 * The codec that convert the schemas to JSON.
+	 */
+	private final JacksonCodec<PayloadSchema> jackson = new JacksonCodec<>(new ObjectMapper(),
+			new RawBsonDocumentCodec(), PayloadSchema.class);
+
+	/**
+	 * The schema to encode.
+	 */
+	private PayloadSchema schema;
+
+	/**
+	 * The document to decode.
+	 */
+	private RawBsonDocument document;
+
+	/**
+	 * Create the schema and the document to use on the benchmarks.
+	 */
+	@Setup
+	public void setup() {
+
+		this.schema = nextPayloadSchema(this.depth);
+		this.document = encode(this.codec, this.schema);
+	}
+
+	/**
+	 * Encode a schema into a binary document.
+	 *
+	 * @param codec  to use.
+	 * @param schema to encode.
+	 *
+	 * @return the encoded document.
+	 */
+	private static RawBsonDocument encode(Codec<PayloadSchema> codec, PayloadSchema schema) {
+
+		final var buffer = new BasicOutputBuffer();
+		try (var writer = new BsonBinaryWriter(buffer)) {
+
+			codec.encode(writer, schema, EncoderContext.builder().build());
+		}
+		return new RawBsonDocument(buffer.toByteArray());
+	}
+
+	/**
+	 * Decode a schema from a binary document.
+	 *
+	 * @param codec    to use.
+	 * @param document to decode.
+	 *
+	 * @return the decoded schema.
+	 */
+	private static PayloadSchema decode(Codec<PayloadSchema> codec, RawBsonDocument document) {
+
+		try (var reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+
+			return codec.decode(reader, DecoderContext.builder().build());
+		}
+	}
+
+	/**
+	 * Encode with the BSON codec.
+	 *
+	 * @return the encoded document.
+	 */
+	@Benchmark
+	public RawBsonDocument encodeWithCodec() {
+
+		return encode(this.codec, this.schema);
+	}
+
+	/**
+	 * Encode with jackson.
+	 *
+	 * @return the encoded document.
+	 */
+	@Benchmark
+	public RawBsonDocument encodeWithJackson() {
+
+		return encode(this.jackson, this.schema);
+	}
+
+	/**
+	 * Decode with the BSON codec.
+	 *
+	 * @return the decoded schema.
+	 */
+	@Benchmark
+	public PayloadSchema decodeWithCodec() {
+
+		return decode(this.codec, this.document);
+	}
+
+	/**
+	 * Decode with jackson.
+	 *
+	 * @return the decoded schema.
+	 */
+	@Benchmark
+	public PayloadSchema decodeWithJackson() {
+
+		return decode(this.jackson, this.document);
+	}
+
+}
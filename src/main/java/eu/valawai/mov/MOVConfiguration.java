@@ -8,14 +8,17 @@
 
 package eu.valawai.mov;
 
+import java.util.Map;
 import java.util.Optional;
 
 import org.bson.types.ObjectId;
 
+import eu.valawai.mov.api.v1.logs.LogLevel;
 import io.quarkus.arc.Unremovable;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithDefaults;
 
 /**
  * The configuration properties of the master of VALAWAI.
@@ -81,6 +84,37 @@ public interface MOVConfiguration {
 		 */
 		public Optional<String> topologyPath();
 
+		/**
+		 * Check if the search tokens have been added to the models stored before the
+		 * tokens were defined.
+		 *
+		 * @return {@code true} if the missing search tokens have been added.
+		 */
+		@WithDefault("false")
+		public boolean searchTokensAdded();
+
+		/**
+		 * Check if the summary of the component has been added to the logs stored
+		 * before the summary was defined.
+		 *
+		 * @return {@code true} if the missing components of the logs have been
+		 *         added.
+		 */
+		@WithDefault("false")
+		public boolean logComponentsAdded();
+
+		/**
+		 * The maximum time, in milliseconds, that the start up waits for the indexes
+		 * of the collections. When it is exceeded the MOV starts and the indexes
+		 * continue building in background.
+		 *
+		 * @return the milliseconds to wait for the indexes.
+		 *
+		 * @see eu.valawai.mov.persistence.IndexManager
+		 */
+		@WithDefault("10000")
+		public long indexesTimeout();
+
 	}
 
 	/**
@@ -88,6 +122,17 @@ public interface MOVConfiguration {
 	 */
 	public static final String TOPOLOGY_ID_NAME = "mov.init.topology-id";
 
+	/**
+	 * The property name that marks that the missing search tokens have been added.
+	 */
+	public static final String SEARCH_TOKENS_ADDED_NAME = "mov.init.search-tokens-added";
+
+	/**
+	 * The property name that marks that the missing components of the logs have
+	 * been added.
+	 */
+	public static final String LOG_COMPONENTS_ADDED_NAME = "mov.init.log-components-added";
+
 	/**
 	 * Enumerates the possible modes for maintaining components on startup.
 	 */
@@ -274,4 +319,430 @@ public interface MOVConfiguration {
 		 */
 		APPLY_TOPOLOGY_OR_AUTO_DISCOVER
 	}
+
+	/**
+	 * The configurations used to convert the messages that pass thought the
+	 * connections.
+	 *
+	 * @return the configuration of the converters.
+	 */
+	public Converters converters();
+
+	/**
+	 * The configuration of the cache of compiled converters.
+	 */
+	interface Converters {
+
+		/**
+		 * The maximum number of different converter codes to maintain compiled.
+		 *
+		 * @return the maximum number of converter codes on the cache.
+		 */
+		@WithDefault("256")
+		int cacheSize();
+
+		/**
+		 * The maximum number of idle instances to maintain for each converter code.
+		 *
+		 * @return the maximum number of instances to reuse for a converter code.
+		 */
+		@WithDefault("4")
+		int poolSize();
+
+	}
+
+	/**
+	 * The configurations of the catalog with the live components.
+	 *
+	 * @return the configuration of the catalog.
+	 */
+	public Catalog catalog();
+
+	/**
+	 * The configuration of the catalog that maintains in memory the live
+	 * components.
+	 */
+	interface Catalog {
+
+		/**
+		 * The maximum number of components to maintain on the catalog. The
+		 * components that are not on the catalog are obtained from the database.
+		 *
+		 * @return the maximum number of components of the catalog.
+		 */
+		@WithDefault("10000")
+		int maxSize();
+
+		/**
+		 * The maximum number of results to maintain on the cache of the payload
+		 * schemas that match.
+		 *
+		 * @return the maximum number of match results on the cache.
+		 */
+		@WithDefault("10000")
+		int matchCacheSize();
+
+	}
+
+	/**
+	 * The configurations used to route the messages thought the connections.
+	 *
+	 * @return the configuration of the routing.
+	 */
+	public Routing routing();
+
+	/**
+	 * The configuration of the pipeline that route the messages received from a
+	 * source channel.
+	 */
+	interface Routing {
+
+		/**
+		 * The maximum number of messages that the broker deliver to a source channel
+		 * listener without being acknowledged.
+		 *
+		 * @return the prefetch count of the source channel consumers.
+		 */
+		@WithDefault("256")
+		int prefetch();
+
+		/**
+		 * The maximum number of messages of a source channel that can be routed at the
+		 * same time. When the delivery is {@link DeliveryMode#AT_LEAST_ONCE} this is
+		 * the window of messages that wait for the confirmation of the broker.
+		 *
+		 * @return the maximum number of messages in flight for each source channel.
+		 */
+		@WithDefault("64")
+		int maxInFlight();
+
+		/**
+		 * The guarantee to deliver the messages that pass thought the connections.
+		 *
+		 * @return the delivery mode of the routed messages.
+		 */
+		@WithDefault("AT_MOST_ONCE")
+		DeliveryMode delivery();
+
+		/**
+		 * The prefix of the queues where are sent the messages that cannot be
+		 * delivered thought a connection. The identifier of the connection is added to
+		 * this prefix to obtain the name of its dead-letter queue.
+		 *
+		 * @return the prefix of the dead-letter queues of the connections.
+		 */
+		@WithDefault("valawai/mov/dead_letter/")
+		String deadLetterPrefix();
+
+		/**
+		 * The maximum number of times to retry to store a message in the dead-letter
+		 * queue of a connection. If the message cannot be stored after these retries
+		 * the received message is returned to its queue to route it again.
+		 *
+		 * @return the maximum retries to store a message in a dead-letter queue.
+		 */
+		@WithDefault("3")
+		int deadLetterRetries();
+
+		/**
+		 * Enable to bind the targets of the connections that do not require any
+		 * conversion directly to an exchange of its source channel. The messages of
+		 * the source channel are published once on the exchange and the broker
+		 * deliver them to all these targets.
+		 *
+		 * @return {@code true} if the connections without conversion are bound on the
+		 *         broker.
+		 */
+		@WithDefault("false")
+		boolean directBindings();
+
+		/**
+		 * The prefix of the exchanges used to bind the targets of a source channel.
+		 * The name of the source channel is added to this prefix to obtain the name
+		 * of its exchange.
+		 *
+		 * @return the prefix of the exchanges of the source channels.
+		 */
+		@WithDefault("valawai/mov/source/")
+		String exchangePrefix();
+
+	}
+
+	/**
+	 * The configurations used to publish the messages to the broker.
+	 *
+	 * @return the configuration of the publication.
+	 */
+	public Publish publish();
+
+	/**
+	 * The configuration of the lanes used to publish the messages.
+	 */
+	interface Publish {
+
+		/**
+		 * The maximum number of messages of a lane that can wait for the
+		 * confirmation of the broker.
+		 *
+		 * @return the size of the window of messages waiting for confirmation.
+		 */
+		@WithDefault("1024")
+		int confirmWindow();
+
+		/**
+		 * The maximum time, in milliseconds, that a published message can wait for
+		 * the confirmation of the broker. When it is exceeded the publication fails
+		 * and the message leaves the window of messages waiting for confirmation.
+		 *
+		 * @return the milliseconds to wait for the confirmation of a message.
+		 */
+		@WithDefault("30000")
+		long confirmTimeout();
+
+		/**
+		 * The number of messages that have to be waiting before publishing them. If
+		 * it is {@code 0} the messages are published as soon as they are requested.
+		 * Otherwise the messages are held until this number of messages is waiting or
+		 * the linger time has passed, and then they are published one after another.
+		 * It only reduces the number of times that the lane is woken up, each message
+		 * is still published on its own.
+		 *
+		 * @return the number of messages to wait for before publishing them.
+		 *
+		 * @see #lingerDelay()
+		 */
+		@WithDefault("0")
+		int lingerSize();
+
+		/**
+		 * The maximum time, in milliseconds, that a message is held waiting for other
+		 * messages to be published with it.
+		 *
+		 * @return the milliseconds to wait before publishing the held messages.
+		 *
+		 * @see #lingerSize()
+		 */
+		@WithDefault("1")
+		long lingerDelay();
+
+	}
+
+	/**
+	 * Enumerates the possible guarantees to deliver the routed messages.
+	 */
+	public enum DeliveryMode {
+
+		/**
+		 * A received message is acknowledged when the broker has answered the
+		 * publication of the messages sent to the targets, even if it has not
+		 * accepted them. The messages are not persistent and, if the publication
+		 * fails, the failure is only reported on the logs, so the message may be lost.
+		 */
+		AT_MOST_ONCE,
+
+		/**
+		 * A received message is acknowledged only when the broker has confirmed the
+		 * persistent messages sent to the target and to all the enabled
+		 * notifications, or when the messages that cannot be confirmed have been
+		 * stored in the dead-letter queue of the connection. If they cannot be stored
+		 * in the dead-letter queue after the configured retries, the received message
+		 * is returned to its queue to route it again. So a message is never lost, but
+		 * a target or a notified component may receive it more than once.
+		 *
+		 * @see Routing#deadLetterRetries()
+		 */
+		AT_LEAST_ONCE;
+	}
+
+	/**
+	 * The configurations used to store the log messages.
+	 *
+	 * @return the configuration of the logs.
+	 */
+	public Logs logs();
+
+	/**
+	 * The configuration to decide which log messages are stored in the database.
+	 */
+	interface Logs {
+
+		/**
+		 * The minimum level that a log message generated by the MOV must have to be
+		 * stored. The logs submitted by the components are always stored.
+		 *
+		 * @return the minimum level of the log messages to store.
+		 */
+		@WithDefault("DEBUG")
+		LogLevel persistLevel();
+
+		/**
+		 * The sampling rate for the different types of log messages. If a type has a
+		 * rate of {@code N} only one of each {@code N} log messages of this type will
+		 * be stored.
+		 *
+		 * @return the sampling rate for each log message type.
+		 */
+		@WithDefaults
+		Map<String, Integer> sampling();
+
+		/**
+		 * The maximum number of log messages that can wait to be stored.
+		 *
+		 * @return the capacity of the queue of log messages to store.
+		 */
+		@WithDefault("10000")
+		int queueCapacity();
+
+		/**
+		 * The maximum number of log messages to store at the same time.
+		 *
+		 * @return the maximum size of a batch of log messages to store.
+		 */
+		@WithDefault("500")
+		int batchSize();
+
+		/**
+		 * The maximum time, in milliseconds, that a log message waits before it is
+		 * stored.
+		 *
+		 * @return the milliseconds between the storage of the pending log messages.
+		 */
+		@WithDefault("200")
+		long flushInterval();
+
+		/**
+		 * The maximum time, in milliseconds, to wait for the pending log messages to be
+		 * stored when the MOV is shutting down.
+		 *
+		 * @return the milliseconds to wait to store the pending log messages.
+		 */
+		@WithDefault("5000")
+		long shutdownTimeout();
+
+		/**
+		 * Define what to do when a log message must be stored and the queue is full.
+		 *
+		 * @return the policy to apply when the queue of log messages is full.
+		 */
+		@WithDefault("DROP_OLDEST")
+		LogOverflowPolicy overflowPolicy();
+
+		/**
+		 * The configuration of how long the log messages are maintained.
+		 *
+		 * @return the retention of the stored log messages.
+		 */
+		LogRetention retention();
+
+		/**
+		 * The configuration of how the payloads of the log messages are stored.
+		 *
+		 * @return the storage of the payloads of the log messages.
+		 */
+		LogPayload payload();
+
+	}
+
+	/**
+	 * The configuration of how the payloads of the log messages are stored in the
+	 * database.
+	 */
+	interface LogPayload {
+
+		/**
+		 * The maximum number of characters of the compact JSON of a payload. The
+		 * larger payloads are truncated and marked as truncated. If it is zero or less
+		 * the payloads are never truncated.
+		 *
+		 * @return the maximum size of a stored payload.
+		 */
+		@WithDefault("65536")
+		int maxSize();
+
+		/**
+		 * Check if the large payloads have to be compressed.
+		 *
+		 * @return {@code true} if the payloads larger than the
+		 *         {@link #compressThreshold()} are compressed.
+		 */
+		@WithDefault("false")
+		boolean compress();
+
+		/**
+		 * The number of characters of the compact JSON of a payload from which it is
+		 * compressed, if the compression is enabled.
+		 *
+		 * @return the minimum size of a payload to be compressed.
+		 */
+		@WithDefault("16384")
+		int compressThreshold();
+
+	}
+
+	/**
+	 * The configuration of how long the log messages are maintained in the
+	 * database.
+	 */
+	interface LogRetention {
+
+		/**
+		 * The seconds that a log message is maintained before it is removed. If it is
+		 * zero or less, the log messages are never expired.
+		 *
+		 * @return the seconds to maintain a log message.
+		 */
+		@WithDefault("604800")
+		long ttl();
+
+		/**
+		 * The seconds that the log messages of a level are maintained. The levels that
+		 * are not defined use the {@link #ttl()}.
+		 *
+		 * @return the seconds to maintain the log messages of each level.
+		 */
+		@WithDefaults
+		Map<String, Long> levels();
+
+		/**
+		 * The maximum number of log messages to maintain. When there are more log
+		 * messages, the oldest ones are removed. If it is zero or less, there is no
+		 * limit.
+		 *
+		 * @return the maximum number of log messages to store.
+		 */
+		@WithDefault("0")
+		long maxRecords();
+
+		/**
+		 * The time, in milliseconds, between the checks of the maximum number of log
+		 * messages.
+		 *
+		 * @return the milliseconds between the checks of the size of the logs.
+		 */
+		@WithDefault("60000")
+		long checkInterval();
+
+	}
+
+	/**
+	 * Enumerates the possible actions to do when the queue of log messages to
+	 * store is full.
+	 */
+	public enum LogOverflowPolicy {
+
+		/**
+		 * Remove the oldest log message of the queue.
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * Remove the debug log messages before any other message.
+		 */
+		DROP_DEBUG_FIRST,
+
+		/**
+		 * Wait until the queue has space for the log message.
+		 */
+		BLOCK;
+	}
 }
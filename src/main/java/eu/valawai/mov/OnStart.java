@@ -13,16 +13,26 @@ import java.util.regex.Pattern;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import eu.valawai.mov.MOVConfiguration.UpdateMode;
+import eu.valawai.mov.events.components.ComponentCatalog;
+import eu.valawai.mov.events.topology.DirectBindingService;
+import eu.valawai.mov.events.topology.TopologyRoutingTable;
+import eu.valawai.mov.persistence.AddMissingSearchTokens;
+import eu.valawai.mov.persistence.design.component.ComponentDefinitionEntity;
+import eu.valawai.mov.persistence.live.components.AddMissingChannelIndex;
 import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import eu.valawai.mov.persistence.live.components.FinishAllComponents;
 import eu.valawai.mov.persistence.live.logs.AddLog;
+import eu.valawai.mov.persistence.live.logs.AddMissingLogComponents;
+import eu.valawai.mov.persistence.live.logs.LogEntity;
 import eu.valawai.mov.persistence.live.topology.DeleteAllTopologyConnections;
 import eu.valawai.mov.persistence.live.topology.DisableAllTopologyConnections;
 import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
 import eu.valawai.mov.services.ComponenetLibraryService;
+import eu.valawai.mov.services.LocalConfigService;
 import io.quarkus.logging.Log;
 import io.quarkus.runtime.StartupEvent;
 import io.smallrye.config.Priorities;
+import io.smallrye.mutiny.Uni;
 import io.vertx.mutiny.core.http.HttpHeaders;
 import io.vertx.mutiny.ext.web.Router;
 import io.vertx.mutiny.ext.web.RoutingContext;
@@ -68,6 +78,30 @@ public class OnStart {
 	@Inject
 	ComponenetLibraryService libraryService;
 
+	/**
+	 * The service to store the local configuration of the MOV.
+	 */
+	@Inject
+	LocalConfigService configService;
+
+	/**
+	 * The table with the enabled connections to route the messages.
+	 */
+	@Inject
+	TopologyRoutingTable routes;
+
+	/**
+	 * The service to maintain the bindings of the connections routed by the broker.
+	 */
+	@Inject
+	DirectBindingService bindings;
+
+	/**
+	 * The catalog with the live components.
+	 */
+	@Inject
+	ComponentCatalog catalog;
+
 	/**
 	 * Called when the application has been started.
 	 *
@@ -76,7 +110,12 @@ public class OnStart {
 	public void handle(@Observes @Priority(Priorities.APPLICATION + 23) StartupEvent event) {
 
 		this.initComponents();
+		this.initChannelIndex();
+		this.initCatalog();
 		this.initConnections();
+		this.initRoutes();
+		this.initSearchTokens();
+		this.initLogComponents();
 
 		final var updateConentsLibraryMode = this.conf.init().updateComponentsLibrary();
 		if (updateConentsLibraryMode == UpdateMode.ALWAYS
@@ -114,6 +153,46 @@ public class OnStart {
 
 	}
 
+	/**
+	 * Add the channel index to the {@link ComponentEntity} that have been stored
+	 * without it.
+	 *
+	 * @see AddMissingChannelIndex
+	 */
+	private void initChannelIndex() {
+
+		AddMissingChannelIndex.fresh().execute().chain(updated -> {
+
+			if (updated > 0) {
+
+				return AddLog.fresh().withInfo().withMessage("Indexed the channels of {0} components", updated)
+						.execute();
+
+			} else {
+
+				return Uni.createFrom().nullItem();
+			}
+
+		}).onFailure().recoverWithUni(
+				cause -> AddLog.fresh().withError(cause).withMessage("Could not index the channels.").execute())
+				.await().indefinitely();
+
+	}
+
+	/**
+	 * Load the catalog with the live {@link ComponentEntity}.
+	 */
+	private void initCatalog() {
+
+		this.catalog.reload()
+				.chain(any -> AddLog.fresh().withInfo()
+						.withMessage("Loaded the catalog with {0} components", this.catalog.size()).execute())
+				.onFailure().recoverWithUni(
+						cause -> AddLog.fresh().withError(cause).withMessage("Could not load the catalog.").execute())
+				.await().indefinitely();
+
+	}
+
 	/**
 	 * Adapt the {@link TopologyConnectionEntity} when the MOV start.
 	 */
@@ -136,6 +215,82 @@ public class OnStart {
 
 	}
 
+	/**
+	 * Load the routing table from the enabled {@link TopologyConnectionEntity}.
+	 */
+	private void initRoutes() {
+
+		this.routes.reload().call(any -> this.bindings.synchronizeAll())
+				.chain(any -> AddLog.fresh().withInfo()
+						.withMessage("Loaded the routing table with {0} connections",
+								this.routes.routes().byId().size())
+						.execute())
+				.onFailure().recoverWithUni(cause -> AddLog.fresh().withError(cause)
+						.withMessage("Could not load the routing table.").execute())
+				.await().indefinitely();
+
+	}
+
+	/**
+	 * Add in background the search tokens to the logs and component definitions
+	 * that have been stored without them. When all of them have been updated it
+	 * is marked on the local configuration, so the collections are not checked
+	 * again on the next starts.
+	 *
+	 * @see AddMissingSearchTokens
+	 * @see MOVConfiguration#SEARCH_TOKENS_ADDED_NAME
+	 */
+	private void initSearchTokens() {
+
+		if (this.conf.init().searchTokensAdded()) {
+
+			return;
+		}
+
+		AddMissingSearchTokens.fresh().withCollection(ComponentDefinitionEntity.mongoCollection())
+				.withFields("name", "description").execute()
+				.chain(definitions -> AddMissingSearchTokens.fresh().withCollection(LogEntity.mongoCollection())
+						.withFields("message").execute().map(logs -> definitions + logs))
+				.subscribe().with(updated -> {
+
+					if (updated > 0) {
+
+						AddLog.fresh().withInfo().withMessage("Added the search tokens to {0} models", updated).store();
+					}
+					this.configService.setPropertyAsync(MOVConfiguration.SEARCH_TOKENS_ADDED_NAME, "true");
+
+				}, error -> AddLog.fresh().withError(error).withMessage("Could not add the missing search tokens.")
+						.store());
+
+	}
+
+	/**
+	 * Add in background the summary of the component to the logs that have been
+	 * stored without it. When all of them have been updated it is marked on the
+	 * local configuration, so the logs are not checked again on the next starts.
+	 *
+	 * @see AddMissingLogComponents
+	 * @see MOVConfiguration#LOG_COMPONENTS_ADDED_NAME
+	 */
+	private void initLogComponents() {
+
+		if (this.conf.init().logComponentsAdded()) {
+
+			return;
+		}
+
+		AddMissingLogComponents.fresh().execute().subscribe().with(updated -> {
+
+			if (updated > 0) {
+
+				AddLog.fresh().withInfo().withMessage("Added the component to {0} logs", updated).store();
+			}
+			this.configService.setPropertyAsync(MOVConfiguration.LOG_COMPONENTS_ADDED_NAME, "true");
+
+		}, error -> AddLog.fresh().withError(error).withMessage("Could not add the component to the logs.").store());
+
+	}
+
 	/**
 	 * Called when the application has been started.
 	 *
@@ -21,6 +21,7 @@ import org.eclipse.microprofile.reactive.messaging.Emitter;
 
 import eu.valawai.mov.events.components.RegisterComponentPayload;
 import eu.valawai.mov.events.components.UnregisterComponentPayload;
+import eu.valawai.mov.persistence.PageTotal;
 import eu.valawai.mov.persistence.live.components.GetComponent;
 import eu.valawai.mov.persistence.live.components.GetMinComponentPage;
 import io.quarkus.logging.Log;
@@ -81,6 +82,8 @@ public class ComponentResource {
 	 * @param order               to return the components.
 	 * @param offset              to the first component to return.
 	 * @param limit               number maximum of components to return.
+	 * @param after               cursor to the last element of the previous page.
+	 * @param total               how to obtain the total number of components.
 	 *
 	 * @return the matching components page.
 	 */
@@ -96,11 +99,16 @@ public class ComponentResource {
 			@Parameter(description = "This is true if the component must have at least one subscribe channel.") @QueryParam("hasSubscribeChannel") @DefaultValue("false") final boolean hasSubscribeChannel,
 			@Parameter(description = "The order in witch the components has to be returned. It is form by the field names, separated by a comma, and each of it with the - prefix for descending order or + for ascending.") @QueryParam("order") @DefaultValue("+since") @Valid @Pattern(regexp = "(,?[+|-]?[type|name|description|since])*") final String order,
 			@Parameter(description = "The index of the first component to return") @QueryParam("offset") @DefaultValue("0") @Valid @Min(0) final int offset,
-			@Parameter(description = "The maximum number of components to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit) {
+			@Parameter(description = "The maximum number of components to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit,
+			@Parameter(description = "The cursor returned on the previous page to obtain the components that follow it. If it is empty the first page is returned. When it is defined the offset is ignored.") @QueryParam("after") @Valid @Pattern(regexp = "[A-Za-z0-9_-]*") final String after,
+			@Parameter(description = "How to obtain the total number of components that satisfy the query.") @QueryParam("total") @DefaultValue("EXACT") final PageTotal total) {
 
 		return GetMinComponentPage.fresh().withPattern(pattern).withType(type)
 				.withAtLeastOnePublishChannel(hasPublishChannel).withAtLeastOneSubscribeChannel(hasSubscribeChannel)
-				.withOrder(order).withOffset(offset).withLimit(limit).execute().map(page -> Response.ok(page).build());
+				.withOrder(order).withOffset(offset).withLimit(limit).withAfter(after).withTotal(total).execute()
+				.map(page -> Response.ok(page).build())
+				.onFailure(IllegalArgumentException.class)
+				.recoverWithItem(error -> Response.status(Status.BAD_REQUEST).entity(error.getMessage()).build());
 
 	}
 
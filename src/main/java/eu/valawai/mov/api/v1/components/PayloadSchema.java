@@ -12,6 +12,7 @@ import java.util.Map;
 
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -51,6 +52,12 @@ public abstract class PayloadSchema extends Model {
 	@Schema(description = "The type of payload.")
 	public PayloadType type;
 
+	/**
+	 * The fingerprint of the schema, calculated the first time it is required.
+	 */
+	@JsonIgnore
+	private transient String fingerprint;
+
 	/**
 	 * Check if this schema match another schema.
 	 *
@@ -96,6 +103,23 @@ public abstract class PayloadSchema extends Model {
 
 	}
 
+	/**
+	 * Return the fingerprint of the schema. The fingerprint is calculated only the
+	 * first time, so the schema must not be modified after calling this method.
+	 *
+	 * @return the fingerprint that identify the payload defined by this schema.
+	 *
+	 * @see PayloadSchemaFingerprint
+	 */
+	public String fingerprint() {
+
+		if (this.fingerprint == null) {
+
+			this.fingerprint = PayloadSchemaFingerprint.of(this);
+		}
+		return this.fingerprint;
+	}
+
 	/**
 	 * Check if this schema match another schema.
 	 *
@@ -0,0 +1,150 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v1.components;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Calculate the fingerprint of a {@link PayloadSchema}. The fingerprint is the
+ * SHA-256 of a canonical text that contains all the values of the schema, so
+ * two schemas have the same fingerprint only if they define the same payload.
+ * The properties of the objects and the values of the enumerations are already
+ * sorted, so the order that they have been defined does not change the
+ * fingerprint.
+ *
+ * @see PayloadSchema#fingerprint()
+ *
+ * @author VALAWAI
+ */
+final class PayloadSchemaFingerprint {
+
+	/**
+	 * Not used.
+	 */
+	private PayloadSchemaFingerprint() {
+
+	}
+
+	/**
+	 * Calculate the fingerprint of a schema.
+	 *
+	 * @param schema to calculate the fingerprint.
+	 *
+	 * @return the fingerprint of the schema.
+	 */
+	static String of(PayloadSchema schema) {
+
+		final var canonical = new StringBuilder();
+		append(canonical, schema);
+		try {
+
+			final var digest = MessageDigest.getInstance("SHA-256")
+					.digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest).intern();
+
+		} catch (final NoSuchAlgorithmException error) {
+
+			throw new IllegalStateException("Cannot calculate the fingerprint of the schema.", error);
+		}
+	}
+
+	/**
+	 * Append the canonical text of a schema.
+	 *
+	 * @param canonical where append the schema.
+	 * @param schema    to append.
+	 */
+	private static void append(StringBuilder canonical, PayloadSchema schema) {
+
+		if (schema == null) {
+
+			canonical.append("null");
+			return;
+		}
+
+		canonical.append('{').append(schema.getClass().getSimpleName()).append(':').append(schema.type);
+		if (schema instanceof final BasicPayloadSchema basic) {
+
+			canonical.append(",format:").append(basic.format);
+
+		} else if (schema instanceof final EnumPayloadSchema enumeration) {
+
+			canonical.append(",values:[");
+			if (enumeration.values != null) {
+
+				for (final var value : enumeration.values) {
+
+					appendString(canonical, value);
+					canonical.append(',');
+				}
+			}
+			canonical.append(']');
+
+		} else if (schema instanceof final ObjectPayloadSchema object) {
+
+			canonical.append(",id:").append(object.id).append(",properties:{");
+			if (object.properties != null) {
+
+				for (final var entry : object.properties.entrySet()) {
+
+					appendString(canonical, entry.getKey());
+					canonical.append(':');
+					append(canonical, entry.getValue());
+					canonical.append(',');
+				}
+			}
+			canonical.append('}');
+
+		} else if (schema instanceof final DiversePayloadSchema diverse) {
+
+			canonical.append(",items:[");
+			if (diverse.items != null) {
+
+				for (final var item : diverse.items) {
+
+					append(canonical, item);
+					canonical.append(',');
+				}
+			}
+			canonical.append(']');
+
+		} else if (schema instanceof final ConstantPayloadSchema constant) {
+
+			canonical.append(",value:");
+			appendString(canonical, constant.value);
+
+		} else if (schema instanceof final ReferencePayloadSchema reference) {
+
+			canonical.append(",identifier:").append(reference.identifier);
+		}
+		canonical.append('}');
+	}
+
+	/**
+	 * Append a string value with its length, so any character can be used on it.
+	 *
+	 * @param canonical where append the value.
+	 * @param value     to append.
+	 */
+	private static void appendString(StringBuilder canonical, String value) {
+
+		if (value == null) {
+
+			canonical.append("null");
+
+		} else {
+
+			canonical.append(value.length()).append('"').append(value).append('"');
+		}
+	}
+
+}
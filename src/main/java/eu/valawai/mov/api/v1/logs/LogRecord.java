@@ -39,6 +39,13 @@ public class LogRecord extends Model {
 	@Schema(description = "The payload associated to the log. It is a JSON encoded as a string")
 	public String payload;
 
+	/**
+	 * This is {@code true} if the payload has been truncated because it is too
+	 * large.
+	 */
+	@Schema(description = "This is true if the payload has been truncated because it is too large, so it may not be a valid JSON.")
+	public boolean payloadTruncated;
+
 	/**
 	 * The component that has generated this log.
 	 */
@@ -42,4 +42,11 @@ public class LogRecordPage extends Model {
 	@Schema(description = "The logs that satisfy the query")
 	public List<LogRecord> logs;
 
+	/**
+	 * The cursor to obtain the next page, or {@code null} if there are no more
+	 * logs or the page has not been obtained with a cursor.
+	 */
+	@Schema(description = "The cursor to use as the after parameter to obtain the next page. It is not defined if there are no more logs or the page has not been obtained with a cursor.")
+	public String next;
+
 }
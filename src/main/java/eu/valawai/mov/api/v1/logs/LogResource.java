@@ -15,9 +15,12 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import eu.valawai.mov.persistence.PageTotal;
 import eu.valawai.mov.persistence.live.logs.GetLogRecordPage;
+import eu.valawai.mov.persistence.live.logs.LogRetentionService;
 import io.quarkus.logging.Log;
 import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
@@ -29,6 +32,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
 
 /**
  * Web services to manage the {@link Log}s.
@@ -43,10 +47,17 @@ import jakarta.ws.rs.core.Response;
 @Tag(name = "Log", description = "The services to manage the log messages")
 public class LogResource {
 
+	/**
+	 * The service that maintains the retention of the logs.
+	 */
+	@Inject
+	LogRetentionService retention;
+
 	/**
 	 * Get the information of some logs.
 	 *
 	 * @param pattern          to match the logs message.
+	 * @param search           words to search in the logs message.
 	 * @param level            to match the logs.
 	 * @param componentPattern to match the name or description of the components
 	 *                         associated to the logs message.
@@ -55,6 +66,8 @@ public class LogResource {
 	 * @param order            to return the logs.
 	 * @param offset           to the first log to return.
 	 * @param limit            number maximum of logs to return.
+	 * @param after            cursor to the last element of the previous page.
+	 * @param total            how to obtain the total number of logs.
 	 *
 	 * @return the matching logs page.
 	 */
@@ -65,16 +78,38 @@ public class LogResource {
 	@APIResponse(responseCode = "404", description = "When a parameter is not valid.")
 	public Uni<Response> getLogRecordPage(
 			@Parameter(description = "The pattern to match the message of the logs to return. If it is defined between / it is considered a PCRE regular expression.") @QueryParam("pattern") @Valid final String pattern,
+			@Parameter(description = "The words to search in the message of the logs to return. A log matches if its message contains a word that starts with each of the words to search, ignoring the case and the accents. This search uses an index, so it is faster than a pattern.") @QueryParam("search") @Valid final String search,
 			@Parameter(description = "The level to match the logs to return. If it is defined between / it is considered a PCRE regular expression.") @QueryParam("level") @Valid final String level,
 			@Parameter(description = "The pattern to match the component name or description of the logs to return. If it is defined between / it is considered a PCRE regular expression.") @QueryParam("componentPattern") @Valid final String componentPattern,
 			@Parameter(description = "The type to match the component associated to the logs to return. If it is defined between / it is considered a PCRE regular expression.") @QueryParam("componentType") @Valid final String componentType,
 			@Parameter(description = "The order in witch the logs has to be returned. It is form by the field names, separated by a comma, and each of it with the - prefix for descending order or + for ascending.") @QueryParam("order") @DefaultValue("+timestamp") @Valid @Pattern(regexp = "(,?[+|-]?[level|message|timestamp|component.name|component.description|component.type])*") final String order,
 			@Parameter(description = "The index of the first log to return") @QueryParam("offset") @DefaultValue("0") @Valid @Min(0) final int offset,
-			@Parameter(description = "The maximum number of logs to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit) {
+			@Parameter(description = "The maximum number of logs to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit,
+			@Parameter(description = "The cursor returned on the previous page to obtain the logs that follow it. If it is empty the first page is returned. When it is defined the offset is ignored.") @QueryParam("after") @Valid @Pattern(regexp = "[A-Za-z0-9_-]*") final String after,
+			@Parameter(description = "How to obtain the total number of logs that satisfy the query.") @QueryParam("total") @DefaultValue("EXACT") final PageTotal total) {
+
+		return GetLogRecordPage.fresh().withPattern(pattern).withSearch(search).withLevel(level)
+				.withComponnetPattern(componentPattern).withComponnetType(componentType).withOrder(order)
+				.withOffset(offset).withLimit(limit).withAfter(after).withTotal(total).execute()
+				.map(page -> Response.ok(page).build())
+				.onFailure(IllegalArgumentException.class)
+				.recoverWithItem(error -> Response.status(Status.BAD_REQUEST).entity(error.getMessage()).build());
+
+	}
+
+	/**
+	 * Get the status of the retention of the logs.
+	 *
+	 * @return the status of the retention of the logs.
+	 */
+	@GET
+	@Path("/retention")
+	@Operation(description = "Obtain the status of the retention of the logs.")
+	@APIResponse(responseCode = "200", description = "The status of the retention of the logs", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = LogRetentionStatus.class)) })
+	public Uni<Response> getLogRetentionStatus() {
 
-		return GetLogRecordPage.fresh().withPattern(pattern).withLevel(level).withComponnetPattern(componentPattern)
-				.withComponnetType(componentType).withOrder(order).withOffset(offset).withLimit(limit).execute()
-				.map(page -> Response.ok(page).build());
+		return this.retention.status().map(status -> Response.ok(status).build());
 
 	}
 
@@ -0,0 +1,77 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v1.logs;
+
+import java.util.Map;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import eu.valawai.mov.api.Model;
+
+/**
+ * The status of the retention of the log messages.
+ *
+ * @author VALAWAI
+ */
+@Schema(title = "The status of the retention of the log messages.")
+public class LogRetentionStatus extends Model {
+
+	/**
+	 * The seconds that a log message is maintained if its level does not define
+	 * its retention.
+	 */
+	@Schema(description = "The seconds that a log message is maintained if its level does not define its retention. If it is zero or less the logs never expire.")
+	public long ttl;
+
+	/**
+	 * The seconds that the log messages of each level are maintained.
+	 */
+	@Schema(description = "The seconds that the log messages of each level are maintained. If it is zero or less the logs never expire.")
+	public Map<LogLevel, Long> levels;
+
+	/**
+	 * The maximum number of log messages to maintain.
+	 */
+	@Schema(description = "The maximum number of log messages to maintain. If it is zero or less there is no limit.")
+	public long maxRecords;
+
+	/**
+	 * The estimated number of stored log messages.
+	 */
+	@Schema(description = "The estimated number of stored log messages.")
+	public long records;
+
+	/**
+	 * The epoch time, in seconds, of the oldest stored log message.
+	 */
+	@Schema(description = "The epoch time, in seconds, of the oldest stored log message.")
+	public Long oldestTimestamp;
+
+	/**
+	 * The number of log messages removed because the maximum number of log messages
+	 * has been reached.
+	 */
+	@Schema(description = "The number of log messages removed because the maximum number of log messages has been reached.")
+	public long trimmed;
+
+	/**
+	 * The epoch time, in seconds, of the last time that the log messages have been
+	 * removed because the maximum number of log messages has been reached.
+	 */
+	@Schema(description = "The epoch time, in seconds, of the last time that the log messages have been removed because the maximum number of log messages has been reached.")
+	public Long lastTrimTimestamp;
+
+	/**
+	 * This is {@code true} if the index that removes the expired log messages is
+	 * ready.
+	 */
+	@Schema(description = "This is true if the index that removes the expired log messages is ready.")
+	public boolean expirationIndexReady;
+
+}
@@ -0,0 +1,71 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v1.topology;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import eu.valawai.mov.api.Model;
+import eu.valawai.mov.events.topology.TopologyAction;
+import io.quarkus.mongodb.panache.common.jackson.ObjectIdSerializer;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * The changes to do over some topology connections. The connections to change
+ * are the ones that satisfy all the defined conditions.
+ *
+ * @see ChangeConnection
+ *
+ * @author VALAWAI
+ */
+@Schema(description = "The information necessary to change some topology connections. The connections to change are the ones that satisfy all the defined conditions, and at least one must be defined.")
+public class ChangeConnections extends Model {
+
+	/**
+	 * The type of action to do on the topology.
+	 */
+	@Schema(description = "The type of action to do over the topology connections.")
+	@NotNull
+	public TopologyAction action;
+
+	/**
+	 * The identifiers of the topology connections to change.
+	 */
+	@Schema(description = "The identifiers of the topology connections to change.", examples = "[\"000000000000000000000000\"]")
+	@JsonSerialize(contentUsing = ObjectIdSerializer.class)
+	public List<ObjectId> connectionIds;
+
+	/**
+	 * The identifier of the component that is the source or target of the
+	 * connections to change.
+	 */
+	@Schema(description = "The identifier of the component that is the source or target of the connections to change.", examples = "000000000000000000000000", implementation = String.class)
+	@JsonSerialize(using = ObjectIdSerializer.class)
+	public ObjectId componentId;
+
+	/**
+	 * The name of the channel that is the source or target of the connections to
+	 * change.
+	 */
+	@Schema(description = "The name of the channel that is the source or target of the connections to change.")
+	public String channelName;
+
+	/**
+	 * The identifier of the designed topology that define the connections to
+	 * change.
+	 */
+	@Schema(description = "The identifier of the designed topology that defines the connections to change.", examples = "000000000000000000000000", implementation = String.class)
+	@JsonSerialize(using = ObjectIdSerializer.class)
+	public ObjectId topologyId;
+
+}
@@ -0,0 +1,42 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v1.topology;
+
+import org.bson.types.ObjectId;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import eu.valawai.mov.api.Model;
+import io.quarkus.mongodb.panache.common.jackson.ObjectIdSerializer;
+
+/**
+ * The result of creating a topology connection.
+ *
+ * @see ConnectionToCreate
+ *
+ * @author VALAWAI
+ */
+@Schema(description = "The result of creating a topology connection.")
+public class ConnectionCreationResult extends Model {
+
+	/**
+	 * The identifier of the created connection.
+	 */
+	@Schema(description = "The identifier of the created connection. It is not defined if the connection has not been created.", examples = "000000000000000000000000", implementation = String.class)
+	@JsonSerialize(using = ObjectIdSerializer.class)
+	public ObjectId connectionId;
+
+	/**
+	 * The reason why the connection has not been created.
+	 */
+	@Schema(description = "The reason why the connection has not been created. It is not defined if the connection has been created.")
+	public String error;
+
+}
@@ -44,4 +44,11 @@ public class MinConnectionPage extends Model {
 	@Schema(description = "The connections that satisfy the query")
 	public List<MinConnection> connections;
 
+	/**
+	 * The cursor to obtain the next page, or {@code null} if there are no more
+	 * connections or the page has not been obtained with a cursor.
+	 */
+	@Schema(description = "The cursor to use as the after parameter to obtain the next page. It is not defined if there are no more connections or the page has not been obtained with a cursor.")
+	public String next;
+
 }
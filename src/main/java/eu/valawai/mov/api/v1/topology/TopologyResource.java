@@ -8,8 +8,12 @@
 
 package eu.valawai.mov.api.v1.topology;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.bson.types.ObjectId;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
@@ -19,9 +23,12 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 
+import eu.valawai.mov.events.topology.ChangeTopologyConnectionsPayload;
 import eu.valawai.mov.events.topology.ChangeTopologyPayload;
+import eu.valawai.mov.events.topology.CreateConnectionManager;
 import eu.valawai.mov.events.topology.CreateConnectionPayload;
 import eu.valawai.mov.events.topology.NodePayload;
+import eu.valawai.mov.persistence.PageTotal;
 import eu.valawai.mov.persistence.live.topology.GetMinConnectionPage;
 import eu.valawai.mov.persistence.live.topology.GetTopologyConnection;
 import io.quarkus.logging.Log;
@@ -29,6 +36,7 @@ import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
@@ -68,6 +76,19 @@ public class TopologyResource {
 	@Channel("send_change_topology")
 	Emitter<ChangeTopologyPayload> change;
 
+	/**
+	 * The component to send the message to change some topology connections.
+	 */
+	@Inject
+	@Channel("send_change_topology_connections")
+	Emitter<ChangeTopologyConnectionsPayload> changeAll;
+
+	/**
+	 * The manager to create the topology connections.
+	 */
+	@Inject
+	CreateConnectionManager createConnections;
+
 	/**
 	 * Get the information of some connections.
 	 *
@@ -76,6 +97,8 @@ public class TopologyResource {
 	 * @param order     to return the connections.
 	 * @param offset    to the first connection to return.
 	 * @param limit     number maximum of connections to return.
+	 * @param after     cursor to the last element of the previous page.
+	 * @param total     how to obtain the total number of connections.
 	 *
 	 * @return the matching connections page.
 	 */
@@ -90,10 +113,15 @@ public class TopologyResource {
 			@Parameter(description = "The component to match the source or target of the connections to return. If it is defined between / it is considered a PCRE regular expression.") @QueryParam("component") @Valid final String component,
 			@Parameter(description = "The order in witch the connections has to be returned. It is form by the field names, separated by a comma, and each of it with the - prefix for descending order or + for ascending.") @QueryParam("order") @DefaultValue("+source") @Valid @Pattern(regexp = "(,?[+|-]?[source|target|enabled|createTimestamp|updateTimestamp])*") final String order,
 			@Parameter(description = "The index of the first connection to return") @QueryParam("offset") @DefaultValue("0") @Valid @Min(0) final int offset,
-			@Parameter(description = "The maximum number of connections to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit) {
+			@Parameter(description = "The maximum number of connections to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit,
+			@Parameter(description = "The cursor returned on the previous page to obtain the connections that follow it. If it is empty the first page is returned. When it is defined the offset is ignored.") @QueryParam("after") @Valid @Pattern(regexp = "[A-Za-z0-9_-]*") final String after,
+			@Parameter(description = "How to obtain the total number of connections that satisfy the query.") @QueryParam("total") @DefaultValue("EXACT") final PageTotal total) {
 
 		return GetMinConnectionPage.fresh().withPattern(pattern).withComponent(component).withOrder(order)
-				.withOffset(offset).withLimit(limit).execute().map(page -> Response.ok(page).build());
+				.withOffset(offset).withLimit(limit).withAfter(after).withTotal(total).execute()
+				.map(page -> Response.ok(page).build())
+				.onFailure(IllegalArgumentException.class)
+				.recoverWithItem(error -> Response.status(Status.BAD_REQUEST).entity(error.getMessage()).build());
 
 	}
 
@@ -144,6 +172,25 @@ public class TopologyResource {
 	public Uni<Response> createTopologyConnection(
 			@RequestBody(description = "The connection to create", required = true, content = @Content(schema = @Schema(implementation = ConnectionToCreate.class))) @Valid ConnectionToCreate connection) {
 
+		final var payload = toPayload(connection);
+		return Uni.createFrom().completionStage(this.create.send(payload)).map(any -> Response.noContent().build())
+				.onFailure().recoverWithItem(error -> {
+
+					Log.errorv(error, "Cannot create the topology connection {0}", connection);
+					return Response.serverError().build();
+				});
+
+	}
+
+	/**
+	 * Convert a connection to create to the payload of the create event.
+	 *
+	 * @param connection to convert.
+	 *
+	 * @return the payload to create the connection.
+	 */
+	private static CreateConnectionPayload toPayload(ConnectionToCreate connection) {
+
 		final var payload = new CreateConnectionPayload();
 		payload.source = new NodePayload();
 		payload.source.componentId = connection.sourceComponent;
@@ -152,12 +199,48 @@ public class TopologyResource {
 		payload.target.componentId = connection.targetComponent;
 		payload.target.channelName = connection.targetChannel;
 		payload.enabled = connection.enabled;
-		return Uni.createFrom().completionStage(this.create.send(payload)).map(any -> Response.noContent().build())
-				.onFailure().recoverWithItem(error -> {
+		return payload;
+	}
 
-					Log.errorv(error, "Cannot create the topology connection {0}", connection);
-					return Response.serverError().build();
-				});
+	/**
+	 * Create some topology connections at the same time.
+	 *
+	 * @param connections to be created.
+	 *
+	 * @return the result of creating each connection, in the same order that they
+	 *         have been defined.
+	 */
+	@POST
+	@Path("/connections/all")
+	@Operation(description = "Create some topology connections at the same time.")
+	@APIResponse(responseCode = "200", description = "The result of creating each connection, in the same order that they have been defined.", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ConnectionCreationResult.class, type = SchemaType.ARRAY)) })
+	@APIResponse(responseCode = "400", description = "When a topology connection is not valid.")
+	public Uni<Response> createTopologyConnections(
+			@RequestBody(description = "The connections to create", required = true, content = @Content(schema = @Schema(implementation = ConnectionToCreate.class, type = SchemaType.ARRAY))) @Valid @NotEmpty List<@Valid ConnectionToCreate> connections) {
+
+		final var payloads = new ArrayList<CreateConnectionPayload>();
+		for (final var connection : connections) {
+
+			payloads.add(toPayload(connection));
+		}
+		return this.createConnections.createAll(payloads).map(created -> {
+
+			final var results = new ArrayList<ConnectionCreationResult>();
+			for (final var connection : created) {
+
+				final var result = new ConnectionCreationResult();
+				result.connectionId = connection.connectionId();
+				result.error = connection.error();
+				results.add(result);
+			}
+			return Response.ok(results).build();
+
+		}).onFailure().recoverWithItem(error -> {
+
+			Log.errorv(error, "Cannot create the topology connections {0}", connections);
+			return Response.serverError().build();
+		});
 
 	}
 
@@ -188,4 +271,41 @@ public class TopologyResource {
 				});
 	}
 
+	/**
+	 * Change some topology connections at the same time.
+	 *
+	 * @param model with the change to do over the connections.
+	 *
+	 * @return empty response if started to modify the connections or an error that
+	 *         explains why can not be changed.
+	 */
+	@PUT
+	@Path("/connections/change/all")
+	@Operation(description = "modify some topology connections at the same time.")
+	@APIResponse(responseCode = "204", description = "When the topology connections started to be changed")
+	@APIResponse(responseCode = "400", description = "When the changes are not valid.")
+	public Uni<Response> updateTopologyConnections(
+			@RequestBody(description = "The changes to do over the connections", required = true, content = @Content(schema = @Schema(implementation = ChangeConnections.class))) @Valid ChangeConnections model) {
+
+		if (model.connectionIds == null && model.componentId == null && model.channelName == null
+				&& model.topologyId == null) {
+
+			return Uni.createFrom().item(Response.status(Status.BAD_REQUEST)
+					.entity("No condition to select the connections to change").build());
+		}
+
+		final var payload = new ChangeTopologyConnectionsPayload();
+		payload.action = model.action;
+		payload.connectionIds = model.connectionIds;
+		payload.componentId = model.componentId;
+		payload.channelName = model.channelName;
+		payload.topologyId = model.topologyId;
+		return Uni.createFrom().completionStage(this.changeAll.send(payload)).map(any -> Response.noContent().build())
+				.onFailure().recoverWithItem(error -> {
+
+					Log.errorv(error, "Cannot change the topology connections {0}", model);
+					return Response.serverError().build();
+				});
+	}
+
 }
@@ -42,4 +42,11 @@ public class ComponentDefinitionPage extends Model {
 	@Schema(description = "The components that satisfy the query")
 	public List<ComponentDefinition> components;
 
+	/**
+	 * The cursor to obtain the next page, or {@code null} if there are no more
+	 * components or the page has not been obtained with a cursor.
+	 */
+	@Schema(description = "The cursor to use as the after parameter to obtain the next page. It is not defined if there are no more components or the page has not been obtained with a cursor.")
+	public String next;
+
 }
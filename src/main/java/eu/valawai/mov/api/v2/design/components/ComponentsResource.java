@@ -16,6 +16,7 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
+import eu.valawai.mov.persistence.PageTotal;
 import eu.valawai.mov.persistence.design.component.ComponentDefinitionEntity;
 import eu.valawai.mov.persistence.design.component.GetComponentDefinition;
 import eu.valawai.mov.persistence.design.component.GetComponentDefinitionPage;
@@ -39,6 +40,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
 
 /**
  * The resource that can be used to manage the component definitions.
@@ -62,10 +64,13 @@ public class ComponentsResource {
 	 * Get the information of some components.
 	 *
 	 * @param pattern to match the components name or description.
+	 * @param search  words to search in the components name or description.
 	 * @param type    to match the components.
 	 * @param order   to return the components.
 	 * @param offset  to the first component to return.
 	 * @param limit   number maximum of components to return.
+	 * @param after   cursor to the last element of the previous page.
+	 * @param total   how to obtain the total number of components.
 	 *
 	 * @return the matching components page.
 	 */
@@ -76,13 +81,19 @@ public class ComponentsResource {
 	@APIResponse(responseCode = "404", description = "When a parameter is not valid.")
 	public Uni<Response> getMinComponentPage(
 			@Parameter(description = "The pattern to match the name or description of the components to return. If it is defined between / it is considered a PCRE regular expression.") @QueryParam("pattern") @Valid final String pattern,
+			@Parameter(description = "The words to search in the name or description of the components to return. A component matches if its name or description contains a word that starts with each of the words to search, ignoring the case and the accents. This search uses an index, so it is faster than a pattern.") @QueryParam("search") @Valid final String search,
 			@Parameter(description = "The type to match the components to return. If it is defined between / it is considered a PCRE regular expression.") @QueryParam("type") @Valid final String type,
 			@Parameter(description = "The order in witch the components has to be returned. It is form by the field names, separated by a comma, and each of it with the - prefix for descending order or + for ascending.") @QueryParam("order") @DefaultValue("+since") @Valid @Pattern(regexp = "(,?[+|-]?[type|name|description|version|apiVersion])*") final String order,
 			@Parameter(description = "The index of the first component to return") @QueryParam("offset") @DefaultValue("0") @Valid @Min(0) final int offset,
-			@Parameter(description = "The maximum number of components to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit) {
-
-		return GetComponentDefinitionPage.fresh().withPattern(pattern).withType(type).withOrder(order)
-				.withOffset(offset).withLimit(limit).execute().map(page -> Response.ok(page).build());
+			@Parameter(description = "The maximum number of components to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit,
+			@Parameter(description = "The cursor returned on the previous page to obtain the components that follow it. If it is empty the first page is returned. When it is defined the offset is ignored.") @QueryParam("after") @Valid @Pattern(regexp = "[A-Za-z0-9_-]*") final String after,
+			@Parameter(description = "How to obtain the total number of components that satisfy the query.") @QueryParam("total") @DefaultValue("EXACT") final PageTotal total) {
+
+		return GetComponentDefinitionPage.fresh().withPattern(pattern).withSearch(search).withType(type)
+				.withOrder(order).withOffset(offset).withLimit(limit).withAfter(after).withTotal(total).execute()
+				.map(page -> Response.ok(page).build())
+				.onFailure(IllegalArgumentException.class)
+				.recoverWithItem(error -> Response.status(Status.BAD_REQUEST).entity(error.getMessage()).build());
 
 	}
 
@@ -42,4 +42,11 @@ public class MinTopologyPage extends Model {
 	@Schema(description = "The topologies that satisfy the query")
 	public List<MinTopology> topologies;
 
+	/**
+	 * The cursor to obtain the next page, or {@code null} if there are no more
+	 * topologies or the page has not been obtained with a cursor.
+	 */
+	@Schema(description = "The cursor to use as the after parameter to obtain the next page. It is not defined if there are no more topologies or the page has not been obtained with a cursor.")
+	public String next;
+
 }
@@ -17,6 +17,8 @@ import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
 import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.events.topology.ActiveTopology;
+import eu.valawai.mov.persistence.PageTotal;
 import eu.valawai.mov.persistence.design.topology.GetMinTopologyPage;
 import eu.valawai.mov.persistence.design.topology.GetTopology;
 import eu.valawai.mov.persistence.design.topology.TopologyGraphEntity;
@@ -40,6 +42,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
 
 /**
  * The resource that can be used to manage the topologies.
@@ -59,6 +62,12 @@ public class TopologiesResource {
 	@Inject
 	LocalConfigService configuration;
 
+	/**
+	 * The topology that the MOV follows.
+	 */
+	@Inject
+	ActiveTopology activeTopology;
+
 	/**
 	 * Get the information of some topologies.
 	 *
@@ -66,6 +75,8 @@ public class TopologiesResource {
 	 * @param order   to return the topologies.
 	 * @param offset  to the first topology to return.
 	 * @param limit   number maximum of topologies to return.
+	 * @param after   cursor to the last element of the previous page.
+	 * @param total   how to obtain the total number of topologies.
 	 *
 	 * @return the matching topologies page.
 	 */
@@ -78,10 +89,14 @@ public class TopologiesResource {
 			@Parameter(description = "The pattern to match the name or description of the topologies to return. If it is defined between / it is considered a PCRE regular expression.") @QueryParam("pattern") @Valid final String pattern,
 			@Parameter(description = "The order in witch the topologies has to be returned. It is form by the field names, separated by a comma, and each of it with the - prefix for descending order or + for ascending.") @QueryParam("order") @DefaultValue("+since") @Valid @Pattern(regexp = "(,?[+|-]?[type|name|description|version|apiVersion])*") final String order,
 			@Parameter(description = "The index of the first topology to return") @QueryParam("offset") @DefaultValue("0") @Valid @Min(0) final int offset,
-			@Parameter(description = "The maximum number of topologies to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit) {
+			@Parameter(description = "The maximum number of topologies to return") @QueryParam("limit") @DefaultValue("20") @Valid @Min(1) final int limit,
+			@Parameter(description = "The cursor returned on the previous page to obtain the topologies that follow it. If it is empty the first page is returned. When it is defined the offset is ignored.") @QueryParam("after") @Valid @Pattern(regexp = "[A-Za-z0-9_-]*") final String after,
+			@Parameter(description = "How to obtain the total number of topologies that satisfy the query.") @QueryParam("total") @DefaultValue("EXACT") final PageTotal total) {
 
 		return GetMinTopologyPage.fresh().withPattern(pattern).withOrder(order).withOffset(offset).withLimit(limit)
-				.execute().map(page -> Response.ok(page).build());
+				.withAfter(after).withTotal(total).execute().map(page -> Response.ok(page).build())
+				.onFailure(IllegalArgumentException.class)
+				.recoverWithItem(error -> Response.status(Status.BAD_REQUEST).entity(error.getMessage()).build());
 
 	}
 
@@ -164,6 +179,7 @@ public class TopologiesResource {
 
 			} else {
 
+				this.activeTopology.invalidate(topologyId);
 				return Response.ok(topology).build();
 			}
 
@@ -195,6 +211,7 @@ public class TopologiesResource {
 
 			} else {
 
+				this.activeTopology.invalidate(topologyId);
 				if (topologyId.equals(this.configuration.getTopologyId())) {
 					// removed topology => remove reference
 					this.configuration.setPropertyAsync(MOVConfiguration.TOPOLOGY_ID_NAME, null);
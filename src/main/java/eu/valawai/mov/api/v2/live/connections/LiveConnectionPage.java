@@ -33,4 +33,12 @@ public class LiveConnectionPage extends Model {
 	 */
 	@Schema(title = "The number of connections that satisfy the query.")
 	public int total;
+
+	/**
+	 * The cursor to obtain the next page, or {@code null} if there are no more
+	 * connections or the page has not been obtained with a cursor.
+	 */
+	@Schema(title = "The cursor to use as the after parameter to obtain the next page. It is not defined if there are no more connections or the page has not been obtained with a cursor.")
+	public String next;
+
 }
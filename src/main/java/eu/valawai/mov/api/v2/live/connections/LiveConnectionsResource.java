@@ -15,12 +15,16 @@ import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
+import eu.valawai.mov.events.topology.TopologyRoutingTable;
+import eu.valawai.mov.persistence.PageTotal;
 import eu.valawai.mov.persistence.live.connections.GetLiveConnection;
 import eu.valawai.mov.persistence.live.connections.GetLiveConnectionPage;
 import io.quarkus.logging.Log;
 import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
@@ -30,6 +34,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
 
 /**
  * The web services to obtain information of the active connections.
@@ -41,11 +46,19 @@ import jakarta.ws.rs.core.Response;
 @Produces(MediaType.APPLICATION_JSON)
 public class LiveConnectionsResource {
 
+	/**
+	 * The table used to route the messages between the connections.
+	 */
+	@Inject
+	TopologyRoutingTable routes;
+
 	/**
 	 * Get the current {@link LiveConnection}.
 	 *
 	 * @param offset the index of the first live connection component to return.
 	 * @param limit  the maximum number of live connection components to return.
+	 * @param after  cursor to the last element of the previous page.
+	 * @param total  how to obtain the total number of live connections.
 	 *
 	 * @return the current live connection.
 	 */
@@ -56,10 +69,15 @@ public class LiveConnectionsResource {
 	@APIResponse(responseCode = "404", description = "If the limit of the offset is not valid.")
 	public Uni<Response> getLiveConnectionPage(
 			@Parameter(description = "The index of the first live connection component to return") @QueryParam("offset") @DefaultValue("0") @Valid @Min(0) final int offset,
-			@Parameter(description = "The maximum number of live connection components to return") @QueryParam("limit") @DefaultValue("100") @Valid @Min(1) final int limit) {
+			@Parameter(description = "The maximum number of live connection components to return") @QueryParam("limit") @DefaultValue("100") @Valid @Min(1) final int limit,
+			@Parameter(description = "The cursor returned on the previous page to obtain the live connections that follow it. If it is empty the first page is returned. When it is defined the offset is ignored.") @QueryParam("after") @Valid @Pattern(regexp = "[A-Za-z0-9_-]*") final String after,
+			@Parameter(description = "How to obtain the total number of live connections that satisfy the query.") @QueryParam("total") @DefaultValue("EXACT") final PageTotal total) {
 
-		return GetLiveConnectionPage.fresh().withOffset(offset).withLimit(limit).execute().onItem().ifNull()
-				.continueWith(() -> new LiveConnectionPage()).map(connection -> Response.ok(connection).build());
+		return GetLiveConnectionPage.fresh().withOffset(offset).withLimit(limit).withAfter(after).withTotal(total)
+				.execute().onItem().ifNull().continueWith(() -> new LiveConnectionPage())
+				.map(connection -> Response.ok(connection).build())
+				.onFailure(IllegalArgumentException.class)
+				.recoverWithItem(error -> Response.status(Status.BAD_REQUEST).entity(error.getMessage()).build());
 
 	}
 
@@ -99,4 +117,20 @@ public class LiveConnectionsResource {
 
 	}
 
+	/**
+	 * Compare the routing table with the enabled connections.
+	 *
+	 * @return the differences between the routing table and the connections.
+	 */
+	@GET
+	@Path("/routing")
+	@Operation(description = "Check that the routing table match the enabled connections.")
+	@APIResponse(responseCode = "200", description = "The differences between the routing table and the enabled connections.", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = LiveRoutingCheck.class)) })
+	public Uni<Response> checkRouting() {
+
+		return this.routes.check().map(check -> Response.ok(check).build());
+
+	}
+
 }
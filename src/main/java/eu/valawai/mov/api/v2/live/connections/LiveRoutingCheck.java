@@ -0,0 +1,75 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.connections;
+
+import java.util.List;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import eu.valawai.mov.api.Model;
+import eu.valawai.mov.events.topology.TopologyRoutingTable;
+
+/**
+ * The result of comparing the routing table used to forward the messages with
+ * the connections defined in the database.
+ *
+ * @see TopologyRoutingTable
+ *
+ * @author VALAWAI
+ */
+@Schema(title = "The differences between the routing table and the enabled connections.")
+public class LiveRoutingCheck extends Model {
+
+	/**
+	 * The version of the routing table that has been checked.
+	 */
+	@Schema(description = "The version of the routing table that has been checked.")
+	public long version;
+
+	/**
+	 * This is {@code true} if the routing table is equals to the connections
+	 * defined in the database.
+	 */
+	@Schema(description = "This is true if the routing table match the enabled connections.")
+	public boolean consistent;
+
+	/**
+	 * The number of connections on the routing table.
+	 */
+	@Schema(description = "The number of connections on the routing table.")
+	public int routes;
+
+	/**
+	 * The number of enabled connections defined in the database.
+	 */
+	@Schema(description = "The number of enabled connections defined in the database.")
+	public int connections;
+
+	/**
+	 * The identifiers of the enabled connections that are not on the routing
+	 * table.
+	 */
+	@Schema(description = "The identifiers of the enabled connections that are not on the routing table.")
+	public List<String> missing;
+
+	/**
+	 * The identifiers of the connections on the routing table that are not enabled
+	 * in the database.
+	 */
+	@Schema(description = "The identifiers of the connections on the routing table that are not enabled in the database.")
+	public List<String> unexpected;
+
+	/**
+	 * The identifiers of the connections that are on the routing table with a
+	 * target, converter or notifications different to the defined in the database.
+	 */
+	@Schema(description = "The identifiers of the connections that are routed with a different target, converter or notifications.")
+	public List<String> outdated;
+
+}
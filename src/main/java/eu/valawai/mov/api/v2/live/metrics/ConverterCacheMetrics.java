@@ -0,0 +1,68 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.metrics;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import eu.valawai.mov.api.Model;
+import eu.valawai.mov.events.topology.ConverterCache;
+
+/**
+ * The metrics of the cache of compiled converters.
+ *
+ * @see ConverterCache
+ *
+ * @author VALAWAI
+ */
+@Schema(title = "The metrics of the cache of compiled converters.")
+public class ConverterCacheMetrics extends Model {
+
+	/**
+	 * The number of converter codes on the cache.
+	 */
+	@Schema(description = "The number of converter codes on the cache.")
+	public int size;
+
+	/**
+	 * The maximum number of converter codes on the cache.
+	 */
+	@Schema(description = "The maximum number of converter codes on the cache.")
+	public int maxSize;
+
+	/**
+	 * The number of conversions that have reused a compiled converter.
+	 */
+	@Schema(description = "The number of conversions that have reused a compiled converter.")
+	public long hits;
+
+	/**
+	 * The number of conversions that have compiled a converter.
+	 */
+	@Schema(description = "The number of conversions that have compiled a converter.")
+	public long misses;
+
+	/**
+	 * The number of converter codes removed from the cache.
+	 */
+	@Schema(description = "The number of converter codes removed from the cache.")
+	public long evictions;
+
+	/**
+	 * The proportion of conversions that have reused a compiled converter.
+	 */
+	@Schema(description = "The proportion of conversions that have reused a compiled converter.")
+	public double hitRate;
+
+	/**
+	 * The average time, in milliseconds, to compile a converter.
+	 */
+	@Schema(description = "The average time, in milliseconds, to compile a converter.")
+	public double averageCompileMillis;
+
+}
@@ -0,0 +1,41 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.metrics;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import eu.valawai.mov.api.Model;
+
+/**
+ * The metrics of the components that the MOV uses to manage the live topology.
+ *
+ * @author VALAWAI
+ */
+@Schema(title = "The metrics of the MOV.")
+public class LiveMetrics extends Model {
+
+	/**
+	 * The metrics of the cache of compiled converters.
+	 */
+	@Schema(description = "The metrics of the cache of compiled converters.")
+	public ConverterCacheMetrics converters;
+
+	/**
+	 * The metrics of the component that store the log messages.
+	 */
+	@Schema(description = "The metrics of the component that store the log messages.")
+	public LogWriterMetrics logs;
+
+	/**
+	 * The metrics of the cache of the payload schemas that match.
+	 */
+	@Schema(description = "The metrics of the cache of the payload schemas that match.")
+	public PayloadMatchCacheMetrics payloadMatches;
+
+}
@@ -0,0 +1,62 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.metrics;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import eu.valawai.mov.api.Model;
+import eu.valawai.mov.persistence.live.logs.LogWriter;
+
+/**
+ * The metrics of the component that store the log messages.
+ *
+ * @see LogWriter
+ *
+ * @author VALAWAI
+ */
+@Schema(title = "The metrics of the component that store the log messages.")
+public class LogWriterMetrics extends Model {
+
+	/**
+	 * The number of log messages that are waiting to be stored.
+	 */
+	@Schema(description = "The number of log messages that are waiting to be stored.")
+	public int pending;
+
+	/**
+	 * The maximum number of log messages that can wait to be stored.
+	 */
+	@Schema(description = "The maximum number of log messages that can wait to be stored.")
+	public int capacity;
+
+	/**
+	 * The number of log messages that have been stored in batches.
+	 */
+	@Schema(description = "The number of log messages that have been stored in batches.")
+	public long batched;
+
+	/**
+	 * The number of batches that have been stored.
+	 */
+	@Schema(description = "The number of batches that have been stored.")
+	public long batches;
+
+	/**
+	 * The number of log messages dropped because the queue was full.
+	 */
+	@Schema(description = "The number of log messages dropped because the queue was full.")
+	public long dropped;
+
+	/**
+	 * The number of log messages that cannot be stored.
+	 */
+	@Schema(description = "The number of log messages that cannot be stored.")
+	public long failed;
+
+}
@@ -0,0 +1,75 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.metrics;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+
+import eu.valawai.mov.events.components.PayloadMatchCache;
+import eu.valawai.mov.events.topology.ConverterCache;
+import eu.valawai.mov.persistence.live.logs.LogWriter;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * The web services to obtain the metrics of the MOV.
+ *
+ * @author VALAWAI
+ */
+@Path("/v2/live/metrics")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class MetricsResource {
+
+	/**
+	 * The cache of the compiled converters.
+	 */
+	@Inject
+	ConverterCache converters;
+
+	/**
+	 * The component that store the log messages.
+	 */
+	@Inject
+	LogWriter logs;
+
+	/**
+	 * The cache of the payload schemas that match.
+	 */
+	@Inject
+	PayloadMatchCache payloadMatches;
+
+	/**
+	 * Get the current metrics of the MOV.
+	 *
+	 * @return the current metrics.
+	 */
+	@GET
+	@Operation(description = "Obtain the current metrics of the MOV.")
+	@APIResponse(responseCode = "200", description = "The current metrics of the MOV.", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = LiveMetrics.class)) })
+	public Uni<Response> getMetrics() {
+
+		final var metrics = new LiveMetrics();
+		metrics.converters = this.converters.metrics();
+		metrics.logs = this.logs.metrics();
+		metrics.payloadMatches = this.payloadMatches.metrics();
+		return Uni.createFrom().item(Response.ok(metrics).build());
+
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.metrics;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import eu.valawai.mov.api.Model;
+import eu.valawai.mov.events.components.PayloadMatchCache;
+
+/**
+ * The metrics of the cache of the payload schemas that match.
+ *
+ * @see PayloadMatchCache
+ *
+ * @author VALAWAI
+ */
+@Schema(title = "The metrics of the cache of the payload schemas that match.")
+public class PayloadMatchCacheMetrics extends Model {
+
+	/**
+	 * The number of match results on the cache.
+	 */
+	@Schema(description = "The number of match results on the cache.")
+	public int size;
+
+	/**
+	 * The maximum number of match results on the cache.
+	 */
+	@Schema(description = "The maximum number of match results on the cache.")
+	public int maxSize;
+
+	/**
+	 * The number of checks that have reused a match result.
+	 */
+	@Schema(description = "The number of checks that have reused a match result.")
+	public long hits;
+
+	/**
+	 * The number of checks that have compared the payload schemas.
+	 */
+	@Schema(description = "The number of checks that have compared the payload schemas.")
+	public long misses;
+
+	/**
+	 * The number of match results removed from the cache.
+	 */
+	@Schema(description = "The number of match results removed from the cache.")
+	public long evictions;
+
+	/**
+	 * The proportion of checks that have reused a match result.
+	 */
+	@Schema(description = "The proportion of checks that have reused a match result.")
+	public double hitRate;
+
+}
@@ -0,0 +1,14 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+/**
+ * The services to obtain the metrics of the MOV.
+ *
+ * @author VALAWAI
+ */
+package eu.valawai.mov.api.v2.live.metrics;
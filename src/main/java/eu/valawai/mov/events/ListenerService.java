@@ -14,6 +14,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import eu.valawai.mov.MOVConfiguration;
+import io.quarkus.logging.Log;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.vertx.core.json.JsonObject;
@@ -36,6 +38,12 @@ public class ListenerService {
 	@Inject
 	RabbitMQService service;
 
+	/**
+	 * The configuration of the MOV.
+	 */
+	@Inject
+	MOVConfiguration conf;
+
 	/**
 	 * The open connections.
 	 */
@@ -59,7 +67,8 @@ public class ListenerService {
 	}
 
 	/**
-	 * Convert a consumer to a listener.
+	 * Convert a consumer to a listener. The messages are acknowledged when they
+	 * are received.
 	 *
 	 * @param open to process to create the consumer.
 	 *
@@ -71,6 +80,8 @@ public class ListenerService {
 
 			return consumer.toMulti().map(msg -> {
 
+				this.ack(consumer.queueName(), msg.envelope().getDeliveryTag()).subscribe().with(any -> {
+				}, error -> Log.debugv(error, "Cannot acknowledge the message from {0}", consumer.queueName()));
 				final var body = msg.body();
 				return body.toJsonObject();
 			});
@@ -78,7 +89,86 @@ public class ListenerService {
 	}
 
 	/**
-	 * Open a component to consume for the messages of a queue.
+	 * Convert a consumer to a listener that receive the messages without decoding
+	 * them. The received messages must be acknowledged with
+	 * {@link #ack(RawMessage)} when they are processed.
+	 *
+	 * @param open to process to create the consumer.
+	 *
+	 * @return the messages received by the consumer.
+	 *
+	 * @see RawMessage
+	 */
+	public Multi<RawMessage> toMultiRaw(Uni<RabbitMQConsumer> open) {
+
+		return open.onItem().transformToMulti(consumer -> {
+
+			return consumer.toMulti()
+					.map(msg -> RawMessage.of(msg.body(), consumer.queueName(), msg.envelope().getDeliveryTag()));
+		});
+
+	}
+
+	/**
+	 * Acknowledge a message that has been processed, so the broker can deliver
+	 * more messages to the consumer.
+	 *
+	 * @param msg message to acknowledge.
+	 *
+	 * @return the result of the acknowledge process.
+	 */
+	public Uni<Void> ack(RawMessage msg) {
+
+		return this.ack(msg.queueName(), msg.deliveryTag());
+	}
+
+	/**
+	 * Return a message to the broker because it cannot be processed.
+	 *
+	 * @param msg     message to reject.
+	 * @param requeue is {@code true} if the broker has to deliver the message
+	 *                again.
+	 *
+	 * @return the result of the reject process.
+	 */
+	public Uni<Void> nack(RawMessage msg, boolean requeue) {
+
+		final var deliveryTag = msg.deliveryTag();
+		if (deliveryTag < 0) {
+
+			return Uni.createFrom().voidItem();
+
+		} else {
+
+			return this.service.consumerClient(msg.queueName())
+					.chain(client -> client.basicNack(deliveryTag, false, requeue));
+		}
+	}
+
+	/**
+	 * Acknowledge a delivery of the broker.
+	 *
+	 * @param queueName   name of the queue where the message has been received.
+	 * @param deliveryTag tag of the delivery to acknowledge.
+	 *
+	 * @return the result of the acknowledge process.
+	 */
+	protected Uni<Void> ack(String queueName, long deliveryTag) {
+
+		if (deliveryTag < 0) {
+
+			return Uni.createFrom().voidItem();
+
+		} else {
+
+			return this.service.consumerClient(queueName).chain(client -> client.basicAck(deliveryTag, false));
+		}
+	}
+
+	/**
+	 * Open a component to consume for the messages of a queue. The consumer does
+	 * not acknowledge automatically the messages, and the broker only deliver the
+	 * configured prefetch of messages that are not acknowledged.
 	 *
 	 * @param queueName name of the queue to consume for messages.
 	 *
@@ -111,17 +201,25 @@ public class ListenerService {
 						}
 					}
 					final var options = new QueueOptions();
-					options.setAutoAck(true);
+					options.setAutoAck(false);
 					options.setConsumerExclusive(false);
-					options.setKeepMostRecent(true);
+					options.setKeepMostRecent(false);
 					options.setConsumerTag(this.getClass().getName() + "#" + queueName);
-					return this.service.client().chain(client -> {
+					return this.service.consumerClient(queueName).chain(client -> {
 
 						return client.queueDeclare(queueName, true, false, false).map(any -> {
 
 							return client;
 						});
 
+					}).chain(client -> {
+
+						final var prefetch = Math.max(1, this.conf.routing().prefetch());
+						return client.basicQos(prefetch, false).map(any -> {
+
+							return client;
+						});
+
 					}).chain(client -> {
 
 						return client.basicConsumer(queueName, options);
@@ -0,0 +1,435 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.rabbitmq.client.AMQP.BasicProperties;
+
+import eu.valawai.mov.MOVConfiguration;
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.rabbitmq.RabbitMQClient;
+import io.vertx.rabbitmq.RabbitMQConfirmation;
+
+/**
+ * A channel to the broker where the messages are published in confirm mode. The
+ * messages are published in the order that they are requested without waiting
+ * for the confirmation of the previous ones, until the configured window of
+ * messages waiting for confirmation is full. Optionally, the messages can be
+ * held for a while to publish them one after another. A message that is not
+ * confirmed on the configured time fails, and when the confirmations of the
+ * channel are interrupted the lane is closed and all its messages fail.
+ *
+ * @see PublishService
+ * @see MOVConfiguration.Publish
+ *
+ * @author VALAWAI
+ */
+class PublishLane {
+
+	/**
+	 * The client with the channel to publish the messages.
+	 */
+	private final RabbitMQClient client;
+
+	/**
+	 * The event bus used on the platform.
+	 */
+	private final Vertx vertx;
+
+	/**
+	 * The maximum number of messages waiting for the broker confirmation.
+	 */
+	private final int window;
+
+	/**
+	 * The maximum nanoseconds that a message waits for the broker confirmation.
+	 */
+	private final long confirmTimeout;
+
+	/**
+	 * The number of messages that have to be waiting before publishing them, or
+	 * {@code 0} if the messages are published as soon as they are requested.
+	 */
+	private final int lingerSize;
+
+	/**
+	 * The maximum milliseconds that a message is held before publishing it.
+	 */
+	private final long lingerDelay;
+
+	/**
+	 * The messages that have been published and are waiting for confirmation,
+	 * indexed by its delivery tag.
+	 */
+	private final ConcurrentNavigableMap<Long, SentPublish> unconfirmed = new ConcurrentSkipListMap<>();
+
+	/**
+	 * The messages that are waiting to be published.
+	 */
+	private final Queue<PendingPublish> waiting = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The number of messages on {@link #waiting}.
+	 */
+	private final AtomicInteger waitingSize = new AtomicInteger();
+
+	/**
+	 * The number of messages that have been published and not confirmed.
+	 */
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	/**
+	 * This is {@code true} when a thread is publishing the waiting messages.
+	 */
+	private final AtomicBoolean dispatching = new AtomicBoolean();
+
+	/**
+	 * This is {@code true} when a timer to publish the held messages is scheduled.
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	/**
+	 * This is {@code true} when the channel of the lane can not be used any more.
+	 */
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	/**
+	 * The identifier of the timer that check the confirmation timeouts.
+	 */
+	private long timeoutTimer = -1;
+
+	/**
+	 * A message to publish.
+	 *
+	 * @param exchange   name of the exchange to publish the message.
+	 * @param routingKey of the message, that is the name of the queue when the
+	 *                   exchange is the default one.
+	 * @param properties of the message.
+	 * @param body       of the message.
+	 * @param emitter    to notify when the message is confirmed.
+	 */
+	record PendingPublish(String exchange, String routingKey, BasicProperties properties, Buffer body,
+			UniEmitter<? super Void> emitter) {
+	}
+
+	/**
+	 * A message that has been published and waits for confirmation.
+	 *
+	 * @param pending  message that has been published.
+	 * @param sentAt   the nanoseconds when the message has been published.
+	 * @param finished is {@code true} when the result of the message has been
+	 *                 notified.
+	 */
+	record SentPublish(PendingPublish pending, long sentAt, AtomicBoolean finished) {
+
+		/**
+		 * Notify the result of the publication, if it has not been notified before.
+		 *
+		 * @param lane  where the message has been published.
+		 * @param error that explains why the message cannot be published, or
+		 *              {@code null} if the broker has accepted it.
+		 */
+		void finish(PublishLane lane, Throwable error) {
+
+			if (this.finished.compareAndSet(false, true)) {
+
+				lane.inFlight.decrementAndGet();
+				if (error == null) {
+
+					this.pending.emitter.complete(null);
+
+				} else {
+
+					this.pending.emitter.fail(error);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create a new lane.
+	 *
+	 * @param client with the channel to publish the messages.
+	 * @param vertx  event bus used on the platform.
+	 * @param conf   configuration of the publication.
+	 */
+	private PublishLane(RabbitMQClient client, Vertx vertx, MOVConfiguration.Publish conf) {
+
+		this.client = client;
+		this.vertx = vertx;
+		this.window = Math.max(1, conf.confirmWindow());
+		this.confirmTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(1, conf.confirmTimeout()));
+		this.lingerSize = Math.max(0, conf.lingerSize());
+		this.lingerDelay = Math.max(1, conf.lingerDelay());
+	}
+
+	/**
+	 * Start a lane over a client. The channel of the client is set in confirm
+	 * mode.
+	 *
+	 * @param client with the channel to publish the messages.
+	 * @param vertx  event bus used on the platform.
+	 * @param conf   configuration of the publication.
+	 *
+	 * @return the started lane.
+	 */
+	static Uni<PublishLane> start(RabbitMQClient client, Vertx vertx, MOVConfiguration.Publish conf) {
+
+		final var lane = new PublishLane(client, vertx, conf);
+		return client.confirmSelect().chain(() -> client.addConfirmListener(lane.window)).map(confirmations -> {
+
+			confirmations.handler(lane::confirmed);
+			confirmations.exceptionHandler(lane::failAll);
+			confirmations.endHandler(() -> lane
+					.failAll(new IllegalStateException("The confirmations of the publish channel have finished")));
+			final var period = Math.max(1, TimeUnit.NANOSECONDS.toMillis(lane.confirmTimeout) / 4);
+			lane.timeoutTimer = vertx.setPeriodic(period, id -> lane.expire());
+			return lane;
+		});
+	}
+
+	/**
+	 * Check if the lane can be used to publish messages.
+	 *
+	 * @return {@code true} if the channel of the lane is open.
+	 */
+	boolean isOpen() {
+
+		return !this.closed.get() && this.client.isOpenChannel();
+	}
+
+	/**
+	 * Publish a message.
+	 *
+	 * @param exchange   name of the exchange to publish the message.
+	 * @param routingKey of the message, that is the name of the queue when the
+	 *                   exchange is the default one.
+	 * @param properties of the message.
+	 * @param body       of the message.
+	 *
+	 * @return the result when the broker has confirmed the message.
+	 */
+	Uni<Void> publish(String exchange, String routingKey, BasicProperties properties, Buffer body) {
+
+		return Uni.createFrom().emitter(emitter -> {
+
+			this.waiting.offer(new PendingPublish(exchange, routingKey, properties, body, emitter));
+			final var size = this.waitingSize.incrementAndGet();
+			if (this.closed.get()) {
+
+				this.failWaiting(new IllegalStateException("The publish lane has been closed"));
+
+			} else if (this.lingerSize == 0 || size >= this.lingerSize) {
+
+				this.dispatch();
+
+			} else if (this.scheduled.compareAndSet(false, true)) {
+
+				this.vertx.setTimer(this.lingerDelay, id -> {
+
+					this.scheduled.set(false);
+					this.dispatch();
+				});
+			}
+		});
+	}
+
+	/**
+	 * Publish the waiting messages while the window has space.
+	 */
+	private void dispatch() {
+
+		do {
+
+			if (!this.dispatching.compareAndSet(false, true)) {
+
+				return;
+			}
+
+			try {
+
+				while (!this.closed.get() && this.inFlight.get() < this.window) {
+
+					final var next = this.waiting.poll();
+					if (next == null) {
+
+						break;
+					}
+					this.waitingSize.decrementAndGet();
+					this.inFlight.incrementAndGet();
+					this.send(next);
+				}
+
+			} finally {
+
+				this.dispatching.set(false);
+			}
+
+		} while (!this.closed.get() && !this.waiting.isEmpty() && this.inFlight.get() < this.window);
+	}
+
+	/**
+	 * Publish a message on the channel.
+	 *
+	 * @param pending message to publish.
+	 */
+	private void send(PendingPublish pending) {
+
+		final var sent = new SentPublish(pending, System.nanoTime(), new AtomicBoolean());
+		this.client.basicPublishWithDeliveryTag(pending.exchange, pending.routingKey, pending.properties, pending.body,
+				deliveryTag -> this.unconfirmed.put(deliveryTag, sent)).subscribe().with(any -> {
+					// wait for the confirmation
+				}, error -> {
+
+					this.unconfirmed.values().remove(sent);
+					sent.finish(this, error);
+					if (!this.client.isOpenChannel()) {
+
+						this.failAll(error);
+
+					} else {
+
+						this.dispatch();
+					}
+				});
+	}
+
+	/**
+	 * Called when the broker has confirmed some messages.
+	 *
+	 * @param confirmation of the broker.
+	 */
+	private void confirmed(RabbitMQConfirmation confirmation) {
+
+		final var deliveryTag = confirmation.getDeliveryTag();
+		if (confirmation.isMultiple()) {
+
+			var entry = this.unconfirmed.firstEntry();
+			while (entry != null && entry.getKey() <= deliveryTag) {
+
+				if (this.unconfirmed.remove(entry.getKey(), entry.getValue())) {
+
+					this.complete(entry.getValue(), confirmation.isSucceeded());
+				}
+				entry = this.unconfirmed.firstEntry();
+			}
+
+		} else {
+
+			final var sent = this.unconfirmed.remove(deliveryTag);
+			if (sent != null) {
+
+				this.complete(sent, confirmation.isSucceeded());
+			}
+		}
+
+		this.dispatch();
+	}
+
+	/**
+	 * Notify the result of the publication of a message.
+	 *
+	 * @param sent      message that has been processed by the broker.
+	 * @param succeeded is {@code true} if the broker has accepted the message.
+	 */
+	private void complete(SentPublish sent, boolean succeeded) {
+
+		if (succeeded) {
+
+			sent.finish(this, null);
+
+		} else {
+
+			sent.finish(this, new IllegalStateException(
+					"The broker has not accepted the message published on " + sent.pending.routingKey));
+		}
+	}
+
+	/**
+	 * Fail the messages that have waited for the confirmation more than the
+	 * configured timeout. The messages are published in order, so only the oldest
+	 * ones are checked.
+	 */
+	private void expire() {
+
+		final var now = System.nanoTime();
+		var expired = false;
+		var entry = this.unconfirmed.firstEntry();
+		while (entry != null && now - entry.getValue().sentAt > this.confirmTimeout) {
+
+			final var sent = entry.getValue();
+			if (this.unconfirmed.remove(entry.getKey(), sent)) {
+
+				sent.finish(this, new TimeoutException(
+						"The broker has not confirmed the message published on " + sent.pending.routingKey));
+				expired = true;
+			}
+			entry = this.unconfirmed.firstEntry();
+		}
+
+		if (expired) {
+
+			this.dispatch();
+		}
+	}
+
+	/**
+	 * Close the lane and fail all the messages that wait to be published or
+	 * confirmed.
+	 *
+	 * @param error that explains why the messages cannot be confirmed.
+	 */
+	private void failAll(Throwable error) {
+
+		if (this.closed.compareAndSet(false, true)) {
+
+			Log.errorv(error, "The confirmations of the published messages have been interrupted.");
+			if (this.timeoutTimer >= 0) {
+
+				this.vertx.cancelTimer(this.timeoutTimer);
+			}
+		}
+		var entry = this.unconfirmed.pollFirstEntry();
+		while (entry != null) {
+
+			entry.getValue().finish(this, error);
+			entry = this.unconfirmed.pollFirstEntry();
+		}
+		this.failWaiting(error);
+	}
+
+	/**
+	 * Fail all the messages that wait to be published.
+	 *
+	 * @param error that explains why the messages cannot be published.
+	 */
+	private void failWaiting(Throwable error) {
+
+		var next = this.waiting.poll();
+		while (next != null) {
+
+			this.waitingSize.decrementAndGet();
+			next.emitter.fail(error);
+			next = this.waiting.poll();
+		}
+	}
+
+}
@@ -8,17 +8,34 @@
 
 package eu.valawai.mov.events;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.rabbitmq.client.AMQP.BasicProperties;
 
+import eu.valawai.mov.MOVConfiguration;
 import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.Vertx;
 import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.rabbitmq.RabbitMQClient;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 /**
- * The service used to publish messages to the broker.
+ * The service used to publish messages to the broker. The messages are
+ * published in confirm mode over a lane for each publisher connection, and the
+ * messages for the same queue always use the same lane, so they are received in
+ * the same order that they are published. The payloads are encoded only once and
+ * the result of any publication is notified when the broker has confirmed it.
+ * When the channel of a lane is closed, a new lane is started on the same
+ * connection for the next messages.
+ *
+ * @see PublishLane
  *
  * @author VALAWAI
  */
@@ -31,59 +48,299 @@ public class PublishService {
 	@Inject
 	RabbitMQService service;
 
+	/**
+	 * The event bus used on the platform.
+	 */
+	@Inject
+	Vertx vertx;
+
+	/**
+	 * The configuration of the MOV.
+	 */
+	@Inject
+	MOVConfiguration conf;
+
+	/**
+	 * The properties of the published messages.
+	 */
+	private static final BasicProperties JSON_PROPERTIES = new BasicProperties.Builder()
+			.contentType("application/json").build();
+
+	/**
+	 * The properties of the messages that has to survive a restart of the broker.
+	 */
+	private static final BasicProperties PERSISTENT_JSON_PROPERTIES = new BasicProperties.Builder()
+			.contentType("application/json").deliveryMode(2).build();
+
+	/**
+	 * The lanes used to publish the messages, indexed by the client of its
+	 * connection. It is guarded by the monitor of the service.
+	 */
+	private final Map<RabbitMQClient, Uni<PublishLane>> lanes = new HashMap<>();
+
+	/**
+	 * The name of the queues that has been declared by this service.
+	 */
+	private final Set<String> declaredQueues = ConcurrentHashMap.newKeySet();
+
 	/**
 	 * Publish the specified JSON payload.
 	 *
 	 * @param queueName name of the queue to publish a message.
 	 * @param payload   of the message to publish.
 	 *
-	 * @return {@code true} if the payload has been sent.
+	 * @return the result when the broker has confirmed the message.
 	 */
 	public Uni<Void> send(String queueName, Object payload) {
 
-		if (payload instanceof final JsonObject json) {
+		return this.sendEncoded(queueName, payload, JSON_PROPERTIES);
+	}
 
-			return this.sendJson(queueName, json);
+	/**
+	 * Publish the specified JSON payload.
+	 *
+	 * @param queueName name of the queue to publish a message.
+	 * @param payload   of the message to publish.
+	 *
+	 * @return the result when the broker has confirmed the message.
+	 */
+	public Uni<Void> sendJson(String queueName, JsonObject payload) {
 
-		} else {
+		return this.sendEncoded(queueName, payload, JSON_PROPERTIES);
 
-			try {
+	}
 
-				final var json = Json.encodeToBuffer(payload).toJsonObject();
-				return this.sendJson(queueName, json);
+	/**
+	 * Publish a message without decoding or encoding it again.
+	 *
+	 * @param queueName name of the queue to publish a message.
+	 * @param message   to publish.
+	 *
+	 * @return the result when the broker has confirmed the message.
+	 *
+	 * @see RawMessage
+	 */
+	public Uni<Void> sendRaw(String queueName, RawMessage message) {
 
-			} catch (final Throwable error) {
+		try {
 
-				return Uni.createFrom().failure(error);
-			}
+			return this.sendBuffer(queueName, message.body(), JSON_PROPERTIES);
+
+		} catch (final Throwable error) {
+
+			return Uni.createFrom().failure(error);
 		}
+
 	}
 
 	/**
-	 * Publish the specified JSON payload.
+	 * Publish a payload as a persistent message.
 	 *
 	 * @param queueName name of the queue to publish a message.
 	 * @param payload   of the message to publish.
 	 *
-	 * @return {@code true} if the payload has been sent.
+	 * @return the result when the broker has confirmed the message.
 	 */
-	public Uni<Void> sendJson(String queueName, JsonObject payload) {
+	public Uni<Void> sendConfirmed(String queueName, Object payload) {
+
+		return this.sendEncoded(queueName, payload, PERSISTENT_JSON_PROPERTIES);
+	}
+
+	/**
+	 * Publish a message as persistent, without decoding or encoding it again.
+	 *
+	 * @param queueName name of the queue to publish a message.
+	 * @param message   to publish.
+	 *
+	 * @return the result when the broker has confirmed the message.
+	 *
+	 * @see RawMessage
+	 */
+	public Uni<Void> sendRawConfirmed(String queueName, RawMessage message) {
 
 		try {
 
-			final var buffer = new Buffer(Json.encodeToBuffer(payload));
-			return this.service.client().chain(client -> {
+			return this.sendBuffer(queueName, message.body(), PERSISTENT_JSON_PROPERTIES);
 
-				final var properties = new BasicProperties.Builder().contentType("application/json").build();
-				return client.basicPublish("", queueName, properties, buffer);
+		} catch (final Throwable error) {
 
-			});
+			return Uni.createFrom().failure(error);
+		}
+	}
+
+	/**
+	 * Publish a message on an exchange, without decoding or encoding it again.
+	 *
+	 * @param exchange   name of the exchange to publish the message.
+	 * @param message    to publish.
+	 * @param persistent is {@code true} if the message has to survive a restart of
+	 *                   the broker.
+	 *
+	 * @return the result when the broker has confirmed the message.
+	 *
+	 * @see RawMessage
+	 */
+	public Uni<Void> sendRawToExchange(String exchange, RawMessage message, boolean persistent) {
+
+		try {
+
+			final var body = message.body();
+			final var properties = persistent ? PERSISTENT_JSON_PROPERTIES : JSON_PROPERTIES;
+			return this.laneFor(exchange).chain(lane -> lane.publish(exchange, "", properties, body));
 
 		} catch (final Throwable error) {
 
 			return Uni.createFrom().failure(error);
 		}
+	}
 
+	/**
+	 * Encode a payload and publish it.
+	 *
+	 * @param queueName  name of the queue to publish a message.
+	 * @param payload    of the message to publish.
+	 * @param properties of the message to publish.
+	 *
+	 * @return the result when the broker has confirmed the message.
+	 */
+	private Uni<Void> sendEncoded(String queueName, Object payload, BasicProperties properties) {
+
+		try {
+
+			return this.sendBuffer(queueName, encode(payload), properties);
+
+		} catch (final Throwable error) {
+
+			return Uni.createFrom().failure(error);
+		}
+	}
+
+	/**
+	 * Encode a payload as a JSON object.
+	 *
+	 * @param payload to encode.
+	 *
+	 * @return the buffer with the encoded payload.
+	 *
+	 * @throws DecodeException if the payload is not a JSON object.
+	 */
+	static Buffer encode(Object payload) throws DecodeException {
+
+		final var buffer = Json.encodeToBuffer(payload);
+		final var length = buffer.length();
+		for (var i = 0; i < length; i++) {
+
+			final var value = buffer.getByte(i);
+			if (value == '{') {
+
+				return new Buffer(buffer);
+
+			} else if (!Character.isWhitespace(value)) {
+
+				break;
+			}
+		}
+
+		throw new DecodeException("The payload is not a JSON object");
+	}
+
+	/**
+	 * Publish the bytes of a JSON message.
+	 *
+	 * @param queueName  name of the queue to publish a message.
+	 * @param buffer     with the encoded JSON to publish.
+	 * @param properties of the message to publish.
+	 *
+	 * @return the result when the broker has confirmed the message.
+	 */
+	private Uni<Void> sendBuffer(String queueName, Buffer buffer, BasicProperties properties) {
+
+		if (queueName == null) {
+
+			return Uni.createFrom().failure(() -> new IllegalArgumentException("The queue name can not be null"));
+		}
+
+		return this.laneFor(queueName).chain(lane -> lane.publish("", queueName, properties, buffer));
+	}
+
+	/**
+	 * Return the lane to publish the messages with a routing key. The same key
+	 * always uses the same connection, and if the lane of the connection has been
+	 * closed a new one is started.
+	 *
+	 * @param key used to select the lane.
+	 *
+	 * @return the open lane to publish the messages.
+	 */
+	private Uni<PublishLane> laneFor(String key) {
+
+		return this.service.publisherClients().chain(clients -> {
+
+			final var client = clients.get(Math.floorMod(key.hashCode(), clients.size()));
+			final var started = this.laneOf(client);
+			return started.onFailure().invoke(() -> this.invalidate(client, started)).chain(lane -> {
+
+				if (lane.isOpen()) {
+
+					return Uni.createFrom().item(lane);
+
+				} else {
+
+					this.invalidate(client, started);
+					return this.laneOf(client);
+				}
+			});
+		});
+	}
+
+	/**
+	 * Return the lane of a publisher connection, starting it if it is necessary.
+	 *
+	 * @param client of the connection.
+	 *
+	 * @return the lane of the connection.
+	 */
+	private synchronized Uni<PublishLane> laneOf(RabbitMQClient client) {
+
+		var lane = this.lanes.get(client);
+		if (lane == null) {
+
+			lane = PublishLane.start(client, this.vertx, this.conf.publish()).memoize().indefinitely();
+			this.lanes.put(client, lane);
+		}
+		return lane;
+	}
+
+	/**
+	 * Remove a lane that cannot be used any more, so the next message starts a new
+	 * one.
+	 *
+	 * @param client of the connection of the lane.
+	 * @param lane   to remove.
+	 */
+	private synchronized void invalidate(RabbitMQClient client, Uni<PublishLane> lane) {
+
+		this.lanes.remove(client, lane);
+	}
+
+	/**
+	 * Declare a durable queue, if it has not been declared before by this service.
+	 *
+	 * @param queueName name of the queue to declare.
+	 *
+	 * @return the result when the queue has been declared.
+	 */
+	public Uni<Void> declareQueue(String queueName) {
+
+		if (this.declaredQueues.contains(queueName)) {
+
+			return Uni.createFrom().voidItem();
+
+		} else {
+
+			return this.service.client().chain(client -> client.queueDeclare(queueName, true, false, false))
+					.invoke(any -> this.declaredQueues.add(queueName)).replaceWithVoid();
+		}
 	}
 
 }
@@ -8,8 +8,16 @@
 
 package eu.valawai.mov.events;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import com.rabbitmq.client.Address;
+
 import eu.valawai.mov.persistence.live.logs.AddLog;
 import io.quarkus.logging.Log;
 import io.quarkus.runtime.Shutdown;
@@ -40,9 +48,26 @@ public class RabbitMQService {
 	Vertx vertx;
 
 	/**
-	 * The client to Rabbit MQ.
+	 * The clients used to consume the messages from the broker.
+	 */
+	private volatile List<RabbitMQClient> consumerClients = Collections.emptyList();
+
+	/**
+	 * The clients used to publish the messages to the broker.
 	 */
-	private RabbitMQClient client;
+	private volatile List<RabbitMQClient> publisherClients = Collections.emptyList();
+
+	/**
+	 * The number of connections to use to consume the messages.
+	 */
+	@ConfigProperty(name = "rabbitmq-consumer-connections", defaultValue = "1")
+	int consumerConnections;
+
+	/**
+	 * The number of connections to use to publish the messages.
+	 */
+	@ConfigProperty(name = "rabbitmq-publisher-connections", defaultValue = "1")
+	int publisherConnections;
 
 	/**
 	 * The username used to authenticate to the Rabbit MQ broker.
@@ -68,12 +93,12 @@ public class RabbitMQService {
 	@ConfigProperty(name = "rabbitmq-port", defaultValue = "5672")
 	int port;
 
-//	/**
-//	 * The multiple addresses for cluster mode, when given overrides the host and
-//	 * port.
-//	 */
-//	@ConfigProperty(name = "rabbitmq-addresses", defaultValue = "")
-//	String addresses;
+	/**
+	 * The multiple addresses for cluster mode, when given overrides the host and
+	 * port.
+	 */
+	@ConfigProperty(name = "rabbitmq-addresses")
+	Optional<String> addresses;
 
 	/**
 	 * Whether or not the connection should use SSL.
@@ -193,21 +218,54 @@ public class RabbitMQService {
 //	String credentialsProviderName;
 
 	/**
-	 * Create the client to the rabbit MQ broker.
+	 * Create the clients to the rabbit MQ broker. The consumers and the publishers
+	 * use different connections, so the flow control that the broker applies to
+	 * the publishers does not block the consumption of messages.
 	 */
 	@Startup(Priorities.APPLICATION)
 	public void createClient() {
 
+		final var consumers = new ArrayList<RabbitMQClient>();
+		for (var i = 0; i < Math.max(1, this.consumerConnections); i++) {
+
+			consumers.add(this.startClient("consumer-" + i));
+		}
+		this.consumerClients = List.copyOf(consumers);
+
+		final var publishers = new ArrayList<RabbitMQClient>();
+		for (var i = 0; i < Math.max(1, this.publisherConnections); i++) {
+
+			publishers.add(this.startClient("publisher-" + i));
+		}
+		this.publisherClients = List.copyOf(publishers);
+
+		AddLog.fresh().withInfo()
+				.withMessage("Started {0} consumer and {1} publisher Rabbit MQ connections to {2}@{3}",
+						consumers.size(), publishers.size(), this.username,
+						this.addresses.filter(value -> !value.isBlank()).orElse(this.host + ":" + this.port))
+				.store();
+
+	}
+
+	/**
+	 * Create and start a client to the rabbit MQ broker.
+	 *
+	 * @param name of the connection.
+	 *
+	 * @return the started client.
+	 */
+	private RabbitMQClient startClient(String name) {
+
 		final var config = new RabbitMQOptions();
 		config.setUser(this.username);
 		config.setPassword(this.password);
 		config.setHost(this.host);
 		config.setPort(this.port);
-//		if (this.addresses != null && this.addresses.trim().length() > 0) {
-//
-//			final var addressesArray = Address.parseAddresses(this.addresses);
-//			config.setAddresses(Arrays.asList(addressesArray));
-//		}
+		if (this.addresses.isPresent() && !this.addresses.get().isBlank()) {
+
+			final var addressesArray = Address.parseAddresses(this.addresses.get());
+			config.setAddresses(Arrays.asList(addressesArray));
+		}
 		config.setSsl(this.ssl);
 		config.setTrustAll(this.trustAll);
 		config.setConnectionTimeout(this.connectionTimeout);
@@ -222,27 +280,24 @@ public class RabbitMQService {
 		config.setRequestedHeartbeat(this.requestedHeartbeat);
 		config.setUseNio(this.useNio);
 		config.setVirtualHost(this.virtualHost);
-		config.setConnectionName(this.getClass().getName());
+		config.setConnectionName(this.getClass().getName() + "#" + name);
 
-		this.client = RabbitMQClient.create(this.vertx, config);
+		final var client = RabbitMQClient.create(this.vertx, config);
 		do {
 
 			try {
 
-				this.client.startAndAwait();
+				client.startAndAwait();
 
 			} catch (final Throwable error) {
 
-				Log.errorv(error, "Cannot start the connection with the Rabbit MQ.");
+				Log.errorv(error, "Cannot start the connection {0} with the Rabbit MQ.", name);
 
 			}
 
-		} while (!this.client.isConnected());
-
-		AddLog.fresh().withInfo()
-				.withMessage("Started Rabbit MQ connection to {0}@{1}:{2}", this.username, this.host, this.port)
-				.store();
+		} while (!client.isConnected());
 
+		return client;
 	}
 
 	/**
@@ -251,43 +306,91 @@ public class RabbitMQService {
 	@Shutdown
 	public void destroyClient() {
 
-		if (this.client != null) {
+		final var clients = new ArrayList<RabbitMQClient>(this.consumerClients);
+		clients.addAll(this.publisherClients);
+		this.consumerClients = Collections.emptyList();
+		this.publisherClients = Collections.emptyList();
+		for (final var client : clients) {
 
-			this.client.stop().subscribe().with(any -> Log.infov("Closed connection with the Rabbit MQ."), error -> {
-
-				Log.errorv(error, "Cannot start the connection with the Rabbit MQ.");
-				this.destroyClient();
-			});
-			this.client = null;
+			client.stop().subscribe().with(any -> Log.infov("Closed connection with the Rabbit MQ."),
+					error -> Log.errorv(error, "Cannot close the connection with the Rabbit MQ."));
 		}
 	}
 
 	/**
-	 * Return the client to the Rabbit MQ broker.
+	 * Return the default client to the Rabbit MQ broker.
 	 *
 	 * @return the client to the Rabbit MQ broker.
 	 */
 	public Uni<RabbitMQClient> client() {
 
-		if (this.client == null) {
+		return select(this.consumerClients, 0);
+	}
+
+	/**
+	 * Return the client to use to consume the messages of a queue.
+	 *
+	 * @param queueName name of the queue to consume.
+	 *
+	 * @return the client to consume the messages of the queue.
+	 */
+	public Uni<RabbitMQClient> consumerClient(String queueName) {
+
+		return select(this.consumerClients, queueName == null ? 0 : queueName.hashCode());
+	}
+
+	/**
+	 * Return the clients to use to publish messages.
+	 *
+	 * @return the clients to publish the messages.
+	 */
+	public Uni<List<RabbitMQClient>> publisherClients() {
+
+		final var clients = this.publisherClients;
+		if (clients.isEmpty()) {
+
+			return Uni.createFrom()
+					.failure(() -> new IllegalStateException("Not opened connection to the Rabbit MQ broker."));
+
+		} else {
+
+			return Uni.createFrom().item(clients);
+		}
+	}
+
+	/**
+	 * Select one of the clients.
+	 *
+	 * @param clients to select.
+	 * @param hash    used to select the client.
+	 *
+	 * @return the selected client.
+	 */
+	private static Uni<RabbitMQClient> select(List<RabbitMQClient> clients, int hash) {
+
+		if (clients.isEmpty()) {
 
 			return Uni.createFrom()
 					.failure(() -> new IllegalStateException("Not opened connection to the Rabbit MQ broker."));
 
 		} else {
 
-			return Uni.createFrom().item(this.client);
+			return Uni.createFrom().item(clients.get(Math.floorMod(hash, clients.size())));
 		}
 	}
 
 	/**
 	 * Check if this service is live.
 	 *
-	 * @return {@code true} if the client exist and is opened.
+	 * @return {@code true} if all the clients exist and are opened.
 	 */
 	public boolean isLive() {
 
-		return this.client != null && this.client.isConnected();
+		final var consumers = this.consumerClients;
+		final var publishers = this.publisherClients;
+		return !consumers.isEmpty() && !publishers.isEmpty()
+				&& consumers.stream().allMatch(RabbitMQClient::isConnected)
+				&& publishers.stream().allMatch(RabbitMQClient::isConnected);
 
 	}
 
@@ -0,0 +1,191 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.buffer.Buffer;
+
+/**
+ * The body of a message that is routed thought the broker. The message
+ * maintains the bytes as they are received, so they can be forwarded without
+ * any change, and they are decoded as JSON only the first time that it is
+ * required. In the same way, a message created from a JSON is encoded only when
+ * it has to be published.
+ *
+ * @see ListenerService#toMultiRaw(io.smallrye.mutiny.Uni)
+ * @see PublishService#sendRaw(String, RawMessage)
+ *
+ * @author VALAWAI
+ */
+public class RawMessage {
+
+	/**
+	 * The bytes of the message.
+	 */
+	private volatile Buffer body;
+
+	/**
+	 * The decoded message.
+	 */
+	private volatile JsonObject json;
+
+	/**
+	 * The tag used by the broker to identify the delivery of the message, or
+	 * {@code -1} if the message has not been received from the broker.
+	 */
+	private final long deliveryTag;
+
+	/**
+	 * The name of the queue where the message has been received, or {@code null}
+	 * if the message has not been received from the broker.
+	 */
+	private final String queueName;
+
+	/**
+	 * Create a new message.
+	 *
+	 * @param body        of the message.
+	 * @param json        decoded message.
+	 * @param queueName   name of the queue where the message has been received.
+	 * @param deliveryTag tag of the delivery of the message.
+	 */
+	private RawMessage(Buffer body, JsonObject json, String queueName, long deliveryTag) {
+
+		this.body = body;
+		this.json = json;
+		this.queueName = queueName;
+		this.deliveryTag = deliveryTag;
+	}
+
+	/**
+	 * Create a message with the received bytes.
+	 *
+	 * @param body of the message.
+	 *
+	 * @return the message with the body.
+	 */
+	public static RawMessage of(Buffer body) {
+
+		return of(body, null, -1);
+	}
+
+	/**
+	 * Create a message with the bytes received from the broker.
+	 *
+	 * @param body        of the message.
+	 * @param queueName   name of the queue where the message has been received.
+	 * @param deliveryTag tag of the delivery of the message.
+	 *
+	 * @return the message with the body.
+	 */
+	public static RawMessage of(Buffer body, String queueName, long deliveryTag) {
+
+		return new RawMessage(body, null, queueName, deliveryTag);
+	}
+
+	/**
+	 * Create a message for a JSON object.
+	 *
+	 * @param json of the message.
+	 *
+	 * @return the message with the JSON.
+	 */
+	public static RawMessage of(JsonObject json) {
+
+		return new RawMessage(null, json, null, -1);
+	}
+
+	/**
+	 * Return the tag of the delivery of the message.
+	 *
+	 * @return the tag used by the broker to identify the delivery of the message,
+	 *         or {@code -1} if the message has not been received from the broker.
+	 */
+	public long deliveryTag() {
+
+		return this.deliveryTag;
+	}
+
+	/**
+	 * Return the name of the queue where the message has been received.
+	 *
+	 * @return the name of the queue of the message, or {@code null} if the message
+	 *         has not been received from the broker.
+	 */
+	public String queueName() {
+
+		return this.queueName;
+	}
+
+	/**
+	 * Return the bytes of the message. If the message has been created from a JSON
+	 * it is encoded the first time that this method is called.
+	 *
+	 * @return the bytes of the message.
+	 */
+	public Buffer body() {
+
+		var value = this.body;
+		if (value == null) {
+
+			value = new Buffer(Json.encodeToBuffer(this.json));
+			this.body = value;
+		}
+		return value;
+	}
+
+	/**
+	 * Return the message as JSON. The body is decoded the first time that this
+	 * method is called.
+	 *
+	 * @return the decoded message.
+	 *
+	 * @throws io.vertx.core.json.DecodeException if the body is not a valid JSON
+	 *                                            object.
+	 */
+	public JsonObject json() {
+
+		var value = this.json;
+		if (value == null) {
+
+			value = this.body.toJsonObject();
+			this.json = value;
+		}
+		return value;
+	}
+
+	/**
+	 * Check if the message has been decoded.
+	 *
+	 * @return {@code true} if the JSON of the message is available.
+	 */
+	public boolean isDecoded() {
+
+		return this.json != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+
+		final var value = this.json;
+		if (value != null) {
+
+			return value.encode();
+
+		} else {
+
+			return this.body.toString();
+		}
+	}
+
+}
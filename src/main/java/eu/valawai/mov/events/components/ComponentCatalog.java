@@ -0,0 +1,439 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.components;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.api.v1.components.ChannelSchema;
+import eu.valawai.mov.api.v1.components.ComponentType;
+import eu.valawai.mov.api.v1.components.MinComponent;
+import eu.valawai.mov.persistence.live.components.ComponentEntity;
+import io.quarkus.arc.Arc;
+import io.quarkus.logging.Log;
+import io.quarkus.mongodb.FindOptions;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * The catalog that maintains in memory the live components, so the event
+ * managers can validate the channels of a component without accessing the
+ * database. The catalog is loaded when the MOV starts, a component is added
+ * when it is registered and removed when it is unregistered. The catalog has a
+ * maximum size, and when it is full the least used components are removed. The
+ * components that are not on the catalog are obtained from the database, and
+ * the live ones are added to the catalog.
+ *
+ * @see ComponentEntity
+ * @see MOVConfiguration.Catalog
+ *
+ * @author VALAWAI
+ */
+@ApplicationScoped
+public class ComponentCatalog {
+
+	/**
+	 * The configuration of the MOV.
+	 */
+	@Inject
+	MOVConfiguration conf;
+
+	/**
+	 * The components of the catalog indexed by its identifier, in the order that
+	 * they have been accessed.
+	 */
+	private final Map<ObjectId, CatalogComponent> components = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * The number of components that have been removed from the catalog. It is
+	 * used to not add a component obtained from the database if any component has
+	 * been removed meanwhile. It is guarded by the {@link #components} monitor.
+	 */
+	private long removals = 0;
+
+	/**
+	 * The immutable information of a component on the catalog. The channels must
+	 * not be modified.
+	 *
+	 * @param id          identifier of the component.
+	 * @param type        of the component.
+	 * @param name        of the component.
+	 * @param description of the component.
+	 * @param version     of the component.
+	 * @param apiVersion  of the component.
+	 * @param since       the epoch time, in seconds, when the component has been
+	 *                    registered.
+	 * @param finished    this is {@code true} if the component has been
+	 *                    unregistered.
+	 * @param channels    of the component.
+	 * @param byName      the channels of the component indexed by its name.
+	 */
+	public record CatalogComponent(ObjectId id, ComponentType type, String name, String description, String version,
+			String apiVersion, long since, boolean finished, List<ChannelSchema> channels,
+			Map<String, ChannelSchema> byName) {
+
+		/**
+		 * Create the information of a component from its entity.
+		 *
+		 * @param entity with the component.
+		 *
+		 * @return the component of the catalog, or {@code null} if the entity is
+		 *         {@code null}.
+		 */
+		public static CatalogComponent of(ComponentEntity entity) {
+
+			if (entity == null) {
+
+				return null;
+			}
+
+			final var byName = new LinkedHashMap<String, ChannelSchema>();
+			List<ChannelSchema> channels = Collections.emptyList();
+			if (entity.channels != null) {
+
+				channels = Collections.unmodifiableList(entity.channels);
+				for (final var channel : entity.channels) {
+
+					if (channel != null && channel.name != null) {
+
+						byName.putIfAbsent(channel.name, channel);
+					}
+				}
+			}
+			return new CatalogComponent(entity.id, entity.type, entity.name, entity.description, entity.version,
+					entity.apiVersion, entity.since, entity.finishedTime != null, channels,
+					Collections.unmodifiableMap(byName));
+		}
+
+		/**
+		 * Return a channel of the component.
+		 *
+		 * @param name of the channel.
+		 *
+		 * @return the channel with the name, or {@code null} if the component does not
+		 *         have the channel.
+		 */
+		public ChannelSchema channel(String name) {
+
+			return name == null ? null : this.byName.get(name);
+		}
+
+		/**
+		 * Return a channel of the component that publish messages.
+		 *
+		 * @param name of the channel.
+		 *
+		 * @return the channel with the name that publish messages, or {@code null} if
+		 *         the component does not publish on the channel.
+		 */
+		public ChannelSchema publishChannel(String name) {
+
+			final var channel = this.channel(name);
+			return channel != null && channel.publish != null ? channel : null;
+		}
+
+		/**
+		 * Return a channel of the component that subscribe to messages.
+		 *
+		 * @param name of the channel.
+		 *
+		 * @return the channel with the name that subscribe to messages, or
+		 *         {@code null} if the component does not subscribe on the channel.
+		 */
+		public ChannelSchema subscribeChannel(String name) {
+
+			final var channel = this.channel(name);
+			return channel != null && channel.subscribe != null ? channel : null;
+		}
+
+		/**
+		 * Return the summary of the component.
+		 *
+		 * @return the summary with the identifier, type, name and description of the
+		 *         component.
+		 */
+		public MinComponent toMinComponent() {
+
+			final var component = new MinComponent();
+			component.id = this.id;
+			component.type = this.type;
+			component.name = this.name;
+			component.description = this.description;
+			return component;
+		}
+
+	}
+
+	/**
+	 * Return the catalog defined on the current application.
+	 *
+	 * @return the catalog to use or {@code null} if it is not available.
+	 */
+	public static ComponentCatalog current() {
+
+		final var container = Arc.container();
+		if (container != null && container.isRunning()) {
+
+			final var handle = container.instance(ComponentCatalog.class);
+			if (handle.isAvailable()) {
+
+				return handle.get();
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Return the summary of a component. It is obtained from the catalog of the
+	 * current application, or from the database if the catalog is not available.
+	 * The type, name and description of a component never change after it is
+	 * registered, so the summary of a live component is always obtained from the
+	 * memory.
+	 *
+	 * @param componentId identifier of the component.
+	 *
+	 * @return the summary of the component, or {@code null} if it is not found.
+	 *
+	 * @see #current()
+	 */
+	public static Uni<MinComponent> summaryOf(ObjectId componentId) {
+
+		final var catalog = current();
+		final Uni<CatalogComponent> find;
+		if (catalog != null) {
+
+			find = catalog.get(componentId);
+
+		} else if (componentId == null) {
+
+			find = Uni.createFrom().nullItem();
+
+		} else {
+
+			final Uni<ComponentEntity> entity = ComponentEntity.findById(componentId);
+			find = entity.map(CatalogComponent::of);
+		}
+
+		return find.map(component -> component == null ? null : component.toMinComponent()).onFailure()
+				.recoverWithItem(error -> {
+
+					Log.errorv(error, "Cannot get the component {0}", componentId);
+					return null;
+				});
+	}
+
+	/**
+	 * Return a component.
+	 *
+	 * @param componentId identifier of the component.
+	 *
+	 * @return the component, or {@code null} if it is not defined.
+	 */
+	public Uni<CatalogComponent> get(ObjectId componentId) {
+
+		if (componentId == null) {
+
+			return Uni.createFrom().nullItem();
+		}
+
+		final long removalsBeforeFind;
+		synchronized (this.components) {
+
+			final var component = this.components.get(componentId);
+			if (component != null) {
+
+				return Uni.createFrom().item(component);
+			}
+			removalsBeforeFind = this.removals;
+		}
+
+		final Uni<ComponentEntity> find = ComponentEntity.findById(componentId);
+		return find.map(entity -> {
+
+			final var component = CatalogComponent.of(entity);
+			this.add(component, removalsBeforeFind);
+			return component;
+		});
+	}
+
+	/**
+	 * Return some components. The components that are not on the catalog are
+	 * obtained with a single query to the database.
+	 *
+	 * @param componentIds identifiers of the components.
+	 *
+	 * @return the found components indexed by its identifier.
+	 */
+	public Uni<Map<ObjectId, CatalogComponent>> getAll(Collection<ObjectId> componentIds) {
+
+		final var found = new HashMap<ObjectId, CatalogComponent>();
+		final var missing = new HashSet<ObjectId>();
+		final long removalsBeforeFind;
+		synchronized (this.components) {
+
+			removalsBeforeFind = this.removals;
+			for (final var componentId : componentIds) {
+
+				if (componentId != null && !found.containsKey(componentId)) {
+
+					final var component = this.components.get(componentId);
+					if (component != null) {
+
+						found.put(componentId, component);
+
+					} else {
+
+						missing.add(componentId);
+					}
+				}
+			}
+		}
+
+		if (missing.isEmpty()) {
+
+			return Uni.createFrom().item(found);
+		}
+
+		return ComponentEntity.mongoCollection().find(Filters.in("_id", missing)).collect().asList()
+				.map(entities -> {
+
+					for (final var entity : entities) {
+
+						final var component = CatalogComponent.of(entity);
+						this.add(component, removalsBeforeFind);
+						found.put(entity.id, component);
+					}
+					return found;
+				});
+	}
+
+	/**
+	 * Load the live components from the database.
+	 *
+	 * @return the result of the load process.
+	 */
+	public Uni<Void> reload() {
+
+		final var maxSize = Math.max(0, this.conf.catalog().maxSize());
+		final var filter = Filters.or(Filters.exists("finishedTime", false), Filters.eq("finishedTime", null));
+		final var options = new FindOptions().sort(Sorts.descending("since")).limit(maxSize);
+		return ComponentEntity.mongoCollection().find(filter, options).collect().asList().invoke(entities -> {
+
+			synchronized (this.components) {
+
+				this.components.clear();
+				// add the oldest first, so the newest are the last to be removed
+				for (var i = entities.size() - 1; i >= 0; i--) {
+
+					final var component = CatalogComponent.of(entities.get(i));
+					this.components.put(component.id(), component);
+				}
+			}
+			Log.debugv("Loaded the catalog with {0} components.", entities.size());
+
+		}).replaceWithVoid();
+	}
+
+	/**
+	 * Add or replace a live component.
+	 *
+	 * @param entity with the component to add.
+	 */
+	public void put(ComponentEntity entity) {
+
+		this.add(CatalogComponent.of(entity), -1);
+	}
+
+	/**
+	 * Add a live component to the catalog.
+	 *
+	 * @param component      to add.
+	 * @param removalsBefore the number of removals when the component has been
+	 *                       obtained from the database, or {@code -1} if it has to
+	 *                       be added anyway.
+	 */
+	private void add(CatalogComponent component, long removalsBefore) {
+
+		if (component == null || component.id() == null || component.finished()) {
+
+			return;
+		}
+
+		final var maxSize = this.conf.catalog().maxSize();
+		synchronized (this.components) {
+
+			if (maxSize > 0 && (removalsBefore < 0 || removalsBefore == this.removals)) {
+
+				this.components.put(component.id(), component);
+				final var iter = this.components.keySet().iterator();
+				while (this.components.size() > maxSize && iter.hasNext()) {
+
+					iter.next();
+					iter.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove a component, because it has been unregistered.
+	 *
+	 * @param componentId identifier of the component to remove.
+	 */
+	public void remove(ObjectId componentId) {
+
+		synchronized (this.components) {
+
+			this.components.remove(componentId);
+			this.removals++;
+		}
+	}
+
+	/**
+	 * Check if a component is on the catalog.
+	 *
+	 * @param componentId identifier of the component to check.
+	 *
+	 * @return {@code true} if the component is on the catalog.
+	 */
+	public boolean contains(ObjectId componentId) {
+
+		synchronized (this.components) {
+
+			return this.components.containsKey(componentId);
+		}
+	}
+
+	/**
+	 * Return the number of components on the catalog.
+	 *
+	 * @return the number of components on the catalog.
+	 */
+	public int size() {
+
+		synchronized (this.components) {
+
+			return this.components.size();
+		}
+	}
+
+}
@@ -0,0 +1,254 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.components;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+
+import eu.valawai.mov.api.v1.components.ChannelSchema;
+import eu.valawai.mov.events.topology.CreateConnectionManager;
+import eu.valawai.mov.events.topology.CreateConnectionPayload;
+import eu.valawai.mov.events.topology.NodePayload;
+import eu.valawai.mov.persistence.live.components.ComponentEntity;
+import eu.valawai.mov.persistence.live.topology.AddTopologyConnection;
+import eu.valawai.mov.persistence.live.topology.AddTopologyConnections;
+import io.quarkus.mongodb.FindOptions;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * The engine that discover the connections of a registered component with the
+ * live components. The candidates are obtained from the index of the channels
+ * by its role, the payloads of all the candidates are checked in parallel, and
+ * the connections that match are created with a single write to the database.
+ * The index only selects the live components that publish or subscribe to any
+ * channel, because the payloads match when they are compatible, not only when
+ * they are equal, so they cannot be selected by their fingerprint. Thus, all
+ * the candidates with the opposite role are checked on memory.
+ *
+ * @see ComponentEntity#publishChannels
+ * @see ComponentEntity#subscribeChannels
+ * @see PayloadMatchCache
+ * @see AddTopologyConnections
+ *
+ * @author VALAWAI
+ */
+@ApplicationScoped
+public class ConnectionDiscoveryEngine {
+
+	/**
+	 * The cache of the payload schemas that match.
+	 */
+	@Inject
+	PayloadMatchCache matches;
+
+	/**
+	 * The manager that does the actions after a connection has been created.
+	 */
+	@Inject
+	CreateConnectionManager connections;
+
+	/**
+	 * A possible connection between two components.
+	 *
+	 * @param source        component that publish the messages.
+	 * @param sourceChannel where the source publish the messages.
+	 * @param target        component that subscribe to the messages.
+	 * @param targetChannel where the target subscribe to the messages.
+	 */
+	record Candidate(ComponentEntity source, ChannelSchema sourceChannel, ComponentEntity target,
+			ChannelSchema targetChannel) {
+
+		/**
+		 * Return the payload to create the connection.
+		 *
+		 * @return the payload with the connection to create.
+		 */
+		public CreateConnectionPayload toPayload() {
+
+			final var payload = new CreateConnectionPayload();
+			payload.enabled = this.source.type != this.target.type;
+			payload.source = new NodePayload();
+			payload.source.componentId = this.source.id;
+			payload.source.channelName = this.sourceChannel.name;
+			payload.target = new NodePayload();
+			payload.target.componentId = this.target.id;
+			payload.target.channelName = this.targetChannel.name;
+			return payload;
+		}
+	}
+
+	/**
+	 * The result of checking the candidates of a component.
+	 *
+	 * @param components the number of live components that have been checked.
+	 * @param candidates the number of pairs of channels that have been checked.
+	 * @param matched    the pairs of channels that match.
+	 */
+	record Evaluation(int components, int candidates, List<Candidate> matched) {
+	}
+
+	/**
+	 * The summary of the connections discovered for a component.
+	 *
+	 * @param components   the number of live components that have been checked.
+	 * @param candidates   the number of pairs of channels that have been checked.
+	 * @param matched      the number of pairs of channels that match.
+	 * @param created      the number of connections that have been created.
+	 * @param milliseconds the time spent discovering the connections.
+	 */
+	public record Summary(int components, int candidates, int matched, int created, long milliseconds) {
+	}
+
+	/**
+	 * Create the filter to select the live components that can be connected to a
+	 * component. Any channel name is greater than the empty string, so the filter
+	 * over the names of the channels by its role uses the index of these names,
+	 * instead of checking if the list of names is empty.
+	 *
+	 * @param componentId identifier of the component to connect.
+	 * @param publish     is {@code true} if the component publish on any channel.
+	 * @param subscribe   is {@code true} if the component subscribe to any channel.
+	 *
+	 * @return the filter to select the candidates, or {@code null} if the component
+	 *         cannot be connected.
+	 *
+	 * @see eu.valawai.mov.persistence.IndexManager#COMPONENT_PUBLISH_INDEX
+	 * @see eu.valawai.mov.persistence.IndexManager#COMPONENT_SUBSCRIBE_INDEX
+	 */
+	static Bson candidatesFilter(ObjectId componentId, boolean publish, boolean subscribe) {
+
+		final var roles = new ArrayList<Bson>();
+		if (publish) {
+
+			roles.add(Filters.and(Filters.gt("subscribeChannels", ""), Filters.eq("finishedTime", null)));
+		}
+		if (subscribe) {
+
+			roles.add(Filters.and(Filters.gt("publishChannels", ""), Filters.eq("finishedTime", null)));
+		}
+		if (roles.isEmpty()) {
+
+			return null;
+		}
+
+		final var candidates = roles.size() == 1 ? roles.get(0) : Filters.or(roles);
+		return Filters.and(Filters.ne("_id", componentId), candidates);
+	}
+
+	/**
+	 * Discover the connections of a component.
+	 *
+	 * @param component that has been registered.
+	 * @param channels  of the component that can be connected.
+	 *
+	 * @return the summary of the discovery.
+	 */
+	public Uni<Summary> discover(ComponentEntity component, List<ChannelSchema> channels) {
+
+		final var start = System.currentTimeMillis();
+		final var publish = channels.stream().filter(channel -> channel.publish != null).toList();
+		final var subscribe = channels.stream().filter(channel -> channel.subscribe != null).toList();
+		final var filter = candidatesFilter(component.id, !publish.isEmpty(), !subscribe.isEmpty());
+		final Uni<List<ComponentEntity>> findComponents;
+		if (filter == null) {
+
+			findComponents = Uni.createFrom().item(List.of());
+
+		} else {
+
+			final var options = new FindOptions().sort(Sorts.ascending("_id"))
+					.projection(Projections.include("_id", "type", "channels"));
+			findComponents = ComponentEntity.mongoCollection().find(filter, options).collect().asList();
+		}
+
+		return findComponents.emitOn(Infrastructure.getDefaultWorkerPool()).map(components -> {
+
+			final var candidates = new ArrayList<Candidate>();
+			for (final var other : components) {
+
+				if (other.channels != null) {
+
+					for (final var channel : other.channels) {
+
+						if (channel.subscribe != null) {
+
+							for (final var source : publish) {
+
+								candidates.add(new Candidate(component, source, other, channel));
+							}
+						}
+						if (channel.publish != null) {
+
+							for (final var target : subscribe) {
+
+								candidates.add(new Candidate(other, channel, component, target));
+							}
+						}
+					}
+				}
+			}
+			// the loop connections
+			for (final var source : publish) {
+
+				for (final var target : subscribe) {
+
+					candidates.add(new Candidate(component, source, component, target));
+				}
+			}
+			final var matched = candidates.parallelStream()
+					.filter(candidate -> this.matches.match(candidate.sourceChannel().publish,
+							candidate.targetChannel().subscribe))
+					.toList();
+			return new Evaluation(components.size(), candidates.size(), matched);
+
+		}).chain(evaluation -> {
+
+			final var matched = evaluation.matched();
+			final var add = AddTopologyConnections.fresh();
+			final var payloads = new ArrayList<CreateConnectionPayload>();
+			for (final var candidate : matched) {
+
+				final var payload = candidate.toPayload();
+				payloads.add(payload);
+				add.withConnection(AddTopologyConnection.fresh().withSourceComponent(payload.source.componentId)
+						.withSourceChannel(payload.source.channelName)
+						.withTargetComponent(payload.target.componentId)
+						.withTargetChannel(payload.target.channelName));
+			}
+			return add.execute().map(ids -> {
+
+				var created = 0;
+				for (var i = 0; i < ids.size(); i++) {
+
+					final var connectionId = ids.get(i);
+					if (connectionId != null) {
+
+						created++;
+						final var candidate = matched.get(i);
+						this.connections.discovered(connectionId, payloads.get(i), candidate.sourceChannel(),
+								candidate.targetChannel());
+					}
+				}
+				return new Summary(evaluation.components(), evaluation.candidates(), matched.size(), created,
+						System.currentTimeMillis() - start);
+			});
+		});
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.components;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.api.v1.components.PayloadSchema;
+import eu.valawai.mov.api.v2.live.metrics.PayloadMatchCacheMetrics;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * The cache with the result of checking if the payload that a channel publish
+ * match the payload that another channel subscribe. The schemas are identified
+ * by its fingerprint, so the components that define the same payloads share
+ * the result of the check. The least recently used results are removed when the
+ * cache is full.
+ *
+ * @see PayloadSchema#fingerprint()
+ * @see PayloadSchema#match(PayloadSchema, Map)
+ *
+ * @author VALAWAI
+ */
+@ApplicationScoped
+public class PayloadMatchCache {
+
+	/**
+	 * The configuration of the MOV.
+	 */
+	@Inject
+	MOVConfiguration conf;
+
+	/**
+	 * The results of the checks, in access order.
+	 */
+	private final Map<MatchKey, Boolean> results = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * The number of checks that have reused a result.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * The number of checks that have compared the schemas.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * The number of results removed from the cache.
+	 */
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * The key used to index the results.
+	 *
+	 * @param source fingerprint of the published payload.
+	 * @param target fingerprint of the subscribed payload.
+	 */
+	record MatchKey(String source, String target) {
+	}
+
+	/**
+	 * Check if a payload match another.
+	 *
+	 * @param source the schema of the payload that is published.
+	 * @param target the schema of the payload that is subscribed.
+	 *
+	 * @return {@code true} if the source payload match the target.
+	 */
+	public boolean match(PayloadSchema source, PayloadSchema target) {
+
+		if (source == null || target == null) {
+
+			return false;
+		}
+
+		final var key = new MatchKey(source.fingerprint(), target.fingerprint());
+		synchronized (this.results) {
+
+			final var result = this.results.get(key);
+			if (result != null) {
+
+				this.hits.incrementAndGet();
+				return result;
+			}
+		}
+
+		this.misses.incrementAndGet();
+		final var result = source.match(target, new HashMap<>());
+		synchronized (this.results) {
+
+			this.results.put(key, result);
+			final var max = Math.max(1, this.conf.catalog().matchCacheSize());
+			final var iter = this.results.keySet().iterator();
+			while (this.results.size() > max && iter.hasNext()) {
+
+				iter.next();
+				iter.remove();
+				this.evictions.incrementAndGet();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Remove all the results from the cache.
+	 */
+	public void clear() {
+
+		synchronized (this.results) {
+
+			this.results.clear();
+		}
+	}
+
+	/**
+	 * Return the metrics of the cache.
+	 *
+	 * @return the current metrics of the cache.
+	 */
+	public PayloadMatchCacheMetrics metrics() {
+
+		final var metrics = new PayloadMatchCacheMetrics();
+		synchronized (this.results) {
+
+			metrics.size = this.results.size();
+		}
+		metrics.maxSize = this.conf.catalog().matchCacheSize();
+		metrics.hits = this.hits.get();
+		metrics.misses = this.misses.get();
+		metrics.evictions = this.evictions.get();
+		final var total = metrics.hits + metrics.misses;
+		if (total > 0) {
+
+			metrics.hitRate = (double) metrics.hits / total;
+		}
+		return metrics;
+	}
+
+}
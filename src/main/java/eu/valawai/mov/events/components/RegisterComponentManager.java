@@ -10,11 +10,11 @@ package eu.valawai.mov.events.components;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
@@ -32,13 +32,14 @@ import eu.valawai.mov.api.v1.components.Component;
 import eu.valawai.mov.api.v1.components.ComponentBuilder;
 import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v1.components.ObjectPayloadSchema;
-import eu.valawai.mov.api.v2.design.topologies.Topology;
 import eu.valawai.mov.api.v2.design.topologies.TopologyConnection;
 import eu.valawai.mov.api.v2.design.topologies.TopologyConnectionEndpoint;
 import eu.valawai.mov.api.v2.design.topologies.TopologyConnectionNotification;
 import eu.valawai.mov.api.v2.design.topologies.TopologyNode;
 import eu.valawai.mov.events.PayloadService;
 import eu.valawai.mov.events.PublishService;
+import eu.valawai.mov.events.topology.ActiveTopology;
+import eu.valawai.mov.events.topology.ActiveTopology.CompiledTopology;
 import eu.valawai.mov.events.topology.CreateConnectionPayload;
 import eu.valawai.mov.events.topology.CreateNotificationPayload;
 import eu.valawai.mov.events.topology.NodePayload;
@@ -90,6 +91,30 @@ public class RegisterComponentManager {
 	@Inject
 	LocalConfigService configuration;
 
+	/**
+	 * The catalog with the live components.
+	 */
+	@Inject
+	ComponentCatalog catalog;
+
+	/**
+	 * The cache of the payload schemas that match.
+	 */
+	@Inject
+	PayloadMatchCache matches;
+
+	/**
+	 * The engine to discover the connections of the registered components.
+	 */
+	@Inject
+	ConnectionDiscoveryEngine discovery;
+
+	/**
+	 * The topology that the MOV follows.
+	 */
+	@Inject
+	ActiveTopology activeTopology;
+
 	/**
 	 * The component to send the message to create a topology notification.
 	 */
@@ -135,6 +160,7 @@ public class RegisterComponentManager {
 					AddLog.fresh().withInfo().withMessage("Registered component {0}.", entity.id).withPayload(content)
 							.store();
 					context.entity = entity;
+					this.catalog.put(entity);
 					switch (context.behaviour) {
 					case TopologyBehavior.AUTO_DISCOVER:
 						this.autoDiscover(context);
@@ -251,7 +277,7 @@ public class RegisterComponentManager {
 	 */
 	private Uni<Throwable> validateTopology(ManagerContext context) {
 
-		return this.configuration.getTopology().chain(topology -> {
+		return this.activeTopology.get().chain(topology -> {
 
 			if (topology == null && context.behaviour != TopologyBehavior.APPLY_TOPOLOGY_OR_AUTO_DISCOVER) {
 
@@ -260,28 +286,21 @@ public class RegisterComponentManager {
 			} else if (topology != null) {
 
 				context.topology = topology;
-				if (topology.nodes != null) {
-
-					for (final var node : topology.nodes) {
-
-						if (node.component != null) {
-
-							if (node.component.channels == null || node.component.channels.isEmpty()) {
-
-								if (context.component.channels == null || context.component.channels.isEmpty()) {
+				final var channelNames = new ArrayList<String>();
+				if (context.component.channels != null) {
 
-									context.definition = node;
-									break;
-								}
+					for (final var channel : context.component.channels) {
 
-							} else if (context.component.channels != null
-									&& this.match(node.component.channels, context.component.channels)) {
+						channelNames.add(channel.name);
+					}
+				}
+				for (final var node : topology.candidatesFor(channelNames)) {
 
-								context.definition = node;
-								break;
-							}
+					if (node.component.channels == null || node.component.channels.isEmpty()
+							|| this.match(node.component.channels, context.component.channels)) {
 
-						} // else bad defined node
+						context.definition = node;
+						break;
 					}
 				}
 
@@ -337,7 +356,7 @@ public class RegisterComponentManager {
 		/**
 		 * The topology to follow.
 		 */
-		public Topology topology;
+		public CompiledTopology topology;
 
 		/**
 		 * The stored component.
@@ -407,7 +426,10 @@ public class RegisterComponentManager {
 	}
 
 	/**
-	 * Auto discover connections.
+	 * Auto discover connections. When the connections are created without
+	 * checking the topology, they are discovered in bulk by the
+	 * {@link ConnectionDiscoveryEngine}, otherwise an event is sent for each
+	 * possible connection.
 	 *
 	 * @param context of the register process.
 	 */
@@ -416,36 +438,22 @@ public class RegisterComponentManager {
 		// Auto discover connections
 		if (!context.posibleConnectionChannels.isEmpty()) {
 
-			final var query = Filters.and(Filters.ne("_id", context.entity.id),
-					Filters.or(Filters.exists("finishedTime", false), Filters.eq("finishedTime", null)),
-					Filters.exists("channels", true), Filters.ne("channels", null),
-					Filters.not(Filters.size("channels", 0)));
-			final Multi<ComponentEntity> findComponents = ComponentEntity.find(query, Sorts.ascending("_id")).stream();
-			findComponents.subscribe().with(target -> {
+			final var createBehaviour = this.configuration.getPropertyValue(
+					MOVConfiguration.EVENT_CREATE_CONNECTION_NAME, TopologyBehavior.class,
+					TopologyBehavior.AUTO_DISCOVER);
+			if (createBehaviour == TopologyBehavior.AUTO_DISCOVER) {
 
-				if (target != null && target.channels != null) {
+				this.discovery.discover(context.entity, context.posibleConnectionChannels).subscribe().with(
+						summary -> AddLog.fresh().withInfo()
+								.withMessage("Auto discovered {0} connections for the component {1}.",
+										summary.created(), context.entity.id)
+								.withPayload(summary).store(),
+						error -> Log.errorv(error, "Error when discovering the connections."));
 
-					for (final var sourceChannel : context.posibleConnectionChannels) {
-
-						for (final var targetChannel : target.channels) {
-
-							this.createConnection(context.entity, sourceChannel, target, targetChannel);
-							this.createConnection(target, targetChannel, context.entity, sourceChannel);
-						}
-					}
-				}
-
-			}, error -> Log.errorv(error, "Error when creating the connections."));
-
-			// Create the loop connections
-			for (final var sourceChannel : context.posibleConnectionChannels) {
-
-				for (final var targetChannel : context.posibleConnectionChannels) {
+			} else {
 
-					this.createConnection(context.entity, sourceChannel, context.entity, targetChannel);
-				}
+				this.autoDiscoverConnectionsByEvents(context);
 			}
-
 		}
 
 		// Auto discover notifications
@@ -462,6 +470,62 @@ public class RegisterComponentManager {
 
 	}
 
+	/**
+	 * Auto discover the connections sending an event for each possible connection.
+	 *
+	 * @param context of the register process.
+	 */
+	private void autoDiscoverConnectionsByEvents(ManagerContext context) {
+
+		// Only the components with channels that can be connected to the new ones
+		final var roles = new ArrayList<Bson>();
+		if (context.posibleConnectionChannels.stream().anyMatch(channel -> channel.publish != null)) {
+
+			roles.add(Filters.exists("subscribeChannels.0", true));
+		}
+		if (context.posibleConnectionChannels.stream().anyMatch(channel -> channel.subscribe != null)) {
+
+			roles.add(Filters.exists("publishChannels.0", true));
+		}
+		final Multi<ComponentEntity> findComponents;
+		if (roles.isEmpty()) {
+
+			findComponents = Multi.createFrom().empty();
+
+		} else {
+
+			final var query = Filters.and(Filters.ne("_id", context.entity.id),
+					Filters.or(Filters.exists("finishedTime", false), Filters.eq("finishedTime", null)),
+					Filters.or(roles));
+			findComponents = ComponentEntity.find(query, Sorts.ascending("_id")).stream();
+		}
+		findComponents.subscribe().with(target -> {
+
+			if (target != null && target.channels != null) {
+
+				for (final var sourceChannel : context.posibleConnectionChannels) {
+
+					for (final var targetChannel : target.channels) {
+
+						this.createConnection(context.entity, sourceChannel, target, targetChannel);
+						this.createConnection(target, targetChannel, context.entity, sourceChannel);
+					}
+				}
+			}
+
+		}, error -> Log.errorv(error, "Error when creating the connections."));
+
+		// Create the loop connections
+		for (final var sourceChannel : context.posibleConnectionChannels) {
+
+			for (final var targetChannel : context.posibleConnectionChannels) {
+
+				this.createConnection(context.entity, sourceChannel, context.entity, targetChannel);
+			}
+		}
+
+	}
+
 	/**
 	 * Auto discover the possible notification for a connection.
 	 *
@@ -470,38 +534,29 @@ public class RegisterComponentManager {
 	 */
 	private void autoDiscoverNotificationForConnection(TopologyConnectionEntity connection, ManagerContext context) {
 
-		final Uni<ComponentEntity> findSource = ComponentEntity.findById(connection.source.componentId);
-		findSource.onFailure().recoverWithItem(error -> {
+		this.catalog.get(connection.source.componentId).onFailure().recoverWithItem(error -> {
 
 			Log.errorv(error, "Cannot obtain the source component.");
 			return null;
 
 		}).subscribe().with(source -> {
 
-			if (source != null) {
-
-				for (final var sourceChannel : source.channels) {
-
-					if (sourceChannel.name.equals(connection.source.channelName) && sourceChannel.publish != null) {
+			final var sourceChannel = source == null ? null : source.publishChannel(connection.source.channelName);
+			if (sourceChannel != null) {
 
-						final var sentSchema = SentMessagePayload
-								.createSentMessagePayloadSchemaFor(sourceChannel.publish);
-						for (final var channel : context.notifyChannels) {
+				final var sentSchema = SentMessagePayload.createSentMessagePayloadSchemaFor(sourceChannel.publish);
+				for (final var channel : context.notifyChannels) {
 
-							if (sentSchema.match(channel.subscribe, new HashMap<>())) {
+					if (this.matches.match(sentSchema, channel.subscribe)) {
 
-								final var payload = new CreateNotificationPayload();
-								payload.connectionId = connection.id;
-								payload.target = new NodePayload();
-								payload.target.componentId = context.entity.id;
-								payload.target.channelName = channel.name;
-								Uni.createFrom().completionStage(this.createNotification.send(payload)).subscribe()
-										.with(any -> Log.debugv("Sent create a notification between {0}", payload),
-												error -> Log.errorv(error, "Cannot create the notification {0}",
-														payload));
-							}
-						}
-						break;
+						final var payload = new CreateNotificationPayload();
+						payload.connectionId = connection.id;
+						payload.target = new NodePayload();
+						payload.target.componentId = context.entity.id;
+						payload.target.channelName = channel.name;
+						Uni.createFrom().completionStage(this.createNotification.send(payload)).subscribe().with(
+								any -> Log.debugv("Sent create a notification between {0}", payload),
+								error -> Log.errorv(error, "Cannot create the notification {0}", payload));
 					}
 				}
 			}
@@ -557,7 +612,7 @@ public class RegisterComponentManager {
 	private void createConnection(ComponentEntity source, ChannelSchema sourceChannel, ComponentEntity target,
 			ChannelSchema targetChannel) {
 
-		if (sourceChannel.publish != null && sourceChannel.publish.match(targetChannel.subscribe, new HashMap<>())) {
+		if (this.matches.match(sourceChannel.publish, targetChannel.subscribe)) {
 
 			final var payload = new CreateConnectionPayload();
 			payload.enabled = source.type != target.type;
@@ -592,39 +647,30 @@ public class RegisterComponentManager {
 	 */
 	private void createTopologyConnections(ManagerContext context) {
 
-		if (context.topology.connections != null) {
-
-			for (final var connection : context.topology.connections) {
+		for (final var connection : context.topology.connectionsOf(context.definition.tag)) {
 
-				if (context.definitionMatch(connection.source)) {
+			if (context.definitionMatch(connection.source)) {
 
-					if (context.definitionMatch(connection.target)) {
-						// loop
-						this.sendCreateConnection(connection, context.entity.id, context.entity.id);
+				if (context.definitionMatch(connection.target)) {
+					// loop
+					this.sendCreateConnection(connection, context.entity.id, context.entity.id);
 
-					} else {
-
-						this.searchComponent(connection.target, context,
-								target -> this.sendCreateConnection(connection, context.entity.id, target.id));
-					}
-
-				} else if (context.definitionMatch(connection.target)) {
-
-					this.searchComponent(connection.source, context,
-							source -> this.sendCreateConnection(connection, source.id, context.entity.id));
+				} else {
 
-				} else if (connection.notifications != null) {
+					this.searchComponent(connection.target, context,
+							target -> this.sendCreateConnection(connection, context.entity.id, target.id));
+				}
 
-					for (final var notification : connection.notifications) {
+			} else if (context.definitionMatch(connection.target)) {
 
-						if (context.definitionMatch(notification.target)) {
+				this.searchComponent(connection.source, context,
+						source -> this.sendCreateConnection(connection, source.id, context.entity.id));
+			}
+		}
 
-							this.searchMathingConnectionWith(notification, context, connection);
-						}
-					}
+		for (final var defined : context.topology.notificationsTo(context.definition.tag)) {
 
-				}
-			}
+			this.searchMathingConnectionWith(defined.notification(), context, defined.connection());
 		}
 
 	}
@@ -705,43 +751,52 @@ public class RegisterComponentManager {
 	private void searchComponent(TopologyConnectionEndpoint endpoint, ManagerContext context,
 			Consumer<ComponentEntity> found) {
 
-		for (final var node : context.topology.nodes) {
-
-			if (node.tag.equals(endpoint.nodeTag) && node.component != null && node.component.channels != null) {
+		final var node = context.topology.node(endpoint.nodeTag);
+		if (node != null && node.component != null && node.component.channels != null) {
 
-				final var channelByName = this.channelByName(node.component.channels, endpoint.channel);
-				if (channelByName != null) {
+			final var channelByName = this.channelByName(node.component.channels, endpoint.channel);
+			if (channelByName != null) {
 
-					final var filter = Filters.and(Filters.eq("type", node.component.type),
-							Filters.exists("channels", true), Filters.ne("channels", null),
-							Filters.eq("channels.name", endpoint.channel),
-							Filters.or(Filters.exists("finishedTime", false), Filters.eq("finishedTime", null)));
-					final var options = new FindOptions().sort(Sorts.ascending("_id")).limit(1);
-					ComponentEntity.mongoCollection().find(filter, ComponentEntity.class, options).select()
-							.where(component -> {
+				final var filter = componentWithChannelFilter(node.component.type, endpoint.channel);
+				final var options = new FindOptions().sort(Sorts.ascending("_id")).limit(1);
+				ComponentEntity.mongoCollection().find(filter, ComponentEntity.class, options).select()
+						.where(component -> {
 
-								final var componentChannel = this.channelByName(component.channels, channelByName.name);
-								return channelByName.match(componentChannel);
+							final var componentChannel = this.channelByName(component.channels, channelByName.name);
+							return channelByName.match(componentChannel);
 
-							}, 1).collect().first().onFailure().recoverWithItem(error -> {
+						}, 1).collect().first().onFailure().recoverWithItem(error -> {
 
-								Log.errorv(error, "Cannot find the component");
-								return null;
+							Log.errorv(error, "Cannot find the component");
+							return null;
 
-							}).subscribe().with(component -> {
+						}).subscribe().with(component -> {
 
-								if (component != null) {
+							if (component != null) {
 
-									found.accept(component);
-								}
+								found.accept(component);
+							}
 
-							});
-					break;
-				}
+						});
 			}
 		}
 	}
 
+	/**
+	 * Return the filter to select the live components of a type with a channel.
+	 *
+	 * @param type        of the components.
+	 * @param channelName name of the channel that the components must have.
+	 *
+	 * @return the filter of the live components of the type with the channel.
+	 */
+	static Bson componentWithChannelFilter(ComponentType type, String channelName) {
+
+		return Filters.and(Filters.eq("type", type), Filters.exists("channels", true), Filters.ne("channels", null),
+				Filters.eq("channels.name", channelName),
+				Filters.or(Filters.exists("finishedTime", false), Filters.eq("finishedTime", null)));
+	}
+
 	/**
 	 * Check if two channels match.
 	 */
@@ -777,12 +832,10 @@ public class RegisterComponentManager {
 	 */
 	private ChannelSchema channelOf(TopologyConnectionEndpoint endpoint, ManagerContext context) {
 
-		for (final var node : context.topology.nodes) {
-
-			if (node.tag.equals(endpoint.nodeTag) && node.component != null && node.component.channels != null) {
+		final var node = context.topology.node(endpoint.nodeTag);
+		if (node != null && node.component != null && node.component.channels != null) {
 
-				return this.channelByName(node.component.channels, endpoint.channel);
-			}
+			return this.channelByName(node.component.channels, endpoint.channel);
 		}
 
 		return null;
@@ -862,13 +915,12 @@ public class RegisterComponentManager {
 	 */
 	private Uni<Boolean> componentHasChannel(ObjectId componetId, ChannelSchema channel) {
 
-		final Uni<ComponentEntity> find = ComponentEntity.findById(componetId);
-		return find.onFailure().recoverWithNull().onItem().transform(component -> {
+		return this.catalog.get(componetId).onFailure().recoverWithNull().onItem().transform(component -> {
 
 			var match = false;
 			if (component != null) {
 
-				final var defined = this.channelByName(component.channels, channel.name);
+				final var defined = component.channel(channel.name);
 				match = defined != null && channel.match(defined);
 			}
 			return match;
@@ -10,22 +10,20 @@ package eu.valawai.mov.events.components;
 
 import java.util.concurrent.CompletionStage;
 
-import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.bson.types.ObjectId;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
 
-import com.mongodb.client.model.Filters;
-
 import eu.valawai.mov.events.PayloadService;
-import eu.valawai.mov.events.PublishService;
-import eu.valawai.mov.events.topology.ChangeTopologyPayload;
+import eu.valawai.mov.events.topology.ChangeTopologyManager;
+import eu.valawai.mov.events.topology.DirectBindingService;
 import eu.valawai.mov.events.topology.TopologyAction;
+import eu.valawai.mov.events.topology.TopologyRoutingTable;
+import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import eu.valawai.mov.persistence.live.components.FinishComponent;
 import eu.valawai.mov.persistence.live.logs.AddLog;
+import eu.valawai.mov.persistence.live.topology.ChangeTopologyConnections;
 import eu.valawai.mov.persistence.live.topology.RemoveAllNotificationsWithComponent;
-import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
-import io.quarkus.logging.Log;
-import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -46,19 +44,33 @@ public class UnregisterComponentManager {
 	protected PayloadService service;
 
 	/**
-	 * Notify that a new connection is created.
+	 * The manager to change the topology connections.
+	 */
+	@Inject
+	ChangeTopologyManager changeTopology;
+
+	/**
+	 * The table with the enabled connections to route the messages.
+	 */
+	@Inject
+	TopologyRoutingTable routes;
+
+	/**
+	 * The service to maintain the bindings of the connections routed by the broker.
 	 */
-	@ConfigProperty(name = "mp.messaging.incoming.change_topology.queue.name", defaultValue = "valawai/topology/change")
-	String changeTopologyQueueName;
+	@Inject
+	DirectBindingService bindings;
 
 	/**
-	 * The service to send messages.
+	 * The catalog with the live components.
 	 */
 	@Inject
-	PublishService publish;
+	ComponentCatalog catalog;
 
 	/**
-	 * Called when has to unregister a component.
+	 * Called when has to unregister a component. The topology of the component is
+	 * also removed when the component is already finished, because a redelivered
+	 * message has to complete the removal that a previous delivery has not done.
 	 *
 	 * @param msg message to consume.
 	 *
@@ -75,53 +87,37 @@ public class UnregisterComponentManager {
 
 				if (finished) {
 
-					return RemoveAllNotificationsWithComponent.fresh().withComponent(payload.componentId).execute()
-							.map(removed -> {
-								Log.debugv("Unsubscribed {0} from {1} connections.", payload.componentId, finished);
-								return true;
-							});
-
-				} else {
-
-					return Uni.createFrom().item(false);
-
+					this.catalog.remove(payload.componentId);
+					return this.removeTopologyOf(payload.componentId);
 				}
 
-			}).subscribeAsCompletionStage().thenCompose(finished -> {
+				// The component may be finished by a previous delivery that has not removed its topology
+				final Uni<ComponentEntity> find = ComponentEntity.findById(payload.componentId);
+				return find.chain(component -> {
 
-				if (finished) {
-
-					final var query = Filters.and(
-							Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)),
-							Filters.or(Filters.eq("source.componentId", payload.componentId),
-									Filters.eq("target.componentId", payload.componentId)));
-					final Multi<TopologyConnectionEntity> findConnections = TopologyConnectionEntity.find(query)
-							.stream();
-					findConnections.subscribe().with(connection -> {
+					if (component == null) {
 
-						final var changePayload = new ChangeTopologyPayload();
-						changePayload.action = TopologyAction.REMOVE;
-						changePayload.connectionId = connection.id;
-						this.publish.send(this.changeTopologyQueueName, changePayload).subscribe().with(done -> {
+						return Uni.createFrom().<Void>failure(new IllegalArgumentException(
+								"Not found component with the identifier " + payload.componentId + "."));
+					}
 
-							Log.debugv("Sent remove the connection {0}", connection.id);
+					this.catalog.remove(payload.componentId);
+					return this.removeTopologyOf(payload.componentId);
+				});
 
-						}, error -> {
+			}).onItemOrFailure().transform((any, error) -> error).subscribeAsCompletionStage().thenCompose(error -> {
 
-							Log.errorv(error, "Cannot send remove connection {0}", connection.id);
-						});
+				if (error == null) {
 
-					});
-					AddLog.fresh().withInfo().withMessage("Unregistered the component {0}.", payload.componentId)
-							.withPayload(payload).store();
 					return msg.ack();
 
 				} else {
 
-					AddLog.fresh().withError()
-							.withMessage("Cannot unregister the undefined component {0}.", payload.componentId)
+					AddLog.fresh().withError(error)
+							.withMessage("Cannot unregister the component {0}, because {1}.", payload.componentId,
+									error.getMessage())
 							.withPayload(payload).store();
-					return msg.nack(new IllegalArgumentException("Not found component with the specified identifier."));
+					return msg.nack(error);
 				}
 			});
 
@@ -134,4 +130,34 @@ public class UnregisterComponentManager {
 
 	}
 
+	/**
+	 * Remove from the topology all the connections and notifications where the
+	 * unregistered component is involved. The connections are removed with a
+	 * single update, and the routes, the bindings and the listeners are
+	 * synchronized once, instead of sending a message to remove each connection.
+	 *
+	 * @param componentId identifier of the unregistered component.
+	 *
+	 * @return the result when the topology has been updated.
+	 */
+	private Uni<Void> removeTopologyOf(ObjectId componentId) {
+
+		return RemoveAllNotificationsWithComponent.fresh().withComponent(componentId).execute()
+				.chain(notifications -> {
+
+					this.routes.removeNotificationsOf(componentId);
+					final var change = ChangeTopologyConnections.fresh().withComponent(componentId)
+							.withAction(TopologyAction.REMOVE);
+					return this.changeTopology.changeConnections(change).call(any -> this.bindings.synchronizeAll())
+							.invoke(connections -> {
+
+								AddLog.fresh().withInfo().withMessage(
+										"Unregistered the component {0}, removing {1} connections and {2} notifications.",
+										componentId, connections.size(), notifications == null ? 0l : notifications)
+										.store();
+
+							}).replaceWithVoid();
+				});
+	}
+
 }
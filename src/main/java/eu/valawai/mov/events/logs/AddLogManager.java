@@ -36,11 +36,16 @@ public class AddLogManager {
 	PayloadService service;
 
 	/**
-	 * Called when has to search for some components.
+	 * Called when has to add a log. The message is acknowledged when the batch
+	 * where the log is stored has been written into the database. The logs of the
+	 * components are stored whatever the level configured to persist the logs of
+	 * the MOV.
 	 *
 	 * @param msg message to consume.
 	 *
 	 * @return the result if the message process.
+	 *
+	 * @see eu.valawai.mov.persistence.live.logs.LogWriter
 	 */
 	@Incoming("add_log")
 	public CompletionStage<Void> consume(Message<JsonObject> msg) {
@@ -50,7 +55,8 @@ public class AddLogManager {
 
 			final var payload = this.service.decodeAndVerify(content, AddLogPayload.class);
 			return AddLog.fresh().withLevel(payload.level).withMessage(payload.message).withPayload(payload.payload)
-					.withComponent(payload.componentId).execute().subscribeAsCompletionStage().thenCompose(done -> {
+					.withComponent(payload.componentId).withSubmitted().execute().subscribeAsCompletionStage()
+					.thenCompose(done -> {
 
 						if (done != null && done) {
 
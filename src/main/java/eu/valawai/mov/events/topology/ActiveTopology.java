@@ -0,0 +1,417 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.types.ObjectId;
+
+import eu.valawai.mov.api.v2.design.topologies.Topology;
+import eu.valawai.mov.api.v2.design.topologies.TopologyConnection;
+import eu.valawai.mov.api.v2.design.topologies.TopologyConnectionEndpoint;
+import eu.valawai.mov.api.v2.design.topologies.TopologyConnectionNotification;
+import eu.valawai.mov.api.v2.design.topologies.TopologyNode;
+import eu.valawai.mov.persistence.design.topology.GetTopology;
+import eu.valawai.mov.services.LocalConfigService;
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * The designed topology that the MOV follows, compiled into the structures
+ * necessary to find the definition of a component or a connection without
+ * accessing the database. The topology is compiled the first time that it is
+ * requested, and it is reused until the identifier of the topology to follow
+ * changes or the topology is updated.
+ *
+ * @see Topology
+ * @see LocalConfigService#getTopologyId()
+ *
+ * @author VALAWAI
+ */
+@ApplicationScoped
+public class ActiveTopology {
+
+	/**
+	 * The local configuration.
+	 */
+	@Inject
+	LocalConfigService configuration;
+
+	/**
+	 * The last compiled topology.
+	 */
+	private final AtomicReference<CompiledTopology> current = new AtomicReference<>();
+
+	/**
+	 * The number of times that the compiled topology has been invalidated. It is
+	 * used to discard the topologies that are compiled while they are invalidated.
+	 */
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * A notification defined in a connection of the topology.
+	 *
+	 * @param connection   where the notification is defined.
+	 * @param notification the definition of the notification.
+	 */
+	public record DefinedNotification(TopologyConnection connection, TopologyConnectionNotification notification) {
+
+	}
+
+	/**
+	 * The immutable structures to search over a designed topology.
+	 */
+	public static final class CompiledTopology {
+
+		/**
+		 * The identifier of the topology.
+		 */
+		private final ObjectId id;
+
+		/**
+		 * The compiled topology.
+		 */
+		private final Topology topology;
+
+		/**
+		 * The nodes of the topology indexed by its tag.
+		 */
+		private final Map<String, TopologyNode> byTag;
+
+		/**
+		 * The nodes, that have a component, whose component does not have channels.
+		 */
+		private final List<TopologyNode> withoutChannels;
+
+		/**
+		 * The name of the channels of each node, or {@code null} if the node can not
+		 * match a component.
+		 */
+		private final List<Set<String>> signatures;
+
+		/**
+		 * The position of the nodes indexed by the name of its channels.
+		 */
+		private final Map<String, List<Integer>> byChannel;
+
+		/**
+		 * The connections indexed by the pair of its source and target channel names.
+		 */
+		private final Map<List<String>, TopologyConnection> byChannels;
+
+		/**
+		 * The connections indexed by the tag of its source or target node.
+		 */
+		private final Map<String, List<TopologyConnection>> byNode;
+
+		/**
+		 * The notifications indexed by the tag of the node to notify. It only
+		 * contains the notifications of the connections where the node is not the
+		 * source or target.
+		 */
+		private final Map<String, List<DefinedNotification>> notificationsByNode;
+
+		/**
+		 * Compile a topology.
+		 *
+		 * @param id       identifier of the topology.
+		 * @param topology to compile.
+		 */
+		private CompiledTopology(ObjectId id, Topology topology) {
+
+			this.id = id;
+			this.topology = topology;
+			final var byTag = new HashMap<String, TopologyNode>();
+			final var withoutChannels = new ArrayList<TopologyNode>();
+			final var signatures = new ArrayList<Set<String>>();
+			final var byChannel = new HashMap<String, List<Integer>>();
+			if (topology.nodes != null) {
+
+				for (final var node : topology.nodes) {
+
+					Set<String> signature = null;
+					if (node != null && node.tag != null) {
+
+						byTag.putIfAbsent(node.tag, node);
+						if (node.component != null) {
+
+							if (node.component.channels == null || node.component.channels.isEmpty()) {
+
+								withoutChannels.add(node);
+
+							} else {
+
+								signature = new HashSet<>();
+								for (final var channel : node.component.channels) {
+
+									signature.add(channel.name);
+								}
+								for (final var name : signature) {
+
+									byChannel.computeIfAbsent(name, key -> new ArrayList<>()).add(signatures.size());
+								}
+								signature = Collections.unmodifiableSet(signature);
+							}
+						} // else bad defined node
+					}
+					signatures.add(signature);
+				}
+			}
+			this.byTag = Collections.unmodifiableMap(byTag);
+			this.withoutChannels = Collections.unmodifiableList(withoutChannels);
+			this.signatures = Collections.unmodifiableList(signatures);
+			this.byChannel = Collections.unmodifiableMap(byChannel);
+
+			final var byChannels = new HashMap<List<String>, TopologyConnection>();
+			final var byNode = new HashMap<String, List<TopologyConnection>>();
+			final var notificationsByNode = new HashMap<String, List<DefinedNotification>>();
+			if (topology.connections != null) {
+
+				for (final var connection : topology.connections) {
+
+					if (connection == null) {
+
+						continue;
+					}
+					final var sourceTag = tagOf(connection.source);
+					final var targetTag = tagOf(connection.target);
+					if (connection.source != null && connection.target != null) {
+
+						byChannels.putIfAbsent(Arrays.asList(connection.source.channel, connection.target.channel),
+								connection);
+					}
+					if (sourceTag != null) {
+
+						byNode.computeIfAbsent(sourceTag, key -> new ArrayList<>()).add(connection);
+					}
+					if (targetTag != null && !targetTag.equals(sourceTag)) {
+
+						byNode.computeIfAbsent(targetTag, key -> new ArrayList<>()).add(connection);
+					}
+					if (connection.notifications != null) {
+
+						for (final var notification : connection.notifications) {
+
+							final var notifiedTag = notification == null ? null : tagOf(notification.target);
+							if (notifiedTag != null && !notifiedTag.equals(sourceTag)
+									&& !notifiedTag.equals(targetTag)) {
+
+								notificationsByNode.computeIfAbsent(notifiedTag, key -> new ArrayList<>())
+										.add(new DefinedNotification(connection, notification));
+							}
+						}
+					}
+				}
+			}
+			this.byChannels = Collections.unmodifiableMap(byChannels);
+			this.byNode = Collections.unmodifiableMap(byNode);
+			this.notificationsByNode = Collections.unmodifiableMap(notificationsByNode);
+		}
+
+		/**
+		 * Return the tag of the node of an endpoint.
+		 *
+		 * @param endpoint to get the node tag.
+		 *
+		 * @return the tag of the node, or {@code null} if the endpoint is not
+		 *         completely defined.
+		 */
+		private static String tagOf(TopologyConnectionEndpoint endpoint) {
+
+			if (endpoint == null || endpoint.channel == null) {
+
+				return null;
+
+			} else {
+
+				return endpoint.nodeTag;
+			}
+		}
+
+		/**
+		 * Return the identifier of the topology.
+		 *
+		 * @return the identifier of the compiled topology.
+		 */
+		public ObjectId id() {
+
+			return this.id;
+		}
+
+		/**
+		 * Return the compiled topology. It must not be modified.
+		 *
+		 * @return the compiled topology.
+		 */
+		public Topology topology() {
+
+			return this.topology;
+		}
+
+		/**
+		 * Return a node of the topology.
+		 *
+		 * @param tag of the node.
+		 *
+		 * @return the node with the tag, or {@code null} if it is not defined.
+		 */
+		public TopologyNode node(String tag) {
+
+			return tag == null ? null : this.byTag.get(tag);
+		}
+
+		/**
+		 * Return the nodes whose component channels are all defined in a component.
+		 * The channels of the nodes only are compared by its name, so it is necessary
+		 * to check if the payloads of the channels match.
+		 *
+		 * @param channelNames the name of the channels of the component.
+		 *
+		 * @return the candidate nodes, in the order that they are defined in the
+		 *         topology.
+		 */
+		public List<TopologyNode> candidatesFor(Collection<String> channelNames) {
+
+			if (channelNames == null || channelNames.isEmpty()) {
+
+				return this.withoutChannels;
+			}
+
+			final var matches = new TreeMap<Integer, Integer>();
+			for (final var name : new LinkedHashSet<>(channelNames)) {
+
+				for (final var index : this.byChannel.getOrDefault(name, Collections.emptyList())) {
+
+					matches.merge(index, 1, Integer::sum);
+				}
+			}
+
+			final var candidates = new ArrayList<TopologyNode>();
+			for (final var entry : matches.entrySet()) {
+
+				final var index = entry.getKey();
+				if (entry.getValue() == this.signatures.get(index).size()) {
+
+					candidates.add(this.topology.nodes.get(index));
+				}
+			}
+			return candidates;
+		}
+
+		/**
+		 * Return the connection defined between two channels.
+		 *
+		 * @param sourceChannel name of the source channel.
+		 * @param targetChannel name of the target channel.
+		 *
+		 * @return the connection defined between the channels, or {@code null} if it
+		 *         is not defined.
+		 */
+		public TopologyConnection connection(String sourceChannel, String targetChannel) {
+
+			return this.byChannels.get(Arrays.asList(sourceChannel, targetChannel));
+		}
+
+		/**
+		 * Return the connections where a node is the source or the target.
+		 *
+		 * @param tag of the node.
+		 *
+		 * @return the connections of the node, in the order that they are defined in
+		 *         the topology.
+		 */
+		public List<TopologyConnection> connectionsOf(String tag) {
+
+			return this.byNode.getOrDefault(tag, Collections.emptyList());
+		}
+
+		/**
+		 * Return the notifications to a node, of the connections where the node is
+		 * not the source or the target.
+		 *
+		 * @param tag of the node.
+		 *
+		 * @return the notifications to the node, in the order that they are defined in
+		 *         the topology.
+		 */
+		public List<DefinedNotification> notificationsTo(String tag) {
+
+			return this.notificationsByNode.getOrDefault(tag, Collections.emptyList());
+		}
+
+	}
+
+	/**
+	 * Return the topology that the MOV has to follow.
+	 *
+	 * @return the compiled topology to follow, or {@code null} if the MOV does not
+	 *         have to follow any topology or it is not defined.
+	 */
+	public Uni<CompiledTopology> get() {
+
+		final var id = this.configuration.getTopologyId();
+		if (id == null) {
+
+			return Uni.createFrom().nullItem();
+		}
+
+		final var compiled = this.current.get();
+		if (compiled != null && compiled.id().equals(id)) {
+
+			return Uni.createFrom().item(compiled);
+		}
+
+		final var invalidation = this.invalidations.get();
+		return GetTopology.fresh().withId(id).execute().map(topology -> {
+
+			if (topology == null) {
+
+				return null;
+			}
+
+			final var fresh = new CompiledTopology(id, topology);
+			if (this.invalidations.get() == invalidation) {
+
+				this.current.set(fresh);
+			}
+			Log.debugv("Compiled the topology {0}", id);
+			return fresh;
+		});
+	}
+
+	/**
+	 * Called when a topology has been modified.
+	 *
+	 * @param topologyId identifier of the modified topology.
+	 */
+	public void invalidate(ObjectId topologyId) {
+
+		this.invalidations.incrementAndGet();
+		final var compiled = this.current.get();
+		if (compiled != null && compiled.id().equals(topologyId)) {
+
+			this.current.compareAndSet(compiled, null);
+		}
+	}
+
+}
@@ -16,6 +16,7 @@ import org.eclipse.microprofile.reactive.messaging.Message;
 import eu.valawai.mov.events.PayloadService;
 import eu.valawai.mov.persistence.live.logs.AddLog;
 import eu.valawai.mov.persistence.live.topology.ChangeNotificationFromConnection;
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -37,6 +38,18 @@ public class ChangeNotificationManager {
 	@Inject
 	PayloadService service;
 
+	/**
+	 * The table with the enabled connections to route the messages.
+	 */
+	@Inject
+	TopologyRoutingTable routes;
+
+	/**
+	 * The service to maintain the bindings of the connections routed by the broker.
+	 */
+	@Inject
+	DirectBindingService bindings;
+
 	/**
 	 * Called when has to register a component.
 	 *
@@ -52,7 +65,11 @@ public class ChangeNotificationManager {
 
 			final var payload = this.service.decodeAndVerify(content, ChangeNotificationPayload.class);
 			return ChangeNotificationFromConnection.fresh().withConnection(payload.connectionId)
-					.withNode(payload.target).withAction(payload.action).execute().subscribeAsCompletionStage()
+					.withNode(payload.target).withAction(payload.action).execute()
+					.call(changed -> Boolean.TRUE.equals(changed) ? this.routes.refresh(payload.connectionId)
+							.call(() -> this.bindings.synchronizeOf(payload.connectionId))
+							: Uni.createFrom().voidItem())
+					.subscribeAsCompletionStage()
 					.thenCompose(changed -> {
 						if (Boolean.TRUE.equals(changed)) {
 
@@ -0,0 +1,78 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import eu.valawai.mov.events.Payload;
+import io.quarkus.mongodb.panache.common.jackson.ObjectIdSerializer;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * The information necessary to change some connections of the topology at the
+ * same time. The connections to change are the ones that satisfy all the
+ * defined conditions, and at least one condition must be defined.
+ *
+ * @see ChangeTopologyPayload
+ *
+ * @author VALAWAI
+ */
+@RegisterForReflection
+@JsonRootName("change_topology_connections_payload")
+public class ChangeTopologyConnectionsPayload extends Payload {
+
+	/**
+	 * The type of action to do on the connections.
+	 */
+	@NotNull
+	public TopologyAction action;
+
+	/**
+	 * The identifiers of the topology connections to change.
+	 */
+	@Nullable
+	@JsonSerialize(contentUsing = ObjectIdSerializer.class)
+	@JsonProperty("connection_ids")
+	public List<ObjectId> connectionIds;
+
+	/**
+	 * The identifier of the component that is the source or target of the
+	 * connections to change.
+	 */
+	@Nullable
+	@JsonSerialize(using = ObjectIdSerializer.class)
+	@JsonProperty("component_id")
+	public ObjectId componentId;
+
+	/**
+	 * The name of the channel that is the source or target of the connections to
+	 * change.
+	 */
+	@Nullable
+	@JsonProperty("channel_name")
+	public String channelName;
+
+	/**
+	 * The identifier of the designed topology that define the connections to
+	 * change.
+	 */
+	@Nullable
+	@JsonSerialize(using = ObjectIdSerializer.class)
+	@JsonProperty("topology_id")
+	public ObjectId topologyId;
+
+}
@@ -8,26 +8,37 @@
 
 package eu.valawai.mov.events.topology;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import org.bson.types.ObjectId;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
 
-import com.mongodb.client.model.Filters;
-
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.MOVConfiguration.DeliveryMode;
 import eu.valawai.mov.TimeManager;
 import eu.valawai.mov.events.ListenerService;
 import eu.valawai.mov.events.PayloadService;
 import eu.valawai.mov.events.PublishService;
+import eu.valawai.mov.events.RawMessage;
 import eu.valawai.mov.persistence.live.logs.AddLog;
+import eu.valawai.mov.persistence.live.topology.ChangeTopologyConnections;
 import eu.valawai.mov.persistence.live.topology.DeleteTopologyConnection;
 import eu.valawai.mov.persistence.live.topology.EnableTopologyConnection;
 import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
 import eu.valawai.mov.persistence.live.topology.TopologyConnectionNotification;
-import io.quarkiverse.quickjs4j.ScriptInterfaceFactory;
 import io.quarkus.logging.Log;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -43,6 +54,21 @@ import jakarta.inject.Inject;
 @ApplicationScoped
 public class ChangeTopologyManager {
 
+	/**
+	 * The sampling type of the logs of the messages received from a source.
+	 */
+	public static final String RECEIVED_MESSAGE_LOG_SAMPLING = "received-message";
+
+	/**
+	 * The sampling type of the logs of the messages sent to a target.
+	 */
+	public static final String SENT_MESSAGE_LOG_SAMPLING = "sent-message";
+
+	/**
+	 * The sampling type of the logs of the messages sent to a notification.
+	 */
+	public static final String NOTIFIED_MESSAGE_LOG_SAMPLING = "notified-message";
+
 	/**
 	 * The component to manage the messages.
 	 */
@@ -68,16 +94,28 @@ public class ChangeTopologyManager {
 	EventBus bus;
 
 	/**
-	 * Factory to create the conversion.
+	 * The table with the enabled connections to route the messages.
+	 */
+	@Inject
+	TopologyRoutingTable routes;
+
+	/**
+	 * The cache with the compiled converters.
 	 */
 	@Inject
-	ScriptInterfaceFactory<MessageConverter, MessageConverterContext> messageConverterFactory;
+	ConverterCache converters;
 
 	/**
-	 * Factory to create the conversion.
+	 * The configuration of the MOV.
 	 */
 	@Inject
-	ScriptInterfaceFactory<NotificationConverter, NotificationConverterContext> notificationConverterFactory;
+	MOVConfiguration conf;
+
+	/**
+	 * The service to maintain the bindings of the connections routed by the broker.
+	 */
+	@Inject
+	DirectBindingService bindings;
 
 	/**
 	 * Called when has to register a component.
@@ -150,9 +188,11 @@ public class ChangeTopologyManager {
 
 			if (deleted) {
 
+				this.routes.remove(connection.id);
 				if (connection.enabled) {
 
-					return this.closeConnection(connection);
+					return this.bindings.synchronize(connection.source.channelName)
+							.chain(any -> this.closeConnection(connection));
 
 				} else {
 
@@ -186,20 +226,14 @@ public class ChangeTopologyManager {
 	private Uni<Void> closeConnection(TopologyConnectionEntity connection) {
 
 		final var source = connection.source.channelName;
-		return TopologyConnectionEntity
-				.count(Filters.and(Filters.eq("enabled", true), Filters.eq("source.channelName", source),
-						Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null))))
-				.chain(count -> {
-
-					if (count == 0 && this.listener.isOpen(source)) {
+		if (!this.routes.hasRoutes(source) && this.listener.isOpen(source)) {
 
-						return this.listener.close(source);
+			return this.listener.close(source);
 
-					} else {
+		} else {
 
-						return Uni.createFrom().nullItem();
-					}
-				});
+			return Uni.createFrom().nullItem();
+		}
 	}
 
 	/**
@@ -212,7 +246,10 @@ public class ChangeTopologyManager {
 		if (connection.enabled) {
 
 			EnableTopologyConnection.fresh().withConnection(connection.id).withAction(TopologyAction.DISABLE).execute()
-					.chain(any -> this.closeConnection(connection)).subscribe().with(success -> {
+					.chain(any -> this.routes.refresh(connection.id))
+					.chain(any -> this.bindings.synchronize(connection.source.channelName))
+					.chain(any -> this.closeConnection(connection))
+					.subscribe().with(success -> {
 
 						AddLog.fresh().withInfo().withMessage("Disabled the connection {0}", connection.toLogId())
 								.store();
@@ -240,23 +277,15 @@ public class ChangeTopologyManager {
 		if (!connection.enabled) {
 
 			EnableTopologyConnection.fresh().withConnection(connection.id).withAction(TopologyAction.ENABLE).execute()
-					.subscribe().with(done -> {
+					.chain(any -> this.routes.refresh(connection.id))
+					.chain(any -> this.bindings.synchronize(connection.source.channelName)).subscribe().with(done -> {
 
 						AddLog.fresh().withInfo().withMessage("Enabled the connection {0}", connection.toLogId())
 								.store();
 						final var source = connection.source.channelName;
 						if (!this.listener.isOpen(source)) {
 
-							this.listener.toMultiBody(this.listener.openConsumer(source)).subscribe().with(msg -> {
-
-								this.receivedMessageFromQueue(source, msg);
-
-							}, error -> {
-
-								AddLog.fresh().withError(error)
-										.withMessage("Cannot listen for the messages from the queue {0}", source)
-										.store();
-							});
+							this.routeMessagesFrom(source);
 						}
 
 					}, error -> {
@@ -274,68 +303,444 @@ public class ChangeTopologyManager {
 
 	}
 
+	/**
+	 * Called when has to change some connections at the same time.
+	 *
+	 * @param msg message to consume.
+	 *
+	 * @return the result if the message process.
+	 */
+	@Incoming("change_topology_connections")
+	public CompletionStage<Void> consumeAll(Message<JsonObject> msg) {
+
+		final var content = msg.getPayload();
+		try {
+
+			final var payload = this.service.decodeAndVerify(content, ChangeTopologyConnectionsPayload.class);
+			final var change = ChangeTopologyConnections.fresh().withAction(payload.action)
+					.withConnections(payload.connectionIds).withComponent(payload.componentId)
+					.withChannel(payload.channelName).withTopology(payload.topologyId);
+			if (!change.hasConditions()) {
+
+				throw new IllegalArgumentException("No condition to select the connections to change");
+			}
+			return this.changeConnections(change).map(changed -> {
+
+				AddLog.fresh().withInfo().withMessage("Changed {0} connections", changed.size()).store();
+				return changed;
+
+			}).onFailure().recoverWithItem(error -> {
+
+				AddLog.fresh().withError(error)
+						.withMessage("Cannot change the topology connections, because {0}.", error.getMessage())
+						.withPayload(content).store();
+				return null;
+
+			}).subscribeAsCompletionStage().thenCompose(changed -> msg.ack());
+
+		} catch (final Throwable error) {
+
+			AddLog.fresh().withError().withMessage("Received invalid change topology connections payload.")
+					.withPayload(content).store();
+			return msg.nack(error);
+		}
+
+	}
+
+	/**
+	 * Enable some connections at the same time.
+	 *
+	 * @param connectionIds identifiers of the connections to enable.
+	 *
+	 * @return the identifiers of the connections that have been enabled.
+	 *
+	 * @see #changeConnections(ChangeTopologyConnections)
+	 */
+	public Uni<List<ObjectId>> enableConnections(Collection<ObjectId> connectionIds) {
+
+		return this.changeConnections(ChangeTopologyConnections.fresh().withConnections(connectionIds)
+				.withAction(TopologyAction.ENABLE));
+	}
+
+	/**
+	 * Change some connections at the same time. The state of the connections is
+	 * changed with a single update, the routes are refreshed once, and the
+	 * bindings and listeners are synchronized once for each affected source
+	 * channel. The caller is the responsible to log the result of the change.
+	 *
+	 * @param change the operation with the connections to change.
+	 *
+	 * @return the identifiers of the connections that have been changed.
+	 */
+	public Uni<List<ObjectId>> changeConnections(ChangeTopologyConnections change) {
+
+		return change.execute().chain(connections -> {
+
+			if (connections.isEmpty()) {
+
+				return Uni.createFrom().item(Collections.<ObjectId>emptyList());
+			}
+
+			final var ids = new ArrayList<ObjectId>();
+			final var sources = new LinkedHashSet<String>();
+			for (final var connection : connections) {
+
+				ids.add(connection.id);
+				sources.add(connection.source.channelName);
+			}
+			return this.routes.refresh(ids)
+					.chain(any -> Multi.createFrom().iterable(sources).onItem()
+							.transformToUniAndConcatenate(this::synchronizeSource).collect().asList())
+					.map(any -> ids);
+		});
+
+	}
+
+	/**
+	 * Synchronize the bindings and the listener of a source channel with its
+	 * current routes.
+	 *
+	 * @param source name of the channel to synchronize.
+	 *
+	 * @return the result when the source is synchronized.
+	 */
+	private Uni<Void> synchronizeSource(String source) {
+
+		return this.bindings.synchronize(source).chain(() -> {
+
+			if (this.routes.hasRoutes(source)) {
+
+				if (!this.listener.isOpen(source)) {
+
+					this.routeMessagesFrom(source);
+				}
+				return Uni.createFrom().voidItem();
+
+			} else if (this.listener.isOpen(source)) {
+
+				return this.listener.close(source);
+
+			} else {
+
+				return Uni.createFrom().voidItem();
+			}
+		});
+	}
+
+	/**
+	 * Start to route the messages that are published on a source channel. The
+	 * messages of the channel are converted and handed to the publishers in the
+	 * order that they are received, and the notifications of a message are
+	 * published just after the message is published to the target, so the target
+	 * and the notified components of a connection receive the messages in the same
+	 * order that they have been published on the source. Up to the configured
+	 * maximum messages can wait for the broker at the same time, so the
+	 * confirmations may complete in any order. When the messages are delivered at
+	 * most once, a message that cannot be routed is discarded, so it is not sent
+	 * again to the connections that have received it and it does not change the
+	 * order of the following messages. When they are delivered at least once, the
+	 * message is returned to the queue to route it again, so it is not lost
+	 * although some connections may receive it twice. Each source channel is
+	 * processed on the worker pool, so the messages of different channels are
+	 * routed in parallel.
+	 *
+	 * @param source name of the channel to listen for messages.
+	 *
+	 * @see MOVConfiguration.Routing
+	 */
+	private void routeMessagesFrom(String source) {
+
+		final var maxInFlight = Math.max(1, this.conf.routing().maxInFlight());
+		final var confirmed = this.conf.routing().delivery() == DeliveryMode.AT_LEAST_ONCE;
+		this.listener.toMultiRaw(this.listener.openConsumer(source)).emitOn(Infrastructure.getDefaultWorkerPool())
+				.onItem().transformToUni(msg -> {
+
+					return this.receivedMessageFromQueue(source, msg, confirmed).onItemOrFailure()
+							.transformToUni((any, error) -> {
+
+								if (error == null) {
+
+									return this.listener.ack(msg);
+
+								} else if (confirmed) {
+
+									AddLog.fresh().withError(error).withPayload(msg::json).withMessage(
+											"Cannot route a message from {0}, so it is returned to the queue", source)
+											.store();
+									return this.listener.nack(msg, true);
+
+								} else {
+
+									AddLog.fresh().withError(error).withPayload(msg::json)
+											.withMessage("Cannot route a message from {0}, so it is discarded", source)
+											.store();
+									return this.listener.nack(msg, false);
+								}
+
+							}).onFailure().recoverWithNull();
+
+				}).merge(maxInFlight).subscribe().with(any -> {
+					// the message has been routed
+				}, error -> {
+
+					AddLog.fresh().withError(error)
+							.withMessage("Cannot listen for the messages from the queue {0}", source).store();
+				});
+
+	}
+
 	/**
 	 * Called when has received a message form a channel.
 	 *
-	 * @param name of the channel that has received the message
-	 * @param msg  received message from the channel.
+	 * @param name      of the channel that has received the message
+	 * @param msg       received message from the channel. It is decoded only if a
+	 *                  converter, a notification or a stored log requires it.
+	 * @param confirmed is {@code true} if the message must be confirmed by the
+	 *                  broker or stored in a dead-letter queue.
+	 *
+	 * @return the result when the message has been sent to all the connections.
 	 */
-	private void receivedMessageFromQueue(String name, JsonObject msg) {
+	private Uni<Void> receivedMessageFromQueue(String name, RawMessage msg, boolean confirmed) {
 
 		Log.debugv("On the channel {0} received the message {1}", name, msg);
-		// search for all the active connections that has the channel as source.
-		final var query = Filters.and(Filters.eq("enabled", true), Filters.eq("source.channelName", name),
-				Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)));
-		final Multi<TopologyConnectionEntity> search = TopologyConnectionEntity.find(query).stream();
-		search.subscribe().with(connection -> {
-
-			AddLog.fresh().withDebug().withPayload(msg)
-					.withMessage("Received a message from the source of the connection {0}.", connection.toLogId())
-					.store();
+		// route to all the active connections that has the channel as source.
+		final var connections = this.routes.routesFor(name);
+		if (connections.isEmpty()) {
+
+			return Uni.createFrom().voidItem();
+		}
 
-			final var msgToSent = this.convertSourceMessageToTargetMessage(connection, msg);
-			this.publish.send(connection.target.channelName, msgToSent).subscribe().with(emptySentToTarget -> {
+		final var routed = new ArrayList<Uni<Void>>(connections.size());
+		final var direct = new ArrayList<TopologyConnectionEntity>();
+		for (final var connection : connections) {
+
+			if (this.bindings.isDirect(connection)) {
+
+				direct.add(connection);
+
+			} else {
+
+				routed.add(this.routeMessage(connection, msg, confirmed));
+			}
+		}
+		if (!direct.isEmpty()) {
+
+			routed.add(this.routeDirectMessage(name, direct, msg, confirmed));
+		}
+		return Uni.join().all(routed).andCollectFailures().replaceWithVoid();
+
+	}
+
+	/**
+	 * Send a message to the exchange where the broker route it to the targets of
+	 * the direct connections of a source channel. The message is published only
+	 * once, without decoding it.
+	 *
+	 * @param name        of the channel that has received the message.
+	 * @param connections the direct connections of the channel.
+	 * @param msg         received message from the channel.
+	 * @param confirmed   is {@code true} if the message must be confirmed by the
+	 *                    broker or stored in the dead-letter queues of the
+	 *                    connections.
+	 *
+	 * @return the result when the message has been sent to the exchange.
+	 *
+	 * @see DirectBindingService
+	 */
+	private Uni<Void> routeDirectMessage(String name, List<TopologyConnectionEntity> connections, RawMessage msg,
+			boolean confirmed) {
 
-				AddLog.fresh().withDebug().withPayload(msgToSent)
-						.withMessage("Notified to the target of the connection {0}", connection.toLogId()).store();
-				if (connection.notifications != null) {
-					// notify of a sent message thought a connection
-					final var now = TimeManager.now();
-					for (final var notification : connection.notifications) {
+		final var exchange = this.bindings.exchangeName(name);
+		return this.publish.sendRawToExchange(exchange, msg, confirmed).onItemOrFailure()
+				.transformToUni((emptySent, error) -> {
 
-						if (notification.enabled) {
+					if (error != null) {
 
-							final var notificationToSend = this.convertSourceMessageToNotificationMessage(connection,
-									notification, msg, now);
-							this.publish.send(notification.node.channelName, notificationToSend).subscribe()
-									.with(emptySentToNotification -> {
+						AddLog.fresh().withError(error).withPayload(msg::json)
+								.withMessage("Cannot send the message of {0} to the exchange {1}", name, exchange)
+								.store();
+						if (confirmed) {
 
-										AddLog.fresh().withDebug().withPayload(notificationToSend).withMessage(
-												"The message that has pass thought the connection {0}, it is notified to {1}",
-												connection.toLogId(), notification.node.channelName).store();
+							final var stored = new ArrayList<Uni<Void>>(connections.size());
+							for (final var connection : connections) {
 
-									}, error -> {
+								stored.add(this.sendToDeadLetter(connection,
+										queueName -> this.publish.sendRawConfirmed(queueName, msg), msg::json));
+							}
+							return Uni.join().all(stored).andCollectFailures().replaceWithVoid();
 
-										AddLog.fresh().withError(error).withPayload(notificationToSend).withMessage(
-												"The message that has pass thought the connection {0}, it cannot be is notified to {1}",
-												connection.toLogId(), notification.node.channelName).store();
-									});
+						} else {
 
-						} // else notification disabled
+							return Uni.createFrom().voidItem();
+						}
 					}
+
+					AddLog.fresh().withDebug().withSampling(SENT_MESSAGE_LOG_SAMPLING).withPayload(msg::json)
+							.withMessage("Sent the message of {0} to the exchange {1}", name, exchange).store();
+					return Uni.createFrom().voidItem();
+				});
+	}
+
+	/**
+	 * Send a message thought a connection.
+	 *
+	 * @param connection where the message has to pass thought.
+	 * @param msg        received message from the source of the connection.
+	 * @param confirmed  is {@code true} if the message must be confirmed by the
+	 *                   broker or stored in the dead-letter queue of the
+	 *                   connection.
+	 *
+	 * @return the result when the message has been sent to the target and the
+	 *         notifications. It only fails when a confirmed message cannot be sent
+	 *         to the target or a notification, neither stored in the dead-letter
+	 *         queue.
+	 */
+	private Uni<Void> routeMessage(TopologyConnectionEntity connection, RawMessage msg, boolean confirmed) {
+
+		AddLog.fresh().withDebug().withSampling(RECEIVED_MESSAGE_LOG_SAMPLING).withPayload(msg::json)
+				.withMessage("Received a message from the source of the connection {0}.", connection.toLogId())
+				.store();
+
+		final var msgToSent = this.convertSourceMessageToTargetMessage(connection, msg);
+		final var target = connection.target.channelName;
+		final var sent = confirmed ? this.publish.sendRawConfirmed(target, msgToSent)
+				: this.publish.sendRaw(target, msgToSent);
+		var routed = sent.onItemOrFailure().transformToUni((emptySentToTarget, error) -> {
+
+			if (error != null) {
+
+				AddLog.fresh().withError(error).withPayload(msgToSent::json)
+						.withMessage("Cannot notify to the target of the connection {0}", connection.toLogId())
+						.store();
+				if (confirmed) {
+
+					return Uni.createFrom().<Void>failure(error);
+
+				} else {
+
+					return Uni.createFrom().voidItem();
 				}
+			}
 
-			}, error -> {
+			AddLog.fresh().withDebug().withSampling(SENT_MESSAGE_LOG_SAMPLING).withPayload(msgToSent::json)
+					.withMessage("Notified to the target of the connection {0}", connection.toLogId()).store();
+			return Uni.createFrom().voidItem();
+		});
 
-				AddLog.fresh().withError(error).withPayload(msgToSent)
-						.withMessage("Cannot notify to the target of the connection {0}", connection.toLogId()).store();
+		if (confirmed) {
 
-			});
+			routed = routed.onFailure().recoverWithUni(error -> this.sendToDeadLetter(connection,
+					queueName -> this.publish.sendRawConfirmed(queueName, msg), msg::json));
+		}
 
-		}, error -> {
+		// The notifications are published after the target, without waiting for its
+		// confirmation, to receive them in the same order than the target.
+		return Uni.join().all(routed, this.notifySentMessage(connection, msg, confirmed)).andCollectFailures()
+				.replaceWithVoid();
+
+	}
+
+	/**
+	 * Notify that a message has pass thought a connection.
+	 *
+	 * @param connection where the message has pass thought.
+	 * @param msg        received message from the source of the connection.
+	 * @param confirmed  is {@code true} if the notifications must be confirmed by
+	 *                   the broker or stored in the dead-letter queue of the
+	 *                   connection.
+	 *
+	 * @return the result when all the notifications has been sent. It only fails
+	 *         when a confirmed notification cannot be sent neither stored in the
+	 *         dead-letter queue, otherwise the failures are only reported on the
+	 *         logs.
+	 */
+	private Uni<Void> notifySentMessage(TopologyConnectionEntity connection, RawMessage msg, boolean confirmed) {
+
+		if (connection.notifications == null || connection.notifications.isEmpty()) {
+
+			return Uni.createFrom().voidItem();
+		}
+
+		// notify of a sent message thought a connection
+		final var now = TimeManager.now();
+		final var notified = new ArrayList<Uni<Void>>();
+		for (final var notification : connection.notifications) {
+
+			if (notification.enabled) {
+
+				final var notificationToSend = this.convertSourceMessageToNotificationMessage(connection, notification,
+						msg, now);
+				final var channelName = notification.node.channelName;
+				final var sent = confirmed ? this.publish.sendConfirmed(channelName, notificationToSend)
+						: this.publish.send(channelName, notificationToSend);
+				final var logged = sent.onItem().invoke(emptySentToNotification -> {
+
+					AddLog.fresh().withDebug().withSampling(NOTIFIED_MESSAGE_LOG_SAMPLING)
+							.withPayload(notificationToSend).withMessage(
+									"The message that has pass thought the connection {0}, it is notified to {1}",
+									connection.toLogId(), channelName)
+							.store();
+
+				}).onFailure().invoke(error -> {
+
+					AddLog.fresh().withError(error).withPayload(notificationToSend).withMessage(
+							"The message that has pass thought the connection {0}, it cannot be is notified to {1}",
+							connection.toLogId(), channelName).store();
+				});
+				if (confirmed) {
+
+					notified.add(logged.onFailure().recoverWithUni(error -> this.sendToDeadLetter(connection,
+							queueName -> this.publish.sendConfirmed(queueName, notificationToSend),
+							() -> notificationToSend)));
+
+				} else {
+
+					notified.add(logged.onFailure().recoverWithNull());
+				}
+
+			} // else notification disabled
+		}
 
-			AddLog.fresh().withError(error).withPayload(msg)
-					.withMessage("Cannot process received message from the queue {0}", name).store();
+		if (notified.isEmpty()) {
+
+			return Uni.createFrom().voidItem();
+
+		} else {
+
+			return Uni.join().all(notified).andCollectFailures().replaceWithVoid();
+		}
+
+	}
+
+	/**
+	 * Store a message or a notification that cannot pass thought a connection in
+	 * the dead-letter queue of the connection. The publication is retried up to the
+	 * configured times before failing.
+	 *
+	 * @param connection where the message cannot pass thought.
+	 * @param sender     the function to publish the message on the dead-letter
+	 *                   queue.
+	 * @param payload    the function to obtain the payload to report on the logs.
+	 *
+	 * @return the result when the broker has confirmed the message on the
+	 *         dead-letter queue.
+	 */
+	private Uni<Void> sendToDeadLetter(TopologyConnectionEntity connection, Function<String, Uni<Void>> sender,
+			Supplier<?> payload) {
+
+		final var queueName = this.conf.routing().deadLetterPrefix() + connection.id.toHexString();
+		var stored = this.publish.declareQueue(queueName).chain(() -> sender.apply(queueName));
+		final var retries = this.conf.routing().deadLetterRetries();
+		if (retries > 0) {
+
+			stored = stored.onFailure().retry().withBackOff(Duration.ofMillis(100)).atMost(retries);
+		}
+		return stored.invoke(() -> {
+
+			AddLog.fresh().withWarning().withPayload(payload)
+					.withMessage("The message that cannot pass thought the connection {0} has been sent to {1}",
+							connection.toLogId(), queueName)
+					.store();
 		});
 
 	}
@@ -346,17 +751,17 @@ public class ChangeTopologyManager {
 	 *
 	 * @param connection where the message has to pas thought.
 	 * @param msg        that has been published
+	 *
+	 * @return the message to send to the target. If the connection does not have
+	 *         a converter, it is the same received message.
 	 */
-	private JsonObject convertSourceMessageToTargetMessage(TopologyConnectionEntity connection, JsonObject msg) {
+	private RawMessage convertSourceMessageToTargetMessage(TopologyConnectionEntity connection, RawMessage msg) {
 
 		if (connection.targetMessageConverterJSCode != null) {
 
 			try {
 
-				final var context = new MessageConverterContext(connection);
-				final var converter = this.messageConverterFactory.create(connection.targetMessageConverterJSCode,
-						context);
-				return converter.convertMessage(msg);
+				return RawMessage.of(this.converters.convertMessage(connection, msg.json()));
 
 			} catch (final Throwable error) {
 
@@ -383,16 +788,13 @@ public class ChangeTopologyManager {
 	 * @return the message that has to be sent
 	 */
 	private Object convertSourceMessageToNotificationMessage(TopologyConnectionEntity connection,
-			TopologyConnectionNotification notification, JsonObject msg, long now) {
+			TopologyConnectionNotification notification, RawMessage msg, long now) {
 
 		if (notification.notificationMessageConverterJSCode != null) {
 
 			try {
 
-				final var context = new NotificationConverterContext(connection, notification);
-				final var converter = this.notificationConverterFactory
-						.create(notification.notificationMessageConverterJSCode, context);
-				return converter.convertNotification(msg);
+				return this.converters.convertNotification(connection, notification, msg.json());
 
 			} catch (final Throwable error) {
 
@@ -408,7 +810,17 @@ public class ChangeTopologyManager {
 		final var payload = new SentMessagePayload();
 		payload.source = new MinComponentPayload();
 		payload.target = new MinComponentPayload();
-		payload.messagePayload = msg;
+		try {
+
+			payload.messagePayload = msg.json();
+
+		} catch (final Throwable error) {
+
+			AddLog.fresh().withError(error).withPayload(msg.toString())
+					.withMessage("The message that pass thought the connection {0} is not a valid JSON",
+							connection.toLogId())
+					.store();
+		}
 		payload.timestamp = now;
 		payload.connectionId = connection.id;
 		payload.source.id = connection.source.componentId;
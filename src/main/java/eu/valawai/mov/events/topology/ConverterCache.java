@@ -0,0 +1,390 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.api.v2.live.metrics.ConverterCacheMetrics;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionNotification;
+import io.quarkiverse.quickjs4j.ScriptInterfaceFactory;
+import io.quarkus.logging.Log;
+import io.vertx.core.json.JsonObject;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * The cache of the compiled converters used to transform the messages that pass
+ * thought a connection. Creating a converter starts a new JavaScript runtime and
+ * parses its code, so the created instances are maintained on a pool, by the
+ * code that they execute, to be reused by the next messages. The least recently
+ * used codes are removed when the cache is full.
+ *
+ * @see MessageConverter
+ * @see NotificationConverter
+ *
+ * @author VALAWAI
+ */
+@ApplicationScoped
+public class ConverterCache {
+
+	/**
+	 * Factory to create the conversion.
+	 */
+	@Inject
+	ScriptInterfaceFactory<MessageConverter, MessageConverterContext> messageConverterFactory;
+
+	/**
+	 * Factory to create the conversion.
+	 */
+	@Inject
+	ScriptInterfaceFactory<NotificationConverter, NotificationConverterContext> notificationConverterFactory;
+
+	/**
+	 * The configuration of the MOV.
+	 */
+	@Inject
+	MOVConfiguration conf;
+
+	/**
+	 * The pools of the compiled converters, in access order.
+	 */
+	private final Map<ConverterKey, ConverterPool<?, ?>> pools = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * The number of times that a compiled converter has been reused.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * The number of times that a converter has to be compiled.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * The number of converter codes removed from the cache.
+	 */
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * The total time, in nanoseconds, spent compiling converters.
+	 */
+	private final AtomicLong compileNanos = new AtomicLong();
+
+	/**
+	 * The type of converters that can be on the cache.
+	 */
+	enum ConverterType {
+
+		/**
+		 * A converter from the source message to the target message.
+		 */
+		MESSAGE,
+
+		/**
+		 * A converter from the source message to a notification message.
+		 */
+		NOTIFICATION;
+	}
+
+	/**
+	 * The key used to index the converters. It contains the full source of the
+	 * converter, so two codes only share a pool when they are equals. The lookup
+	 * uses the hash of the code string, that is computed only once for each
+	 * string instance.
+	 *
+	 * @param type of converter.
+	 * @param code of the converter.
+	 */
+	record ConverterKey(ConverterType type, String code) {
+	}
+
+	/**
+	 * A converter ready to be used with the context that it uses.
+	 *
+	 * @param <T> type of converter.
+	 * @param <C> type of context.
+	 *
+	 * @param converter the compiled converter.
+	 * @param context   that the converter uses.
+	 */
+	record PooledConverter<T, C>(T converter, C context) {
+	}
+
+	/**
+	 * The idle instances of a converter code.
+	 *
+	 * @param <T> type of converter.
+	 * @param <C> type of context.
+	 */
+	static class ConverterPool<T, C> {
+
+		/**
+		 * The instances that are not in use.
+		 */
+		final Deque<PooledConverter<T, C>> idle = new ConcurrentLinkedDeque<>();
+
+		/**
+		 * The number of instances that are in {@link #idle}.
+		 */
+		final AtomicInteger size = new AtomicInteger();
+
+		/**
+		 * This is {@code true} if the code has been removed from the cache.
+		 */
+		volatile boolean evicted;
+
+	}
+
+	/**
+	 * Convert the message that pass thought a connection.
+	 *
+	 * @param connection where the message has to pass thought.
+	 * @param msg        that has been published by the source.
+	 *
+	 * @return the converted message.
+	 */
+	public JsonObject convertMessage(TopologyConnectionEntity connection, JsonObject msg) {
+
+		final var code = connection.targetMessageConverterJSCode;
+		final ConverterPool<MessageConverter, MessageConverterContext> pool = this
+				.poolFor(new ConverterKey(ConverterType.MESSAGE, code));
+		final var instance = this.borrow(pool, () -> {
+
+			final var context = new MessageConverterContext(connection);
+			return new PooledConverter<>(this.messageConverterFactory.create(code, context), context);
+		});
+		try {
+
+			instance.context().resetWith(connection);
+			return instance.converter().convertMessage(msg);
+
+		} finally {
+
+			this.release(pool, instance);
+		}
+	}
+
+	/**
+	 * Convert the message that pass thought a connection to a notification.
+	 *
+	 * @param connection   where the message has to pass thought.
+	 * @param notification to send.
+	 * @param msg          that has been published by the source.
+	 *
+	 * @return the converted notification.
+	 */
+	public JsonObject convertNotification(TopologyConnectionEntity connection,
+			TopologyConnectionNotification notification, JsonObject msg) {
+
+		final var code = notification.notificationMessageConverterJSCode;
+		final ConverterPool<NotificationConverter, NotificationConverterContext> pool = this
+				.poolFor(new ConverterKey(ConverterType.NOTIFICATION, code));
+		final var instance = this.borrow(pool, () -> {
+
+			final var context = new NotificationConverterContext(connection, notification);
+			return new PooledConverter<>(this.notificationConverterFactory.create(code, context), context);
+		});
+		try {
+
+			instance.context().resetWith(connection, notification);
+			return instance.converter().convertNotification(msg);
+
+		} finally {
+
+			this.release(pool, instance);
+		}
+	}
+
+	/**
+	 * Obtain the pool associated to a converter code.
+	 *
+	 * @param key of the converter.
+	 *
+	 * @return the pool with the instances of the converter.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T, C> ConverterPool<T, C> poolFor(ConverterKey key) {
+
+		synchronized (this.pools) {
+
+			var pool = this.pools.get(key);
+			if (pool == null) {
+
+				pool = new ConverterPool<>();
+				this.pools.put(key, pool);
+				final var max = Math.max(1, this.conf.converters().cacheSize());
+				final var iter = this.pools.values().iterator();
+				while (this.pools.size() > max && iter.hasNext()) {
+
+					final var eldest = iter.next();
+					iter.remove();
+					this.evict(eldest);
+				}
+			}
+			return (ConverterPool<T, C>) pool;
+		}
+	}
+
+	/**
+	 * Get an idle instance of a pool or create a new one.
+	 *
+	 * @param pool   to get the instance.
+	 * @param create the function to compile a new instance.
+	 *
+	 * @return the instance to use.
+	 */
+	private <T, C> PooledConverter<T, C> borrow(ConverterPool<T, C> pool, Supplier<PooledConverter<T, C>> create) {
+
+		final var instance = pool.idle.pollFirst();
+		if (instance != null) {
+
+			pool.size.decrementAndGet();
+			this.hits.incrementAndGet();
+			return instance;
+
+		} else {
+
+			this.misses.incrementAndGet();
+			final var start = System.nanoTime();
+			try {
+
+				return create.get();
+
+			} finally {
+
+				this.compileNanos.addAndGet(System.nanoTime() - start);
+			}
+		}
+	}
+
+	/**
+	 * Return an instance to its pool.
+	 *
+	 * @param pool     where the instance has to be returned.
+	 * @param instance to return.
+	 */
+	private <T, C> void release(ConverterPool<T, C> pool, PooledConverter<T, C> instance) {
+
+		if (!pool.evicted && pool.size.incrementAndGet() <= Math.max(1, this.conf.converters().poolSize())) {
+
+			pool.idle.offerFirst(instance);
+			if (pool.evicted) {
+
+				// the pool has been evicted while the instance was returned
+				drain(pool);
+			}
+
+		} else {
+
+			if (!pool.evicted) {
+
+				pool.size.decrementAndGet();
+			}
+			close(instance);
+		}
+	}
+
+	/**
+	 * Remove all the instances of a pool.
+	 *
+	 * @param pool to remove.
+	 */
+	private void evict(ConverterPool<?, ?> pool) {
+
+		pool.evicted = true;
+		this.evictions.incrementAndGet();
+		drain(pool);
+	}
+
+	/**
+	 * Close all the idle instances of a pool.
+	 *
+	 * @param pool to drain.
+	 */
+	private static void drain(ConverterPool<?, ?> pool) {
+
+		PooledConverter<?, ?> instance = null;
+		while ((instance = pool.idle.pollFirst()) != null) {
+
+			close(instance);
+		}
+	}
+
+	/**
+	 * Release the resources of a converter that will not be used anymore.
+	 *
+	 * @param instance to close.
+	 */
+	private static void close(PooledConverter<?, ?> instance) {
+
+		if (instance.converter() instanceof final AutoCloseable closeable) {
+
+			try {
+
+				closeable.close();
+
+			} catch (final Throwable error) {
+
+				Log.debugv(error, "Cannot close a converter.");
+			}
+		}
+	}
+
+	/**
+	 * Remove all the converters from the cache.
+	 */
+	public void clear() {
+
+		synchronized (this.pools) {
+
+			for (final var pool : this.pools.values()) {
+
+				this.evict(pool);
+			}
+			this.pools.clear();
+		}
+	}
+
+	/**
+	 * Return the metrics of the cache.
+	 *
+	 * @return the current metrics of the cache.
+	 */
+	public ConverterCacheMetrics metrics() {
+
+		final var metrics = new ConverterCacheMetrics();
+		synchronized (this.pools) {
+
+			metrics.size = this.pools.size();
+		}
+		metrics.maxSize = this.conf.converters().cacheSize();
+		metrics.hits = this.hits.get();
+		metrics.misses = this.misses.get();
+		metrics.evictions = this.evictions.get();
+		final var total = metrics.hits + metrics.misses;
+		if (total > 0) {
+
+			metrics.hitRate = (double) metrics.hits / total;
+		}
+		if (metrics.misses > 0) {
+
+			metrics.averageCompileMillis = this.compileNanos.get() / 1_000_000.0 / metrics.misses;
+		}
+		return metrics;
+	}
+
+}
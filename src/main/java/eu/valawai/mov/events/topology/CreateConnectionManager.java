@@ -9,7 +9,7 @@
 package eu.valawai.mov.events.topology;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 
 import org.bson.conversions.Bson;
@@ -18,7 +18,6 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
 
-import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Sorts;
@@ -29,14 +28,19 @@ import eu.valawai.mov.api.v1.components.ChannelSchema;
 import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v1.components.ObjectPayloadSchema;
 import eu.valawai.mov.events.PayloadService;
+import eu.valawai.mov.api.v2.design.topologies.TopologyConnection;
 import eu.valawai.mov.events.PublishService;
-import eu.valawai.mov.persistence.design.topology.TopologyGraphNodeOutputConnection;
+import eu.valawai.mov.events.components.ComponentCatalog;
+import eu.valawai.mov.events.components.ComponentCatalog.CatalogComponent;
+import eu.valawai.mov.events.components.PayloadMatchCache;
+import eu.valawai.mov.events.topology.ActiveTopology.CompiledTopology;
 import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import eu.valawai.mov.persistence.live.logs.AddLog;
 import eu.valawai.mov.persistence.live.topology.AddTopologyConnection;
+import eu.valawai.mov.persistence.live.topology.AddTopologyConnections;
 import eu.valawai.mov.services.LocalConfigService;
 import io.quarkus.logging.Log;
-import io.quarkus.panache.common.Sort;
+import io.quarkus.mongodb.FindOptions;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.vertx.core.json.JsonObject;
@@ -73,15 +77,34 @@ public class CreateConnectionManager {
 	PublishService publish;
 
 	/**
-	 * The pattern that has to match a channel name to be used as subscriber.
+	 * The local configuration.
 	 */
-	private static final String C2_NOTIFICATION_CHANNEL_NAME_PATTERN = "valawai/c2/\\w+/control/\\w+";
+	@Inject
+	LocalConfigService configuration;
 
 	/**
-	 * The local configuration.
+	 * The catalog with the live components.
 	 */
 	@Inject
-	LocalConfigService configuration;
+	ComponentCatalog catalog;
+
+	/**
+	 * The cache of the payload schemas that match.
+	 */
+	@Inject
+	PayloadMatchCache matches;
+
+	/**
+	 * The manager to enable the created connections.
+	 */
+	@Inject
+	ChangeTopologyManager changeTopology;
+
+	/**
+	 * The topology that the MOV follows.
+	 */
+	@Inject
+	ActiveTopology activeTopology;
 
 	/**
 	 * Notify that a new connection is created.
@@ -115,42 +138,7 @@ public class CreateConnectionManager {
 						context.connectionId = connectionId;
 						AddLog.fresh().withInfo().withMessage("Created the connection {0}.", connectionId)
 								.withPayload(content).store();
-						switch (context.behaviour) {
-						case TopologyBehavior.AUTO_DISCOVER:
-							this.discoverNotifications(context);
-							break;
-						case TopologyBehavior.APPLY_TOPOLOGY:
-							this.createDefinedNotifications(context);
-							break;
-						case TopologyBehavior.APPLY_TOPOLOGY_OR_AUTO_DISCOVER:
-							if (context.definition != null) {
-
-								this.createDefinedNotifications(context);
-
-							} else {
-
-								this.discoverNotifications(context);
-							}
-							break;
-						default:
-							// DO_NOTHING
-						}
-
-						if (context.payload.enabled) {
-
-							final var change = new ChangeTopologyPayload();
-							change.action = TopologyAction.ENABLE;
-							change.connectionId = context.connectionId;
-							this.publish.send(this.changeTopologyQueueName, change).subscribe().with(done -> {
-
-								Log.debugv("Sent enable the connection {0}", context.connectionId);
-
-							}, error -> {
-
-								Log.errorv(error, "Cannot enable the connection {0}", context.connectionId);
-							});
-
-						}
+						this.created(context);
 						return Uni.createFrom().nullItem();
 
 					} else {
@@ -185,6 +173,247 @@ public class CreateConnectionManager {
 
 	}
 
+	/**
+	 * Called when a connection has been created by the auto discovery of a
+	 * registered component. The discovery has already checked that the source
+	 * publish on a channel that match the one that the target subscribe, so the
+	 * connection is not validated again.
+	 *
+	 * @param connectionId  identifier of the created connection.
+	 * @param payload       with the created connection.
+	 * @param sourceChannel the channel where the source publish.
+	 * @param targetChannel the channel where the target subscribe.
+	 */
+	public void discovered(ObjectId connectionId, CreateConnectionPayload payload, ChannelSchema sourceChannel,
+			ChannelSchema targetChannel) {
+
+		final var context = new ManagerContext(payload);
+		context.behaviour = TopologyBehavior.AUTO_DISCOVER;
+		context.connectionId = connectionId;
+		context.sourceChannel = sourceChannel;
+		context.targetChannel = targetChannel;
+		AddLog.fresh().withInfo().withMessage("Created the connection {0}.", connectionId).withPayload(payload)
+				.store();
+		this.created(context);
+	}
+
+	/**
+	 * Called when has to create some connections at the same time.
+	 *
+	 * @param msg message to consume.
+	 *
+	 * @return the result if the message process.
+	 */
+	@Incoming("create_connections")
+	public CompletionStage<Void> consumeAll(Message<JsonObject> msg) {
+
+		final var content = msg.getPayload();
+		try {
+
+			final var payload = this.service.decodeAndVerify(content, CreateConnectionsPayload.class);
+			return this.createAll(payload.connections).map(results -> {
+
+				for (var i = 0; i < results.size(); i++) {
+
+					final var error = results.get(i).error();
+					if (error != null) {
+
+						AddLog.fresh().withError()
+								.withMessage("Received invalid create topology connection payload, because {0}.",
+										error)
+								.withPayload(payload.connections.get(i)).store();
+					}
+				}
+				return results;
+
+			}).onFailure().recoverWithItem(error -> {
+
+				AddLog.fresh().withError(error)
+						.withMessage("Cannot create the topology connections, because {0}.", error.getMessage())
+						.withPayload(content).store();
+				return null;
+
+			}).subscribeAsCompletionStage().thenCompose(results -> msg.ack());
+
+		} catch (final Throwable error) {
+
+			AddLog.fresh().withError().withMessage("Received invalid create topology connections payload.")
+					.withPayload(content).store();
+			return msg.nack(error);
+		}
+
+	}
+
+	/**
+	 * The result of creating a connection.
+	 *
+	 * @param connectionId identifier of the created connection, or {@code null} if
+	 *                     it has not been created.
+	 * @param error        the message that explains why the connection has not
+	 *                     been created, or {@code null} if it has been created.
+	 */
+	public record CreatedConnection(ObjectId connectionId, String error) {
+	}
+
+	/**
+	 * Create some connections at the same time. All the components are obtained
+	 * with a single query, the valid connections are stored with a single write and
+	 * the connections to enable are enabled together.
+	 *
+	 * @param payloads with the connections to create.
+	 *
+	 * @return the result of creating each connection, in the same order that they
+	 *         have been defined.
+	 */
+	public Uni<List<CreatedConnection>> createAll(List<CreateConnectionPayload> payloads) {
+
+		final var behaviour = this.configuration.getPropertyValue(MOVConfiguration.EVENT_CREATE_CONNECTION_NAME,
+				TopologyBehavior.class, TopologyBehavior.AUTO_DISCOVER);
+		final var componentIds = new ArrayList<ObjectId>();
+		for (final var payload : payloads) {
+
+			componentIds.add(payload.source.componentId);
+			componentIds.add(payload.target.componentId);
+		}
+		final Uni<CompiledTopology> getTopology = this.followTopology(behaviour) ? this.activeTopology.get()
+				: Uni.createFrom().nullItem();
+		return getTopology.chain(topology -> this.catalog.getAll(componentIds).chain(components -> {
+
+			final var contexts = new ArrayList<ManagerContext>();
+			final var errors = new ArrayList<Throwable>();
+			final var add = AddTopologyConnections.fresh();
+			final var valid = new ArrayList<Integer>();
+			for (final var payload : payloads) {
+
+				final var context = new ManagerContext(payload);
+				context.behaviour = behaviour;
+				var error = this.validateSource(context, components.get(payload.source.componentId));
+				if (error == null) {
+
+					error = this.validateTarget(context, components.get(payload.target.componentId));
+					if (error == null) {
+
+						error = this.validatePayloads(context);
+						if (error == null && this.followTopology(behaviour)) {
+
+							error = this.validateTopology(context, topology);
+						}
+					}
+				}
+				if (error == null) {
+
+					valid.add(contexts.size());
+					add.withConnection(context.add);
+				}
+				contexts.add(context);
+				errors.add(error);
+			}
+
+			return add.execute().map(ids -> {
+
+				final var toEnable = new ArrayList<ObjectId>();
+				for (var i = 0; i < ids.size(); i++) {
+
+					final var index = valid.get(i);
+					final var context = contexts.get(index);
+					context.connectionId = ids.get(i);
+					if (context.connectionId != null) {
+
+						AddLog.fresh().withInfo().withMessage("Created the connection {0}.", context.connectionId)
+								.withPayload(context.payload).store();
+						this.createNotifications(context);
+						if (context.payload.enabled) {
+
+							toEnable.add(context.connectionId);
+						}
+
+					} else {
+
+						errors.set(index, new IllegalArgumentException("Cannot store the connection"));
+					}
+				}
+
+				if (!toEnable.isEmpty()) {
+
+					this.changeTopology.enableConnections(toEnable).subscribe().with(
+							enabled -> Log.debugv("Enabled {0} connections", enabled.size()),
+							error -> Log.errorv(error, "Cannot enable the connections {0}", toEnable));
+				}
+
+				final var results = new ArrayList<CreatedConnection>();
+				for (var i = 0; i < contexts.size(); i++) {
+
+					final var error = errors.get(i);
+					if (error == null) {
+
+						results.add(new CreatedConnection(contexts.get(i).connectionId, null));
+
+					} else {
+
+						results.add(new CreatedConnection(null, error.getMessage()));
+					}
+				}
+				return results;
+			});
+
+		}));
+
+	}
+
+	/**
+	 * Do the actions after a connection has been created.
+	 *
+	 * @param context with the created connection.
+	 */
+	private void created(ManagerContext context) {
+
+		this.createNotifications(context);
+		if (context.payload.enabled) {
+
+			final var change = new ChangeTopologyPayload();
+			change.action = TopologyAction.ENABLE;
+			change.connectionId = context.connectionId;
+			this.publish.send(this.changeTopologyQueueName, change).subscribe().with(done -> {
+
+				Log.debugv("Sent enable the connection {0}", context.connectionId);
+
+			}, error -> {
+
+				Log.errorv(error, "Cannot enable the connection {0}", context.connectionId);
+			});
+
+		}
+	}
+
+	/**
+	 * Create the notifications of a created connection.
+	 *
+	 * @param context with the created connection.
+	 */
+	private void createNotifications(ManagerContext context) {
+
+		switch (context.behaviour) {
+		case TopologyBehavior.AUTO_DISCOVER:
+			this.discoverNotifications(context);
+			break;
+		case TopologyBehavior.APPLY_TOPOLOGY:
+			this.createDefinedNotifications(context);
+			break;
+		case TopologyBehavior.APPLY_TOPOLOGY_OR_AUTO_DISCOVER:
+			if (context.definition != null) {
+
+				this.createDefinedNotifications(context);
+
+			} else {
+
+				this.discoverNotifications(context);
+			}
+			break;
+		default:
+			// DO_NOTHING
+		}
+	}
+
 	/**
 	 * Check that the connection is valid.
 	 *
@@ -193,160 +422,160 @@ public class CreateConnectionManager {
 	 * @return null of the connection is valid or the error that explains why is not
 	 *         valid.
 	 *
-	 * @see #validateSource(ManagerContext)
-	 * @see #validateTarget(ManagerContext)
+	 * @see #validateSource(ManagerContext, CatalogComponent)
+	 * @see #validateTarget(ManagerContext, CatalogComponent)
+	 * @see #validatePayloads(ManagerContext)
+	 * @see #validateTopology(ManagerContext, CompiledTopology)
 	 */
 	private Uni<Throwable> validate(ManagerContext context) {
 
-		return this.validateSource(context).onItem().ifNull().switchTo(() -> {
+		return this.catalog.get(context.payload.source.componentId)
+				.map(source -> this.validateSource(context, source)).onItem().ifNull().switchTo(() -> {
 
-			return this.validateTarget(context).onItem().ifNull().switchTo(() -> {
+					return this.catalog.get(context.payload.target.componentId)
+							.map(target -> this.validateTarget(context, target)).onItem().ifNull().switchTo(() -> {
 
-				if (context.payload.converterJSCode == null
-						&& !context.sourceChannel.publish.match(context.targetChannel.subscribe, new HashMap<>())) {
+								final var error = this.validatePayloads(context);
+								if (error != null) {
 
-					return Uni.createFrom().item(
-							new IllegalArgumentException("The source payload does not match the target payload."));
+									return Uni.createFrom().item(error);
 
-				} else if (context.behaviour == TopologyBehavior.APPLY_TOPOLOGY
-						|| context.behaviour == TopologyBehavior.APPLY_TOPOLOGY_OR_AUTO_DISCOVER) {
+								} else if (this.followTopology(context.behaviour)) {
 
-					return this.validateTopology(context);
+									return this.activeTopology.get()
+											.map(topology -> this.validateTopology(context, topology));
 
-				} else {
+								} else {
 
-					return Uni.createFrom().nullItem();
+									return Uni.createFrom().nullItem();
 
-				}
-			});
+								}
+							});
 
-		});
+				});
 	}
 
 	/**
 	 * Check that the source of the connection is valid.
 	 *
 	 * @param context with the payload to validate.
+	 * @param source  the component that is the source of the connection.
 	 *
 	 * @return null of the connection source is valid or the error that explains why
 	 *         is not valid.
 	 */
-	private Uni<Throwable> validateSource(ManagerContext context) {
+	private Throwable validateSource(ManagerContext context, CatalogComponent source) {
 
-		final Uni<ComponentEntity> findSource = ComponentEntity.findById(context.payload.source.componentId);
-		return findSource.map(source -> {
+		if (source == null) {
 
-			if (source == null) {
+			return new IllegalArgumentException("The source component is not defined");
 
-				return new IllegalArgumentException("The source component is not defined");
-
-			} else {
+		} else {
 
-				if (source.channels != null) {
+			context.sourceChannel = source.publishChannel(context.payload.source.channelName);
+			if (context.sourceChannel == null) {
 
-					for (final var sourceChannel : source.channels) {
+				return new IllegalArgumentException("The source component does not publish on the channel name");
 
-						if (sourceChannel.name.equals(context.payload.source.channelName)
-								&& sourceChannel.publish != null) {
+			} else {
 
-							context.sourceChannel = sourceChannel;
-							return null;
-						}
-					}
-				}
-				return new IllegalArgumentException("The source component does not publish on the channel name");
+				return null;
 			}
-
-		});
+		}
 	}
 
 	/**
 	 * Check that the target of the connection is valid.
 	 *
 	 * @param context with the payload to validate.
+	 * @param target  the component that is the target of the connection.
 	 *
 	 * @return null of the connection target is valid or the error that explains why
 	 *         is not valid.
 	 */
-	private Uni<Throwable> validateTarget(ManagerContext context) {
+	private Throwable validateTarget(ManagerContext context, CatalogComponent target) {
 
-		final Uni<ComponentEntity> findTarget = ComponentEntity.findById(context.payload.target.componentId);
-		return findTarget.map(target -> {
+		if (target == null) {
 
-			if (target == null) {
+			return new IllegalArgumentException("The target component is not defined");
 
-				return new IllegalArgumentException("The target component is not defined");
+		} else {
 
-			} else {
-
-				if (target.channels != null) {
-
-					for (final var targetChannel : target.channels) {
-
-						if (targetChannel.name.equals(context.payload.target.channelName)
-								&& targetChannel.subscribe != null) {
+			context.targetChannel = target.subscribeChannel(context.payload.target.channelName);
+			if (context.targetChannel == null) {
 
-							context.targetChannel = targetChannel;
-							return null;
-						}
-					}
-				}
 				return new IllegalArgumentException("The target component does not subscribe on the channel name");
 
-			}
+			} else {
 
-		});
+				return null;
+			}
+		}
 	}
 
 	/**
-	 * Check if the connection is valid for the topology.
+	 * Check that the payload published by the source match the payload that the
+	 * target subscribe.
 	 *
 	 * @param context with the payload to validate.
 	 *
-	 * @return null of the connection follow the topology or the error that explains
-	 *         why is not valid.
+	 * @return null of the payloads match or the error that explains why they do not
+	 *         match.
 	 */
-	private Uni<Throwable> validateTopology(ManagerContext context) {
+	private Throwable validatePayloads(ManagerContext context) {
 
-		return this.configuration.getTopologyGraphEntity().chain(topology -> {
+		if (context.payload.converterJSCode == null
+				&& !this.matches.match(context.sourceChannel.publish, context.targetChannel.subscribe)) {
 
-			if (topology == null && context.behaviour != TopologyBehavior.APPLY_TOPOLOGY_OR_AUTO_DISCOVER) {
+			return new IllegalArgumentException("The source payload does not match the target payload.");
 
-				return Uni.createFrom().failure(new IllegalStateException("The topology to follow is not defined."));
+		} else {
 
-			} else if (topology != null) {
-
-				if (topology.nodes != null) {
+			return null;
+		}
+	}
 
-					NODE: for (final var node : topology.nodes) {
+	/**
+	 * Check if the connections have to follow the topology.
+	 *
+	 * @param behaviour to do when a connection is created.
+	 *
+	 * @return {@code true} if the connections have to be validated with the
+	 *         topology.
+	 */
+	private boolean followTopology(TopologyBehavior behaviour) {
 
-						if (node.outputs != null) {
+		return behaviour == TopologyBehavior.APPLY_TOPOLOGY
+				|| behaviour == TopologyBehavior.APPLY_TOPOLOGY_OR_AUTO_DISCOVER;
+	}
 
-							for (final var output : node.outputs) {
+	/**
+	 * Check if the connection is valid for the topology.
+	 *
+	 * @param context  with the payload to validate.
+	 * @param topology the designed topology to follow.
+	 *
+	 * @return null of the connection follow the topology or the error that explains
+	 *         why is not valid.
+	 */
+	private Throwable validateTopology(ManagerContext context, CompiledTopology topology) {
 
-								if (output.sourceChannel.equals(context.sourceChannel.name)
-										&& output.targetChannel.equals(context.targetChannel.name)) {
-									// found the connection definition
-									context.definition = output;
-									break NODE;
-								}
-							}
+		if (topology == null && context.behaviour != TopologyBehavior.APPLY_TOPOLOGY_OR_AUTO_DISCOVER) {
 
-						}
-					}
-				}
+			return new IllegalStateException("The topology to follow is not defined.");
 
-				if (context.definition == null && context.behaviour == TopologyBehavior.APPLY_TOPOLOGY) {
+		} else if (topology != null) {
 
-					return Uni.createFrom().failure(new IllegalStateException(
-							"The topology does not contains a definition to match the connection."));
+			context.definition = topology.connection(context.sourceChannel.name, context.targetChannel.name);
+			if (context.definition == null && context.behaviour == TopologyBehavior.APPLY_TOPOLOGY) {
 
-				}
+				return new IllegalStateException(
+						"The topology does not contains a definition to match the connection.");
 
 			}
-			return Uni.createFrom().nullItem();
 
-		});
+		}
+		return null;
 
 	}
 
@@ -393,7 +622,7 @@ public class CreateConnectionManager {
 		/**
 		 * The definition of the connection into the topology.
 		 */
-		public TopologyGraphNodeOutputConnection definition;
+		public TopologyConnection definition;
 
 		/**
 		 * Create a new context
@@ -421,14 +650,15 @@ public class CreateConnectionManager {
 		 */
 		public boolean canBeNotification(ChannelSchema channel) {
 
-			if (channel.name.matches(C2_NOTIFICATION_CHANNEL_NAME_PATTERN) && channel.subscribe != null) {
+			if (channel.name.matches(ComponentEntity.C2_NOTIFICATION_CHANNEL_NAME_PATTERN)
+					&& channel.subscribe != null) {
 				if (this.notificationPayload == null) {
 
 					this.notificationPayload = SentMessagePayload
 							.createSentMessagePayloadSchemaFor(this.sourceChannel.publish);
 				}
 
-				return this.notificationPayload.match(channel.subscribe, new HashMap<>());
+				return CreateConnectionManager.this.matches.match(this.notificationPayload, channel.subscribe);
 
 			}
 
@@ -444,10 +674,10 @@ public class CreateConnectionManager {
 	 */
 	private void discoverNotifications(ManagerContext context) {
 
-		final Multi<ComponentEntity> find = ComponentEntity
-				.find("type = ?1 and channels.subscribe is not null and channels.name like ?2", Sort.ascending("_id"),
-						ComponentType.C2, C2_NOTIFICATION_CHANNEL_NAME_PATTERN)
-				.stream();
+		final var options = new FindOptions().sort(Sorts.ascending("_id"))
+				.projection(Projections.include("_id", "channels"));
+		final Multi<ComponentEntity> find = ComponentEntity.mongoCollection().find(notificationComponentsFilter(),
+				options);
 		find.subscribe().with(target -> {
 
 			for (final var channel : target.channels) {
@@ -462,6 +692,30 @@ public class CreateConnectionManager {
 
 	}
 
+	/**
+	 * Return the filter to select the components that can be notified.
+	 *
+	 * @return the filter of the C2 components with notification channels.
+	 */
+	static Bson notificationComponentsFilter() {
+
+		return Filters.and(Filters.exists("notificationChannels", true), Filters.eq("type", ComponentType.C2.name()));
+	}
+
+	/**
+	 * Return the filter to select the live components that subscribe to a
+	 * channel.
+	 *
+	 * @param channelName name of the channel that the components subscribe.
+	 *
+	 * @return the filter of the live components subscribed to the channel.
+	 */
+	static Bson subscribedComponentsFilter(String channelName) {
+
+		return Filters.and(Filters.eq("subscribeChannels", channelName),
+				Filters.or(Filters.exists("finishedTime", false), Filters.eq("finishedTime", null)));
+	}
+
 	/**
 	 * Create the possible notifications defined in the topology.
 	 *
@@ -473,24 +727,18 @@ public class CreateConnectionManager {
 
 			for (final var notification : context.definition.notifications) {
 
-				final var pipeline = new ArrayList<Bson>();
-				pipeline.add(Aggregates
-						.match(Filters.or(Filters.exists("finishedTime", false), Filters.eq("finishedTime", null))));
-				pipeline.add(Aggregates.unwind("$channels"));
-				pipeline.add(Aggregates.match(Filters.and(Filters.eq("channels.name", notification.targetChannel),
-						Filters.exists("channels.subscribe", true), Filters.ne("channels.subscribe", null))));
-				pipeline.add(Aggregates.sort(Sorts.ascending("_id")));
-				pipeline.add(Aggregates.project(Projections.include("_id")));
-				ComponentEntity.mongoCollection().aggregate(pipeline, ComponentEntity.class).collect().first()
-						.subscribe().with(target -> {
+				final var filter = subscribedComponentsFilter(notification.target.channel);
+				final var options = new FindOptions().sort(Sorts.ascending("_id"))
+						.projection(Projections.include("_id")).limit(1);
+				ComponentEntity.mongoCollection().find(filter, options).collect().first().subscribe().with(target -> {
 
-							if (target != null) {
+					if (target != null) {
 
-								this.createNotification(context, target.id, notification.targetChannel,
-										notification.convertCode);
+						this.createNotification(context, target.id, notification.target.channel,
+								notification.convertCode);
 
-							} // else no target defined
-						});
+					} // else no target defined
+				});
 
 			}
 		}
@@ -0,0 +1,35 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonRootName;
+
+import eu.valawai.mov.events.Payload;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * The topology connections to create at the same time.
+ *
+ * @see CreateConnectionPayload
+ *
+ * @author VALAWAI
+ */
+@JsonRootName("create_connections_payload")
+public class CreateConnectionsPayload extends Payload {
+
+	/**
+	 * The connections to create.
+	 */
+	@NotEmpty
+	public List<@Valid CreateConnectionPayload> connections;
+
+}
@@ -8,7 +8,6 @@
 
 package eu.valawai.mov.events.topology;
 
-import java.util.HashMap;
 import java.util.concurrent.CompletionStage;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -18,7 +17,8 @@ import org.eclipse.microprofile.reactive.messaging.Message;
 import eu.valawai.mov.api.v1.components.PayloadSchema;
 import eu.valawai.mov.events.PayloadService;
 import eu.valawai.mov.events.PublishService;
-import eu.valawai.mov.persistence.live.components.ComponentEntity;
+import eu.valawai.mov.events.components.ComponentCatalog;
+import eu.valawai.mov.events.components.PayloadMatchCache;
 import eu.valawai.mov.persistence.live.logs.AddLog;
 import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
 import eu.valawai.mov.persistence.live.topology.TopologyConnectionNotification;
@@ -66,6 +66,30 @@ public class CreateNotificationManager {
 	@Inject
 	LocalConfigService configuration;
 
+	/**
+	 * The table with the enabled connections to route the messages.
+	 */
+	@Inject
+	TopologyRoutingTable routes;
+
+	/**
+	 * The service to maintain the bindings of the connections routed by the broker.
+	 */
+	@Inject
+	DirectBindingService bindings;
+
+	/**
+	 * The catalog with the live components.
+	 */
+	@Inject
+	ComponentCatalog catalog;
+
+	/**
+	 * The cache of the payload schemas that match.
+	 */
+	@Inject
+	PayloadMatchCache matches;
+
 	/**
 	 * Called when has to create a connection.
 	 *
@@ -91,7 +115,8 @@ public class CreateNotificationManager {
 				notification.node.channelName = payload.target.channelName;
 				return UpsertNotificationToTopologyConnection.fresh().withConnection(payload.connectionId)
 						.withNotification(notification).execute()
-						.chain(upserted -> upserted ? Uni.createFrom().nullItem()
+						.chain(upserted -> upserted ? this.routes.refresh(payload.connectionId)
+								.call(() -> this.bindings.synchronizeOf(payload.connectionId))
 								: Uni.createFrom()
 										.failure(new IllegalArgumentException("Cannot create the notification")));
 
@@ -128,8 +153,7 @@ public class CreateNotificationManager {
 	 */
 	private Uni<Void> validateTarget(CreateNotificationPayload payload) {
 
-		final Uni<ComponentEntity> findTarget = ComponentEntity.findById(payload.target.componentId);
-		return findTarget.chain(target -> {
+		return this.catalog.get(payload.target.componentId).chain(target -> {
 
 			if (target == null) {
 
@@ -138,25 +162,20 @@ public class CreateNotificationManager {
 
 			} else {
 
-				if (target.channels != null) {
+				final var targetChannel = target.subscribeChannel(payload.target.channelName);
+				if (targetChannel == null) {
 
-					for (final var targetChannel : target.channels) {
+					return Uni.createFrom().failure(new IllegalArgumentException(
+							"The notification target component does not subscribe on the channel name"));
 
-						if (targetChannel.name.equals(payload.target.channelName) && targetChannel.subscribe != null) {
+				} else if (payload.converterJSCode != null) {
 
-							if (payload.converterJSCode != null) {
+					return Uni.createFrom().nullItem();
 
-								return Uni.createFrom().nullItem();
+				} else {
 
-							} else {
-
-								return this.validateSourceToTargetCompatibility(payload, targetChannel.subscribe);
-							}
-						}
-					}
+					return this.validateSourceToTargetCompatibility(payload, targetChannel.subscribe);
 				}
-				return Uni.createFrom().failure(new IllegalArgumentException(
-						"The notification target component does not subscribe on the channel name"));
 			}
 		});
 	}
@@ -183,8 +202,7 @@ public class CreateNotificationManager {
 
 			} else {
 
-				final Uni<ComponentEntity> findSource = ComponentEntity.findById(connection.source.componentId);
-				return findSource.chain(source -> {
+				return this.catalog.get(connection.source.componentId).chain(source -> {
 
 					if (source == null) {
 
@@ -193,27 +211,21 @@ public class CreateNotificationManager {
 
 					} else {
 
-						if (source.channels != null) {
-
-							for (final var sourceChannel : source.channels) {
+						final var sourceChannel = source.publishChannel(connection.source.channelName);
+						if (sourceChannel != null) {
 
-								if (sourceChannel.name.equals(connection.source.channelName)
-										&& sourceChannel.publish != null) {
+							if (this.matches.match(sourceChannel.publish, targetPayload)) {
 
-									if (sourceChannel.publish.match(targetPayload, new HashMap<>())) {
-
-										return Uni.createFrom().nullItem();
+								return Uni.createFrom().nullItem();
 
-									} else {
+							} else {
 
-										final var notificationPayload = SentMessagePayload
-												.createSentMessagePayloadSchemaFor(sourceChannel.publish);
+								final var notificationPayload = SentMessagePayload
+										.createSentMessagePayloadSchemaFor(sourceChannel.publish);
 
-										if (notificationPayload.match(targetPayload, new HashMap<>())) {
-											// It match the previous notification payload format
-											return Uni.createFrom().nullItem();
-										}
-									}
+								if (this.matches.match(notificationPayload, targetPayload)) {
+									// It match the previous notification payload format
+									return Uni.createFrom().nullItem();
 								}
 							}
 						}
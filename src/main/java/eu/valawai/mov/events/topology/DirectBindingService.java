@@ -0,0 +1,315 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.types.ObjectId;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.events.RabbitMQService;
+import eu.valawai.mov.persistence.live.logs.AddLog;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * The component that maintains the bindings on the broker for the connections
+ * that do not require any process of the MOV. For each source channel with this
+ * type of connections, it is declared a fan-out exchange where the targets of
+ * these connections are bound. So, the received messages are published only
+ * once on the exchange, and the broker deliver them to all the targets. A
+ * connection is routed thought the exchange only when the broker has confirmed
+ * the binding of its target, until then it is routed by the MOV.
+ *
+ * @see TopologyRoutingTable
+ * @see MOVConfiguration.Routing#directBindings()
+ *
+ * @author VALAWAI
+ */
+@ApplicationScoped
+public class DirectBindingService {
+
+	/**
+	 * The configuration of the MOV.
+	 */
+	@Inject
+	MOVConfiguration conf;
+
+	/**
+	 * The Rabbit MQ service.
+	 */
+	@Inject
+	RabbitMQService service;
+
+	/**
+	 * The table with the enabled connections to route the messages.
+	 */
+	@Inject
+	TopologyRoutingTable routes;
+
+	/**
+	 * The targets that the broker has confirmed that are bound to the exchange of
+	 * each source channel. The sets are never modified, they are replaced by a new
+	 * one when the bindings change.
+	 */
+	private final Map<String, Set<String>> bound = new ConcurrentHashMap<>();
+
+	/**
+	 * The last synchronization of each source channel. They are guarded by its
+	 * own monitor.
+	 */
+	private final Map<String, Uni<Void>> synchronizations = new HashMap<>();
+
+	/**
+	 * Check if a connection is routed by the broker.
+	 *
+	 * @param connection to check.
+	 *
+	 * @return {@code true} if the connection can be bound and the broker has
+	 *         confirmed that its target is bound to the exchange of its source.
+	 */
+	public boolean isDirect(TopologyConnectionEntity connection) {
+
+		if (!this.isBindable(connection)) {
+
+			return false;
+		}
+		final var targets = this.bound.get(connection.source.channelName);
+		return targets != null && targets.contains(connection.target.channelName);
+	}
+
+	/**
+	 * Check if a connection can be routed by the broker.
+	 *
+	 * @param connection to check.
+	 *
+	 * @return {@code true} if the direct bindings are enabled and the connection
+	 *         does not have a converter nor any enabled notification.
+	 */
+	private boolean isBindable(TopologyConnectionEntity connection) {
+
+		return this.conf.routing().directBindings() && connection.targetMessageConverterJSCode == null
+				&& (connection.notifications == null
+						|| connection.notifications.stream().noneMatch(notification -> notification.enabled));
+	}
+
+	/**
+	 * Return the name of the exchange associated to a source channel.
+	 *
+	 * @param source name of the source channel.
+	 *
+	 * @return the name of the exchange where the targets of the source are bound.
+	 */
+	public String exchangeName(String source) {
+
+		return this.conf.routing().exchangePrefix() + source;
+	}
+
+	/**
+	 * Update the bindings of a source channel with the direct connections of the
+	 * routing table. The synchronizations of the same source are done one after
+	 * the other.
+	 *
+	 * @param source name of the channel to synchronize.
+	 *
+	 * @return the result when the bindings have been updated. It never fails,
+	 *         because the errors are logged.
+	 */
+	public Uni<Void> synchronize(String source) {
+
+		if (!this.conf.routing().directBindings()) {
+
+			return Uni.createFrom().voidItem();
+		}
+
+		synchronized (this.synchronizations) {
+
+			final var previous = this.synchronizations.get(source);
+			final Uni<Void> update = Uni.createFrom().deferred(() -> this.update(source));
+			final var next = (previous == null ? update : previous.chain(() -> update)).memoize().indefinitely();
+			this.synchronizations.put(source, next);
+			return next.invoke(() -> {
+
+				synchronized (this.synchronizations) {
+
+					this.synchronizations.remove(source, next);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Update the bindings of a source channel. A target is considered bound only
+	 * when the broker has confirmed its binding, and it is not considered bound
+	 * before asking the broker to unbind it. The exchange is only recreated, to
+	 * remove the bindings of a previous execution, when no target is bound to it.
+	 *
+	 * @param source name of the channel to synchronize.
+	 *
+	 * @return the result when the bindings have been updated. It never fails,
+	 *         because the errors are logged.
+	 */
+	private Uni<Void> update(String source) {
+
+		final var targets = new HashSet<String>();
+		for (final var connection : this.routes.routesFor(source)) {
+
+			if (this.isBindable(connection)) {
+
+				targets.add(connection.target.channelName);
+			}
+		}
+
+		final var current = this.bound.getOrDefault(source, Collections.emptySet());
+		final var toBind = new ArrayList<String>();
+		for (final var target : targets) {
+
+			if (!current.contains(target)) {
+
+				toBind.add(target);
+			}
+		}
+		final var toUnbind = new ArrayList<String>();
+		for (final var target : current) {
+
+			if (!targets.contains(target)) {
+
+				toUnbind.add(target);
+			}
+		}
+		if (toBind.isEmpty() && toUnbind.isEmpty()) {
+
+			return Uni.createFrom().voidItem();
+		}
+
+		final var exchange = this.exchangeName(source);
+		final var recreate = current.isEmpty();
+		for (final var target : toUnbind) {
+
+			this.markBound(source, target, false);
+		}
+
+		return this.service.client().chain(client -> {
+
+			// Nothing is routed thought the exchange, so it can be recreated to remove the
+			// bindings of a previous execution
+			var chain = recreate
+					? client.exchangeDelete(exchange).onFailure().recoverWithNull()
+							.chain(() -> client.exchangeDeclare(exchange, "fanout", true, false))
+					: client.exchangeDeclare(exchange, "fanout", true, false);
+			for (final var target : toUnbind) {
+
+				chain = chain.chain(() -> client.queueUnbind(target, exchange, "").onFailure().invoke(error -> {
+
+					// the binding remains, so try to unbind it the next time
+					this.markBound(source, target, true);
+				}));
+			}
+			for (final var target : toBind) {
+
+				chain = chain.chain(() -> client.queueDeclare(target, true, false, false))
+						.chain(() -> client.queueBind(target, exchange, ""))
+						.invoke(() -> this.markBound(source, target, true));
+			}
+			return chain;
+
+		}).invoke(() -> {
+
+			AddLog.fresh().withInfo().withMessage("Updated the bindings of {0}, bound {1} and unbound {2}", exchange,
+					toBind, toUnbind).store();
+
+		}).onFailure().recoverWithItem(error -> {
+
+			AddLog.fresh().withError(error).withMessage("Cannot update the bindings of {0}", exchange).store();
+			return null;
+		});
+	}
+
+	/**
+	 * Change the targets that are bound to the exchange of a source.
+	 *
+	 * @param source name of the source channel.
+	 * @param target name of the target channel.
+	 * @param bind   is {@code true} if the target is bound to the exchange.
+	 */
+	private void markBound(String source, String target, boolean bind) {
+
+		this.bound.compute(source, (key, current) -> {
+
+			final var targets = current == null ? new HashSet<String>() : new HashSet<>(current);
+			if (bind) {
+
+				targets.add(target);
+
+			} else {
+
+				targets.remove(target);
+			}
+			return targets.isEmpty() ? null : Set.copyOf(targets);
+		});
+	}
+
+	/**
+	 * Update the bindings of the source channel of a connection.
+	 *
+	 * @param connectionId identifier of the connection that has changed.
+	 *
+	 * @return the result when the bindings have been updated.
+	 */
+	public Uni<Void> synchronizeOf(ObjectId connectionId) {
+
+		final var connection = this.routes.routes().byId().get(connectionId);
+		if (connection != null) {
+
+			return this.synchronize(connection.source.channelName);
+
+		} else {
+
+			return this.synchronizeAll();
+		}
+	}
+
+	/**
+	 * Update the bindings of all the source channels.
+	 *
+	 * @return the result when the bindings have been updated.
+	 */
+	public Uni<Void> synchronizeAll() {
+
+		if (!this.conf.routing().directBindings()) {
+
+			return Uni.createFrom().voidItem();
+		}
+
+		final var sources = new HashSet<>(this.routes.routes().bySource().keySet());
+		sources.addAll(this.bound.keySet());
+		final var synchronizations = new ArrayList<Uni<Void>>();
+		for (final var source : sources) {
+
+			synchronizations.add(this.synchronize(source));
+		}
+		if (synchronizations.isEmpty()) {
+
+			return Uni.createFrom().voidItem();
+
+		} else {
+
+			return Uni.join().all(synchronizations).andCollectFailures().replaceWithVoid();
+		}
+	}
+
+}
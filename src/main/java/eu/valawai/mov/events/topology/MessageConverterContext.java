@@ -24,12 +24,12 @@ public class MessageConverterContext {
 	/**
 	 * The entity with the connection information.
 	 */
-	protected final TopologyConnectionEntity entity;
+	protected TopologyConnectionEntity entity;
 
 	/**
-	 * The entity with the connection information.
+	 * The time when the conversion has started.
 	 */
-	protected final long now = TimeManager.now();
+	protected long now = TimeManager.now();
 
 	/**
 	 * Create a context for an entity.
@@ -41,6 +41,18 @@ public class MessageConverterContext {
 		this.entity = entity;
 	}
 
+	/**
+	 * Change the connection of the context before a new conversion. This is used
+	 * when a converter is reused to convert messages of different connections.
+	 *
+	 * @param entity for the context.
+	 */
+	void resetWith(TopologyConnectionEntity entity) {
+
+		this.entity = entity;
+		this.now = TimeManager.now();
+	}
+
 	/**
 	 * Return the current time.
 	 *
@@ -23,7 +23,7 @@ public class NotificationConverterContext extends MessageConverterContext {
 	/**
 	 * The notification to send the message.
 	 */
-	protected final TopologyConnectionNotification notification;
+	protected TopologyConnectionNotification notification;
 
 	/**
 	 * Create a context for a notification.
@@ -37,6 +37,19 @@ public class NotificationConverterContext extends MessageConverterContext {
 		this.notification = notification;
 	}
 
+	/**
+	 * Change the connection and the notification of the context before a new
+	 * conversion.
+	 *
+	 * @param entity       with the connection information for the context.
+	 * @param notification to send the message.
+	 */
+	void resetWith(TopologyConnectionEntity entity, TopologyConnectionNotification notification) {
+
+		this.resetWith(entity);
+		this.notification = notification;
+	}
+
 	/**
 	 * Return the identifier of the notification target node.
 	 *
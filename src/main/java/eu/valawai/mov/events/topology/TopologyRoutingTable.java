@@ -0,0 +1,546 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.mongodb.client.model.Filters;
+
+import eu.valawai.mov.api.v2.live.connections.LiveRoutingCheck;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * The table that contains, for each source channel, the enabled connections
+ * that the messages published on the channel has to follow. The table is
+ * maintained in memory, so when a message is received it can be routed without
+ * accessing the database. Any change is applied over a copy of the current
+ * table that replace it when it is complete, so the readers always see a
+ * consistent version. Each read of the database is stamped with a sequence
+ * number when it starts, and the state of a connection is only replaced by a
+ * read that has started after the one that is on the table. So a slow read can
+ * not overwrite a newer state obtained by a concurrent refresh or reload.
+ *
+ * @see TopologyConnectionEntity
+ * @see ChangeTopologyManager
+ * @see eu.valawai.mov.persistence.IndexManager#CONNECTION_ENABLED_INDEX
+ *
+ * @author VALAWAI
+ */
+@ApplicationScoped
+public class TopologyRoutingTable {
+
+	/**
+	 * The current version of the routes.
+	 */
+	private final AtomicReference<Routes> current = new AtomicReference<>(Routes.EMPTY);
+
+	/**
+	 * The sequence used to stamp the reads of the database.
+	 */
+	private final AtomicLong reads = new AtomicLong();
+
+	/**
+	 * The number of reads of the database that are not finished. It is guarded by
+	 * the {@link #current} monitor.
+	 */
+	private int pending = 0;
+
+	/**
+	 * The stamp of the read that has set the state of a connection while some
+	 * other read is not finished. It is guarded by the {@link #current} monitor.
+	 */
+	private final Map<ObjectId, Long> applied = new HashMap<>();
+
+	/**
+	 * The stamp of the last read that has reloaded all the table. It is guarded by
+	 * the {@link #current} monitor.
+	 */
+	private long reloaded = 0;
+
+	/**
+	 * The immutable state of the routing table.
+	 *
+	 * @param version  of the table. It increase every time the table changes.
+	 * @param bySource the enabled connections indexed by the source channel name.
+	 * @param byId     the enabled connections indexed by its identifier.
+	 */
+	public record Routes(long version, Map<String, List<TopologyConnectionEntity>> bySource,
+			Map<ObjectId, TopologyConnectionEntity> byId) {
+
+		/**
+		 * The routes without any connection.
+		 */
+		public static final Routes EMPTY = new Routes(0, Collections.emptyMap(), Collections.emptyMap());
+
+		/**
+		 * Create the routes for a set of connections.
+		 *
+		 * @param version     of the routes.
+		 * @param connections to route.
+		 *
+		 * @return the routes with the connections.
+		 */
+		static Routes of(long version, Map<ObjectId, TopologyConnectionEntity> connections) {
+
+			final var bySource = new HashMap<String, List<TopologyConnectionEntity>>();
+			for (final var connection : connections.values()) {
+
+				bySource.computeIfAbsent(connection.source.channelName, key -> new ArrayList<>()).add(connection);
+			}
+			final var immutableBySource = new HashMap<String, List<TopologyConnectionEntity>>();
+			for (final var entry : bySource.entrySet()) {
+
+				immutableBySource.put(entry.getKey(), List.copyOf(entry.getValue()));
+			}
+			return new Routes(version, Map.copyOf(immutableBySource), Map.copyOf(connections));
+		}
+
+	}
+
+	/**
+	 * Return the current routes.
+	 *
+	 * @return the current version of the routes.
+	 */
+	public Routes routes() {
+
+		return this.current.get();
+	}
+
+	/**
+	 * Return the version of the current routes.
+	 *
+	 * @return the current version of the table.
+	 */
+	public long version() {
+
+		return this.current.get().version();
+	}
+
+	/**
+	 * Return the enabled connections that has as source the specified channel.
+	 *
+	 * @param channelName name of the source channel.
+	 *
+	 * @return the enabled connections that start at the channel. Never
+	 *         {@code null}.
+	 */
+	public List<TopologyConnectionEntity> routesFor(String channelName) {
+
+		final var connections = this.current.get().bySource().get(channelName);
+		if (connections == null) {
+
+			return Collections.emptyList();
+
+		} else {
+
+			return connections;
+		}
+	}
+
+	/**
+	 * Check if exist any enabled connection for a source channel.
+	 *
+	 * @param channelName name of the source channel.
+	 *
+	 * @return {@code true} if exist any enabled connection that start at the
+	 *         channel.
+	 */
+	public boolean hasRoutes(String channelName) {
+
+		return this.current.get().bySource().containsKey(channelName);
+	}
+
+	/**
+	 * Return the query to obtain the connections that has to be on the table.
+	 *
+	 * @return the filter to obtain the enabled connections.
+	 */
+	static Bson enabledConnectionsFilter() {
+
+		return Filters.and(Filters.eq("enabled", true),
+				Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)));
+	}
+
+	/**
+	 * Check if a connection has to be routed.
+	 *
+	 * @param connection to check.
+	 *
+	 * @return {@code true} if the connection is enabled and not deleted.
+	 */
+	private static boolean isRoutable(TopologyConnectionEntity connection) {
+
+		return connection != null && connection.enabled && connection.deletedTimestamp == null
+				&& connection.source != null && connection.source.channelName != null && connection.target != null
+				&& connection.target.channelName != null;
+	}
+
+	/**
+	 * Load all the routes from the database.
+	 *
+	 * @return the result of the load process.
+	 */
+	public Uni<Void> reload() {
+
+		return Uni.createFrom().deferred(() -> {
+
+			final var read = this.startRead();
+			return TopologyConnectionEntity.<TopologyConnectionEntity>find(enabledConnectionsFilter()).list()
+					.invoke(connections -> this.reload(read, connections)).onTermination()
+					.invoke(this::finishRead).replaceWithVoid();
+		});
+	}
+
+	/**
+	 * Called when start a read of the database.
+	 *
+	 * @return the stamp of the read.
+	 */
+	long startRead() {
+
+		synchronized (this.current) {
+
+			this.pending++;
+			return this.reads.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Called when a read of the database has finished. When no read is pending the
+	 * stamps of the connections are not necessary any more.
+	 */
+	void finishRead() {
+
+		synchronized (this.current) {
+
+			this.pending--;
+			if (this.pending == 0) {
+
+				this.applied.clear();
+			}
+		}
+	}
+
+	/**
+	 * Replace the table with the connections obtained by a read. The connections
+	 * that have been refreshed by a newer read maintain its current state.
+	 *
+	 * @param read        stamp of the read that has obtained the connections.
+	 * @param connections that has to be on the table.
+	 */
+	private void reload(long read, List<TopologyConnectionEntity> connections) {
+
+		synchronized (this.current) {
+
+			if (read < this.reloaded) {
+
+				Log.debugv("Ignored the outdated reload {0} of the routing table.", read);
+				return;
+			}
+
+			final var routes = this.current.get();
+			final var byId = new HashMap<ObjectId, TopologyConnectionEntity>();
+			for (final var connection : connections) {
+
+				if (isRoutable(connection) && !this.isNewerThan(connection.id, read)) {
+
+					byId.put(connection.id, connection);
+				}
+			}
+			final var newer = this.applied.entrySet().iterator();
+			while (newer.hasNext()) {
+
+				final var entry = newer.next();
+				if (entry.getValue() > read) {
+
+					final var connectionId = entry.getKey();
+					final var connection = routes.byId().get(connectionId);
+					if (connection == null) {
+
+						byId.remove(connectionId);
+
+					} else {
+
+						byId.put(connectionId, connection);
+					}
+
+				} else {
+
+					newer.remove();
+				}
+			}
+			this.reloaded = read;
+			final var reloadedRoutes = Routes.of(routes.version() + 1, byId);
+			this.current.set(reloadedRoutes);
+			Log.debugv("Loaded the routing table {0} with {1} connections.", reloadedRoutes.version(),
+					byId.size());
+		}
+	}
+
+	/**
+	 * Check if the state of a connection on the table has been obtained by a read
+	 * that has started after another one.
+	 *
+	 * @param connectionId identifier of the connection to check.
+	 * @param read         stamp of the read to compare.
+	 *
+	 * @return {@code true} if the connection has a state newer than the read.
+	 */
+	private boolean isNewerThan(ObjectId connectionId, long read) {
+
+		final var last = this.applied.get(connectionId);
+		return last != null && last > read;
+	}
+
+	/**
+	 * Update the route of a connection with its current state on the database.
+	 *
+	 * @param connectionId identifier of the connection to refresh.
+	 *
+	 * @return the result of the refresh process.
+	 */
+	public Uni<Void> refresh(ObjectId connectionId) {
+
+		return this.refresh(List.of(connectionId));
+	}
+
+	/**
+	 * Update the routes of some connections with its current state on the
+	 * database. The connections are obtained with a single query and the table is
+	 * replaced only once.
+	 *
+	 * @param connectionIds identifiers of the connections to refresh.
+	 *
+	 * @return the result of the refresh process.
+	 */
+	public Uni<Void> refresh(Collection<ObjectId> connectionIds) {
+
+		if (connectionIds.isEmpty()) {
+
+			return Uni.createFrom().voidItem();
+		}
+
+		return Uni.createFrom().deferred(() -> {
+
+			final var read = this.startRead();
+			return TopologyConnectionEntity.<TopologyConnectionEntity>find(Filters.in("_id", connectionIds)).list()
+					.invoke(connections -> this.refresh(read, connectionIds, connections)).onTermination()
+					.invoke(this::finishRead).replaceWithVoid();
+		});
+	}
+
+	/**
+	 * Update the table with the state of some connections obtained by a read. The
+	 * connections that are on the table with the state of a newer read are not
+	 * modified.
+	 *
+	 * @param read          stamp of the read that has obtained the connections.
+	 * @param connectionIds identifiers of the refreshed connections.
+	 * @param connections   the state of the connections on the database.
+	 */
+	void refresh(long read, Collection<ObjectId> connectionIds, List<TopologyConnectionEntity> connections) {
+
+		synchronized (this.current) {
+
+			final var found = new HashMap<ObjectId, TopologyConnectionEntity>();
+			for (final var connection : connections) {
+
+				found.put(connection.id, connection);
+			}
+
+			final var routes = this.current.get();
+			final var byId = new HashMap<>(routes.byId());
+			var changed = false;
+			for (final var connectionId : connectionIds) {
+
+				if (read < this.reloaded || this.isNewerThan(connectionId, read)) {
+
+					Log.debugv("Ignored the outdated refresh {0} of the connection {1}.", read, connectionId);
+					continue;
+				}
+
+				this.applied.put(connectionId, read);
+				final var connection = found.get(connectionId);
+				if (isRoutable(connection)) {
+
+					byId.put(connectionId, connection);
+					changed = true;
+
+				} else if (byId.remove(connectionId) != null) {
+
+					changed = true;
+				}
+			}
+			if (changed) {
+
+				this.current.set(Routes.of(routes.version() + 1, byId));
+			}
+		}
+	}
+
+	/**
+	 * Add or replace the route of a connection.
+	 *
+	 * @param connection to add into the table.
+	 */
+	protected void put(TopologyConnectionEntity connection) {
+
+		synchronized (this.current) {
+
+			this.applied.put(connection.id, this.reads.incrementAndGet());
+			final var routes = this.current.get();
+			final var byId = new HashMap<>(routes.byId());
+			byId.put(connection.id, connection);
+			this.current.set(Routes.of(routes.version() + 1, byId));
+		}
+	}
+
+	/**
+	 * Remove the route of a connection.
+	 *
+	 * @param connectionId identifier of the connection to remove.
+	 */
+	public void remove(ObjectId connectionId) {
+
+		synchronized (this.current) {
+
+			this.applied.put(connectionId, this.reads.incrementAndGet());
+			final var routes = this.current.get();
+			if (routes.byId().containsKey(connectionId)) {
+
+				final var byId = new HashMap<>(routes.byId());
+				byId.remove(connectionId);
+				this.current.set(Routes.of(routes.version() + 1, byId));
+			}
+		}
+	}
+
+	/**
+	 * Remove from the routes all the notifications to a component.
+	 *
+	 * @param componentId identifier of the component to not be notified.
+	 */
+	public void removeNotificationsOf(ObjectId componentId) {
+
+		synchronized (this.current) {
+
+			final var routes = this.current.get();
+			final var byId = new HashMap<ObjectId, TopologyConnectionEntity>();
+			var changed = false;
+			for (final var connection : routes.byId().values()) {
+
+				if (connection.notifications != null && connection.notifications.stream()
+						.anyMatch(notification -> notification.node != null
+								&& Objects.equals(componentId, notification.node.componentId))) {
+
+					final var copy = copyOf(connection);
+					copy.notifications = connection.notifications.stream()
+							.filter(notification -> notification.node == null
+									|| !Objects.equals(componentId, notification.node.componentId))
+							.toList();
+					this.applied.put(copy.id, this.reads.incrementAndGet());
+					byId.put(copy.id, copy);
+					changed = true;
+
+				} else {
+
+					byId.put(connection.id, connection);
+				}
+			}
+
+			if (changed) {
+
+				this.current.set(Routes.of(routes.version() + 1, byId));
+			}
+		}
+	}
+
+	/**
+	 * Create a shallow copy of a connection.
+	 *
+	 * @param connection to copy.
+	 *
+	 * @return the copy of the connection.
+	 */
+	private static TopologyConnectionEntity copyOf(TopologyConnectionEntity connection) {
+
+		final var copy = new TopologyConnectionEntity();
+		copy.id = connection.id;
+		copy.createTimestamp = connection.createTimestamp;
+		copy.updateTimestamp = connection.updateTimestamp;
+		copy.deletedTimestamp = connection.deletedTimestamp;
+		copy.source = connection.source;
+		copy.target = connection.target;
+		copy.enabled = connection.enabled;
+		copy.targetMessageConverterJSCode = connection.targetMessageConverterJSCode;
+		copy.notifications = connection.notifications;
+		return copy;
+	}
+
+	/**
+	 * Compare the routing table with the connections defined in the database.
+	 *
+	 * @return the differences between the table and the database.
+	 */
+	public Uni<LiveRoutingCheck> check() {
+
+		final var routes = this.current.get();
+		return TopologyConnectionEntity.<TopologyConnectionEntity>find(enabledConnectionsFilter()).list()
+				.map(connections -> {
+
+					final var check = new LiveRoutingCheck();
+					check.version = routes.version();
+					check.routes = routes.byId().size();
+					check.connections = connections.size();
+					check.missing = new ArrayList<>();
+					check.unexpected = new ArrayList<>();
+					check.outdated = new ArrayList<>();
+					final var pending = new HashMap<>(routes.byId());
+					for (final var connection : connections) {
+
+						final var route = pending.remove(connection.id);
+						if (route == null) {
+
+							check.missing.add(connection.id.toHexString());
+
+						} else if (!Objects.equals(route.target, connection.target)
+								|| !Objects.equals(route.targetMessageConverterJSCode,
+										connection.targetMessageConverterJSCode)
+								|| !Objects.equals(route.notifications, connection.notifications)) {
+
+							check.outdated.add(connection.id.toHexString());
+						}
+					}
+					for (final var connectionId : pending.keySet()) {
+
+						check.unexpected.add(connectionId.toHexString());
+					}
+					check.consistent = check.missing.isEmpty() && check.unexpected.isEmpty()
+							&& check.outdated.isEmpty();
+					return check;
+				});
+
+	}
+
+}
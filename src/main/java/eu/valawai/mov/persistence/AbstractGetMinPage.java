@@ -10,19 +10,35 @@ package eu.valawai.mov.persistence;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonString;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.codecs.DecoderContext;
 import org.bson.conversions.Bson;
 
 import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Facet;
 import com.mongodb.client.model.Field;
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
 
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
 import io.smallrye.mutiny.Uni;
 
 /**
- * Generic operation used to obtain a page of something.
+ * Generic operation used to obtain a page of something. The page can be
+ * obtained by its offset or, if an after cursor is defined, by the models that
+ * follow the model of the cursor. In this last case the page is obtained over
+ * the sort order without skipping the previous models, so any page costs the
+ * same that the first one. The cursor to obtain the next page is an opaque
+ * string with the values of the sort fields of the last model of the page, so
+ * the next page can be obtained without searching for this model, even if it
+ * has been removed.
  *
  * @param <T> type of page that it obtains.
  * @param <O> type of the operator.
@@ -31,11 +47,33 @@ import io.smallrye.mutiny.Uni;
  */
 public abstract class AbstractGetMinPage<T, O extends AbstractGetMinPage<T, O>> extends AbstractPaginatedQuery<T, O> {
 
+	/**
+	 * The field name where the page stores the cursor to the next page.
+	 */
+	public static final String NEXT_FIELD = "next";
+
 	/**
 	 * The order in with the model has returned.
 	 */
 	protected String order;
 
+	/**
+	 * This is {@code true} if the page is obtained with a cursor instead of an
+	 * offset.
+	 */
+	protected boolean cursor;
+
+	/**
+	 * The cursor returned on the previous page, or {@code null} to start from the
+	 * first model.
+	 */
+	protected String after;
+
+	/**
+	 * How to obtain the total number of models that match the query.
+	 */
+	protected PageTotal total = PageTotal.EXACT;
+
 	/**
 	 * The field name to store the models of the page.
 	 */
@@ -65,25 +103,280 @@ public abstract class AbstractGetMinPage<T, O extends AbstractGetMinPage<T, O>>
 		return this.operator();
 	}
 
+	/**
+	 * Obtain the page with a cursor instead of an offset.
+	 *
+	 * @param after the cursor returned on the previous page, or an empty string to
+	 *              obtain the first page. If it is {@code null} the page is
+	 *              obtained by the offset.
+	 *
+	 * @return this operator.
+	 *
+	 * @see Cursors
+	 */
+	public O withAfter(final String after) {
+
+		this.cursor = after != null;
+		if (after == null || after.isBlank()) {
+
+			this.after = null;
+
+		} else {
+
+			this.after = after.trim();
+		}
+		return this.operator();
+	}
+
+	/**
+	 * Specify how to obtain the total number of models that match the query.
+	 *
+	 * @param total how to obtain the total.
+	 *
+	 * @return this operator.
+	 */
+	public O withTotal(final PageTotal total) {
+
+		if (total != null) {
+
+			this.total = total;
+		}
+		return this.operator();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public Uni<T> execute() {
 
+		final Uni<Long> estimated;
+		if (this.total == PageTotal.ESTIMATED && !this.isFiltered()) {
+
+			estimated = this.collection().estimatedDocumentCount();
+
+		} else {
+
+			estimated = Uni.createFrom().nullItem();
+		}
+
+		final Bson afterFilter;
+		try {
+
+			afterFilter = this.createAfterFilter();
+
+		} catch (final IllegalArgumentException error) {
+
+			return Uni.createFrom().failure(error);
+		}
+		return estimated.chain(estimatedTotal -> this.getPageWith(this.createPipeline(estimatedTotal, afterFilter)));
+	}
+
+	/**
+	 * Create the pipeline to obtain the page.
+	 *
+	 * @param estimatedTotal the estimated total of models, or {@code null} if it
+	 *                       is not estimated.
+	 * @param afterFilter    the filter to select the models after the cursor, or
+	 *                       {@code null} if it is not necessary.
+	 *
+	 * @return the pipeline to obtain the page.
+	 */
+	List<Bson> createPipeline(Long estimatedTotal, Bson afterFilter) {
+
 		final var pipeline = this.createPipelineBeforeFacet();
-		final var total = new Facet("total", Aggregates.count());
-		final var logs = new Facet(this.fieldName, Aggregates.sort(Orders.orderBy(this.order)),
-				Aggregates.skip(this.offset), Aggregates.limit(this.limit));
-
-		pipeline.add(Aggregates.facet(total, logs));
-		final var project = Aggregates
-				.project(Projections.fields(Projections.computed("total", new Document("$first", "$total.count")),
-						Projections.include(this.fieldName)));
-		pipeline.add(project);
-		final var offsetField = new Field<>("offset", this.offset);
-		pipeline.add(Aggregates.addFields(offsetField));
-		return this.getPageWith(pipeline);
+		final var fields = Orders.fieldsOf(this.order);
+		final var page = new ArrayList<Bson>();
+		if (afterFilter != null) {
+
+			page.add(Aggregates.match(afterFilter));
+		}
+		page.add(Aggregates.sort(Orders.orderBy(fields)));
+		if (!this.cursor) {
+
+			page.add(Aggregates.skip(this.offset));
+		}
+		page.add(Aggregates.limit(this.limit));
+
+		final var count = this.total == PageTotal.EXACT || this.total == PageTotal.ESTIMATED && estimatedTotal == null;
+		final var afterPage = this.createPipelineAfterPage();
+		if (count || !this.cursor) {
+
+			page.addAll(afterPage);
+			final var models = new Facet(this.fieldName, page);
+			if (count) {
+
+				pipeline.add(Aggregates.facet(new Facet("total", Aggregates.count()), models));
+
+			} else {
+
+				pipeline.add(Aggregates.facet(models));
+			}
+
+		} else {
+
+			pipeline.addAll(page);
+			if (afterPage.isEmpty()) {
+
+				afterPage.add(Aggregates.match(new Document()));
+			}
+			pipeline.add(Aggregates.facet(new Facet(this.fieldName, afterPage)));
+		}
+
+		final var projections = new ArrayList<Bson>();
+		if (count) {
+
+			projections.add(Projections.computed("total", new Document("$first", "$total.count")));
+		}
+		projections.add(Projections.include(this.fieldName));
+		if (this.cursor) {
+
+			final var models = "$" + this.fieldName;
+			final var values = new ArrayList<String>();
+			for (final var field : fields.keySet()) {
+
+				values.add("$$last." + field);
+			}
+			final var last = new Document("$let",
+					new Document("vars", new Document("last", new Document("$last", models))).append("in", values));
+			projections.add(Projections.computed(NEXT_FIELD, new Document("$cond",
+					List.of(new Document("$eq", List.of(new Document("$size", models), this.limit)), last,
+							"$$REMOVE"))));
+		}
+		pipeline.add(Aggregates.project(Projections.fields(projections)));
+
+		final var offsetField = new Field<>("offset", this.cursor ? 0 : this.offset);
+		if (estimatedTotal != null) {
+
+			pipeline.add(Aggregates.addFields(offsetField, new Field<>("total", estimatedTotal)));
+
+		} else {
+
+			pipeline.add(Aggregates.addFields(offsetField));
+		}
+		return pipeline;
+	}
+
+	/**
+	 * Create the filter to select the models that follow the model of the cursor
+	 * in the order of the page.
+	 *
+	 * @return the filter to select the models after the cursor, or {@code null} if
+	 *         it is not necessary to filter them.
+	 *
+	 * @throws IllegalArgumentException if the cursor is not valid for the order of
+	 *                                  the page.
+	 */
+	private Bson createAfterFilter() {
+
+		if (!this.cursor || this.after == null) {
+
+			return null;
+		}
+
+		final var fields = Orders.fieldsOf(this.order);
+		final var values = Cursors.decode(this.after);
+		if (values.size() != fields.size()) {
+
+			throw new IllegalArgumentException("The cursor " + this.after + " is not valid for the order of the page.");
+		}
+		return afterFilter(fields, values);
+	}
+
+	/**
+	 * Create the filter to select the models that follow a model on an order.
+	 *
+	 * @param fields to sort by, with {@code 1} for ascending order or {@code -1}
+	 *               for descending order.
+	 * @param values of the fields of the last model, in the same order as the
+	 *               fields.
+	 *
+	 * @return the filter to select the models after the last model.
+	 *
+	 * @see Orders#fieldsOf(String)
+	 */
+	static Bson afterFilter(Map<String, Integer> fields, List<BsonValue> values) {
+
+		final var alternatives = new ArrayList<Bson>();
+		final var equals = new ArrayList<Bson>();
+		final var iterator = values.iterator();
+		for (final var entry : fields.entrySet()) {
+
+			final var field = entry.getKey();
+			final var value = iterator.next();
+			final Bson follow;
+			if (entry.getValue() < 0) {
+
+				if (value.isNull()) {
+
+					follow = null;
+
+				} else {
+
+					follow = Filters.or(Filters.lt(field, value), Filters.eq(field, null));
+				}
+
+			} else if (value.isNull()) {
+
+				follow = Filters.ne(field, null);
+
+			} else {
+
+				follow = Filters.gt(field, value);
+			}
+
+			if (follow != null) {
+
+				final var alternative = new ArrayList<Bson>(equals);
+				alternative.add(follow);
+				alternatives.add(alternative.size() == 1 ? follow : Filters.and(alternative));
+			}
+			equals.add(Filters.eq(field, value));
+		}
+
+		return alternatives.size() == 1 ? alternatives.get(0) : Filters.or(alternatives);
+	}
+
+	/**
+	 * Obtain a page replacing the values of the last model by the cursor to the
+	 * next page.
+	 *
+	 * @param <P>      type of the page to return.
+	 * @param pipeline to obtain the page.
+	 * @param type     of the page to return.
+	 *
+	 * @return the page obtained with the pipeline.
+	 *
+	 * @see Cursors#encode(BsonArray)
+	 */
+	protected <P> Uni<P> aggregatePage(List<Bson> pipeline, Class<P> type) {
+
+		final var collection = this.collection();
+		final var codec = collection.getCodecRegistry().get(type);
+		return collection.aggregate(pipeline, BsonDocument.class).collect().first().map(page -> {
+
+			if (page == null) {
+
+				return null;
+			}
+			final var next = page.get(NEXT_FIELD);
+			if (next != null && next.isArray()) {
+
+				page.put(NEXT_FIELD, new BsonString(Cursors.encode(next.asArray())));
+			}
+			return codec.decode(new BsonDocumentReader(page), DecoderContext.builder().build());
+		});
+	}
+
+	/**
+	 * Check if the query of the page filters the models of the collection.
+	 *
+	 * @return {@code true} if the page does not contain all the models of the
+	 *         collection.
+	 */
+	protected boolean isFiltered() {
+
+		return this.createFilter() != null;
 	}
 
 	/**
@@ -103,6 +396,25 @@ public abstract class AbstractGetMinPage<T, O extends AbstractGetMinPage<T, O>>
 		return pipeline;
 	}
 
+	/**
+	 * Create the stages to apply only over the models of the page, after they have
+	 * been sorted and limited. The fields used to sort and filter the models can
+	 * not be calculated on these stages.
+	 *
+	 * @return the stages to apply over the models of the page.
+	 */
+	protected List<Bson> createPipelineAfterPage() {
+
+		return new ArrayList<>();
+	}
+
+	/**
+	 * Return the collection where the models of the page are stored.
+	 *
+	 * @return the collection of the models.
+	 */
+	protected abstract ReactiveMongoCollection<?> collection();
+
 	/**
 	 * Create an empty page to return when cannot obtain the page.
 	 *
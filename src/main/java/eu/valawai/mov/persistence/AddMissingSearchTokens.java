@@ -0,0 +1,146 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+
+import io.quarkus.mongodb.FindOptions;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Add the {@link SearchTokens} to the models that have been stored before the
+ * tokens were defined. The models are updated in batches, so it can be used
+ * over large collections.
+ *
+ * @see SearchTokens
+ *
+ * @author VALAWAI
+ */
+public class AddMissingSearchTokens extends AbstractEntityOperator<Long, AddMissingSearchTokens> {
+
+	/**
+	 * The collection to update.
+	 */
+	protected ReactiveMongoCollection<Document> collection;
+
+	/**
+	 * The fields with the text to obtain the tokens.
+	 */
+	protected String[] fields;
+
+	/**
+	 * The maximum number of models to update at the same time.
+	 */
+	protected int batchSize = 500;
+
+	/**
+	 * Create a new operation.
+	 */
+	private AddMissingSearchTokens() {
+
+	}
+
+	/**
+	 * Create the operation to add the missing tokens.
+	 *
+	 * @return the new operation.
+	 */
+	public static AddMissingSearchTokens fresh() {
+
+		return new AddMissingSearchTokens();
+	}
+
+	/**
+	 * Set the collection to update.
+	 *
+	 * @param collection to update.
+	 *
+	 * @return this operator.
+	 */
+	public AddMissingSearchTokens withCollection(ReactiveMongoCollection<?> collection) {
+
+		this.collection = collection.withDocumentClass(Document.class);
+		return this.operator();
+	}
+
+	/**
+	 * Set the fields with the text to obtain the tokens.
+	 *
+	 * @param fields with the text of the models.
+	 *
+	 * @return this operator.
+	 */
+	public AddMissingSearchTokens withFields(String... fields) {
+
+		this.fields = fields;
+		return this.operator();
+	}
+
+	/**
+	 * Set the maximum number of models to update at the same time.
+	 *
+	 * @param batchSize maximum number of models to update.
+	 *
+	 * @return this operator.
+	 */
+	public AddMissingSearchTokens withBatchSize(int batchSize) {
+
+		this.batchSize = Math.max(1, batchSize);
+		return this.operator();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return the number of models that have been updated.
+	 */
+	@Override
+	public Uni<Long> execute() {
+
+		final var textFilters = new ArrayList<Bson>();
+		for (final var field : this.fields) {
+
+			textFilters.add(Filters.exists(field, true));
+		}
+		final var filter = Filters.and(Filters.exists(SearchTokens.FIELD_NAME, false), Filters.or(textFilters));
+		final var options = new FindOptions().projection(Projections.include(this.fields));
+		return this.collection.find(filter, options).group().intoLists().of(this.batchSize).onItem()
+				.transformToUniAndConcatenate(models -> {
+
+					final var updates = new ArrayList<WriteModel<Document>>();
+					for (final var model : models) {
+
+						final var texts = new String[this.fields.length];
+						for (var i = 0; i < texts.length; i++) {
+
+							final var value = model.get(this.fields[i]);
+							texts[i] = value instanceof final String text ? text : null;
+						}
+						final var tokens = SearchTokens.of(texts);
+						updates.add(new UpdateOneModel<>(Filters.eq("_id", model.get("_id")), Updates
+								.set(SearchTokens.FIELD_NAME, tokens == null ? List.<String>of() : tokens)));
+					}
+					return this.collection.bulkWrite(updates).map(result -> (long) result.getModifiedCount());
+
+				}).collect().with(Collectors.summingLong(Long::longValue));
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import org.bson.BsonArray;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+/**
+ * Utility methods to encode the cursors of the pages. A cursor is an opaque
+ * string with the values of the sort fields of the last model of a page,
+ * encoded as a BSON document in URL safe base 64.
+ *
+ * @see AbstractGetMinPage
+ *
+ * @author VALAWAI
+ */
+public interface Cursors {
+
+	/**
+	 * The name of the field where the values are stored on the encoded document.
+	 */
+	public static final String VALUES_FIELD = "v";
+
+	/**
+	 * Encode the values of the sort fields of a model into a cursor.
+	 *
+	 * @param values of the sort fields of the model.
+	 *
+	 * @return the cursor with the values.
+	 */
+	public static String encode(BsonArray values) {
+
+		final var output = new BasicOutputBuffer();
+		try (var writer = new BsonBinaryWriter(output)) {
+
+			new BsonDocumentCodec().encode(writer, new BsonDocument(VALUES_FIELD, values),
+					EncoderContext.builder().build());
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(output.toByteArray());
+	}
+
+	/**
+	 * Decode the values of the sort fields of a model from a cursor.
+	 *
+	 * @param cursor to decode.
+	 *
+	 * @return the values of the sort fields of the model.
+	 *
+	 * @throws IllegalArgumentException if the cursor is not valid.
+	 */
+	public static BsonArray decode(String cursor) {
+
+		try (var reader = new BsonBinaryReader(ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor.trim())))) {
+
+			return new BsonDocumentCodec().decode(reader, DecoderContext.builder().build()).getArray(VALUES_FIELD);
+
+		} catch (final RuntimeException error) {
+
+			throw new IllegalArgumentException("The cursor " + cursor + " is not valid.", error);
+		}
+	}
+
+}
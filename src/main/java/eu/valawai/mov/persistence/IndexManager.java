@@ -0,0 +1,441 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.persistence.design.component.ComponentDefinitionEntity;
+import eu.valawai.mov.persistence.design.topology.TopologyGraphEntity;
+import eu.valawai.mov.persistence.live.components.ComponentEntity;
+import eu.valawai.mov.persistence.live.logs.AddLog;
+import eu.valawai.mov.persistence.live.logs.LogEntity;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.config.Priorities;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * The component that declares the indexes of the collections used by the MOV.
+ * The indexes are created when the MOV starts, before the data of the
+ * collections is initialized, and after that it is verified that they are
+ * defined on the database. The start up only waits the configured time for the
+ * indexes, so the indexes of big collections continue building in background
+ * and they are reported as building until they are verified.
+ *
+ * @see MOVConfiguration.Init#indexesTimeout()
+ *
+ * @author VALAWAI
+ */
+@ApplicationScoped
+public class IndexManager {
+
+	/**
+	 * The index over the source channel of the active connections.
+	 */
+	public static final String CONNECTION_SOURCE_INDEX = "source_channel_deleted_enabled";
+
+	/**
+	 * The index over the enabled connections.
+	 */
+	public static final String CONNECTION_ENABLED_INDEX = "enabled_deleted";
+
+	/**
+	 * The index over the active connections.
+	 */
+	public static final String CONNECTION_DELETED_INDEX = "deleted";
+
+	/**
+	 * The index over the component of the source of the connections.
+	 */
+	public static final String CONNECTION_SOURCE_COMPONENT_INDEX = "source_component_deleted";
+
+	/**
+	 * The index over the component of the target of the connections.
+	 */
+	public static final String CONNECTION_TARGET_COMPONENT_INDEX = "target_component_deleted";
+
+	/**
+	 * The index over the components that are notified by the connections.
+	 */
+	public static final String CONNECTION_NOTIFICATION_COMPONENT_INDEX = "notification_component";
+
+	/**
+	 * The index over the type of the active components.
+	 */
+	public static final String COMPONENT_ACTIVE_INDEX = "finished_type";
+
+	/**
+	 * The index over the channels of the active components.
+	 */
+	public static final String COMPONENT_CHANNEL_INDEX = "channel_name_finished";
+
+	/**
+	 * The index over the channels where the active components publish.
+	 */
+	public static final String COMPONENT_PUBLISH_INDEX = "publish_finished";
+
+	/**
+	 * The index over the channels where the active components subscribe.
+	 */
+	public static final String COMPONENT_SUBSCRIBE_INDEX = "subscribe_finished";
+
+	/**
+	 * The index over the channels of the C2 components that can be notified.
+	 */
+	public static final String COMPONENT_NOTIFICATION_INDEX = "notification_finished";
+
+	/**
+	 * The index over the time of the logs, followed by the identifier to sort the
+	 * pages of logs.
+	 */
+	public static final String LOG_TIMESTAMP_INDEX = "timestamp_id";
+
+	/**
+	 * The index over the level of the logs.
+	 */
+	public static final String LOG_LEVEL_INDEX = "level_timestamp";
+
+	/**
+	 * The index over the component of the logs.
+	 */
+	public static final String LOG_COMPONENT_INDEX = "component_timestamp";
+
+	/**
+	 * The index over the type of the component of the logs.
+	 */
+	public static final String LOG_COMPONENT_TYPE_INDEX = "component_type_timestamp";
+
+	/**
+	 * The index over the words of the message of the logs.
+	 */
+	public static final String LOG_TOKENS_INDEX = "tokens_timestamp";
+
+	/**
+	 * The index that removes the logs when they expire.
+	 */
+	public static final String LOG_EXPIRATION_INDEX = "expire_at";
+
+	/**
+	 * The index over the update time of the component definitions.
+	 */
+	public static final String DEFINITION_UPDATED_INDEX = "updated";
+
+	/**
+	 * The index over the type of the component definitions.
+	 */
+	public static final String DEFINITION_TYPE_INDEX = "type_name";
+
+	/**
+	 * The index over the words of the name and description of the component
+	 * definitions.
+	 */
+	public static final String DEFINITION_TOKENS_INDEX = "tokens";
+
+	/**
+	 * The index over the name of the topologies.
+	 */
+	public static final String TOPOLOGY_NAME_INDEX = "name";
+
+	/**
+	 * The index over the update time of the topologies.
+	 */
+	public static final String TOPOLOGY_UPDATED_INDEX = "updated";
+
+	/**
+	 * The possible status of an index.
+	 */
+	public enum IndexStatus {
+
+		/**
+		 * The index is defined on the database.
+		 */
+		READY,
+
+		/**
+		 * The index is being created on the database.
+		 */
+		BUILDING,
+
+		/**
+		 * The index has been declared but it is not defined on the database.
+		 */
+		MISSING,
+
+		/**
+		 * The index cannot be created.
+		 */
+		FAILED;
+	}
+
+	/**
+	 * The status of the indexes, indexed by the collection name and the index
+	 * name.
+	 */
+	private final Map<String, IndexStatus> status = new TreeMap<>();
+
+	/**
+	 * The configuration of the MOV.
+	 */
+	@Inject
+	MOVConfiguration conf;
+
+	/**
+	 * Called when the application has been started, before the data of the
+	 * collections is initialized.
+	 *
+	 * @param event that contains the start status.
+	 */
+	public void handle(@Observes @Priority(Priorities.APPLICATION + 22) StartupEvent event) {
+
+		final var declared = new ArrayList<Uni<Void>>();
+		declared.add(this.declare(TopologyConnectionEntity.mongoCollection(), connectionIndexes()));
+		declared.add(this.declare(ComponentEntity.mongoCollection(), componentIndexes()));
+		declared.add(this.declare(LogEntity.mongoCollection(), logIndexes()));
+		declared.add(this.declare(ComponentDefinitionEntity.mongoCollection(), definitionIndexes()));
+		declared.add(this.declare(TopologyGraphEntity.mongoCollection(), topologyIndexes()));
+		final var verified = Uni.join().all(declared).andCollectFailures().onFailure().recoverWithNull()
+				.subscribeAsCompletionStage().toCompletableFuture();
+		try {
+
+			verified.get(Math.max(0, this.conf.init().indexesTimeout()), TimeUnit.MILLISECONDS);
+			this.report();
+
+		} catch (final TimeoutException timeout) {
+
+			AddLog.fresh().withWarning().withMessage("Some indexes are still building {0}", this.notReady()).store();
+			verified.thenRun(this::report);
+
+		} catch (final InterruptedException interrupted) {
+
+			Thread.currentThread().interrupt();
+
+		} catch (final ExecutionException error) {
+
+			AddLog.fresh().withError(error).withMessage("Cannot verify the indexes of the collections").store();
+		}
+	}
+
+	/**
+	 * Report on the logs the status of the indexes.
+	 */
+	private void report() {
+
+		final var notReady = this.notReady();
+		if (notReady.isEmpty()) {
+
+			AddLog.fresh().withInfo().withMessage("Verified the {0} indexes of the collections", this.status().size())
+					.store();
+
+		} else {
+
+			AddLog.fresh().withWarning().withMessage("Some indexes are not ready {0}", notReady).store();
+		}
+	}
+
+	/**
+	 * Return the indexes that are not ready.
+	 *
+	 * @return the name and the status of the indexes that are not ready.
+	 */
+	private List<String> notReady() {
+
+		final var notReady = new ArrayList<String>();
+		for (final var entry : this.status().entrySet()) {
+
+			if (entry.getValue() != IndexStatus.READY) {
+
+				notReady.add(entry.getKey() + "=" + entry.getValue());
+			}
+		}
+		return notReady;
+	}
+
+	/**
+	 * Return the status of the declared indexes.
+	 *
+	 * @return the status of the indexes, indexed by the collection name and the
+	 *         index name separated by a dot.
+	 */
+	public Map<String, IndexStatus> status() {
+
+		synchronized (this.status) {
+
+			return new TreeMap<>(this.status);
+		}
+	}
+
+	/**
+	 * Create and verify the indexes of a collection.
+	 *
+	 * @param collection where the indexes have to be defined.
+	 * @param indexes    to define.
+	 *
+	 * @return the result when the indexes have been verified.
+	 */
+	private Uni<Void> declare(ReactiveMongoCollection<?> collection, List<IndexModel> indexes) {
+
+		final var collectionName = collection.getNamespace().getCollectionName();
+		final var names = new ArrayList<String>();
+		synchronized (this.status) {
+
+			for (final var index : indexes) {
+
+				final var name = index.getOptions().getName();
+				names.add(name);
+				this.status.put(collectionName + "." + name, IndexStatus.BUILDING);
+			}
+		}
+
+		return collection.createIndexes(indexes).onFailure().recoverWithItem(error -> {
+
+			AddLog.fresh().withError(error).withMessage("Cannot create the indexes of {0}", collectionName).store();
+			return null;
+
+		}).chain(created -> collection.listIndexes().map(index -> index.getString("name")).collect()
+				.in(HashSet<String>::new, HashSet::add).invoke(defined -> {
+
+					synchronized (this.status) {
+
+						for (final var name : names) {
+
+							final IndexStatus indexStatus;
+							if (defined.contains(name)) {
+
+								indexStatus = IndexStatus.READY;
+
+							} else if (created == null) {
+
+								indexStatus = IndexStatus.FAILED;
+
+							} else {
+
+								indexStatus = IndexStatus.MISSING;
+							}
+							this.status.put(collectionName + "." + name, indexStatus);
+						}
+					}
+
+				})).replaceWithVoid();
+	}
+
+	/**
+	 * Return the indexes for the {@link TopologyConnectionEntity}.
+	 *
+	 * @return the indexes of the topology connections.
+	 */
+	static List<IndexModel> connectionIndexes() {
+
+		return List.of(
+				new IndexModel(Indexes.ascending("source.channelName", "deletedTimestamp", "enabled"),
+						new IndexOptions().name(CONNECTION_SOURCE_INDEX)),
+				new IndexModel(Indexes.ascending("enabled", "deletedTimestamp"),
+						new IndexOptions().name(CONNECTION_ENABLED_INDEX)),
+				new IndexModel(Indexes.ascending("deletedTimestamp"),
+						new IndexOptions().name(CONNECTION_DELETED_INDEX)),
+				new IndexModel(Indexes.ascending("source.componentId", "deletedTimestamp"),
+						new IndexOptions().name(CONNECTION_SOURCE_COMPONENT_INDEX)),
+				new IndexModel(Indexes.ascending("target.componentId", "deletedTimestamp"),
+						new IndexOptions().name(CONNECTION_TARGET_COMPONENT_INDEX)),
+				new IndexModel(Indexes.ascending("notifications.node.componentId"),
+						new IndexOptions().name(CONNECTION_NOTIFICATION_COMPONENT_INDEX)
+								.partialFilterExpression(Filters.exists("notifications.node.componentId", true))));
+	}
+
+	/**
+	 * Return the indexes for the {@link ComponentEntity}.
+	 *
+	 * @return the indexes of the components.
+	 */
+	static List<IndexModel> componentIndexes() {
+
+		return List.of(
+				new IndexModel(Indexes.ascending("finishedTime", "type", "_id"),
+						new IndexOptions().name(COMPONENT_ACTIVE_INDEX)),
+				new IndexModel(Indexes.ascending("channels.name", "finishedTime"),
+						new IndexOptions().name(COMPONENT_CHANNEL_INDEX)),
+				new IndexModel(Indexes.ascending("publishChannels", "finishedTime"),
+						new IndexOptions().name(COMPONENT_PUBLISH_INDEX)),
+				new IndexModel(Indexes.ascending("subscribeChannels", "finishedTime"),
+						new IndexOptions().name(COMPONENT_SUBSCRIBE_INDEX)),
+				new IndexModel(Indexes.ascending("notificationChannels", "finishedTime"),
+						new IndexOptions().name(COMPONENT_NOTIFICATION_INDEX)
+								.partialFilterExpression(Filters.exists("notificationChannels", true))));
+	}
+
+	/**
+	 * Return the indexes for the {@link LogEntity}.
+	 *
+	 * @return the indexes of the logs.
+	 */
+	static List<IndexModel> logIndexes() {
+
+		return List.of(
+				new IndexModel(Indexes.compoundIndex(Indexes.descending("timestamp"), Indexes.ascending("_id")),
+						new IndexOptions().name(LOG_TIMESTAMP_INDEX)),
+				new IndexModel(Indexes.compoundIndex(Indexes.ascending("level"), Indexes.descending("timestamp")),
+						new IndexOptions().name(LOG_LEVEL_INDEX)),
+				new IndexModel(Indexes.compoundIndex(Indexes.ascending("componentId"), Indexes.descending("timestamp")),
+						new IndexOptions().name(LOG_COMPONENT_INDEX)
+								.partialFilterExpression(Filters.exists("componentId", true))),
+				new IndexModel(
+						Indexes.compoundIndex(Indexes.ascending("component.type"), Indexes.descending("timestamp")),
+						new IndexOptions().name(LOG_COMPONENT_TYPE_INDEX)
+								.partialFilterExpression(Filters.exists("component.type", true))),
+				new IndexModel(
+						Indexes.compoundIndex(Indexes.ascending(SearchTokens.FIELD_NAME),
+								Indexes.descending("timestamp")),
+						new IndexOptions().name(LOG_TOKENS_INDEX)),
+				new IndexModel(Indexes.ascending("expireAt"),
+						new IndexOptions().name(LOG_EXPIRATION_INDEX).expireAfter(0l, TimeUnit.SECONDS)));
+	}
+
+	/**
+	 * Return the indexes for the {@link ComponentDefinitionEntity}.
+	 *
+	 * @return the indexes of the component definitions.
+	 */
+	static List<IndexModel> definitionIndexes() {
+
+		return List.of(
+				new IndexModel(Indexes.ascending("updatedAt"), new IndexOptions().name(DEFINITION_UPDATED_INDEX)),
+				new IndexModel(Indexes.ascending("type", "name"), new IndexOptions().name(DEFINITION_TYPE_INDEX)),
+				new IndexModel(Indexes.ascending(SearchTokens.FIELD_NAME),
+						new IndexOptions().name(DEFINITION_TOKENS_INDEX)));
+	}
+
+	/**
+	 * Return the indexes for the {@link TopologyGraphEntity}.
+	 *
+	 * @return the indexes of the topologies.
+	 */
+	static List<IndexModel> topologyIndexes() {
+
+		return List.of(new IndexModel(Indexes.ascending("name"), new IndexOptions().name(TOPOLOGY_NAME_INDEX)),
+				new IndexModel(Indexes.descending("updatedAt"), new IndexOptions().name(TOPOLOGY_UPDATED_INDEX)));
+	}
+
+}
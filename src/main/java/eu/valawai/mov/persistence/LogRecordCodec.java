@@ -0,0 +1,160 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import eu.valawai.mov.api.v1.components.MinComponent;
+import eu.valawai.mov.api.v1.logs.LogLevel;
+import eu.valawai.mov.api.v1.logs.LogRecord;
+import eu.valawai.mov.persistence.live.logs.LogPayloadPolicy;
+
+/**
+ * The component to encode and decode a {@link LogRecord}. The payload of the
+ * stored logs can be a document, a string or a compressed binary, so it is
+ * converted into its JSON when it is decoded.
+ *
+ * @see LogRecord
+ * @see LogPayloadPolicy
+ * @see ModelCodecsProvider
+ *
+ * @author VALAWAI
+ */
+public class LogRecordCodec implements Codec<LogRecord> {
+
+	/**
+	 * The registry to obtain the codec of the components.
+	 */
+	private final CodecRegistry registry;
+
+	/**
+	 * The codec to read the stored payloads.
+	 */
+	private final BsonValueCodec payloadCodec = new BsonValueCodec();
+
+	/**
+	 * Create the codec.
+	 *
+	 * @param registry to obtain the codec of the components.
+	 */
+	public LogRecordCodec(CodecRegistry registry) {
+
+		this.registry = registry;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<LogRecord> getEncoderClass() {
+
+		return LogRecord.class;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void encode(BsonWriter writer, LogRecord value, EncoderContext encoderContext) {
+
+		writer.writeStartDocument();
+		if (value.level != null) {
+
+			writer.writeString("level", value.level.name());
+		}
+		if (value.message != null) {
+
+			writer.writeString("message", value.message);
+		}
+		if (value.payload != null) {
+
+			writer.writeString("payload", value.payload);
+		}
+		if (value.payloadTruncated) {
+
+			writer.writeBoolean("payloadTruncated", true);
+		}
+		if (value.component != null) {
+
+			writer.writeName("component");
+			encoderContext.encodeWithChildContext(this.registry.get(MinComponent.class), writer, value.component);
+		}
+		writer.writeInt64("timestamp", value.timestamp);
+		writer.writeEndDocument();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LogRecord decode(BsonReader reader, DecoderContext decoderContext) {
+
+		final var record = new LogRecord();
+		reader.readStartDocument();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+
+			final var name = reader.readName();
+			if (reader.getCurrentBsonType() == BsonType.NULL) {
+
+				reader.readNull();
+				continue;
+			}
+
+			switch (name) {
+			case "level":
+				record.level = LogLevel.valueOf(reader.readString());
+				break;
+			case "message":
+				record.message = reader.readString();
+				break;
+			case "payload":
+				record.payload = LogPayloadPolicy.decode(this.payloadCodec.decode(reader, decoderContext));
+				break;
+			case "payloadTruncated":
+				record.payloadTruncated = reader.readBoolean();
+				break;
+			case "component":
+				record.component = decoderContext.decodeWithChildContext(this.registry.get(MinComponent.class),
+						reader);
+				break;
+			case "timestamp":
+				record.timestamp = this.readLong(reader);
+				break;
+			default:
+				reader.skipValue();
+			}
+		}
+		reader.readEndDocument();
+		return record;
+	}
+
+	/**
+	 * Read a number as a long.
+	 *
+	 * @param reader to use.
+	 *
+	 * @return the read number.
+	 */
+	private long readLong(BsonReader reader) {
+
+		return switch (reader.getCurrentBsonType()) {
+		case INT32 -> reader.readInt32();
+		case DOUBLE -> (long) reader.readDouble();
+		default -> reader.readInt64();
+		};
+	}
+
+}
@@ -7,7 +7,6 @@
 */
 package eu.valawai.mov.persistence;
 
-import org.bson.RawBsonDocument;
 import org.bson.codecs.Codec;
 import org.bson.codecs.configuration.CodecProvider;
 import org.bson.codecs.configuration.CodecRegistry;
@@ -15,11 +14,15 @@ import org.bson.codecs.configuration.CodecRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import eu.valawai.mov.api.v1.components.PayloadSchema;
+import eu.valawai.mov.api.v1.logs.LogRecord;
 
 /**
  * The provider for some models that can not be generated automatically.
  *
  * @see PayloadSchema
+ * @see LogRecord
+ * @see PayloadSchemaCodec
+ * @see LogRecordCodec
  *
  * @author VALAWAI
  */
@@ -30,6 +33,11 @@ public class ModelCodecsProvider implements CodecProvider {
 	 */
 	private final ObjectMapper objectMapper;
 
+	/**
+	 * The codec for the payload schemas.
+	 */
+	private final PayloadSchemaCodec payloadSchemaCodec = new PayloadSchemaCodec();
+
 	/**
 	 * Create the provider for the model codecs.
 	 *
@@ -44,12 +52,16 @@ public class ModelCodecsProvider implements CodecProvider {
 	 * {@inheritDoc}
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T> Codec<T> get(final Class<T> clazz, final CodecRegistry registry) {
 
 		if (PayloadSchema.class == clazz) {
 
-			final var rawCodec = registry.get(RawBsonDocument.class);
-			return new JacksonCodec<T>(this.objectMapper, rawCodec, clazz);
+			return (Codec<T>) this.payloadSchemaCodec;
+
+		} else if (LogRecord.class == clazz) {
+
+			return (Codec<T>) new LogRecordCodec(registry);
 
 		} else {
 
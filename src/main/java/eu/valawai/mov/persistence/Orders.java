@@ -9,6 +9,8 @@
 package eu.valawai.mov.persistence;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.bson.conversions.Bson;
 
@@ -31,7 +33,49 @@ public interface Orders {
 	 */
 	public static Bson orderBy(String order) {
 
+		return orderBy(fieldsOf(order));
+	}
+
+	/**
+	 * Return the sort for some fields.
+	 *
+	 * @param fields to sort by, with {@code 1} for ascending order or {@code -1}
+	 *               for descending order.
+	 *
+	 * @return the order by documents.
+	 *
+	 * @see #fieldsOf(String)
+	 */
+	public static Bson orderBy(Map<String, Integer> fields) {
+
 		final var sorts = new ArrayList<Bson>();
+		for (final var entry : fields.entrySet()) {
+
+			if (entry.getValue() < 0) {
+
+				sorts.add(Sorts.descending(entry.getKey()));
+
+			} else {
+
+				sorts.add(Sorts.ascending(entry.getKey()));
+			}
+		}
+		return Sorts.orderBy(sorts);
+	}
+
+	/**
+	 * Return the fields to sort by. The identifier is always the last field, so
+	 * the order is total.
+	 *
+	 * @param order name of the field names separated by commas and start with plus
+	 *              for ascending order or with minus with descending order.
+	 *
+	 * @return the fields in the order to sort, with {@code 1} for ascending order
+	 *         or {@code -1} for descending order.
+	 */
+	public static LinkedHashMap<String, Integer> fieldsOf(String order) {
+
+		final var fields = new LinkedHashMap<String, Integer>();
 		if (order != null) {
 
 			final var split = order.trim().split(",");
@@ -51,19 +95,12 @@ public interface Orders {
 
 				if (!element.isEmpty()) {
 
-					if (type == 1) {
-
-						sorts.add(Sorts.ascending(element));
-
-					} else {
-
-						sorts.add(Sorts.descending(element));
-					}
+					fields.putIfAbsent(element, type);
 				}
 			}
 		}
-		sorts.add(Sorts.ascending("_id"));
-		return Sorts.orderBy(sorts);
+		fields.putIfAbsent("_id", 1);
+		return fields;
 	}
 
 }
@@ -0,0 +1,37 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+/**
+ * The possible ways to obtain the total number of models that match the query
+ * of a page.
+ *
+ * @see AbstractGetMinPage
+ *
+ * @author VALAWAI
+ */
+public enum PageTotal {
+
+	/**
+	 * Count all the models that match the query.
+	 */
+	EXACT,
+
+	/**
+	 * Use the estimated number of documents of the collection when the query does
+	 * not filter, otherwise count all the models that match the query.
+	 */
+	ESTIMATED,
+
+	/**
+	 * Do not obtain the total.
+	 */
+	NONE;
+
+}
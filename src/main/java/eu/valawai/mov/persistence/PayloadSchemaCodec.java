@@ -0,0 +1,348 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import eu.valawai.mov.api.v1.components.AllOfPayloadSchema;
+import eu.valawai.mov.api.v1.components.AnyOfPayloadSchema;
+import eu.valawai.mov.api.v1.components.ArrayPayloadSchema;
+import eu.valawai.mov.api.v1.components.BasicPayloadFormat;
+import eu.valawai.mov.api.v1.components.BasicPayloadSchema;
+import eu.valawai.mov.api.v1.components.ConstantPayloadSchema;
+import eu.valawai.mov.api.v1.components.DiversePayloadSchema;
+import eu.valawai.mov.api.v1.components.EnumPayloadSchema;
+import eu.valawai.mov.api.v1.components.ObjectPayloadSchema;
+import eu.valawai.mov.api.v1.components.OneOfPayloadSchema;
+import eu.valawai.mov.api.v1.components.PayloadSchema;
+import eu.valawai.mov.api.v1.components.PayloadType;
+import eu.valawai.mov.api.v1.components.ReferencePayloadSchema;
+
+/**
+ * The component to encode and decode a {@link PayloadSchema} reading and
+ * writing directly the BSON values. The documents have the same fields that the
+ * ones generated by the {@link JacksonCodec}, so both can read the documents
+ * written by the other one.
+ *
+ * @see PayloadSchema
+ * @see ModelCodecsProvider
+ *
+ * @author VALAWAI
+ */
+public class PayloadSchemaCodec implements Codec<PayloadSchema> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<PayloadSchema> getEncoderClass() {
+
+		return PayloadSchema.class;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void encode(BsonWriter writer, PayloadSchema value, EncoderContext encoderContext) {
+
+		writer.writeStartDocument();
+		if (value.type != null) {
+
+			writer.writeString("type", value.type.name());
+		}
+
+		if (value instanceof final BasicPayloadSchema basic) {
+
+			if (basic.format != null) {
+
+				writer.writeString("format", basic.format.name());
+			}
+
+		} else if (value instanceof final EnumPayloadSchema enumeration) {
+
+			if (enumeration.values != null && !enumeration.values.isEmpty()) {
+
+				writer.writeStartArray("values");
+				for (final var element : enumeration.values) {
+
+					this.writeString(writer, element);
+				}
+				writer.writeEndArray();
+			}
+
+		} else if (value instanceof final ObjectPayloadSchema object) {
+
+			if (object.id != null) {
+
+				writer.writeInt32("id", object.id);
+			}
+			if (object.properties != null && !object.properties.isEmpty()) {
+
+				writer.writeStartDocument("properties");
+				for (final var entry : object.properties.entrySet()) {
+
+					writer.writeName(entry.getKey());
+					this.encodeOrNull(writer, entry.getValue(), encoderContext);
+				}
+				writer.writeEndDocument();
+			}
+
+		} else if (value instanceof final DiversePayloadSchema diverse) {
+
+			if (diverse.items != null && !diverse.items.isEmpty()) {
+
+				writer.writeStartArray("items");
+				for (final var item : diverse.items) {
+
+					this.encodeOrNull(writer, item, encoderContext);
+				}
+				writer.writeEndArray();
+			}
+
+		} else if (value instanceof final ConstantPayloadSchema constant) {
+
+			if (constant.value != null && !constant.value.isEmpty()) {
+
+				writer.writeString("value", constant.value);
+			}
+
+		} else if (value instanceof final ReferencePayloadSchema reference) {
+
+			writer.writeInt32("identifier", reference.identifier);
+		}
+
+		writer.writeEndDocument();
+	}
+
+	/**
+	 * Write a schema or a null value.
+	 *
+	 * @param writer         to use.
+	 * @param value          to write.
+	 * @param encoderContext context of the encoding.
+	 */
+	private void encodeOrNull(BsonWriter writer, PayloadSchema value, EncoderContext encoderContext) {
+
+		if (value == null) {
+
+			writer.writeNull();
+
+		} else {
+
+			this.encode(writer, value, encoderContext);
+		}
+	}
+
+	/**
+	 * Write a string or a null value.
+	 *
+	 * @param writer to use.
+	 * @param value  to write.
+	 */
+	private void writeString(BsonWriter writer, String value) {
+
+		if (value == null) {
+
+			writer.writeNull();
+
+		} else {
+
+			writer.writeString(value);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PayloadSchema decode(BsonReader reader, DecoderContext decoderContext) {
+
+		PayloadType type = null;
+		String format = null;
+		TreeSet<String> values = null;
+		Integer id = null;
+		TreeMap<String, PayloadSchema> properties = null;
+		List<PayloadSchema> items = null;
+		String value = null;
+		Integer identifier = null;
+
+		reader.readStartDocument();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+
+			final var name = reader.readName();
+			if (reader.getCurrentBsonType() == BsonType.NULL) {
+
+				reader.readNull();
+				continue;
+			}
+
+			switch (name) {
+			case "type":
+				final var typeName = reader.readString();
+				if (type == null) {
+
+					type = PayloadType.valueOf(typeName);
+				}
+				break;
+			case "format":
+				format = reader.readString();
+				break;
+			case "values":
+				values = new TreeSet<>();
+				reader.readStartArray();
+				while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+
+					if (reader.getCurrentBsonType() == BsonType.NULL) {
+
+						reader.readNull();
+
+					} else {
+
+						values.add(reader.readString());
+					}
+				}
+				reader.readEndArray();
+				break;
+			case "id":
+			case "_id":
+				id = this.readInteger(reader);
+				break;
+			case "properties":
+				properties = new TreeMap<>();
+				reader.readStartDocument();
+				while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+
+					final var property = reader.readName();
+					properties.put(property, this.decodeOrNull(reader, decoderContext));
+				}
+				reader.readEndDocument();
+				break;
+			case "items":
+				items = new ArrayList<>();
+				reader.readStartArray();
+				while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+
+					items.add(this.decodeOrNull(reader, decoderContext));
+				}
+				reader.readEndArray();
+				break;
+			case "value":
+				value = reader.readString();
+				break;
+			case "identifier":
+				identifier = this.readInteger(reader);
+				break;
+			default:
+				reader.skipValue();
+			}
+		}
+		reader.readEndDocument();
+
+		if (type == null) {
+
+			throw new BsonInvalidOperationException("The payload schema does not define its type");
+		}
+
+		switch (type) {
+		case BASIC:
+			final var basic = new BasicPayloadSchema();
+			if (format != null) {
+
+				basic.format = BasicPayloadFormat.valueOf(format);
+			}
+			return basic;
+		case ENUM:
+			final var enumeration = new EnumPayloadSchema();
+			if (values != null) {
+
+				enumeration.values = values;
+			}
+			return enumeration;
+		case OBJECT:
+			final var object = new ObjectPayloadSchema();
+			object.id = id;
+			if (properties != null) {
+
+				object.properties = properties;
+			}
+			return object;
+		case CONST:
+			final var constant = new ConstantPayloadSchema();
+			constant.value = value;
+			return constant;
+		case REF:
+			final var reference = new ReferencePayloadSchema();
+			if (identifier != null) {
+
+				reference.identifier = identifier;
+			}
+			return reference;
+		default:
+			final DiversePayloadSchema diverse = switch (type) {
+			case ONE_OF -> new OneOfPayloadSchema();
+			case ANY_OF -> new AnyOfPayloadSchema();
+			case ALL_OF -> new AllOfPayloadSchema();
+			default -> new ArrayPayloadSchema();
+			};
+			diverse.items = items;
+			return diverse;
+		}
+	}
+
+	/**
+	 * Read a schema or a null value.
+	 *
+	 * @param reader         to use.
+	 * @param decoderContext context of the decoding.
+	 *
+	 * @return the read schema or {@code null} if the value is null.
+	 */
+	private PayloadSchema decodeOrNull(BsonReader reader, DecoderContext decoderContext) {
+
+		if (reader.getCurrentBsonType() == BsonType.NULL) {
+
+			reader.readNull();
+			return null;
+
+		} else {
+
+			return this.decode(reader, decoderContext);
+		}
+	}
+
+	/**
+	 * Read a numeric value as an integer.
+	 *
+	 * @param reader to use.
+	 *
+	 * @return the read integer.
+	 */
+	private Integer readInteger(BsonReader reader) {
+
+		return switch (reader.getCurrentBsonType()) {
+		case INT64 -> (int) reader.readInt64();
+		case DOUBLE -> (int) reader.readDouble();
+		case STRING -> Integer.valueOf(reader.readString());
+		default -> reader.readInt32();
+		};
+	}
+
+}
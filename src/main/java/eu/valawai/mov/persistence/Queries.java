@@ -8,6 +8,8 @@
 
 package eu.valawai.mov.persistence;
 
+import java.util.ArrayList;
+
 import org.bson.conversions.Bson;
 
 import com.mongodb.client.model.Filters;
@@ -51,4 +53,41 @@ public interface Queries {
 
 	}
 
+	/**
+	 * Create the filter to search some words over the tokens of the models. A
+	 * model matches when it contains a token that starts with each of the words to
+	 * search, so the query can use the index over the tokens.
+	 *
+	 * @param search the words to search.
+	 *
+	 * @return the filter to search the words, or {@code null} if the search does
+	 *         not contain any word.
+	 *
+	 * @see SearchTokens
+	 */
+	public static Bson filterBySearch(String search) {
+
+		final var tokens = SearchTokens.of(search);
+		if (tokens == null) {
+
+			return null;
+		}
+
+		final var filters = new ArrayList<Bson>();
+		for (final var token : tokens) {
+
+			// the tokens only contain letters or digits, so the regular expression is a
+			// prefix that can use the index
+			filters.add(Filters.regex(SearchTokens.FIELD_NAME, "^" + token));
+		}
+		if (filters.size() == 1) {
+
+			return filters.get(0);
+
+		} else {
+
+			return Filters.and(filters);
+		}
+	}
+
 }
@@ -0,0 +1,103 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The words of a text that are stored with the models to search over them
+ * using an index. The words are the sequences of letters or digits of the text
+ * in lower case and without accents, so a search matches the models that
+ * contain a word that starts with each of the searched words.
+ *
+ * @see Queries#filterBySearch(String)
+ *
+ * @author VALAWAI
+ */
+public class SearchTokens {
+
+	/**
+	 * The name of the field where the tokens are stored.
+	 */
+	public static final String FIELD_NAME = "tokens";
+
+	/**
+	 * The maximum number of tokens to store for a model.
+	 */
+	public static final int MAX_TOKENS = 128;
+
+	/**
+	 * The maximum number of characters of a token.
+	 */
+	public static final int MAX_TOKEN_LENGTH = 32;
+
+	/**
+	 * The pattern that separate the tokens of a text.
+	 */
+	private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	/**
+	 * The pattern to match the accents of a normalized text.
+	 */
+	private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+	/**
+	 * Not used.
+	 */
+	private SearchTokens() {
+
+	}
+
+	/**
+	 * Return the tokens of some texts.
+	 *
+	 * @param texts to obtain the tokens.
+	 *
+	 * @return the different tokens of the texts, or {@code null} if the texts do
+	 *         not have any token.
+	 */
+	public static List<String> of(String... texts) {
+
+		final var tokens = new LinkedHashSet<String>();
+		for (final var text : texts) {
+
+			if (text != null) {
+
+				final var normalized = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+						.toLowerCase(Locale.ROOT);
+				for (final var token : SEPARATOR.split(normalized)) {
+
+					if (!token.isEmpty()) {
+
+						tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+						if (tokens.size() == MAX_TOKENS) {
+
+							return new ArrayList<>(tokens);
+						}
+					}
+				}
+			}
+		}
+
+		if (tokens.isEmpty()) {
+
+			return null;
+
+		} else {
+
+			return new ArrayList<>(tokens);
+		}
+	}
+
+}
@@ -14,6 +14,7 @@ import java.util.List;
 import eu.valawai.mov.api.v1.components.ChannelSchema;
 import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v2.design.components.VersionInfo;
+import eu.valawai.mov.persistence.SearchTokens;
 import eu.valawai.mov.persistence.design.topology.TopologyGraphEntity;
 import eu.valawai.mov.services.GitHubRepository;
 import io.quarkus.mongodb.panache.common.MongoEntity;
@@ -106,4 +107,12 @@ public class ComponentDefinitionEntity extends ReactivePanacheMongoEntity implem
 	 */
 	public long updatedAt;
 
+	/**
+	 * The words of the name and description that are used to search the
+	 * component definitions.
+	 *
+	 * @see SearchTokens
+	 */
+	public List<String> tokens;
+
 }
@@ -16,12 +16,15 @@ import org.bson.conversions.Bson;
 import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Field;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 
 import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v2.design.components.ComponentDefinitionPage;
 import eu.valawai.mov.persistence.AbstractGetPage;
 import eu.valawai.mov.persistence.Queries;
+import eu.valawai.mov.persistence.SearchTokens;
 import io.quarkus.logging.Log;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
 import io.smallrye.mutiny.Uni;
 import jakarta.validation.constraints.NotNull;
 
@@ -29,6 +32,8 @@ import jakarta.validation.constraints.NotNull;
  * Get {@link ComponentDefinitionPage} from the data base.
  *
  * @see ComponentDefinitionPage
+ * @see eu.valawai.mov.persistence.IndexManager#DEFINITION_TYPE_INDEX
+ * @see eu.valawai.mov.persistence.IndexManager#DEFINITION_TOKENS_INDEX
  *
  * @author VALAWAI
  */
@@ -39,6 +44,11 @@ public class GetComponentDefinitionPage extends AbstractGetPage<ComponentDefinit
 	 */
 	protected String type;
 
+	/**
+	 * The words to search in the name or description of the components.
+	 */
+	protected String search;
+
 	/**
 	 * Create a new operation.
 	 */
@@ -82,6 +92,23 @@ public class GetComponentDefinitionPage extends AbstractGetPage<ComponentDefinit
 		return this.operator();
 	}
 
+	/**
+	 * The words to search in the name or description of the components. A
+	 * component matches if its name or description contains a word that starts
+	 * with each of the words to search.
+	 *
+	 * @param search the words to search in the components to return.
+	 *
+	 * @return this operator.
+	 *
+	 * @see Queries#filterBySearch(String)
+	 */
+	public GetComponentDefinitionPage withSearch(final String search) {
+
+		this.search = search;
+		return this.operator();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -95,6 +122,17 @@ public class GetComponentDefinitionPage extends AbstractGetPage<ComponentDefinit
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected List<Bson> createPipelineAfterPage() {
+
+		final var pipeline = super.createPipelineAfterPage();
+		pipeline.add(Aggregates.project(Projections.exclude(SearchTokens.FIELD_NAME)));
+		return pipeline;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -108,6 +146,14 @@ public class GetComponentDefinitionPage extends AbstractGetPage<ComponentDefinit
 					Queries.filterByValueOrRegexp("description", this.pattern)));
 
 		}
+		if (this.search != null) {
+
+			final var filter = Queries.filterBySearch(this.search);
+			if (filter != null) {
+
+				filters.add(filter);
+			}
+		}
 		if (this.type != null) {
 
 			filters.add(Queries.filterByValueOrRegexp("type", this.type));
@@ -122,20 +168,28 @@ public class GetComponentDefinitionPage extends AbstractGetPage<ComponentDefinit
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ReactiveMongoCollection<?> collection() {
+
+		return ComponentDefinitionEntity.mongoCollection();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected Uni<ComponentDefinitionPage> getPageWith(List<Bson> pipeline) {
 
-		return ComponentDefinitionEntity.mongoCollection().aggregate(pipeline, ComponentDefinitionPage.class).collect()
-				.first().onFailure().recoverWithItem(error -> {
+		return this.aggregatePage(pipeline, ComponentDefinitionPage.class).onFailure().recoverWithItem(error -> {
 
-					Log.errorv(error, "Cannot get some component definitions");
-					final var page = new ComponentDefinitionPage();
-					page.offset = this.offset;
-					return page;
-				});
+			Log.errorv(error, "Cannot get some component definitions");
+			final var page = new ComponentDefinitionPage();
+			page.offset = this.offset;
+			return page;
+		});
 
 	}
 
@@ -28,6 +28,7 @@ import io.smallrye.mutiny.Uni;
  *
  * @see ComponentsLibraryStatus
  * @see ComponentDefinitionEntity
+ * @see eu.valawai.mov.persistence.IndexManager#DEFINITION_UPDATED_INDEX
  *
  * @author VALAWAI
  */
@@ -16,6 +16,7 @@ import com.mongodb.client.model.Updates;
 import eu.valawai.mov.TimeManager;
 import eu.valawai.mov.api.v2.design.components.ComponentDefinition;
 import eu.valawai.mov.persistence.AbstractEntityOperator;
+import eu.valawai.mov.persistence.SearchTokens;
 import io.smallrye.mutiny.Uni;
 
 /**
@@ -95,6 +96,7 @@ public class UpdateComponentDefinition extends AbstractEntityOperator<Boolean, U
 		final var filter = Filters.eq("_id", this.id);
 		final var update = Updates.combine(Updates.set("type", this.component.type),
 				Updates.set("name", this.component.name), Updates.set("description", this.component.description),
+				Updates.set(SearchTokens.FIELD_NAME, SearchTokens.of(this.component.name, this.component.description)),
 				Updates.set("docsLink", this.component.docsLink),
 				Updates.set("repository.html_url", this.component.gitHubLink),
 				Updates.set("version", this.component.version), Updates.set("apiVersion", this.component.apiVersion),
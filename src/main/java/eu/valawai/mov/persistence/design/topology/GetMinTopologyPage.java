@@ -20,12 +20,14 @@ import eu.valawai.mov.api.v2.design.topologies.MinTopologyPage;
 import eu.valawai.mov.persistence.AbstractGetPage;
 import eu.valawai.mov.persistence.Queries;
 import io.quarkus.logging.Log;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
 import io.smallrye.mutiny.Uni;
 
 /**
  * Get {@link MinTopologyPage} from the data base.
  *
  * @see MinTopologyPage
+ * @see eu.valawai.mov.persistence.IndexManager#TOPOLOGY_NAME_INDEX
  *
  * @author VALAWAI
  */
@@ -78,20 +80,28 @@ public class GetMinTopologyPage extends AbstractGetPage<MinTopologyPage, GetMinT
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ReactiveMongoCollection<?> collection() {
+
+		return TopologyGraphEntity.mongoCollection();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected Uni<MinTopologyPage> getPageWith(List<Bson> pipeline) {
 
-		return TopologyGraphEntity.mongoCollection().aggregate(pipeline, MinTopologyPage.class).collect().first()
-				.onFailure().recoverWithItem(error -> {
+		return this.aggregatePage(pipeline, MinTopologyPage.class).onFailure().recoverWithItem(error -> {
 
-					Log.errorv(error, "Cannot get some topologies");
-					final var page = new MinTopologyPage();
-					page.offset = this.offset;
-					return page;
-				});
+			Log.errorv(error, "Cannot get some topologies");
+			final var page = new MinTopologyPage();
+			page.offset = this.offset;
+			return page;
+		});
 
 	}
 
@@ -24,6 +24,8 @@ import eu.valawai.mov.persistence.Queries;
  * @param <R> type of page that it obtains.
  * @param <O> type of the operator.
  *
+ * @see eu.valawai.mov.persistence.IndexManager#COMPONENT_ACTIVE_INDEX
+ *
  * @author VALAWAI
  */
 public abstract class AbstractGetPageComponents<R, O extends AbstractGetPageComponents<R, O>>
@@ -0,0 +1,98 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.components;
+
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+
+import eu.valawai.mov.persistence.AbstractEntityOperator;
+import io.quarkus.mongodb.FindOptions;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Add the names of the channels by its role to the components that have been
+ * stored before the channels were indexed. The components are updated in
+ * batches, so it can be used over large collections.
+ *
+ * @see ComponentEntity#indexChannels()
+ *
+ * @author VALAWAI
+ */
+public class AddMissingChannelIndex extends AbstractEntityOperator<Long, AddMissingChannelIndex> {
+
+	/**
+	 * The maximum number of components to update at the same time.
+	 */
+	protected int batchSize = 500;
+
+	/**
+	 * Create a new operation.
+	 */
+	private AddMissingChannelIndex() {
+
+	}
+
+	/**
+	 * Create the operation to add the missing channel index.
+	 *
+	 * @return the new operation.
+	 */
+	public static AddMissingChannelIndex fresh() {
+
+		return new AddMissingChannelIndex();
+	}
+
+	/**
+	 * Set the maximum number of components to update at the same time.
+	 *
+	 * @param batchSize maximum number of components to update.
+	 *
+	 * @return this operator.
+	 */
+	public AddMissingChannelIndex withBatchSize(int batchSize) {
+
+		this.batchSize = Math.max(1, batchSize);
+		return this.operator();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return the number of components that have been updated.
+	 */
+	@Override
+	public Uni<Long> execute() {
+
+		final var filter = Filters.exists("publishChannels", false);
+		final var options = new FindOptions().projection(Projections.include("type", "channels"));
+		return ComponentEntity.mongoCollection().find(filter, options).group().intoLists().of(this.batchSize).onItem()
+				.transformToUniAndConcatenate(components -> {
+
+					final var updates = new ArrayList<WriteModel<ComponentEntity>>();
+					for (final var component : components) {
+
+						component.indexChannels();
+						updates.add(new UpdateOneModel<>(Filters.eq("_id", component.id),
+								Updates.combine(Updates.set("publishChannels", component.publishChannels),
+										Updates.set("subscribeChannels", component.subscribeChannels),
+										Updates.set("notificationChannels", component.notificationChannels))));
+					}
+					return ComponentEntity.mongoCollection().bulkWrite(updates)
+							.map(result -> (long) result.getModifiedCount());
+
+				}).collect().with(Collectors.summingLong(Long::longValue));
+	}
+
+}
@@ -9,6 +9,7 @@
 package eu.valawai.mov.persistence.live.components;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import eu.valawai.mov.api.v1.components.ChannelSchema;
@@ -16,6 +17,8 @@ import eu.valawai.mov.api.v1.components.Component;
 import eu.valawai.mov.api.v1.components.ComponentType;
 import io.quarkus.mongodb.panache.common.MongoEntity;
 import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoEntity;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoEntityBase;
+import io.smallrye.mutiny.Uni;
 
 /**
  * The entity that contains the data of a component.
@@ -37,6 +40,12 @@ public class ComponentEntity extends ReactivePanacheMongoEntity implements Seria
 	 */
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The pattern that has to match the name of a channel of a C2 component to be
+	 * notified when a message pass thought a connection.
+	 */
+	public static final String C2_NOTIFICATION_CHANNEL_NAME_PATTERN = "valawai/c2/\\w+/control/\\w+";
+
 	/**
 	 * The name of the component.
 	 */
@@ -77,4 +86,92 @@ public class ComponentEntity extends ReactivePanacheMongoEntity implements Seria
 	 */
 	public List<ChannelSchema> channels;
 
+	/**
+	 * The names of the channels where the component publish messages.
+	 */
+	public List<String> publishChannels;
+
+	/**
+	 * The names of the channels where the component subscribe to messages.
+	 */
+	public List<String> subscribeChannels;
+
+	/**
+	 * The names of the channels of a C2 component that can be notified when a
+	 * message pass thought a connection, or {@code null} if it does not have any.
+	 */
+	public List<String> notificationChannels;
+
+	/**
+	 * Update the names of the channels of the component by its role.
+	 */
+	public void indexChannels() {
+
+		this.publishChannels = new ArrayList<>();
+		this.subscribeChannels = new ArrayList<>();
+		this.notificationChannels = null;
+		if (this.channels != null) {
+
+			for (final var channel : this.channels) {
+
+				if (channel == null || channel.name == null) {
+
+					continue;
+				}
+				if (channel.publish != null) {
+
+					this.publishChannels.add(channel.name);
+				}
+				if (channel.subscribe != null) {
+
+					this.subscribeChannels.add(channel.name);
+					if (this.type == ComponentType.C2 && channel.name.matches(C2_NOTIFICATION_CHANNEL_NAME_PATTERN)) {
+
+						if (this.notificationChannels == null) {
+
+							this.notificationChannels = new ArrayList<>();
+						}
+						this.notificationChannels.add(channel.name);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see #indexChannels()
+	 */
+	@Override
+	public <T extends ReactivePanacheMongoEntityBase> Uni<T> persist() {
+
+		this.indexChannels();
+		return super.persist();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see #indexChannels()
+	 */
+	@Override
+	public <T extends ReactivePanacheMongoEntityBase> Uni<T> update() {
+
+		this.indexChannels();
+		return super.update();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see #indexChannels()
+	 */
+	@Override
+	public <T extends ReactivePanacheMongoEntityBase> Uni<T> persistOrUpdate() {
+
+		this.indexChannels();
+		return super.persistOrUpdate();
+	}
+
 }
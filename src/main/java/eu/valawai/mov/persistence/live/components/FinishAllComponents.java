@@ -8,6 +8,8 @@
 
 package eu.valawai.mov.persistence.live.components;
 
+import org.bson.conversions.Bson;
+
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Updates;
 
@@ -19,6 +21,7 @@ import io.smallrye.mutiny.Uni;
  * Mark all the components as finished.
  *
  * @see ComponentEntity
+ * @see eu.valawai.mov.persistence.IndexManager#COMPONENT_ACTIVE_INDEX
  *
  * @author VALAWAI
  */
@@ -47,13 +50,22 @@ public class FinishAllComponents {
 	 */
 	public Uni<Void> execute() {
 
-		final var filter = Filters.or(Filters.exists("finishedTime", false), Filters.eq("finishedTime", null));
 		final var update = Updates.set("finishedTime", TimeManager.now());
-		return ComponentEntity.mongoCollection().updateMany(filter, update).map(updated -> {
+		return ComponentEntity.mongoCollection().updateMany(filter(), update).map(updated -> {
 
 			Log.debugv("Finished {0} components", updated.getModifiedCount());
 			return null;
 		});
 	}
 
+	/**
+	 * Return the filter to select the components to finish.
+	 *
+	 * @return the filter of the components that are not finished.
+	 */
+	static Bson filter() {
+
+		return Filters.or(Filters.exists("finishedTime", false), Filters.eq("finishedTime", null));
+	}
+
 }
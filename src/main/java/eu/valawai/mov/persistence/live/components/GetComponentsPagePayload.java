@@ -18,6 +18,7 @@ import com.mongodb.client.model.Field;
 
 import eu.valawai.mov.events.components.ComponentsPagePayload;
 import eu.valawai.mov.events.components.QueryComponentsPayload;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
 import io.smallrye.mutiny.Uni;
 
 /**
@@ -74,6 +75,15 @@ public class GetComponentsPagePayload
 		return this;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ReactiveMongoCollection<?> collection() {
+
+		return ComponentEntity.mongoCollection();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
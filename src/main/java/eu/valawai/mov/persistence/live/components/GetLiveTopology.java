@@ -31,6 +31,7 @@ import io.smallrye.mutiny.Uni;
  * @see LiveTopology
  * @see ComponentEntity
  * @see TopologyConnectionEntity
+ * @see eu.valawai.mov.persistence.IndexManager#COMPONENT_ACTIVE_INDEX
  *
  * @author VALAWAI
  */
@@ -16,6 +16,7 @@ import com.mongodb.client.model.Filters;
 
 import eu.valawai.mov.api.v1.components.MinComponentPage;
 import io.quarkus.logging.Log;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
 import io.smallrye.mutiny.Uni;
 
 /**
@@ -56,20 +57,28 @@ public class GetMinComponentPage extends AbstractGetPageComponents<MinComponentP
 		return new GetMinComponentPage();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ReactiveMongoCollection<?> collection() {
+
+		return ComponentEntity.mongoCollection();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected Uni<MinComponentPage> getPageWith(List<Bson> pipeline) {
 
-		return ComponentEntity.mongoCollection().aggregate(pipeline, MinComponentPage.class).collect().first()
-				.onFailure().recoverWithItem(error -> {
+		return this.aggregatePage(pipeline, MinComponentPage.class).onFailure().recoverWithItem(error -> {
 
-					Log.errorv(error, "Cannot get some components");
-					final var page = new MinComponentPage();
-					page.offset = this.offset;
-					return page;
-				});
+			Log.errorv(error, "Cannot get some components");
+			final var page = new MinComponentPage();
+			page.offset = this.offset;
+			return page;
+		});
 	}
 
 	/**
@@ -18,6 +18,7 @@ import eu.valawai.mov.api.v2.live.connections.LiveConnection;
 import eu.valawai.mov.api.v2.live.connections.LiveConnectionPage;
 import eu.valawai.mov.persistence.AbstractGetPage;
 import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
 import io.smallrye.mutiny.Uni;
 
 /**
@@ -25,6 +26,7 @@ import io.smallrye.mutiny.Uni;
  *
  * @see LiveConnection
  * @see LiveConnectionPage
+ * @see eu.valawai.mov.persistence.IndexManager#CONNECTION_DELETED_INDEX
  *
  * @author VALAWAI
  */
@@ -48,14 +50,22 @@ public class GetLiveConnectionPage extends AbstractGetPage<LiveConnectionPage, G
 		return new GetLiveConnectionPage();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ReactiveMongoCollection<?> collection() {
+
+		return TopologyConnectionEntity.mongoCollection();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected Uni<LiveConnectionPage> getPageWith(List<Bson> pipeline) {
 
-		return TopologyConnectionEntity.mongoCollection().aggregate(pipeline, LiveConnectionPage.class).collect()
-				.first();
+		return this.aggregatePage(pipeline, LiveConnectionPage.class);
 
 	}
 
@@ -9,15 +9,18 @@
 package eu.valawai.mov.persistence.live.logs;
 
 import java.text.MessageFormat;
+import java.util.function.Supplier;
 
 import org.bson.types.ObjectId;
 
+import eu.valawai.mov.api.v1.components.MinComponent;
 import eu.valawai.mov.api.v1.logs.LogLevel;
 import eu.valawai.mov.api.v1.logs.LogRecord;
+import eu.valawai.mov.events.components.ComponentCatalog;
 import eu.valawai.mov.persistence.AbstractEntityOperator;
+import eu.valawai.mov.persistence.SearchTokens;
 import io.quarkus.logging.Log;
 import io.smallrye.mutiny.Uni;
-import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -40,6 +43,21 @@ public class AddLog extends AbstractEntityOperator<Boolean, AddLog> {
 	 */
 	protected Throwable error;
 
+	/**
+	 * The payload that has to be encoded only if the log is stored.
+	 */
+	protected Object payload;
+
+	/**
+	 * The type of the log used to sample the messages to store.
+	 */
+	protected String sampling;
+
+	/**
+	 * This is {@code true} if the log has been submitted by a component.
+	 */
+	protected boolean submitted;
+
 	/**
 	 * Create the operator.
 	 */
@@ -187,12 +205,9 @@ public class AddLog extends AbstractEntityOperator<Boolean, AddLog> {
 	 */
 	public AddLog withPayload(JsonObject payload) {
 
-		String str = null;
-		if (payload != null) {
-
-			str = payload.encodePrettily();
-		}
-		return this.withPayload(str);
+		this.log.payload = null;
+		this.payload = payload;
+		return this;
 	}
 
 	/**
@@ -204,37 +219,83 @@ public class AddLog extends AbstractEntityOperator<Boolean, AddLog> {
 	 */
 	public AddLog withPayload(Object payload) {
 
-		String str = null;
-		if (payload != null) {
+		this.log.payload = null;
+		this.payload = payload;
+		return this;
+	}
 
-			str = Json.encodePrettily(payload);
-		}
-		return this.withPayload(str);
+	/**
+	 * Set the function that provide the payload for the log. It is called only if
+	 * the log has to be stored.
+	 *
+	 * @param payload the function to obtain the payload for the log.
+	 *
+	 * @return the operation to store a log record.
+	 */
+	public AddLog withPayload(Supplier<?> payload) {
+
+		this.log.payload = null;
+		this.payload = payload;
+		return this;
 	}
 
 	/**
 	 * Set payload for the log.
 	 *
-	 * @param payload for the log.
+	 * @param payload JSON encoded payload for the log.
 	 *
 	 * @return the operation to store a log record.
 	 */
 	public AddLog withPayload(String payload) {
 
-		this.log.payload = payload;
+		this.log.payload = null;
+		this.payload = payload;
+		return this;
+	}
+
+	/**
+	 * Set the type of the log used to sample the messages to store.
+	 *
+	 * @param sampling type of the log message.
+	 *
+	 * @return the operation to store a log record.
+	 *
+	 * @see LogPersistencePolicy
+	 */
+	public AddLog withSampling(String sampling) {
+
+		this.sampling = sampling;
+		return this;
+	}
+
+	/**
+	 * Mark the log as submitted by a component. These logs are stored whatever the
+	 * level configured to persist the logs of the MOV.
+	 *
+	 * @return the operation to store a log record.
+	 *
+	 * @see LogPersistencePolicy
+	 */
+	public AddLog withSubmitted() {
+
+		this.submitted = true;
 		return this;
 	}
 
 	/**
-	 * Specify the component associated to the log message.
+	 * Specify the component associated to the log message. The summary of the
+	 * component is stored with the log when it is added.
 	 *
 	 * @param componentId identifier of the component that has generated the
 	 *
 	 * @return the operation to store a log record.
+	 *
+	 * @see ComponentCatalog#summaryOf(ObjectId)
 	 */
 	public AddLog withComponent(ObjectId componentId) {
 
 		this.log.componentId = componentId;
+		this.log.component = null;
 		return this;
 	}
 
@@ -250,26 +311,104 @@ public class AddLog extends AbstractEntityOperator<Boolean, AddLog> {
 		this.log.level = record.level;
 		this.log.message = record.message;
 		this.log.timestamp = record.timestamp;
-		this.log.payload = record.payload;
+		this.withPayload(record.payload);
 		if (record.component != null) {
 
-			this.log.componentId = record.component.id;
+			this.withComponent(record.component.id);
 		}
 		return this;
 	}
 
+	/**
+	 * Check if the log has to be stored.
+	 *
+	 * @return {@code true} if the log has to be stored.
+	 *
+	 * @see LogPersistencePolicy
+	 */
+	protected boolean isPersistable() {
+
+		final var level = this.submitted ? null : this.log.level;
+		return LogPersistencePolicy.current().accept(level, this.sampling);
+	}
+
+	/**
+	 * Encode the payload that has been set to the log.
+	 *
+	 * @see LogPayloadPolicy
+	 */
+	protected void encodePayload() {
+
+		if (this.payload instanceof final Supplier<?> supplier) {
+
+			try {
+
+				this.payload = supplier.get();
+
+			} catch (final Throwable error) {
+
+				Log.debugv(error, "Cannot obtain the payload of the log.");
+				this.payload = null;
+			}
+		}
+
+		LogPayloadPolicy.current().encode(this.payload, this.log);
+		this.payload = null;
+	}
+
 	/**
 	 * {@inheritDoc}
+	 *
+	 * @return {@code true} if the log has been stored or if the configuration does
+	 *         not require to store it.
+	 *
+	 * @see LogWriter
 	 */
 	@Override
 	public Uni<Boolean> execute() {
 
-		return this.log.persist().onFailure().recoverWithItem(error -> {
+		if (!this.isPersistable()) {
+
+			return Uni.createFrom().item(true);
+		}
+
+		this.encodePayload();
+		this.log.tokens = SearchTokens.of(this.log.message);
+		this.log.expireAt = LogRetentionPolicy.current().expireAt(this.log.level);
+		return this.resolveComponent().chain(any -> {
+
+			final var writer = LogWriter.current();
+			if (writer != null) {
+
+				return writer.write(this.log);
+			}
+
+			return this.log.persist().onFailure().recoverWithItem(error -> {
+
+				Log.errorv(error, "Cannot store the {0}", this.log);
+				return null;
 
-			Log.errorv(error, "Cannot store the {0}", this.log);
-			return null;
+			}).map(result -> result != null);
+		});
+	}
+
+	/**
+	 * Obtain the summary of the component associated to the log, if it is not
+	 * defined.
+	 *
+	 * @return the summary of the component, or {@code null} if the log is not
+	 *         associated to a component.
+	 *
+	 * @see ComponentCatalog#summaryOf(ObjectId)
+	 */
+	protected Uni<MinComponent> resolveComponent() {
+
+		if (this.log.componentId == null || this.log.component != null) {
+
+			return Uni.createFrom().item(this.log.component);
+		}
 
-		}).map(result -> result != null);
+		return ComponentCatalog.summaryOf(this.log.componentId).invoke(component -> this.log.component = component);
 	}
 
 	/**
@@ -0,0 +1,85 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+
+import eu.valawai.mov.events.components.ComponentCatalog;
+import eu.valawai.mov.persistence.AbstractEntityOperator;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Store the summary of the component into the logs that have been stored only
+ * with the identifier of the component. The logs are updated with one update
+ * for each component, so the logs are not transferred to the MOV.
+ *
+ * @see LogEntity#component
+ * @see ComponentCatalog#summaryOf(org.bson.types.ObjectId)
+ *
+ * @author VALAWAI
+ */
+public class AddMissingLogComponents extends AbstractEntityOperator<Long, AddMissingLogComponents> {
+
+	/**
+	 * Create a new operation.
+	 */
+	private AddMissingLogComponents() {
+
+	}
+
+	/**
+	 * Create the operation to add the missing components of the logs.
+	 *
+	 * @return the new operation.
+	 */
+	public static AddMissingLogComponents fresh() {
+
+		return new AddMissingLogComponents();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return the number of logs that have been updated.
+	 */
+	@Override
+	public Uni<Long> execute() {
+
+		final var missing = Filters.and(Filters.ne("componentId", null), Filters.exists("component", false));
+		final var pipeline = List.of(Aggregates.match(missing), Aggregates.group("$componentId"));
+		return LogEntity.mongoCollection().aggregate(pipeline, Document.class).onItem()
+				.transformToUniAndConcatenate(group -> {
+
+					final var componentId = group.getObjectId("_id");
+					return ComponentCatalog.summaryOf(componentId).chain(component -> {
+
+						if (component == null) {
+
+							return Uni.createFrom().item(0l);
+
+						} else {
+
+							return LogEntity.mongoCollection()
+									.updateMany(Filters.and(Filters.eq("componentId", componentId),
+											Filters.exists("component", false)), Updates.set("component", component))
+									.map(result -> result.getModifiedCount());
+						}
+					});
+
+				}).collect().with(Collectors.summingLong(Long::longValue));
+	}
+
+}
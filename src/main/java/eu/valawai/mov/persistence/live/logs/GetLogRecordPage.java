@@ -11,9 +11,6 @@ package eu.valawai.mov.persistence.live.logs;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.bson.BsonArray;
-import org.bson.BsonDocument;
-import org.bson.BsonString;
 import org.bson.conversions.Bson;
 
 import com.mongodb.client.model.Aggregates;
@@ -23,8 +20,8 @@ import com.mongodb.client.model.Projections;
 import eu.valawai.mov.api.v1.logs.LogRecordPage;
 import eu.valawai.mov.persistence.AbstractGetPage;
 import eu.valawai.mov.persistence.Queries;
-import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import io.quarkus.logging.Log;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
 import io.smallrye.mutiny.Uni;
 
 /**
@@ -32,6 +29,11 @@ import io.smallrye.mutiny.Uni;
  *
  * @see LogRecordPage
  * @see LogEntity
+ * @see eu.valawai.mov.persistence.IndexManager#LOG_TIMESTAMP_INDEX
+ * @see eu.valawai.mov.persistence.IndexManager#LOG_LEVEL_INDEX
+ * @see eu.valawai.mov.persistence.IndexManager#LOG_COMPONENT_INDEX
+ * @see eu.valawai.mov.persistence.IndexManager#LOG_COMPONENT_TYPE_INDEX
+ * @see eu.valawai.mov.persistence.IndexManager#LOG_TOKENS_INDEX
  *
  * @author VALAWAI
  */
@@ -52,6 +54,11 @@ public class GetLogRecordPage extends AbstractGetPage<LogRecordPage, GetLogRecor
 	 */
 	protected String componentPattern;
 
+	/**
+	 * The words to search in the message of the logs to obtain.
+	 */
+	protected String search;
+
 	/**
 	 * Create a new operation.
 	 */
@@ -83,6 +90,22 @@ public class GetLogRecordPage extends AbstractGetPage<LogRecordPage, GetLogRecor
 		return this.operator();
 	}
 
+	/**
+	 * The words to search in the message of the logs. A log matches if its message
+	 * contains a word that starts with each of the words to search.
+	 *
+	 * @param search the words to search in the message of the logs to return.
+	 *
+	 * @return this operator.
+	 *
+	 * @see Queries#filterBySearch(String)
+	 */
+	public GetLogRecordPage withSearch(final String search) {
+
+		this.search = search;
+		return this.operator();
+	}
+
 	/**
 	 * Set the pattern that has to match the component name or description of the
 	 * log.
@@ -123,14 +146,27 @@ public class GetLogRecordPage extends AbstractGetPage<LogRecordPage, GetLogRecor
 			filters.add(Queries.filterByValueOrRegexp("message", this.pattern));
 
 		}
+		if (this.search != null) {
+
+			final var filter = Queries.filterBySearch(this.search);
+			if (filter != null) {
+
+				filters.add(filter);
+			}
+		}
 		if (this.level != null) {
 
 			filters.add(Queries.filterByValueOrRegexp("level", this.level));
 		}
 
-		if (this.componentType != null || this.componentPattern != null) {
+		if (this.componentType != null) {
+
+			filters.add(Queries.filterByValueOrRegexp("component.type", this.componentType));
+		}
+		if (this.componentPattern != null) {
 
-			filters.add(Filters.ne("componentId", null));
+			filters.add(Filters.or(Queries.filterByValueOrRegexp("component.name", this.componentPattern),
+					Queries.filterByValueOrRegexp("component.description", this.componentPattern)));
 		}
 
 		if (filters.isEmpty()) {
@@ -151,53 +187,21 @@ public class GetLogRecordPage extends AbstractGetPage<LogRecordPage, GetLogRecor
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected List<Bson> createPipelineBeforeFacet() {
+	protected List<Bson> createPipelineAfterPage() {
 
-		final var pipeline = super.createPipelineBeforeFacet();
-
-		final var componentPipeline = new BsonArray();
-		componentPipeline
-				.add(Aggregates.project(Projections.include("_id", "type", "name", "description")).toBsonDocument());
-
-		final var componentFilters = new ArrayList<Bson>();
-		if (this.componentType != null) {
-
-			componentFilters.add(Queries.filterByValueOrRegexp("type", this.componentType));
-		}
-		if (this.componentPattern != null) {
-
-			componentFilters.add(Filters.or(Queries.filterByValueOrRegexp("name", this.componentPattern),
-					Queries.filterByValueOrRegexp("description", this.componentPattern)));
-		}
-
-		if (componentFilters.size() == 1) {
-
-			componentPipeline.add(Aggregates.match(componentFilters.get(0)).toBsonDocument());
+		final var pipeline = super.createPipelineAfterPage();
+		pipeline.add(Aggregates.project(Projections.include("_id", "level", "message", "payload", "payloadTruncated",
+				"timestamp", "component")));
+		return pipeline;
+	}
 
-		} else if (!componentFilters.isEmpty()) {
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ReactiveMongoCollection<?> collection() {
 
-			componentPipeline.add(Aggregates.match(Filters.and(componentFilters)).toBsonDocument());
-		}
-		final var lookup = new BsonDocument("$lookup",
-				new BsonDocument("from", new BsonString(ComponentEntity.COLLECTION_NAME))
-						.append("localField", new BsonString("componentId"))
-						.append("foreignField", new BsonString("_id")).append("as", new BsonString("component"))
-						.append("pipeline", componentPipeline));
-
-		pipeline.add(lookup);
-
-		final var ifNullParams = new BsonArray();
-		ifNullParams.add(new BsonString("$component"));
-		ifNullParams.add(new BsonArray());
-		pipeline.add(Aggregates
-				.project(Projections.fields(Projections.include("_id", "level", "message", "payload", "timestamp"),
-						Projections.computed("component",
-								new BsonDocument("$first", new BsonDocument("$ifNull", ifNullParams))))));
-		if (this.componentType != null || this.componentPattern != null) {
-
-			pipeline.add(Aggregates.match(Filters.ne("component", null)));
-		}
-		return pipeline;
+		return LogEntity.mongoCollection();
 	}
 
 	/**
@@ -206,14 +210,13 @@ public class GetLogRecordPage extends AbstractGetPage<LogRecordPage, GetLogRecor
 	@Override
 	protected Uni<LogRecordPage> getPageWith(List<Bson> pipeline) {
 
-		return LogEntity.mongoCollection().aggregate(pipeline, LogRecordPage.class).collect().first().onFailure()
-				.recoverWithItem(error -> {
+		return this.aggregatePage(pipeline, LogRecordPage.class).onFailure().recoverWithItem(error -> {
 
-					Log.errorv(error, "Cannot get some logs");
-					final var page = new LogRecordPage();
-					page.offset = this.offset;
-					return page;
-				});
+			Log.errorv(error, "Cannot get some logs");
+			final var page = new LogRecordPage();
+			page.offset = this.offset;
+			return page;
+		});
 
 	}
 
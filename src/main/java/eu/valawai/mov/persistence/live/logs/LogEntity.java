@@ -9,14 +9,19 @@
 package eu.valawai.mov.persistence.live.logs;
 
 import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
 
+import org.bson.BsonValue;
 import org.bson.types.ObjectId;
 
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import eu.valawai.mov.TimeManager;
+import eu.valawai.mov.api.v1.components.MinComponent;
 import eu.valawai.mov.api.v1.logs.LogLevel;
 import eu.valawai.mov.api.v1.logs.LogRecord;
+import eu.valawai.mov.persistence.SearchTokens;
 import io.quarkus.mongodb.panache.common.MongoEntity;
 import io.quarkus.mongodb.panache.common.jackson.ObjectIdSerializer;
 import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoEntity;
@@ -52,9 +57,20 @@ public class LogEntity extends ReactivePanacheMongoEntity implements Serializabl
 	public String message;
 
 	/**
-	 * The payload of the log.
+	 * The payload of the log. It is a document if the payload is a JSON object,
+	 * otherwise it is the compact JSON of the payload, that can be compressed.
+	 *
+	 * @see LogPayloadPolicy
 	 */
-	public String payload;
+	public BsonValue payload;
+
+	/**
+	 * This is {@code true} if the payload has been truncated because it is too
+	 * large.
+	 *
+	 * @see LogPayloadPolicy
+	 */
+	public Boolean payloadTruncated;
 
 	/**
 	 * The timestamp when the log has added.
@@ -67,6 +83,30 @@ public class LogEntity extends ReactivePanacheMongoEntity implements Serializabl
 	@JsonSerialize(using = ObjectIdSerializer.class)
 	public ObjectId componentId;
 
+	/**
+	 * The summary of the component that has generated this log message. It is
+	 * stored with the log to filter and sort the logs by their component without
+	 * joining the components.
+	 *
+	 * @see eu.valawai.mov.events.components.ComponentCatalog#summaryOf(ObjectId)
+	 */
+	public MinComponent component;
+
+	/**
+	 * The words of the message that are used to search the logs.
+	 *
+	 * @see SearchTokens
+	 */
+	public List<String> tokens;
+
+	/**
+	 * The time when the log has to be removed, or {@code null} if it never
+	 * expires.
+	 *
+	 * @see LogRetentionPolicy
+	 */
+	public Date expireAt;
+
 	/**
 	 * Create a new log entity.
 	 */
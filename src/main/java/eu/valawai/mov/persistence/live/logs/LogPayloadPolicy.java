@@ -0,0 +1,378 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import eu.valawai.mov.MOVConfiguration;
+import io.quarkus.logging.Log;
+import io.smallrye.config.SmallRyeConfig;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The policy that decide how the payload of a log message is stored in the
+ * database. The payloads that are JSON objects are stored as documents, so
+ * their fields can be queried, and the other payloads are stored as compact
+ * JSON. The payloads larger than the maximum size are truncated and marked as
+ * truncated, and the payloads larger than the compression threshold can be
+ * stored compressed.
+ *
+ * @see AddLog
+ * @see LogEntity#payload
+ * @see MOVConfiguration.LogPayload
+ *
+ * @author VALAWAI
+ */
+public class LogPayloadPolicy {
+
+	/**
+	 * The sub type of the binary values that contains a compressed payload.
+	 */
+	public static final byte COMPRESSED_SUBTYPE = BsonBinarySubType.USER_DEFINED.getValue();
+
+	/**
+	 * The settings to convert the stored documents into JSON.
+	 */
+	private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder()
+			.outputMode(JsonMode.RELAXED).build();
+
+	/**
+	 * The policy defined in the configuration.
+	 */
+	private static volatile LogPayloadPolicy current;
+
+	/**
+	 * The maximum number of characters of a stored payload.
+	 */
+	private final int maxSize;
+
+	/**
+	 * The number of characters from which a payload is compressed, or zero or
+	 * less if the payloads are not compressed.
+	 */
+	private final int compressThreshold;
+
+	/**
+	 * Create a policy.
+	 *
+	 * @param maxSize           maximum number of characters of a stored payload,
+	 *                          or zero or less if they are not truncated.
+	 * @param compressThreshold number of characters from which a payload is
+	 *                          compressed, or zero or less if the payloads are not
+	 *                          compressed.
+	 */
+	LogPayloadPolicy(int maxSize, int compressThreshold) {
+
+		this.maxSize = maxSize;
+		this.compressThreshold = compressThreshold;
+	}
+
+	/**
+	 * Return the policy defined in the configuration.
+	 *
+	 * @return the current policy.
+	 */
+	public static LogPayloadPolicy current() {
+
+		var policy = current;
+		if (policy == null) {
+
+			try {
+
+				final var conf = ConfigProvider.getConfig().unwrap(SmallRyeConfig.class)
+						.getConfigMapping(MOVConfiguration.class).logs().payload();
+				policy = new LogPayloadPolicy(conf.maxSize(), conf.compress() ? conf.compressThreshold() : 0);
+
+			} catch (final Throwable error) {
+
+				Log.debugv(error, "Cannot obtain the logs payload configuration, so the payloads are not truncated.");
+				policy = new LogPayloadPolicy(0, 0);
+			}
+			current = policy;
+		}
+		return policy;
+	}
+
+	/**
+	 * Set the payload to store into a log.
+	 *
+	 * @param payload to store. If it is a string it is considered an encoded
+	 *                JSON.
+	 * @param log     to set the payload.
+	 */
+	public void encode(Object payload, LogEntity log) {
+
+		log.payload = null;
+		log.payloadTruncated = null;
+		if (payload == null) {
+
+			return;
+		}
+
+		JsonObject object = null;
+		String json = null;
+		if (payload instanceof final JsonObject value) {
+
+			object = value;
+
+		} else if (payload instanceof final String value) {
+
+			try {
+
+				final var decoded = Json.decodeValue(value);
+				if (decoded instanceof final JsonObject decodedObject) {
+
+					object = decodedObject;
+
+				} else {
+
+					json = Json.encode(decoded);
+				}
+
+			} catch (final Throwable ignored) {
+
+				json = value;
+			}
+
+		} else if (payload instanceof List<?> || payload instanceof JsonArray || payload instanceof Number
+				|| payload instanceof Boolean) {
+
+			json = Json.encode(payload);
+
+		} else {
+
+			try {
+
+				object = JsonObject.mapFrom(payload);
+
+			} catch (final Throwable ignored) {
+
+				json = Json.encode(payload);
+			}
+		}
+
+		if (object != null) {
+
+			json = object.encode();
+		}
+
+		if (this.maxSize > 0 && json.length() > this.maxSize) {
+
+			json = json.substring(0, this.maxSize);
+			log.payloadTruncated = true;
+			object = null;
+		}
+
+		if (this.compressThreshold > 0 && json.length() > this.compressThreshold) {
+
+			log.payload = new BsonBinary(COMPRESSED_SUBTYPE, compress(json));
+
+		} else if (object != null) {
+
+			log.payload = toBson(object.getMap());
+
+		} else {
+
+			log.payload = new BsonString(json);
+		}
+	}
+
+	/**
+	 * Return the JSON of a stored payload.
+	 *
+	 * @param payload that has been stored.
+	 *
+	 * @return the JSON of the payload, or {@code null} if it is not defined.
+	 */
+	public static String decode(BsonValue payload) {
+
+		if (payload == null || payload.isNull()) {
+
+			return null;
+
+		} else if (payload.isString()) {
+
+			return payload.asString().getValue();
+
+		} else if (payload.isDocument()) {
+
+			return payload.asDocument().toJson(JSON_SETTINGS);
+
+		} else if (payload.isBinary() && payload.asBinary().getType() == COMPRESSED_SUBTYPE) {
+
+			return decompress(payload.asBinary().getData());
+
+		} else {
+
+			Log.debugv("Unexpected log payload {0}", payload);
+			return null;
+		}
+	}
+
+	/**
+	 * Convert a JSON value into a BSON value.
+	 *
+	 * @param value to convert.
+	 *
+	 * @return the BSON value.
+	 */
+	private static BsonValue toBson(Object value) {
+
+		if (value == null) {
+
+			return BsonNull.VALUE;
+
+		} else if (value instanceof final JsonObject object) {
+
+			return toBson(object.getMap());
+
+		} else if (value instanceof final Map<?, ?> map) {
+
+			final var document = new BsonDocument();
+			for (final var entry : map.entrySet()) {
+
+				document.append(String.valueOf(entry.getKey()), toBson(entry.getValue()));
+			}
+			return document;
+
+		} else if (value instanceof final JsonArray array) {
+
+			return toBson(array.getList());
+
+		} else if (value instanceof final List<?> list) {
+
+			final var array = new BsonArray(list.size());
+			for (final var element : list) {
+
+				array.add(toBson(element));
+			}
+			return array;
+
+		} else if (value instanceof final String string) {
+
+			return new BsonString(string);
+
+		} else if (value instanceof final Boolean bool) {
+
+			return BsonBoolean.valueOf(bool);
+
+		} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+
+			return new BsonInt32(((Number) value).intValue());
+
+		} else if (value instanceof final Long number) {
+
+			return new BsonInt64(number);
+
+		} else if (value instanceof final BigInteger number && number.bitLength() < 64) {
+
+			return new BsonInt64(number.longValue());
+
+		} else if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+
+			return new BsonDouble(((Number) value).doubleValue());
+
+		} else {
+
+			return new BsonString(String.valueOf(value));
+		}
+	}
+
+	/**
+	 * Compress a JSON.
+	 *
+	 * @param json to compress.
+	 *
+	 * @return the compressed JSON.
+	 */
+	private static byte[] compress(String json) {
+
+		final var deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+
+			deflater.setInput(json.getBytes(StandardCharsets.UTF_8));
+			deflater.finish();
+			final var output = new ByteArrayOutputStream();
+			final var buffer = new byte[4096];
+			while (!deflater.finished()) {
+
+				final var size = deflater.deflate(buffer);
+				output.write(buffer, 0, size);
+			}
+			return output.toByteArray();
+
+		} finally {
+
+			deflater.end();
+		}
+	}
+
+	/**
+	 * Decompress a JSON.
+	 *
+	 * @param data with the compressed JSON.
+	 *
+	 * @return the decompressed JSON, or {@code null} if it cannot be decompressed.
+	 */
+	private static String decompress(byte[] data) {
+
+		final var inflater = new Inflater();
+		try {
+
+			inflater.setInput(data);
+			final var output = new ByteArrayOutputStream();
+			final var buffer = new byte[4096];
+			while (!inflater.finished()) {
+
+				final var size = inflater.inflate(buffer);
+				if (size == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+
+					break;
+				}
+				output.write(buffer, 0, size);
+			}
+			return output.toString(StandardCharsets.UTF_8);
+
+		} catch (final DataFormatException error) {
+
+			Log.debugv(error, "Cannot decompress a log payload.");
+			return null;
+
+		} finally {
+
+			inflater.end();
+		}
+	}
+
+}
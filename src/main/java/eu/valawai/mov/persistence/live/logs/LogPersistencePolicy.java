@@ -0,0 +1,129 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.api.v1.logs.LogLevel;
+import io.quarkus.logging.Log;
+import io.smallrye.config.SmallRyeConfig;
+
+/**
+ * The policy that decide if a log message has to be stored in the database. A
+ * message is stored if its level is equal or more severe that the configured
+ * level, or it has been submitted by a component, and, if it has a sampling type, it is the one selected of the
+ * configured rate.
+ *
+ * @see AddLog
+ * @see MOVConfiguration.Logs
+ *
+ * @author VALAWAI
+ */
+public class LogPersistencePolicy {
+
+	/**
+	 * The policy defined in the configuration.
+	 */
+	private static volatile LogPersistencePolicy current;
+
+	/**
+	 * The minimum level of the messages to store.
+	 */
+	private final LogLevel persistLevel;
+
+	/**
+	 * The sampling rates for each type of message.
+	 */
+	private final Map<String, Integer> sampling;
+
+	/**
+	 * The number of messages of each type that have been evaluated.
+	 */
+	private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a policy.
+	 *
+	 * @param persistLevel minimum level of the messages to store.
+	 * @param sampling     rates for each type of message.
+	 */
+	LogPersistencePolicy(LogLevel persistLevel, Map<String, Integer> sampling) {
+
+		this.persistLevel = persistLevel;
+		if (sampling == null) {
+
+			this.sampling = Collections.emptyMap();
+
+		} else {
+
+			this.sampling = Map.copyOf(sampling);
+		}
+	}
+
+	/**
+	 * Return the policy defined in the configuration.
+	 *
+	 * @return the current policy.
+	 */
+	public static LogPersistencePolicy current() {
+
+		var policy = current;
+		if (policy == null) {
+
+			try {
+
+				final var conf = ConfigProvider.getConfig().unwrap(SmallRyeConfig.class)
+						.getConfigMapping(MOVConfiguration.class).logs();
+				policy = new LogPersistencePolicy(conf.persistLevel(), conf.sampling());
+
+			} catch (final Throwable error) {
+
+				Log.debugv(error, "Cannot obtain the logs configuration, so all the logs will be stored.");
+				policy = new LogPersistencePolicy(LogLevel.DEBUG, null);
+			}
+			current = policy;
+		}
+		return policy;
+	}
+
+	/**
+	 * Check if a log message has to be stored.
+	 *
+	 * @param level    of the message, or {@code null} if it is not filtered by
+	 *                 level.
+	 * @param sampling type of the message, or {@code null} if it is not sampled.
+	 *
+	 * @return {@code true} if the message has to be stored.
+	 */
+	public boolean accept(LogLevel level, String sampling) {
+
+		if (level != null && this.persistLevel != null && level.ordinal() > this.persistLevel.ordinal()) {
+
+			return false;
+
+		} else if (sampling != null) {
+
+			final var rate = this.sampling.get(sampling);
+			if (rate != null && rate > 1) {
+
+				final var count = this.counters.computeIfAbsent(sampling, key -> new AtomicLong()).getAndIncrement();
+				return count % rate == 0;
+			}
+		}
+
+		return true;
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.TimeManager;
+import eu.valawai.mov.api.v1.logs.LogLevel;
+import io.quarkus.logging.Log;
+import io.smallrye.config.SmallRyeConfig;
+
+/**
+ * The policy that decide how long a log message is maintained in the database.
+ * Each stored message has the time when it expires, that depends on its level
+ * and the time when it is stored, and the database removes it after this time.
+ *
+ * @see AddLog
+ * @see LogEntity#expireAt
+ * @see MOVConfiguration.LogRetention
+ *
+ * @author VALAWAI
+ */
+public class LogRetentionPolicy {
+
+	/**
+	 * The policy defined in the configuration.
+	 */
+	private static volatile LogRetentionPolicy current;
+
+	/**
+	 * The seconds to maintain the messages of the levels that are not defined.
+	 */
+	private final long ttl;
+
+	/**
+	 * The seconds to maintain the messages of each level.
+	 */
+	private final Map<String, Long> levels;
+
+	/**
+	 * Create a policy.
+	 *
+	 * @param ttl    seconds to maintain the messages of the levels that are not
+	 *               defined.
+	 * @param levels seconds to maintain the messages of each level.
+	 */
+	LogRetentionPolicy(long ttl, Map<String, Long> levels) {
+
+		this.ttl = ttl;
+		if (levels == null) {
+
+			this.levels = Collections.emptyMap();
+
+		} else {
+
+			this.levels = Map.copyOf(levels);
+		}
+	}
+
+	/**
+	 * Return the policy defined in the configuration.
+	 *
+	 * @return the current policy.
+	 */
+	public static LogRetentionPolicy current() {
+
+		var policy = current;
+		if (policy == null) {
+
+			try {
+
+				final var conf = ConfigProvider.getConfig().unwrap(SmallRyeConfig.class)
+						.getConfigMapping(MOVConfiguration.class).logs().retention();
+				policy = new LogRetentionPolicy(conf.ttl(), conf.levels());
+
+			} catch (final Throwable error) {
+
+				Log.debugv(error, "Cannot obtain the logs retention, so the logs never expire.");
+				policy = new LogRetentionPolicy(0, null);
+			}
+			current = policy;
+		}
+		return policy;
+	}
+
+	/**
+	 * Return the seconds that the messages of a level are maintained.
+	 *
+	 * @param level of the messages.
+	 *
+	 * @return the seconds to maintain the messages, or zero or less if they never
+	 *         expire.
+	 */
+	public long retentionOf(LogLevel level) {
+
+		if (level != null) {
+
+			final var seconds = this.levels.get(level.name());
+			if (seconds != null) {
+
+				return seconds;
+			}
+		}
+
+		return this.ttl;
+	}
+
+	/**
+	 * Return the time when a log message that is stored now has to be removed.
+	 *
+	 * @param level of the message.
+	 *
+	 * @return the time when the message expires, or {@code null} if it never
+	 *         expires.
+	 */
+	public Date expireAt(LogLevel level) {
+
+		final var seconds = this.retentionOf(level);
+		if (seconds <= 0) {
+
+			return null;
+
+		} else {
+
+			return new Date((TimeManager.now() + seconds) * 1000l);
+		}
+	}
+
+}
@@ -0,0 +1,222 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.TimeManager;
+import eu.valawai.mov.api.v1.logs.LogLevel;
+import eu.valawai.mov.api.v1.logs.LogRetentionStatus;
+import eu.valawai.mov.persistence.IndexManager;
+import eu.valawai.mov.persistence.IndexManager.IndexStatus;
+import io.quarkus.logging.Log;
+import io.quarkus.mongodb.FindOptions;
+import io.quarkus.runtime.Shutdown;
+import io.quarkus.runtime.Startup;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * The component that maintains the number of stored log messages under the
+ * configured maximum. The expired log messages are removed by the database
+ * using the index {@link IndexManager#LOG_EXPIRATION_INDEX}, and this component
+ * periodically removes the oldest log messages when there are more than the
+ * maximum. The oldest messages are found over the identifier index, so the
+ * collection is never scanned. The bean is started with the MOV, so the
+ * maximum is maintained even if the status of the retention is never requested.
+ *
+ * @see LogRetentionPolicy
+ * @see MOVConfiguration.LogRetention
+ *
+ * @author VALAWAI
+ */
+@Startup
+@ApplicationScoped
+public class LogRetentionService {
+
+	/**
+	 * The event bus used on the platform.
+	 */
+	@Inject
+	Vertx vertx;
+
+	/**
+	 * The configuration of the MOV.
+	 */
+	@Inject
+	MOVConfiguration conf;
+
+	/**
+	 * The manager of the indexes.
+	 */
+	@Inject
+	IndexManager indexes;
+
+	/**
+	 * This is {@code true} when the log messages are being trimmed.
+	 */
+	private final AtomicBoolean trimming = new AtomicBoolean();
+
+	/**
+	 * The number of log messages that have been removed.
+	 */
+	private final AtomicLong trimmed = new AtomicLong();
+
+	/**
+	 * The epoch time, in seconds, of the last time that some log messages have
+	 * been removed.
+	 */
+	private volatile Long lastTrimTimestamp;
+
+	/**
+	 * The identifier of the timer that checks the number of log messages.
+	 */
+	private long timerId = -1;
+
+	/**
+	 * Start the timer that checks the number of log messages, if there is a
+	 * maximum.
+	 */
+	@PostConstruct
+	void startTimer() {
+
+		final var retention = this.conf.logs().retention();
+		if (retention.maxRecords() > 0) {
+
+			final var interval = Math.max(1, retention.checkInterval());
+			this.timerId = this.vertx.setPeriodic(interval, id -> this.trim().subscribe().with(removed -> {
+
+				if (removed > 0) {
+
+					Log.debugv("Removed the {0} oldest logs.", removed);
+				}
+
+			}, error -> Log.errorv(error, "Cannot remove the oldest logs.")));
+		}
+	}
+
+	/**
+	 * Stop the timer when the MOV is shut down.
+	 */
+	@Shutdown
+	public void stopTimer() {
+
+		if (this.timerId >= 0) {
+
+			this.vertx.cancelTimer(this.timerId);
+			this.timerId = -1;
+		}
+	}
+
+	/**
+	 * Remove the oldest log messages if there are more than the maximum.
+	 *
+	 * @return the number of removed log messages.
+	 */
+	public Uni<Long> trim() {
+
+		return this.trim(this.conf.logs().retention().maxRecords());
+	}
+
+	/**
+	 * Remove the oldest log messages if there are more than a maximum.
+	 *
+	 * @param maxRecords maximum number of log messages to maintain. If it is not
+	 *                   positive nothing is removed.
+	 *
+	 * @return the number of removed log messages.
+	 */
+	Uni<Long> trim(long maxRecords) {
+
+		if (maxRecords <= 0 || !this.trimming.compareAndSet(false, true)) {
+
+			return Uni.createFrom().item(0l);
+		}
+
+		final var collection = LogEntity.mongoCollection();
+		return collection.estimatedDocumentCount().chain(count -> {
+
+			if (count <= maxRecords) {
+
+				return Uni.createFrom().item(0l);
+			}
+
+			final var options = new FindOptions().sort(Sorts.descending("_id"))
+					.skip((int) Math.min(maxRecords, Integer.MAX_VALUE)).limit(1)
+					.projection(Projections.include("_id"));
+			return collection.find(new Document(), options).collect().first().chain(newestToRemove -> {
+
+				if (newestToRemove == null) {
+
+					return Uni.createFrom().item(0l);
+
+				} else {
+
+					return collection.deleteMany(Filters.lte("_id", newestToRemove.id)).map(result -> {
+
+						final var removed = result.getDeletedCount();
+						this.trimmed.addAndGet(removed);
+						this.lastTrimTimestamp = TimeManager.now();
+						return removed;
+					});
+				}
+			});
+
+		}).eventually(() -> this.trimming.set(false));
+	}
+
+	/**
+	 * Return the status of the retention of the log messages.
+	 *
+	 * @return the current status of the retention.
+	 */
+	public Uni<LogRetentionStatus> status() {
+
+		final var retention = this.conf.logs().retention();
+		final var policy = LogRetentionPolicy.current();
+		final var status = new LogRetentionStatus();
+		status.ttl = retention.ttl();
+		status.levels = new EnumMap<>(LogLevel.class);
+		for (final var level : LogLevel.values()) {
+
+			status.levels.put(level, policy.retentionOf(level));
+		}
+		status.maxRecords = retention.maxRecords();
+		status.trimmed = this.trimmed.get();
+		status.lastTrimTimestamp = this.lastTrimTimestamp;
+		status.expirationIndexReady = this.indexes.status()
+				.get(LogEntity.COLLECTION_NAME + "." + IndexManager.LOG_EXPIRATION_INDEX) == IndexStatus.READY;
+
+		final var collection = LogEntity.mongoCollection();
+		final var oldest = new FindOptions().sort(Sorts.ascending("timestamp")).limit(1)
+				.projection(Projections.include("timestamp"));
+		return collection.estimatedDocumentCount().invoke(count -> status.records = count)
+				.chain(any -> collection.find(new Document(), oldest).collect().first()).map(log -> {
+
+					if (log != null) {
+
+						status.oldestTimestamp = log.timestamp;
+					}
+					return status;
+				});
+	}
+
+}
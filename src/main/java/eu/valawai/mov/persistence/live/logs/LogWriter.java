@@ -0,0 +1,374 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.mongodb.client.model.InsertManyOptions;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.MOVConfiguration.LogOverflowPolicy;
+import eu.valawai.mov.api.v1.logs.LogLevel;
+import eu.valawai.mov.api.v2.live.metrics.LogWriterMetrics;
+import io.quarkus.arc.Arc;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.Shutdown;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * The component that store the log messages in the database. The messages are
+ * added into a bounded queue that is drained by a single writer, that store
+ * them in batches when the queue has enough messages to fill a batch or when
+ * the flush interval has passed.
+ *
+ * @see AddLog
+ * @see MOVConfiguration.Logs
+ *
+ * @author VALAWAI
+ */
+@ApplicationScoped
+public class LogWriter {
+
+	/**
+	 * The event bus used on the platform.
+	 */
+	@Inject
+	Vertx vertx;
+
+	/**
+	 * The configuration of the MOV.
+	 */
+	@Inject
+	MOVConfiguration conf;
+
+	/**
+	 * The log messages that are waiting to be stored.
+	 */
+	private final ConcurrentLinkedQueue<PendingLog> queue = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The number of log messages that are reserved or on the {@link #queue}.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * This is {@code true} when a batch is being stored.
+	 */
+	private final AtomicBoolean writing = new AtomicBoolean();
+
+	/**
+	 * This is {@code true} when the writer does not accept more messages.
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * The identifier of the timer that flush the pending messages.
+	 */
+	private long timerId = -1;
+
+	/**
+	 * The number of log messages that have been stored.
+	 */
+	private final AtomicLong batched = new AtomicLong();
+
+	/**
+	 * The number of batches that have been stored.
+	 */
+	private final AtomicLong batches = new AtomicLong();
+
+	/**
+	 * The number of log messages that have been dropped because the queue was
+	 * full.
+	 */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * The number of log messages that cannot be stored.
+	 */
+	private final AtomicLong failed = new AtomicLong();
+
+	/**
+	 * A log message that is waiting to be stored.
+	 *
+	 * @param log    to store.
+	 * @param stored the future that is completed when the log is stored or
+	 *               dropped.
+	 */
+	record PendingLog(LogEntity log, CompletableFuture<Boolean> stored) {
+	}
+
+	/**
+	 * Return the writer defined on the current application.
+	 *
+	 * @return the writer to use or {@code null} if it is not available.
+	 */
+	public static LogWriter current() {
+
+		final var container = Arc.container();
+		if (container != null && container.isRunning()) {
+
+			final var handle = container.instance(LogWriter.class);
+			if (handle.isAvailable()) {
+
+				final var writer = handle.get();
+				if (!writer.closed) {
+
+					return writer;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Start the timer that flush the pending messages.
+	 */
+	@PostConstruct
+	void startTimer() {
+
+		final var interval = Math.max(1, this.conf.logs().flushInterval());
+		this.timerId = this.vertx.setPeriodic(interval, id -> this.drain());
+	}
+
+	/**
+	 * Add a log message to be stored.
+	 *
+	 * @param log to store.
+	 *
+	 * @return {@code true} when the batch with the log has been stored, or
+	 *         {@code false} if it has been dropped or cannot be stored.
+	 */
+	public Uni<Boolean> write(LogEntity log) {
+
+		final var pending = new PendingLog(log, new CompletableFuture<>());
+		this.enqueue(pending);
+		if (this.size.get() >= Math.max(1, this.conf.logs().batchSize())) {
+
+			this.drain();
+		}
+		return Uni.createFrom().completionStage(pending.stored);
+	}
+
+	/**
+	 * Add a log into the queue applying the overflow policy if it is full.
+	 *
+	 * @param pending log to add.
+	 */
+	private void enqueue(PendingLog pending) {
+
+		final var capacity = Math.max(1, this.conf.logs().queueCapacity());
+		while (true) {
+
+			final var reserved = this.size.get();
+			if (reserved < capacity) {
+
+				if (this.size.compareAndSet(reserved, reserved + 1)) {
+
+					this.queue.offer(pending);
+					return;
+				}
+
+			} else {
+
+				switch (this.conf.logs().overflowPolicy()) {
+				case BLOCK:
+					if (!Context.isOnEventLoopThread()) {
+						// wait until the writer stores a batch
+						this.drain();
+						LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+						break;
+					}
+					// the event loop can not be blocked, so fall back to drop the oldest
+					this.dropOldest();
+					break;
+				case DROP_DEBUG_FIRST:
+					if (pending.log.level == LogLevel.DEBUG) {
+
+						this.drop(pending);
+						return;
+
+					} else if (!this.dropFirstDebug()) {
+
+						this.dropOldest();
+					}
+					break;
+				default:
+					this.dropOldest();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove the oldest message of the queue.
+	 */
+	private void dropOldest() {
+
+		final var oldest = this.queue.poll();
+		if (oldest != null) {
+
+			this.size.decrementAndGet();
+			this.drop(oldest);
+
+		} else {
+			// another thread has reserved the space but not added the message yet
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Remove the oldest debug message of the queue.
+	 *
+	 * @return {@code true} if a debug message has been removed.
+	 */
+	private boolean dropFirstDebug() {
+
+		for (final var pending : this.queue) {
+
+			if (pending.log.level == LogLevel.DEBUG && this.queue.remove(pending)) {
+
+				this.size.decrementAndGet();
+				this.drop(pending);
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Mark a message as dropped.
+	 *
+	 * @param pending message that has been dropped.
+	 */
+	private void drop(PendingLog pending) {
+
+		this.dropped.incrementAndGet();
+		pending.stored.complete(false);
+	}
+
+	/**
+	 * Store the next batch of pending log messages, if no other batch is being
+	 * stored.
+	 */
+	void drain() {
+
+		if (this.queue.isEmpty() || !this.writing.compareAndSet(false, true)) {
+
+			return;
+		}
+
+		final var batchSize = Math.max(1, this.conf.logs().batchSize());
+		final var batch = new ArrayList<PendingLog>(Math.min(batchSize, this.size.get()));
+		PendingLog pending = null;
+		while (batch.size() < batchSize && (pending = this.queue.poll()) != null) {
+
+			this.size.decrementAndGet();
+			batch.add(pending);
+		}
+		if (batch.isEmpty()) {
+
+			this.writing.set(false);
+			return;
+		}
+
+		final List<LogEntity> logs = batch.stream().map(PendingLog::log).toList();
+		LogEntity.mongoCollection().insertMany(logs, new InsertManyOptions().ordered(false)).subscribe()
+				.with(result -> {
+
+					this.batched.addAndGet(batch.size());
+					this.batches.incrementAndGet();
+					this.completeBatch(batch, true);
+
+				}, error -> {
+
+					Log.errorv(error, "Cannot store a batch of {0} logs.", batch.size());
+					this.failed.addAndGet(batch.size());
+					this.completeBatch(batch, false);
+				});
+	}
+
+	/**
+	 * Called when a batch has been processed.
+	 *
+	 * @param batch  that has been processed.
+	 * @param stored is {@code true} if the batch has been stored.
+	 */
+	private void completeBatch(List<PendingLog> batch, boolean stored) {
+
+		this.writing.set(false);
+		for (final var pending : batch) {
+
+			pending.stored.complete(stored);
+		}
+		if (this.size.get() >= Math.max(1, this.conf.logs().batchSize()) || this.closed) {
+
+			this.drain();
+		}
+	}
+
+	/**
+	 * Store all the pending log messages before the MOV is shut down.
+	 */
+	@Shutdown
+	public void flush() {
+
+		this.closed = true;
+		if (this.timerId >= 0) {
+
+			this.vertx.cancelTimer(this.timerId);
+			this.timerId = -1;
+		}
+
+		final var deadline = System.nanoTime()
+				+ TimeUnit.MILLISECONDS.toNanos(Math.max(0, this.conf.logs().shutdownTimeout()));
+		while ((!this.queue.isEmpty() || this.writing.get()) && System.nanoTime() < deadline) {
+
+			this.drain();
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+		}
+
+		if (!this.queue.isEmpty()) {
+
+			Log.errorv("Lost {0} logs that cannot be stored before the shutdown.", this.size.get());
+		}
+	}
+
+	/**
+	 * Return the metrics of the writer.
+	 *
+	 * @return the current metrics of the writer.
+	 */
+	public LogWriterMetrics metrics() {
+
+		final var metrics = new LogWriterMetrics();
+		metrics.pending = this.size.get();
+		metrics.capacity = this.conf.logs().queueCapacity();
+		metrics.batched = this.batched.get();
+		metrics.batches = this.batches.get();
+		metrics.dropped = this.dropped.get();
+		metrics.failed = this.failed.get();
+		return metrics;
+	}
+
+}
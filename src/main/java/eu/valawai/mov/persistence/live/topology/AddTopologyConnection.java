@@ -12,6 +12,7 @@ import org.bson.Document;
 import org.bson.types.ObjectId;
 
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
 
@@ -24,6 +25,7 @@ import io.smallrye.mutiny.Uni;
  * Add a new connection into the topology.
  *
  * @see TopologyConnectionEntity
+ * @see eu.valawai.mov.persistence.IndexManager#CONNECTION_SOURCE_INDEX
  *
  * @author VALAWAI
  */
@@ -139,23 +141,9 @@ public class AddTopologyConnection extends AbstractEntityOperator<ObjectId, AddT
 	@Override
 	public Uni<ObjectId> execute() {
 
-		final var filter = Filters.and(Filters.eq("source.componentId", this.source.componentId),
-				Filters.eq("source.channelName", this.source.channelName),
-				Filters.eq("target.componentId", this.target.componentId),
-				Filters.eq("target.channelName", this.target.channelName),
-				Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)));
-		final var now = TimeManager.now();
-		var connectionDoc = new Document().append("createTimestamp", now).append("updateTimestamp", now)
-				.append("source", this.toDocument(this.source)).append("target", this.toDocument(this.target))
-				.append("enabled", false);
-		if (this.targetMessageConverterJSCode != null) {
-
-			connectionDoc = connectionDoc.append("targetMessageConverterJSCode", this.targetMessageConverterJSCode);
-		}
-		final var update = Updates.setOnInsert(connectionDoc);
-		final var options = new UpdateOptions();
-		options.upsert(true);
-		return TopologyConnectionEntity.mongoCollection().updateOne(filter, update, options).onFailure()
+		final var model = this.toUpsert();
+		return TopologyConnectionEntity.mongoCollection()
+				.updateOne(model.getFilter(), model.getUpdate(), model.getOptions()).onFailure()
 				.recoverWithItem(error -> {
 
 					Log.errorv(error, "Cannot add a topology connection");
@@ -183,6 +171,32 @@ public class AddTopologyConnection extends AbstractEntityOperator<ObjectId, AddT
 				});
 	}
 
+	/**
+	 * Return the update that insert the connection if it is not already defined.
+	 *
+	 * @return the model to upsert the connection.
+	 */
+	UpdateOneModel<TopologyConnectionEntity> toUpsert() {
+
+		final var filter = Filters.and(Filters.eq("source.componentId", this.source.componentId),
+				Filters.eq("source.channelName", this.source.channelName),
+				Filters.eq("target.componentId", this.target.componentId),
+				Filters.eq("target.channelName", this.target.channelName),
+				Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)));
+		final var now = TimeManager.now();
+		var connectionDoc = new Document().append("createTimestamp", now).append("updateTimestamp", now)
+				.append("source", this.toDocument(this.source)).append("target", this.toDocument(this.target))
+				.append("enabled", false);
+		if (this.targetMessageConverterJSCode != null) {
+
+			connectionDoc = connectionDoc.append("targetMessageConverterJSCode", this.targetMessageConverterJSCode);
+		}
+		final var update = Updates.setOnInsert(connectionDoc);
+		final var options = new UpdateOptions();
+		options.upsert(true);
+		return new UpdateOneModel<>(filter, update, options);
+	}
+
 	/**
 	 * Return a document with the data of a node.
 	 *
@@ -0,0 +1,128 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.topology;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.WriteModel;
+
+import eu.valawai.mov.persistence.AbstractEntityOperator;
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Add some connections into the topology with a single write. The connections
+ * that are already defined are not modified.
+ *
+ * @see AddTopologyConnection
+ * @see TopologyConnectionEntity
+ *
+ * @author VALAWAI
+ */
+public class AddTopologyConnections extends AbstractEntityOperator<List<ObjectId>, AddTopologyConnections> {
+
+	/**
+	 * The connections to add.
+	 */
+	protected final List<AddTopologyConnection> connections = new ArrayList<>();
+
+	/**
+	 * Create a new operation.
+	 */
+	private AddTopologyConnections() {
+
+	}
+
+	/**
+	 * Create the operation to add some connections.
+	 *
+	 * @return the new operation.
+	 */
+	public static AddTopologyConnections fresh() {
+
+		return new AddTopologyConnections();
+	}
+
+	/**
+	 * Add a connection to add.
+	 *
+	 * @param connection to add.
+	 *
+	 * @return this operator.
+	 */
+	public AddTopologyConnections withConnection(AddTopologyConnection connection) {
+
+		this.connections.add(connection);
+		return this.operator();
+	}
+
+	/**
+	 * Add the connections. The writes are not ordered, so if some of them fail the
+	 * other connections are added anyway.
+	 *
+	 * @return the identifiers of the added connections, in the same order that
+	 *         they have been defined, with a {@code null} for the connections that
+	 *         were already defined or that cannot be added.
+	 */
+	@Override
+	public Uni<List<ObjectId>> execute() {
+
+		if (this.connections.isEmpty()) {
+
+			return Uni.createFrom().item(Collections.emptyList());
+		}
+
+		final var models = new ArrayList<WriteModel<TopologyConnectionEntity>>();
+		for (final var connection : this.connections) {
+
+			models.add(connection.toUpsert());
+		}
+		return TopologyConnectionEntity.mongoCollection().bulkWrite(models, new BulkWriteOptions().ordered(false))
+				.map(result -> idsOf(models.size(), result.getUpserts())).onFailure(MongoBulkWriteException.class)
+				.recoverWithItem(error -> {
+
+					final var exception = (MongoBulkWriteException) error;
+					Log.errorv(error, "Cannot add {0} of {1} connections", exception.getWriteErrors().size(),
+							models.size());
+					return idsOf(models.size(), exception.getWriteResult().getUpserts());
+				});
+	}
+
+	/**
+	 * Obtain the identifiers of the added connections.
+	 *
+	 * @param size    the number of connections to add.
+	 * @param upserts the connections that have been added.
+	 *
+	 * @return the identifiers of the added connections, in the same order that
+	 *         they have been defined, with a {@code null} for the connections that
+	 *         have not been added.
+	 */
+	private static List<ObjectId> idsOf(int size, List<BulkWriteUpsert> upserts) {
+
+		final var ids = new ArrayList<ObjectId>(Collections.nCopies(size, null));
+		for (final var upsert : upserts) {
+
+			final var value = upsert.getId();
+			if (value != null && value.isObjectId()) {
+
+				ids.set(upsert.getIndex(), value.asObjectId().getValue());
+			}
+		}
+		return ids;
+	}
+
+}
@@ -0,0 +1,303 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.topology;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+
+import eu.valawai.mov.TimeManager;
+import eu.valawai.mov.events.topology.TopologyAction;
+import eu.valawai.mov.persistence.AbstractEntityOperator;
+import eu.valawai.mov.persistence.design.topology.TopologyGraphEntity;
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Enable, disable or remove some connections from the topology with a single
+ * update. The connections to change are the live ones that satisfy all the
+ * defined conditions.
+ *
+ * @see TopologyConnectionEntity
+ *
+ * @author VALAWAI
+ */
+public class ChangeTopologyConnections
+		extends AbstractEntityOperator<List<TopologyConnectionEntity>, ChangeTopologyConnections> {
+
+	/**
+	 * The action to do over the connections.
+	 */
+	protected TopologyAction action = TopologyAction.ENABLE;
+
+	/**
+	 * The identifiers of the connections to change.
+	 */
+	protected Set<ObjectId> connectionIds;
+
+	/**
+	 * The identifier of the component that is the source or target of the
+	 * connections to change.
+	 */
+	protected ObjectId componentId;
+
+	/**
+	 * The name of the channel that is the source or target of the connections to
+	 * change.
+	 */
+	protected String channelName;
+
+	/**
+	 * The identifier of the designed topology that define the connections to
+	 * change.
+	 */
+	protected ObjectId topologyId;
+
+	/**
+	 * Create a new operator.
+	 */
+	private ChangeTopologyConnections() {
+
+	}
+
+	/**
+	 * Create the operator to change some topology connections.
+	 *
+	 * @return the operator to change some connections.
+	 */
+	public static ChangeTopologyConnections fresh() {
+
+		return new ChangeTopologyConnections();
+	}
+
+	/**
+	 * Set the action to do over the connections.
+	 *
+	 * @param action to do over the connections.
+	 *
+	 * @return this operator.
+	 */
+	public ChangeTopologyConnections withAction(TopologyAction action) {
+
+		this.action = action;
+		return this.operator();
+	}
+
+	/**
+	 * Add the identifiers of the connections to change.
+	 *
+	 * @param connectionIds identifiers of the connections to change.
+	 *
+	 * @return this operator.
+	 */
+	public ChangeTopologyConnections withConnections(Collection<ObjectId> connectionIds) {
+
+		if (connectionIds != null) {
+
+			if (this.connectionIds == null) {
+
+				this.connectionIds = new LinkedHashSet<>();
+			}
+			this.connectionIds.addAll(connectionIds);
+		}
+		return this.operator();
+	}
+
+	/**
+	 * Change only the connections that start or end in a component.
+	 *
+	 * @param componentId identifier of the component.
+	 *
+	 * @return this operator.
+	 */
+	public ChangeTopologyConnections withComponent(ObjectId componentId) {
+
+		this.componentId = componentId;
+		return this.operator();
+	}
+
+	/**
+	 * Change only the connections that start or end in a channel.
+	 *
+	 * @param channelName name of the channel.
+	 *
+	 * @return this operator.
+	 */
+	public ChangeTopologyConnections withChannel(String channelName) {
+
+		this.channelName = channelName;
+		return this.operator();
+	}
+
+	/**
+	 * Change only the connections between the channels defined in a designed
+	 * topology.
+	 *
+	 * @param topologyId identifier of the designed topology.
+	 *
+	 * @return this operator.
+	 */
+	public ChangeTopologyConnections withTopology(ObjectId topologyId) {
+
+		this.topologyId = topologyId;
+		return this.operator();
+	}
+
+	/**
+	 * Check if any condition to select the connections is defined.
+	 *
+	 * @return {@code true} if the connections to change are limited.
+	 */
+	public boolean hasConditions() {
+
+		return this.connectionIds != null || this.componentId != null || this.channelName != null
+				|| this.topologyId != null;
+	}
+
+	/**
+	 * Change the state of the connections.
+	 *
+	 * @return the connections that have been changed, with the state that they
+	 *         have before the change.
+	 */
+	@Override
+	public Uni<List<TopologyConnectionEntity>> execute() {
+
+		if (this.connectionIds != null && this.connectionIds.isEmpty()) {
+
+			return Uni.createFrom().item(Collections.emptyList());
+		}
+
+		return this.topologyFilter().chain(topologyFilter -> {
+
+			final var filter = this.filter(topologyFilter);
+			return TopologyConnectionEntity.mongoCollection().find(filter).collect().asList().chain(connections -> {
+
+				if (connections.isEmpty()) {
+
+					return Uni.createFrom().item(connections);
+				}
+
+				final var ids = connections.stream().map(connection -> connection.id).toList();
+				final var now = TimeManager.now();
+				final Bson update;
+				if (this.action == TopologyAction.REMOVE) {
+
+					update = Updates.set("deletedTimestamp", now);
+
+				} else {
+
+					update = Updates.combine(Updates.set("enabled", this.action == TopologyAction.ENABLE),
+							Updates.set("updateTimestamp", now));
+				}
+				return TopologyConnectionEntity.mongoCollection()
+						.updateMany(Filters.and(Filters.in("_id", ids), filter), update).map(result -> {
+
+							Log.debugv("Applied {0} to {1} topology connections", this.action,
+									result.getModifiedCount());
+							return connections;
+						});
+			});
+		});
+
+	}
+
+	/**
+	 * Return the filter to select the connections to change.
+	 *
+	 * @param topologyFilter the filter of the connections of the topology, or
+	 *                       {@code null} if it is not filtered by topology.
+	 *
+	 * @return the filter of the connections to change.
+	 */
+	Bson filter(Bson topologyFilter) {
+
+		final var filters = new ArrayList<Bson>();
+		filters.add(Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)));
+		if (this.action == TopologyAction.ENABLE) {
+
+			filters.add(Filters.ne("enabled", true));
+
+		} else if (this.action == TopologyAction.DISABLE) {
+
+			filters.add(Filters.eq("enabled", true));
+		}
+		if (this.connectionIds != null) {
+
+			filters.add(Filters.in("_id", this.connectionIds));
+		}
+		if (this.componentId != null) {
+
+			filters.add(Filters.or(Filters.eq("source.componentId", this.componentId),
+					Filters.eq("target.componentId", this.componentId)));
+		}
+		if (this.channelName != null) {
+
+			filters.add(Filters.or(Filters.eq("source.channelName", this.channelName),
+					Filters.eq("target.channelName", this.channelName)));
+		}
+		if (topologyFilter != null) {
+
+			filters.add(topologyFilter);
+		}
+		return Filters.and(filters);
+	}
+
+	/**
+	 * Obtain the filter to match the connections defined in the topology.
+	 *
+	 * @return the filter to match the connections of the topology, or {@code null}
+	 *         if the connections are not limited by a topology.
+	 */
+	private Uni<Bson> topologyFilter() {
+
+		if (this.topologyId == null) {
+
+			return Uni.createFrom().nullItem();
+		}
+
+		final Uni<TopologyGraphEntity> find = TopologyGraphEntity.findById(this.topologyId);
+		return find.map(topology -> {
+
+			final var pairs = new ArrayList<Bson>();
+			if (topology != null && topology.nodes != null) {
+
+				for (final var node : topology.nodes) {
+
+					if (node.outputs != null) {
+
+						for (final var output : node.outputs) {
+
+							pairs.add(Filters.and(Filters.eq("source.channelName", output.sourceChannel),
+									Filters.eq("target.channelName", output.targetChannel)));
+						}
+					}
+				}
+			}
+			if (pairs.isEmpty()) {
+				// no connection is defined in the topology
+				return Filters.in("_id", Collections.emptyList());
+
+			} else {
+
+				return Filters.or(pairs);
+			}
+		});
+	}
+
+}
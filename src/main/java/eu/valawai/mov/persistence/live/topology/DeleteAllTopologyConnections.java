@@ -8,6 +8,8 @@
 
 package eu.valawai.mov.persistence.live.topology;
 
+import org.bson.conversions.Bson;
+
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Updates;
 
@@ -19,6 +21,7 @@ import io.smallrye.mutiny.Uni;
  * Mark all the connections as deleted.
  *
  * @see TopologyConnectionEntity
+ * @see eu.valawai.mov.persistence.IndexManager#CONNECTION_DELETED_INDEX
  *
  * @author VALAWAI
  */
@@ -47,13 +50,22 @@ public class DeleteAllTopologyConnections {
 	 */
 	public Uni<Void> execute() {
 
-		final var filter = Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null));
 		final var update = Updates.set("deletedTimestamp", TimeManager.now());
-		return TopologyConnectionEntity.mongoCollection().updateMany(filter, update).map(updated -> {
+		return TopologyConnectionEntity.mongoCollection().updateMany(filter(), update).map(updated -> {
 
 			Log.debugv("Deleted {0} topology connections", updated.getModifiedCount());
 			return null;
 		});
 	}
 
+	/**
+	 * Return the filter to select the connections to delete.
+	 *
+	 * @return the filter of the connections that are not deleted.
+	 */
+	static Bson filter() {
+
+		return Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null));
+	}
+
 }
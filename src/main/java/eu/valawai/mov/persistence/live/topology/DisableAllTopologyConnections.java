@@ -8,6 +8,8 @@
 
 package eu.valawai.mov.persistence.live.topology;
 
+import org.bson.conversions.Bson;
+
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Updates;
 
@@ -19,6 +21,7 @@ import io.smallrye.mutiny.Uni;
  * Mark all the connections as disabled.
  *
  * @see TopologyConnectionEntity
+ * @see eu.valawai.mov.persistence.IndexManager#CONNECTION_ENABLED_INDEX
  *
  * @author VALAWAI
  */
@@ -47,15 +50,24 @@ public class DisableAllTopologyConnections {
 	 */
 	public Uni<Void> execute() {
 
-		final var filter = Filters.and(Filters.eq("enabled", true),
-				Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)));
 		final var update = Updates.combine(Updates.set("enabled", false),
 				Updates.set("updateTimestamp", TimeManager.now()));
-		return TopologyConnectionEntity.mongoCollection().updateMany(filter, update).map(updated -> {
+		return TopologyConnectionEntity.mongoCollection().updateMany(filter(), update).map(updated -> {
 
 			Log.debugv("Disabled {0} topology connections", updated.getModifiedCount());
 			return null;
 		});
 	}
 
+	/**
+	 * Return the filter to select the connections to disable.
+	 *
+	 * @return the filter of the enabled connections that are not deleted.
+	 */
+	static Bson filter() {
+
+		return Filters.and(Filters.eq("enabled", true),
+				Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)));
+	}
+
 }
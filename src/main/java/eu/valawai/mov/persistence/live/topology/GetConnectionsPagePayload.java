@@ -27,6 +27,7 @@ import eu.valawai.mov.events.topology.ConnectionsPagePayload;
 import eu.valawai.mov.events.topology.QueryConnectionsPayload;
 import eu.valawai.mov.persistence.AbstractGetMinPage;
 import eu.valawai.mov.persistence.Queries;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
 import io.smallrye.mutiny.Uni;
 
 /**
@@ -34,6 +35,8 @@ import io.smallrye.mutiny.Uni;
  *
  * @see ConnectionsPagePayload
  * @see TopologyConnectionEntity
+ * @see eu.valawai.mov.persistence.IndexManager#CONNECTION_SOURCE_INDEX
+ * @see eu.valawai.mov.persistence.IndexManager#CONNECTION_DELETED_INDEX
  *
  * @author VALAWAI
  */
@@ -157,6 +160,15 @@ public class GetConnectionsPagePayload extends AbstractGetMinPage<ConnectionsPag
 		return this;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ReactiveMongoCollection<?> collection() {
+
+		return TopologyConnectionEntity.mongoCollection();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
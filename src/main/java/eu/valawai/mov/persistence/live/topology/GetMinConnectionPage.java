@@ -22,6 +22,7 @@ import eu.valawai.mov.api.v1.topology.MinConnectionPage;
 import eu.valawai.mov.persistence.AbstractGetPage;
 import eu.valawai.mov.persistence.Queries;
 import io.quarkus.logging.Log;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
 import io.smallrye.mutiny.Uni;
 
 /**
@@ -29,6 +30,7 @@ import io.smallrye.mutiny.Uni;
  *
  * @see MinConnectionPage
  * @see TopologyConnectionEntity
+ * @see eu.valawai.mov.persistence.IndexManager#CONNECTION_DELETED_INDEX
  *
  * @author VALAWAI
  */
@@ -74,28 +76,45 @@ public class GetMinConnectionPage extends AbstractGetPage<MinConnectionPage, Get
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Uni<MinConnectionPage> getPageWith(List<Bson> pipeline) {
+	protected ReactiveMongoCollection<?> collection() {
+
+		return TopologyConnectionEntity.mongoCollection();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected List<Bson> createPipelineBeforeFacet() {
 
-		final var copy = new ArrayList<>(pipeline);
+		final var pipeline = super.createPipelineBeforeFacet();
 
-		copy.add(0, Aggregates.set(new Field<>("source", "$source.channelName"),
+		pipeline.add(0, Aggregates.set(new Field<>("source", "$source.channelName"),
 				new Field<>("target", "$target.channelName")));
 
 		if (this.component != null) {
 
-			copy.add(0,
+			pipeline.add(0,
 					Aggregates.set(new Field<>("sourceComponentId", new Document("$toString", "$source.componentId")),
 							new Field<>("targetComponentId", new Document("$toString", "$target.componentId"))));
 		}
 
-		return TopologyConnectionEntity.mongoCollection().aggregate(copy, MinConnectionPage.class).collect().first()
-				.onFailure().recoverWithItem(error -> {
+		return pipeline;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Uni<MinConnectionPage> getPageWith(List<Bson> pipeline) {
+
+		return this.aggregatePage(pipeline, MinConnectionPage.class).onFailure().recoverWithItem(error -> {
 
-					Log.errorv(error, "Cannot get some connections");
-					final var page = new MinConnectionPage();
-					page.offset = this.offset;
-					return page;
-				});
+			Log.errorv(error, "Cannot get some connections");
+			final var page = new MinConnectionPage();
+			page.offset = this.offset;
+			return page;
+		});
 	}
 
 	/**
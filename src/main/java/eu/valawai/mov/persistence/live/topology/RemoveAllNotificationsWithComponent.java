@@ -9,6 +9,7 @@
 package eu.valawai.mov.persistence.live.topology;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Updates;
@@ -22,6 +23,7 @@ import io.smallrye.mutiny.Uni;
  * Remove all the notifications that a component is involved.
  *
  * @see TopologyConnectionEntity#notifications
+ * @see eu.valawai.mov.persistence.IndexManager#CONNECTION_NOTIFICATION_COMPONENT_INDEX
  *
  * @author VALAWAI
  */
@@ -53,13 +55,10 @@ public class RemoveAllNotificationsWithComponent
 	@Override
 	public Uni<Long> execute() {
 
-		final var filter = Filters.and(
-				Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)),
-				Filters.eq("notifications.node.componentId", this.componentId));
 		final var update = Updates.combine(
 				Updates.pull("notifications", new Document("node.componentId", this.componentId)),
 				Updates.set("updateTimestamp", TimeManager.now()));
-		return TopologyConnectionEntity.mongoCollection().updateMany(filter, update).onFailure()
+		return TopologyConnectionEntity.mongoCollection().updateMany(this.filter(), update).onFailure()
 				.recoverWithItem(error -> {
 
 					Log.errorv(error, "Cannot remove the Notifications of {0}", this.componentId);
@@ -78,4 +77,16 @@ public class RemoveAllNotificationsWithComponent
 				});
 	}
 
+	/**
+	 * Return the filter to select the connections that notify the component.
+	 *
+	 * @return the filter of the connections that are not deleted and notify the
+	 *         component.
+	 */
+	Bson filter() {
+
+		return Filters.and(Filters.or(Filters.exists("deletedTimestamp", false), Filters.eq("deletedTimestamp", null)),
+				Filters.eq("notifications.node.componentId", this.componentId));
+	}
+
 }
@@ -25,6 +25,7 @@ import eu.valawai.mov.api.v1.components.Component;
 import eu.valawai.mov.api.v1.components.ComponentBuilder;
 import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v2.design.components.VersionInfo;
+import eu.valawai.mov.persistence.SearchTokens;
 import eu.valawai.mov.persistence.design.component.ComponentDefinitionEntity;
 import eu.valawai.mov.persistence.live.logs.AddLog;
 import io.quarkus.logging.Log;
@@ -222,6 +223,7 @@ public class ComponenetLibraryService {
 	private Uni<ComponentDefinitionEntity> storeOrUpdate(ComponentDefinitionEntity entity) {
 
 		entity.updatedAt = TimeManager.now();
+		entity.tokens = SearchTokens.of(entity.name, entity.description);
 		Uni<ComponentDefinitionEntity> update = null;
 		if (entity.id == null) {
 
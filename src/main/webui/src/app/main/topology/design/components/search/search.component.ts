@@ -19,7 +19,7 @@ import { MatPaginatorModule, PageEvent } from '@angular/material/paginator';
 import { MatSelectModule } from '@angular/material/select';
 import { MatTableModule } from '@angular/material/table';
 import { RouterModule } from '@angular/router';
-import { toPattern } from '@app/shared';
+import { toPattern, toSearch } from '@app/shared';
 import { MessageComponent, MessagesService } from '@app/shared/messages';
 import { MovApiService, ComponentDefinitionPage, ComponentDefinition, ComponentType } from '@app/shared/mov-api';
 import { MainService } from '@app/main';
@@ -108,11 +108,11 @@ export class SearchLibraryComponent implements OnInit {
 	 */
 	public updatePage() {
 
-		var pattern = toPattern(this.searchForm.controls.pattern.value);
+		var search = toSearch(this.searchForm.controls.pattern.value);
 		var typePattern = toPattern(this.searchForm.controls.types.value);
 		var order = "+name,+desciption";
 		var offset = this.pageIndex * this.pageSize;
-		this.api.getComponentDefinitionPage(pattern, typePattern, order, offset, this.pageSize).subscribe(
+		this.api.getComponentDefinitionPage(search, typePattern, order, offset, this.pageSize).subscribe(
 			{
 				next: page => this.page = page,
 				error: err => this.messages.showMOVConnectionError(err)
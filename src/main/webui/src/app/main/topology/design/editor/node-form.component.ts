@@ -17,7 +17,7 @@ import { ComponentDefinitionPage, ComponentDefinition, ComponentType, MovApiServ
 import { MatSelectModule } from '@angular/material/select';
 import { Subscription } from 'rxjs';
 import { MatIconModule } from '@angular/material/icon';
-import { toPattern } from '@app/shared';
+import { toSearch } from '@app/shared';
 import { EditorModule } from './editor.module';
 import { TopologyEditorService } from './topology.service';
 import { EditorNode } from './editor-node.model';
@@ -295,18 +295,18 @@ export class TopologyNodeFormComponent implements OnInit, OnDestroy {
 	 */
 	private updatePage() {
 
-		var pattern: string | null = null;
+		var search: string | null = null;
 		var component = this.nodeForm.controls.component.value;
 		if (typeof component == 'string') {
 
-			pattern = toPattern(component);
+			search = toSearch(component);
 
 		} else if (component?.name != null) {
 
-			pattern = toPattern(component.name);
+			search = toSearch(component.name);
 		}
 		var type = this.nodeForm.controls.level.value;
-		this.api.getComponentDefinitionPage(pattern, type, "name", 0, 10).subscribe(
+		this.api.getComponentDefinitionPage(search, type, "name", 0, 10).subscribe(
 			{
 				next: page => this.page = page,
 				error: err => this.messages.showMOVConnectionError(err)
@@ -22,7 +22,7 @@ import { MatIcon } from '@angular/material/icon';
 import { ComponentNameBeautifier } from '@app/shared/component/view';
 import { MatCheckbox } from '@angular/material/checkbox';
 import { MatTableModule } from '@angular/material/table';
-import { ConfigService, toPattern } from '@app/shared';
+import { ConfigService, toPattern, toSearch } from '@app/shared';
 
 
 @Component({
@@ -203,7 +203,7 @@ export class LogsComponent implements OnInit, OnDestroy {
 	private getPage(): Observable<LogRecordPage> {
 
 		var value = this.form.value;
-		var pattern = toPattern(value.message);
+		var search = toSearch(value.message);
 
 		var component = toPattern(value.component);
 		var type = toPattern(value.types);
@@ -214,7 +214,7 @@ export class LogsComponent implements OnInit, OnDestroy {
 		}
 		var level = toPattern(value.levels);;
 		var offset = this.pageIndex * this.pageSize;
-		return this.mov.getLogRecordPage(pattern, level, component, type, orderBy, offset, this.pageSize);
+		return this.mov.getLogRecordPage(search, level, component, type, orderBy, offset, this.pageSize);
 
 
 	}
@@ -59,6 +59,24 @@ export function toPattern(value: string[] | string | null | undefined): string |
 
 }
 
+/**
+ * Convert a string to the words to search over the index of words.
+ */
+export function toSearch(value: string | null | undefined): string | null {
+
+	if (value != null) {
+
+		var words = value.trim().replaceAll(/[^\p{L}\p{N}]+/gu, ' ').trim();
+		if (words.length > 0) {
+
+			return words;
+		}
+	}
+
+	return null;
+
+}
+
 /**
  * Convert a string to a pattern for search.
  */
@@ -126,16 +126,16 @@ export class MovApiService {
 	}
 
 	/**
-	 * Get some logs.
+	 * Get some logs. The logs are searched by the words of its message.
 	 */
-	public getLogRecordPage(pattern: string | null = null, level: string | null = null,
+	public getLogRecordPage(search: string | null = null, level: string | null = null,
 		componentPattern: string | null = null, componentType: string | null = null,
 		order: string | null = null, offset: number = 0, limit: number = 20): Observable<LogRecordPage> {
 
 		var url = this.url('/v1/logs');
 		return this.http.get<LogRecordPage>(url, this.optionsWithParams(
 			{
-				pattern: pattern,
+				search: search,
 				level: level,
 				componentPattern: componentPattern,
 				componentType: componentType,
@@ -225,14 +225,15 @@ export class MovApiService {
 	}
 
 	/**
-	 * Get some defined components.
+	 * Get some defined components. The components are searched by the words of
+	 * its name or description.
 	 */
-	public getComponentDefinitionPage(pattern: string | null = null, type: string | null = null,
+	public getComponentDefinitionPage(search: string | null = null, type: string | null = null,
 		order: string | null = null, offset: number = 0, limit: number = 20): Observable<ComponentDefinitionPage> {
 
 		var url = this.url('/v2/design/components');
 		return this.http.get<ComponentDefinitionPage>(url, this.optionsWithParams({
-			pattern: pattern, type: type, order: order, offset: offset, limit: limit
+			search: search, type: type, order: order, offset: offset, limit: limit
 		}));
 	}
 
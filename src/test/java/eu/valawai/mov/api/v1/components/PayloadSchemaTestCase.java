@@ -9,7 +9,9 @@
 package eu.valawai.mov.api.v1.components;
 
 import static eu.valawai.mov.ValueGenerator.rnd;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashMap;
@@ -201,4 +203,35 @@ public abstract class PayloadSchemaTestCase<T extends PayloadSchema> extends Mod
 
 	}
 
+	/**
+	 * Should have the same fingerprint after encode and decode.
+	 */
+	@Test
+	public void shouldHaveSameFingerprintAfterEncodeAndDecode() {
+
+		final var model1 = this.nextModel();
+		final var json = Json.encode(model1);
+		final var model2 = Json.decodeValue(json, model1.getClass());
+		assertEquals(model1.fingerprint(), model2.fingerprint());
+		assertEquals(model1.fingerprint(), model1.fingerprint());
+		assertEquals(json, Json.encode(model1));
+
+	}
+
+	/**
+	 * Should have a different fingerprint than a different schema.
+	 */
+	@Test
+	public void shouldHaveDifferentFingerprintThanDifferentSchema() {
+
+		final var model1 = this.nextModel();
+		var model2 = new BasicPayloadSchemaTest().nextModel();
+		while (model1.equals(model2)) {
+
+			model2 = new BasicPayloadSchemaTest().nextModel();
+		}
+		assertNotEquals(model1.fingerprint(), model2.fingerprint());
+
+	}
+
 }
@@ -14,14 +14,12 @@ import static eu.valawai.mov.ValueGenerator.nextPastTime;
 import static eu.valawai.mov.ValueGenerator.nextPattern;
 import static eu.valawai.mov.ValueGenerator.rnd;
 
-import java.time.Duration;
 import java.util.HashMap;
 
 import eu.valawai.mov.api.ModelTestCase;
 import eu.valawai.mov.api.v1.components.MinComponentTest;
-import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import eu.valawai.mov.persistence.live.logs.LogEntity;
-import io.smallrye.mutiny.Uni;
+import eu.valawai.mov.persistence.live.logs.LogPayloadPolicy;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -85,14 +83,10 @@ public class LogRecordTest extends ModelTestCase<LogRecord> {
 			final var model = new LogRecord();
 			model.level = entity.level;
 			model.message = entity.message;
-			model.payload = entity.payload;
+			model.payload = LogPayloadPolicy.decode(entity.payload);
+			model.payloadTruncated = Boolean.TRUE.equals(entity.payloadTruncated);
 			model.timestamp = entity.timestamp;
-			if (entity.componentId != null) {
-
-				final Uni<ComponentEntity> find = ComponentEntity.findById(entity.componentId);
-				final ComponentEntity component = find.await().atMost(Duration.ofSeconds(30));
-				model.component = MinComponentTest.from(component);
-			}
+			model.component = entity.component;
 
 			return model;
 
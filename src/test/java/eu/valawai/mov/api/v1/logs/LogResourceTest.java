@@ -12,6 +12,8 @@ import static eu.valawai.mov.ValueGenerator.next;
 import static eu.valawai.mov.ValueGenerator.rnd;
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.time.Duration;
@@ -421,4 +423,22 @@ public class LogResourceTest extends APITestCase {
 		assertEquals(expected, page);
 	}
 
+	/**
+	 * Should get the status of the retention of the logs.
+	 */
+	@Test
+	public void shouldGetRetentionStatus() {
+
+		final var status = given().when().get("/v1/logs/retention").then().statusCode(Status.OK.getStatusCode())
+				.extract().as(LogRetentionStatus.class);
+		assertEquals(604800l, status.ttl);
+		assertEquals(3600l, status.levels.get(LogLevel.DEBUG));
+		assertEquals(604800l, status.levels.get(LogLevel.INFO));
+		assertEquals(2592000l, status.levels.get(LogLevel.ERROR));
+		assertTrue(status.records > 0);
+		assertNotNull(status.oldestTimestamp);
+		assertTrue(status.expirationIndexReady);
+
+	}
+
 }
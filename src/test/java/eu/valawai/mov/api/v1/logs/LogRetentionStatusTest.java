@@ -0,0 +1,61 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v1.logs;
+
+import static eu.valawai.mov.ValueGenerator.flipCoin;
+import static eu.valawai.mov.ValueGenerator.nextPastTime;
+import static eu.valawai.mov.ValueGenerator.rnd;
+
+import java.util.EnumMap;
+
+import eu.valawai.mov.api.ModelTestCase;
+
+/**
+ * Test the {@link LogRetentionStatus}.
+ *
+ * @see LogRetentionStatus
+ *
+ * @author VALAWAI
+ */
+public class LogRetentionStatusTest extends ModelTestCase<LogRetentionStatus> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LogRetentionStatus createEmptyModel() {
+
+		return new LogRetentionStatus();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIn(LogRetentionStatus model) {
+
+		model.ttl = rnd().nextInt(1, 1000000);
+		model.levels = new EnumMap<>(LogLevel.class);
+		for (final var level : LogLevel.values()) {
+
+			model.levels.put(level, (long) rnd().nextInt(1, 1000000));
+		}
+		model.maxRecords = rnd().nextInt(0, 1000000);
+		model.records = rnd().nextInt(0, 1000000);
+		model.oldestTimestamp = nextPastTime();
+		model.trimmed = rnd().nextInt(0, 1000);
+		if (flipCoin()) {
+
+			model.lastTrimTimestamp = nextPastTime();
+		}
+		model.expirationIndexReady = flipCoin();
+
+	}
+
+}
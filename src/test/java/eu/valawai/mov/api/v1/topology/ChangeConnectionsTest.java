@@ -0,0 +1,70 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v1.topology;
+
+import static eu.valawai.mov.ValueGenerator.flipCoin;
+import static eu.valawai.mov.ValueGenerator.next;
+import static eu.valawai.mov.ValueGenerator.nextObjectId;
+import static eu.valawai.mov.ValueGenerator.nextPattern;
+import static eu.valawai.mov.ValueGenerator.rnd;
+
+import java.util.ArrayList;
+
+import eu.valawai.mov.api.ModelTestCase;
+import eu.valawai.mov.events.topology.TopologyAction;
+
+/**
+ * Test the {@link ChangeConnections}.
+ *
+ * @see ChangeConnections
+ *
+ * @author VALAWAI
+ */
+public class ChangeConnectionsTest extends ModelTestCase<ChangeConnections> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ChangeConnections createEmptyModel() {
+
+		return new ChangeConnections();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIn(ChangeConnections model) {
+
+		model.action = next(TopologyAction.values());
+		if (flipCoin()) {
+
+			final var max = rnd().nextInt(1, 11);
+			model.connectionIds = new ArrayList<>();
+			for (var i = 0; i < max; i++) {
+
+				model.connectionIds.add(nextObjectId());
+			}
+		}
+		if (flipCoin()) {
+
+			model.componentId = nextObjectId();
+		}
+		if (flipCoin()) {
+
+			model.channelName = nextPattern("valawai/c0/test_{0}/data/channel");
+		}
+		if (flipCoin()) {
+
+			model.topologyId = nextObjectId();
+		}
+	}
+
+}
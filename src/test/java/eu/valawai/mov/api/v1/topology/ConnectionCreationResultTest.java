@@ -0,0 +1,51 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v1.topology;
+
+import static eu.valawai.mov.ValueGenerator.flipCoin;
+import static eu.valawai.mov.ValueGenerator.nextObjectId;
+import static eu.valawai.mov.ValueGenerator.nextPattern;
+
+import eu.valawai.mov.api.ModelTestCase;
+
+/**
+ * Test the {@link ConnectionCreationResult}.
+ *
+ * @see ConnectionCreationResult
+ *
+ * @author VALAWAI
+ */
+public class ConnectionCreationResultTest extends ModelTestCase<ConnectionCreationResult> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ConnectionCreationResult createEmptyModel() {
+
+		return new ConnectionCreationResult();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIn(ConnectionCreationResult model) {
+
+		if (flipCoin()) {
+
+			model.connectionId = nextObjectId();
+
+		} else {
+
+			model.error = nextPattern("Error {0}");
+		}
+	}
+
+}
@@ -8,6 +8,8 @@
 
 package eu.valawai.mov.api.v1.topology;
 
+import static eu.valawai.mov.ValueGenerator.flipCoin;
+import static eu.valawai.mov.ValueGenerator.nextObjectId;
 import static eu.valawai.mov.ValueGenerator.rnd;
 
 import java.util.ArrayList;
@@ -40,6 +42,10 @@ public class MinConnectionPageTest extends ModelTestCase<MinConnectionPage> {
 
 		model.offset = rnd().nextInt();
 		model.total = rnd().nextInt();
+		if (flipCoin()) {
+
+			model.next = nextObjectId().toHexString();
+		}
 		final var max = rnd().nextInt(0, 11);
 		if (max > 0) {
 
@@ -39,6 +39,7 @@ import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
 import io.quarkus.panache.common.Sort;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response.Status;
 
@@ -382,6 +383,64 @@ public class TopologyResourceTest extends APITestCase {
 
 	}
 
+	/**
+	 * Should create some connections at the same time.
+	 */
+	@Test
+	public void shouldCreateConnections() {
+
+		final var enabled = this.createValidConnectionToCreate();
+		enabled.enabled = true;
+		final var disabled = this.createValidConnectionToCreate();
+		disabled.enabled = false;
+		final var undefined = this.createValidConnectionToCreate();
+		undefined.sourceComponent = nextObjectId();
+
+		final var now = TimeManager.now();
+		final var results = given().contentType(ContentType.JSON).body(List.of(enabled, undefined, disabled)).when()
+				.post("/v1/topology/connections/all").then().statusCode(Status.OK.getStatusCode()).extract()
+				.as(ConnectionCreationResult[].class);
+		assertEquals(3, results.length);
+		assertNotNull(results[0].connectionId);
+		assertNull(results[0].error);
+		assertNull(results[1].connectionId);
+		assertNotNull(results[1].error);
+		assertNotNull(results[2].connectionId);
+		assertNull(results[2].error);
+
+		final TopologyConnectionEntity disabledEntity = this
+				.assertItemNotNull(TopologyConnectionEntity.findById(results[2].connectionId));
+		assertTrue(now <= disabledEntity.createTimestamp);
+		assertNull(disabledEntity.deletedTimestamp);
+		assertEquals(disabled.sourceComponent, disabledEntity.source.componentId);
+		assertEquals(disabled.sourceChannel, disabledEntity.source.channelName);
+		assertEquals(disabled.targetComponent, disabledEntity.target.componentId);
+		assertEquals(disabled.targetChannel, disabledEntity.target.channelName);
+		assertFalse(disabledEntity.enabled);
+
+		final var enabledEntity = this.waitUntilNotNull(() -> {
+
+			final Uni<TopologyConnectionEntity> find = TopologyConnectionEntity.findById(results[0].connectionId);
+			return find;
+
+		}, connection -> connection.enabled);
+		assertEquals(enabled.sourceComponent, enabledEntity.source.componentId);
+		assertEquals(enabled.targetComponent, enabledEntity.target.componentId);
+		this.waitUntil(() -> this.listener.isOpen(enabled.sourceChannel), open -> open);
+
+	}
+
+	/**
+	 * Should not create an empty list of connections.
+	 */
+	@Test
+	public void shouldNotCreateEmptyConnections() {
+
+		given().contentType(ContentType.JSON).body(List.of()).when().post("/v1/topology/connections/all").then()
+				.statusCode(Status.BAD_REQUEST.getStatusCode());
+
+	}
+
 	/**
 	 * Should enable and disable a connection.
 	 */
@@ -475,4 +534,70 @@ public class TopologyResourceTest extends APITestCase {
 		assertFalse(this.listener.isOpen(connection.source.channelName));
 	}
 
+	/**
+	 * Should not change connections without conditions.
+	 */
+	@Test
+	public void shouldNotChangeConnectionsWithoutConditions() {
+
+		final var change = new ChangeConnections();
+		change.action = TopologyAction.DISABLE;
+		given().contentType(ContentType.JSON).body(change).when().put("/v1/topology/connections/change/all").then()
+				.statusCode(Status.BAD_REQUEST.getStatusCode());
+
+	}
+
+	/**
+	 * Should not change connections without action.
+	 */
+	@Test
+	public void shouldNotChangeConnectionsWithoutAction() {
+
+		final var change = new ChangeConnections();
+		change.componentId = nextObjectId();
+		given().contentType(ContentType.JSON).body(change).when().put("/v1/topology/connections/change/all").then()
+				.statusCode(Status.BAD_REQUEST.getStatusCode());
+
+	}
+
+	/**
+	 * Should enable and remove some connections at the same time.
+	 */
+	@Test
+	public void shouldEnableAndRemoveSomeConnections() {
+
+		final var change = new ChangeConnections();
+		change.action = TopologyAction.ENABLE;
+		change.connectionIds = new ArrayList<>();
+		for (var i = 0; i < 3; i++) {
+
+			final var connection = TopologyConnectionEntities.nextTopologyConnection();
+			connection.enabled = false;
+			connection.deletedTimestamp = null;
+			this.assertItemNotNull(connection.update());
+			change.connectionIds.add(connection.id);
+		}
+
+		given().contentType(ContentType.JSON).body(change).when().put("/v1/topology/connections/change/all").then()
+				.statusCode(Status.NO_CONTENT.getStatusCode());
+		for (final var connectionId : change.connectionIds) {
+
+			this.waitUntilNotNull(() -> TopologyConnectionEntity.<TopologyConnectionEntity>findById(connectionId),
+					connection -> connection.enabled);
+		}
+
+		change.action = TopologyAction.REMOVE;
+		final var now = TimeManager.now();
+		given().contentType(ContentType.JSON).body(change).when().put("/v1/topology/connections/change/all").then()
+				.statusCode(Status.NO_CONTENT.getStatusCode());
+		for (final var connectionId : change.connectionIds) {
+
+			final var removed = this.waitUntilNotNull(
+					() -> TopologyConnectionEntity.<TopologyConnectionEntity>findById(connectionId),
+					connection -> connection.deletedTimestamp != null);
+			assertTrue(now <= removed.deletedTimestamp);
+		}
+
+	}
+
 }
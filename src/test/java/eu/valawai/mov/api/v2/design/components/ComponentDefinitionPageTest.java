@@ -8,6 +8,8 @@
 
 package eu.valawai.mov.api.v2.design.components;
 
+import static eu.valawai.mov.ValueGenerator.flipCoin;
+import static eu.valawai.mov.ValueGenerator.nextObjectId;
 import static eu.valawai.mov.ValueGenerator.rnd;
 
 import java.util.ArrayList;
@@ -40,6 +42,10 @@ public class ComponentDefinitionPageTest extends ModelTestCase<ComponentDefiniti
 
 		model.offset = rnd().nextInt();
 		model.total = rnd().nextInt();
+		if (flipCoin()) {
+
+			model.next = nextObjectId().toHexString();
+		}
 		final var max = rnd().nextInt(0, 11);
 		if (max > 0) {
 
@@ -79,4 +79,19 @@ public class LiveConnectionsResourceTest extends APITestCase {
 		assertThat(found, is(expected));
 	}
 
+	/**
+	 * Should check the routing table.
+	 */
+	@Test
+	public void shouldCheckRouting() {
+
+		final var found = given().when().get("/v2/live/connections/routing").then()
+				.statusCode(Status.OK.getStatusCode()).extract().as(LiveRoutingCheck.class);
+		assertThat(found, is(not(nullValue())));
+		assertThat(found.missing, is(not(nullValue())));
+		assertThat(found.unexpected, is(not(nullValue())));
+		assertThat(found.outdated, is(not(nullValue())));
+
+	}
+
 }
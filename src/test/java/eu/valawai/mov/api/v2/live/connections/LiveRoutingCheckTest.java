@@ -0,0 +1,56 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.connections;
+
+import java.util.ArrayList;
+
+import eu.valawai.mov.ValueGenerator;
+import eu.valawai.mov.api.ModelTestCase;
+
+/**
+ * Test the {@link LiveRoutingCheck}.
+ *
+ * @see LiveRoutingCheck
+ *
+ * @author VALAWAI
+ */
+public class LiveRoutingCheckTest extends ModelTestCase<LiveRoutingCheck> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LiveRoutingCheck createEmptyModel() {
+
+		return new LiveRoutingCheck();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIn(LiveRoutingCheck model) {
+
+		model.version = ValueGenerator.rnd().nextLong(1, 1000);
+		model.routes = ValueGenerator.rnd().nextInt(1, 100);
+		model.connections = ValueGenerator.rnd().nextInt(1, 100);
+		model.missing = new ArrayList<>();
+		model.unexpected = new ArrayList<>();
+		model.outdated = new ArrayList<>();
+		final var max = ValueGenerator.rnd().nextInt(1, 5);
+		for (var i = 0; i < max; i++) {
+
+			model.missing.add(ValueGenerator.nextObjectId().toHexString());
+			model.unexpected.add(ValueGenerator.nextObjectId().toHexString());
+			model.outdated.add(ValueGenerator.nextObjectId().toHexString());
+		}
+		model.consistent = false;
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.metrics;
+
+import eu.valawai.mov.ValueGenerator;
+import eu.valawai.mov.api.ModelTestCase;
+
+/**
+ * Test the {@link ConverterCacheMetrics}.
+ *
+ * @see ConverterCacheMetrics
+ *
+ * @author VALAWAI
+ */
+public class ConverterCacheMetricsTest extends ModelTestCase<ConverterCacheMetrics> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ConverterCacheMetrics createEmptyModel() {
+
+		return new ConverterCacheMetrics();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIn(ConverterCacheMetrics model) {
+
+		model.maxSize = ValueGenerator.rnd().nextInt(10, 1000);
+		model.size = ValueGenerator.rnd().nextInt(1, model.maxSize);
+		model.hits = ValueGenerator.rnd().nextLong(1, 100000);
+		model.misses = ValueGenerator.rnd().nextLong(1, 1000);
+		model.evictions = ValueGenerator.rnd().nextLong(1, 100);
+		model.hitRate = (double) model.hits / (model.hits + model.misses);
+		model.averageCompileMillis = ValueGenerator.rnd().nextDouble(1, 100);
+	}
+
+}
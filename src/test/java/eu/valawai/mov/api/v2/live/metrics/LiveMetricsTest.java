@@ -0,0 +1,42 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.metrics;
+
+import eu.valawai.mov.api.ModelTestCase;
+
+/**
+ * Test the {@link LiveMetrics}.
+ *
+ * @see LiveMetrics
+ *
+ * @author VALAWAI
+ */
+public class LiveMetricsTest extends ModelTestCase<LiveMetrics> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LiveMetrics createEmptyModel() {
+
+		return new LiveMetrics();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIn(LiveMetrics model) {
+
+		model.converters = new ConverterCacheMetricsTest().nextModel();
+		model.logs = new LogWriterMetricsTest().nextModel();
+		model.payloadMatches = new PayloadMatchCacheMetricsTest().nextModel();
+	}
+
+}
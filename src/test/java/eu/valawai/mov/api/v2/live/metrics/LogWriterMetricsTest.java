@@ -0,0 +1,46 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.metrics;
+
+import eu.valawai.mov.ValueGenerator;
+import eu.valawai.mov.api.ModelTestCase;
+
+/**
+ * Test the {@link LogWriterMetrics}.
+ *
+ * @see LogWriterMetrics
+ *
+ * @author VALAWAI
+ */
+public class LogWriterMetricsTest extends ModelTestCase<LogWriterMetrics> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LogWriterMetrics createEmptyModel() {
+
+		return new LogWriterMetrics();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIn(LogWriterMetrics model) {
+
+		model.capacity = ValueGenerator.rnd().nextInt(100, 10000);
+		model.pending = ValueGenerator.rnd().nextInt(1, model.capacity);
+		model.batches = ValueGenerator.rnd().nextLong(1, 1000);
+		model.batched = model.batches * ValueGenerator.rnd().nextLong(1, 100);
+		model.dropped = ValueGenerator.rnd().nextLong(1, 100);
+		model.failed = ValueGenerator.rnd().nextLong(1, 100);
+	}
+
+}
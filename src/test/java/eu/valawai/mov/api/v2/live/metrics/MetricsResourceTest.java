@@ -0,0 +1,48 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.api.v2.live.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.api.APITestCase;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.Response.Status;
+
+/**
+ * Test the {@link MetricsResource}.
+ *
+ * @see MetricsResource
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class MetricsResourceTest extends APITestCase {
+
+	/**
+	 * Should get the metrics.
+	 */
+	@Test
+	public void shouldGetMetrics() {
+
+		final var found = given().when().get("/v2/live/metrics").then().statusCode(Status.OK.getStatusCode())
+				.extract().as(LiveMetrics.class);
+		assertThat(found, is(not(nullValue())));
+		assertThat(found.converters, is(not(nullValue())));
+		assertThat(found.logs, is(not(nullValue())));
+		assertThat(found.payloadMatches, is(not(nullValue())));
+
+	}
+
+}
@@ -9,8 +9,10 @@
 package eu.valawai.mov.events;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
@@ -24,7 +26,9 @@ import org.junit.jupiter.api.Test;
 import eu.valawai.mov.ValueGenerator;
 import io.quarkus.test.junit.QuarkusTest;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.buffer.Buffer;
 import jakarta.inject.Inject;
 
 /**
@@ -59,6 +63,21 @@ public class PublishServiceTest extends MovEventTestCase {
 		assertInstanceOf(DecodeException.class, error);
 	}
 
+	/**
+	 * Check that only the JSON objects are encoded.
+	 */
+	@Test
+	public void shouldEncodeOnlyJsonObjects() {
+
+		assertThrows(DecodeException.class, () -> PublishService.encode(null));
+		assertThrows(DecodeException.class, () -> PublishService.encode("payload"));
+		assertThrows(DecodeException.class, () -> PublishService.encode(new JsonArray().add(1)));
+
+		final var payload = new JsonObject().put("pattern", ValueGenerator.nextPattern("pattern_{0}"));
+		assertEquals(payload, PublishService.encode(payload).toJsonObject());
+
+	}
+
 	/**
 	 * Check send messages that are captured by a listener.
 	 *
@@ -93,6 +112,115 @@ public class PublishServiceTest extends MovEventTestCase {
 		assertEquals(payload, messages.get(0));
 	}
 
+	/**
+	 * Check send the raw bytes of a message that are received without changes.
+	 *
+	 * @throws InterruptedException if a waiting time fails.
+	 */
+	@Test
+	public void shouldSendRawToListener() throws InterruptedException {
+
+		final var semaphore = new Semaphore(0);
+		final var messages = Collections.synchronizedList(new ArrayList<RawMessage>());
+		final var queueName = ValueGenerator.nextPattern("queue_name_{0}");
+
+		this.listener.toMultiRaw(this.listener.openConsumer(queueName)).subscribe().with(msg -> {
+
+			messages.add(msg);
+			semaphore.release();
+
+		}, error -> {
+
+			error.printStackTrace();
+			semaphore.release();
+		});
+		this.waitUntilQueueIsOpen(queueName);
+
+		final var body = Buffer.buffer("{ \"pattern\" : \"" + ValueGenerator.nextPattern("pattern_{0}") + "\" }");
+		this.assertItemIsNull(this.publish.sendRaw(queueName, RawMessage.of(body)));
+
+		semaphore.tryAcquire(30, TimeUnit.SECONDS);
+
+		assertEquals(1, messages.size());
+		final var received = messages.get(0);
+		assertFalse(received.isDecoded());
+		assertEquals(body, received.body());
+		assertEquals(body.toJsonObject(), received.json());
+		assertTrue(received.isDecoded());
+	}
+
+	/**
+	 * Check that the messages are published after the channel of a lane has been
+	 * closed by the broker.
+	 *
+	 * @throws InterruptedException if a waiting time fails.
+	 */
+	@Test
+	public void shouldSendAfterChannelClosed() throws InterruptedException {
+
+		final var semaphore = new Semaphore(0);
+		final var messages = Collections.synchronizedList(new ArrayList<RawMessage>());
+		final var queueName = ValueGenerator.nextPattern("queue_name_{0}");
+
+		this.listener.toMultiRaw(this.listener.openConsumer(queueName)).subscribe().with(msg -> {
+
+			messages.add(msg);
+			semaphore.release();
+
+		}, error -> {
+
+			error.printStackTrace();
+			semaphore.release();
+		});
+		this.waitUntilQueueIsOpen(queueName);
+
+		// The exchange is not defined, so the broker closes the channel of the lane
+		final var body = Buffer.buffer("{ \"pattern\" : \"" + ValueGenerator.nextPattern("pattern_{0}") + "\" }");
+		this.assertFailure(this.publish.sendRawToExchange(queueName, RawMessage.of(body), false));
+
+		this.assertItemIsNull(this.publish.sendRaw(queueName, RawMessage.of(body)));
+
+		semaphore.tryAcquire(30, TimeUnit.SECONDS);
+
+		assertEquals(1, messages.size());
+		assertEquals(body, messages.get(0).body());
+	}
+
+	/**
+	 * Check send a message that is confirmed by the broker.
+	 *
+	 * @throws InterruptedException if a waiting time fails.
+	 */
+	@Test
+	public void shouldSendConfirmedToListener() throws InterruptedException {
+
+		final var semaphore = new Semaphore(0);
+		final var messages = Collections.synchronizedList(new ArrayList<JsonObject>());
+		final var queueName = ValueGenerator.nextPattern("queue_name_{0}");
+
+		this.listener.open(queueName).subscribe().with(payload -> {
+
+			messages.add(payload);
+			semaphore.release();
+
+		}, error -> {
+
+			error.printStackTrace();
+			semaphore.release();
+		});
+		this.waitUntilQueueIsOpen(queueName);
+
+		final var payload = new JsonObject();
+		payload.put("pattern", ValueGenerator.nextPattern("pattern_{0}"));
+		this.assertItemIsNull(this.publish.declareQueue(queueName));
+		this.assertItemIsNull(this.publish.sendConfirmed(queueName, payload));
+
+		semaphore.tryAcquire(30, TimeUnit.SECONDS);
+
+		assertEquals(1, messages.size());
+		assertEquals(payload, messages.get(0));
+	}
+
 	/**
 	 * Check send a lot of messages that are captured by a listener.
 	 *
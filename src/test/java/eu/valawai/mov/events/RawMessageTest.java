@@ -0,0 +1,108 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.ValueGenerator;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.buffer.Buffer;
+
+/**
+ * Test the {@link RawMessage}.
+ *
+ * @see RawMessage
+ *
+ * @author VALAWAI
+ */
+public class RawMessageTest {
+
+	/**
+	 * Should maintain the received bytes without decoding them.
+	 */
+	@Test
+	public void shouldNotDecodeBody() {
+
+		final var body = Buffer.buffer("{\"pattern\":\"" + ValueGenerator.nextPattern("pattern_{0}") + "\"}");
+		final var msg = RawMessage.of(body);
+		assertFalse(msg.isDecoded());
+		assertSame(body, msg.body());
+		assertFalse(msg.isDecoded());
+		assertEquals(body.toString(), msg.toString());
+
+	}
+
+	/**
+	 * Should decode the body only once.
+	 */
+	@Test
+	public void shouldDecodeBodyOnce() {
+
+		final var json = new JsonObject().put("pattern", ValueGenerator.nextPattern("pattern_{0}"));
+		final var msg = RawMessage.of(Buffer.buffer(json.encode()));
+		final var decoded = msg.json();
+		assertTrue(msg.isDecoded());
+		assertEquals(json, decoded);
+		assertSame(decoded, msg.json());
+
+	}
+
+	/**
+	 * Should encode a JSON message only when the body is required.
+	 */
+	@Test
+	public void shouldEncodeJsonWhenRequired() {
+
+		final var json = new JsonObject().put("pattern", ValueGenerator.nextPattern("pattern_{0}"));
+		final var msg = RawMessage.of(json);
+		assertTrue(msg.isDecoded());
+		assertSame(json, msg.json());
+		assertEquals(json, msg.body().toJsonObject());
+
+	}
+
+	/**
+	 * Should maintain where the message has been received.
+	 */
+	@Test
+	public void shouldMaintainDelivery() {
+
+		final var queueName = ValueGenerator.nextPattern("queue_name_{0}");
+		final var deliveryTag = ValueGenerator.rnd().nextLong(0, 100000);
+		final var msg = RawMessage.of(Buffer.buffer("{}"), queueName, deliveryTag);
+		assertEquals(queueName, msg.queueName());
+		assertEquals(deliveryTag, msg.deliveryTag());
+
+		final var created = RawMessage.of(new JsonObject());
+		assertNull(created.queueName());
+		assertEquals(-1, created.deliveryTag());
+
+	}
+
+	/**
+	 * Should fail to decode an invalid body.
+	 */
+	@Test
+	public void shouldFailDecodeInvalidBody() {
+
+		final var msg = RawMessage.of(Buffer.buffer("Not a JSON"));
+		assertThrows(DecodeException.class, () -> msg.json());
+		assertEquals("Not a JSON", msg.toString());
+
+	}
+
+}
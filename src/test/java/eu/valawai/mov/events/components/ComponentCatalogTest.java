@@ -0,0 +1,191 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.MasterOfValawaiTestCase;
+import eu.valawai.mov.TimeManager;
+import eu.valawai.mov.persistence.live.components.ComponentEntities;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Test the {@link ComponentCatalog}.
+ *
+ * @see ComponentCatalog
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class ComponentCatalogTest extends MasterOfValawaiTestCase {
+
+	/**
+	 * The catalog to test.
+	 */
+	@Inject
+	ComponentCatalog catalog;
+
+	/**
+	 * Check that an undefined component is not found.
+	 */
+	@Test
+	public void shouldNotGetUndefinedComponent() {
+
+		this.assertItemNull(this.catalog.get(null));
+		this.assertItemNull(this.catalog.get(ComponentEntities.undefined()));
+	}
+
+	/**
+	 * Check that obtain from the database a component that is not on the catalog.
+	 */
+	@Test
+	public void shouldGetComponentNotInCatalog() {
+
+		final var component = ComponentEntities.nextComponent();
+		this.catalog.remove(component.id);
+
+		final var found = this.assertItemNotNull(this.catalog.get(component.id));
+		assertEquals(component.id, found.id());
+		assertEquals(component.name, found.name());
+		assertTrue(this.catalog.contains(component.id));
+	}
+
+	/**
+	 * Check that not add to the catalog a finished component obtained from the
+	 * database.
+	 */
+	@Test
+	public void shouldNotAddFinishedComponentNotInCatalog() {
+
+		final var component = ComponentEntities.nextComponent();
+		component.finishedTime = TimeManager.now();
+		component.update().await().atMost(Duration.ofSeconds(30));
+		this.catalog.remove(component.id);
+
+		final var found = this.assertItemNotNull(this.catalog.get(component.id));
+		assertEquals(component.id, found.id());
+		assertTrue(found.finished());
+		assertFalse(this.catalog.contains(component.id));
+	}
+
+	/**
+	 * Check that obtain some components from the catalog and the database.
+	 */
+	@Test
+	public void shouldGetAllComponents() {
+
+		final var inCatalog = ComponentEntities.nextComponent();
+		this.catalog.put(inCatalog);
+		final var notInCatalog = ComponentEntities.nextComponent();
+		this.catalog.remove(notInCatalog.id);
+		final var undefined = ComponentEntities.undefined();
+
+		final var found = this.assertItemNotNull(
+				this.catalog.getAll(List.of(inCatalog.id, notInCatalog.id, undefined, inCatalog.id)));
+		assertEquals(2, found.size());
+		assertSame(this.assertItemNotNull(this.catalog.get(inCatalog.id)), found.get(inCatalog.id));
+		assertEquals(notInCatalog.name, found.get(notInCatalog.id).name());
+		assertFalse(found.containsKey(undefined));
+		assertTrue(this.catalog.contains(notInCatalog.id));
+	}
+
+	/**
+	 * Check that put and remove a component from the catalog.
+	 */
+	@Test
+	public void shouldPutAndRemoveComponent() {
+
+		final var component = ComponentEntities.nextComponent();
+		this.catalog.put(component);
+		assertTrue(this.catalog.contains(component.id));
+
+		final var found = this.assertItemNotNull(this.catalog.get(component.id));
+		assertSame(found, this.assertItemNotNull(this.catalog.get(component.id)));
+		if (component.channels != null) {
+
+			for (final var channel : component.channels) {
+
+				assertSame(channel, found.channel(channel.name));
+				if (channel.publish != null) {
+
+					assertSame(channel, found.publishChannel(channel.name));
+					assertNull(found.subscribeChannel(channel.name));
+
+				} else {
+
+					assertNull(found.publishChannel(channel.name));
+					assertSame(channel, found.subscribeChannel(channel.name));
+				}
+			}
+		}
+		assertNull(found.channel("undefined"));
+
+		this.catalog.remove(component.id);
+		assertFalse(this.catalog.contains(component.id));
+	}
+
+	/**
+	 * Check that not put a finished component.
+	 */
+	@Test
+	public void shouldNotPutFinishedComponent() {
+
+		final var component = ComponentEntities.nextComponent();
+		component.finishedTime = TimeManager.now();
+		this.catalog.put(component);
+		assertFalse(this.catalog.contains(component.id));
+	}
+
+	/**
+	 * Check that reload only the live components.
+	 */
+	@Test
+	public void shouldReloadLiveComponents() {
+
+		final var live = ComponentEntities.nextComponent();
+		live.since = TimeManager.now();
+		live.update().await().atMost(Duration.ofSeconds(30));
+		final var finished = ComponentEntities.nextComponent();
+		finished.finishedTime = TimeManager.now();
+		finished.update().await().atMost(Duration.ofSeconds(30));
+
+		this.assertItemNull(this.catalog.reload());
+		assertTrue(this.catalog.contains(live.id));
+		assertFalse(this.catalog.contains(finished.id));
+		assertTrue(this.catalog.size() > 0);
+	}
+
+	/**
+	 * Check that obtain the summary of a component.
+	 */
+	@Test
+	public void shouldGetSummaryOfComponent() {
+
+		this.assertItemNull(ComponentCatalog.summaryOf(null));
+		this.assertItemNull(ComponentCatalog.summaryOf(ComponentEntities.undefined()));
+
+		final var component = ComponentEntities.nextComponent();
+		final var summary = this.assertItemNotNull(ComponentCatalog.summaryOf(component.id));
+		assertEquals(component.id, summary.id);
+		assertEquals(component.type, summary.type);
+		assertEquals(component.name, summary.name);
+		assertEquals(component.description, summary.description);
+	}
+
+}
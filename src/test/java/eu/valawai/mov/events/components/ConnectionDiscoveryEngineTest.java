@@ -0,0 +1,58 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.components;
+
+import static eu.valawai.mov.ValueGenerator.nextObjectId;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.mongodb.client.model.Sorts;
+
+import eu.valawai.mov.MasterOfValawaiTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
+import eu.valawai.mov.persistence.live.components.ComponentEntity;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Test the {@link ConnectionDiscoveryEngine}.
+ *
+ * @see ConnectionDiscoveryEngine
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class ConnectionDiscoveryEngineTest extends MasterOfValawaiTestCase {
+
+	/**
+	 * Check that the filter to select the candidates uses an index.
+	 *
+	 * @param publish   is {@code true} if the component publish on any channel.
+	 * @param subscribe is {@code true} if the component subscribe to any channel.
+	 */
+	@ParameterizedTest(name = "Should the candidates filter use an index when publish {0} and subscribe {1}")
+	@CsvSource({ "true,false", "false,true", "true,true" })
+	public void shouldCandidatesFilterUseIndex(boolean publish, boolean subscribe) {
+
+		QueryPlans.assertIndexed(ComponentEntity.mongoCollection(),
+				ConnectionDiscoveryEngine.candidatesFilter(nextObjectId(), publish, subscribe), Sorts.ascending("_id"));
+	}
+
+	/**
+	 * Check that not select candidates for a component without channels.
+	 */
+	@Test
+	public void shouldNotFilterCandidatesWithoutChannels() {
+
+		assertNull(ConnectionDiscoveryEngine.candidatesFilter(nextObjectId(), false, false));
+	}
+
+}
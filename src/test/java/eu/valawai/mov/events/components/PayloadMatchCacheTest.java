@@ -0,0 +1,88 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.api.v1.components.BasicPayloadSchemaTest;
+import eu.valawai.mov.api.v1.components.PayloadSchema;
+import eu.valawai.mov.api.v1.components.PayloadSchemaTestCase;
+import io.quarkus.test.junit.QuarkusTest;
+import io.vertx.core.json.Json;
+import jakarta.inject.Inject;
+
+/**
+ * Test the {@link PayloadMatchCache}.
+ *
+ * @see PayloadMatchCache
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class PayloadMatchCacheTest {
+
+	/**
+	 * The cache to test.
+	 */
+	@Inject
+	PayloadMatchCache cache;
+
+	/**
+	 * Check that not match undefined schemas.
+	 */
+	@Test
+	public void shouldNotMatchUndefinedSchemas() {
+
+		final var schema = PayloadSchemaTestCase.nextPayloadSchema(2);
+		assertFalse(this.cache.match(null, schema));
+		assertFalse(this.cache.match(schema, null));
+		assertFalse(this.cache.match(null, null));
+	}
+
+	/**
+	 * Check that reuse the result of the schemas with the same fingerprint.
+	 */
+	@Test
+	public void shouldReuseResultOfSameSchemas() {
+
+		final var source = PayloadSchemaTestCase.nextPayloadSchema(3);
+		final var target = Json.decodeValue(Json.encode(source), PayloadSchema.class);
+		final var before = this.cache.metrics();
+		assertTrue(this.cache.match(source, target));
+
+		final var copy = Json.decodeValue(Json.encode(source), PayloadSchema.class);
+		assertTrue(this.cache.match(copy, target));
+		final var after = this.cache.metrics();
+		assertTrue(before.hits < after.hits);
+		assertTrue(after.size > 0);
+	}
+
+	/**
+	 * Check that the cache return the same result than the schemas.
+	 */
+	@Test
+	public void shouldReturnSameResultThanSchemas() {
+
+		for (var i = 0; i < 100; i++) {
+
+			final var source = PayloadSchemaTestCase.nextPayloadSchema(2);
+			final var target = new BasicPayloadSchemaTest().nextModel();
+			final var expected = source.match(target, new HashMap<>());
+			assertEquals(expected, this.cache.match(source, target));
+			assertEquals(expected, this.cache.match(source, target));
+		}
+	}
+
+}
@@ -29,6 +29,7 @@ import eu.valawai.mov.events.MovEventTestCase;
 import eu.valawai.mov.persistence.live.components.ComponentEntities;
 import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import eu.valawai.mov.persistence.live.logs.LogEntity;
+import eu.valawai.mov.persistence.live.logs.LogPayloadPolicy;
 import io.quarkus.panache.common.Sort;
 import io.quarkus.test.junit.QuarkusTest;
 import io.vertx.core.json.Json;
@@ -68,7 +69,8 @@ public class QueryComponentsManagerTest extends MovEventTestCase {
 
 		final LogEntity log = this.assertItemNotNull(LogEntity.findAll(Sort.descending("_id")).firstResult());
 		assertEquals(LogLevel.ERROR, log.level);
-		final var logPayload = Json.decodeValue(log.payload, QueryComponentsPayload.class);
+		final var logPayload = Json.decodeValue(LogPayloadPolicy.decode(log.payload),
+				QueryComponentsPayload.class);
 		assertEquals(payload, logPayload);
 	}
 
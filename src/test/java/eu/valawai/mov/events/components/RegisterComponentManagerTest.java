@@ -27,6 +27,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
 
 import eu.valawai.mov.MOVConfiguration;
 import eu.valawai.mov.MOVConfiguration.TopologyBehavior;
@@ -40,6 +41,7 @@ import eu.valawai.mov.api.v1.components.ComponentBuilder;
 import eu.valawai.mov.api.v1.components.ComponentTest;
 import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v1.components.ObjectPayloadSchema;
+import eu.valawai.mov.persistence.QueryPlans;
 import eu.valawai.mov.persistence.design.topology.TopologyGraphEntities;
 import eu.valawai.mov.persistence.live.components.ComponentEntities;
 import eu.valawai.mov.persistence.live.components.ComponentEntity;
@@ -899,4 +901,14 @@ public class RegisterComponentManagerTest extends RegisterComponentManagerTestCa
 
 	}
 
+	/**
+	 * Check that the query of the component of a topology node uses an index.
+	 */
+	@Test
+	public void shouldComponentWithChannelFilterUseIndex() {
+
+		QueryPlans.assertIndexed(ComponentEntity.mongoCollection(), RegisterComponentManager
+				.componentWithChannelFilter(ComponentType.C1, "valawai/c1/source/data/input"), Sorts.ascending("_id"));
+	}
+
 }
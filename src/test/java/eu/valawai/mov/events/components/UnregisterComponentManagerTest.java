@@ -32,6 +32,7 @@ import eu.valawai.mov.events.MovEventTestCase;
 import eu.valawai.mov.persistence.live.components.ComponentEntities;
 import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import eu.valawai.mov.persistence.live.logs.LogEntity;
+import eu.valawai.mov.persistence.live.logs.LogPayloadPolicy;
 import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
 import eu.valawai.mov.persistence.live.topology.TopologyNode;
 import io.quarkus.panache.common.Sort;
@@ -85,7 +86,8 @@ public class UnregisterComponentManagerTest extends MovEventTestCase {
 
 		final LogEntity log = this.assertItemNotNull(LogEntity.findAll(Sort.descending("_id")).firstResult());
 		assertEquals(LogLevel.ERROR, log.level);
-		final var logPayload = Json.decodeValue(log.payload, UnregisterComponentPayload.class);
+		final var logPayload = Json.decodeValue(LogPayloadPolicy.decode(log.payload),
+				UnregisterComponentPayload.class);
 		assertEquals(payload, logPayload);
 		assertEquals(countComponents, ComponentEntity.count().await().atMost(Duration.ofSeconds(30)));
 	}
@@ -188,6 +190,57 @@ public class UnregisterComponentManagerTest extends MovEventTestCase {
 
 		}
 
+		this.waitUntilNotNull(() -> LogEntity.count("level = ?1 and message like ?2", LogLevel.INFO,
+				"Unregistered the component " + component.id.toHexString() + ", removing " + max + " connections.*"),
+				count -> count == 1l);
+
+	}
+
+	/**
+	 * Check that when unregister a component that is already finished the
+	 * connections that it is involved are removed.
+	 */
+	@Test
+	public void shouldRemoveConnectionsOfFinishedComponent() {
+
+		final var component = ComponentEntities.nextComponent();
+		component.finishedTime = TimeManager.now();
+		this.assertItemNotNull(component.update());
+		final var otherComponent = ComponentEntities.nextComponent();
+
+		final var connection = new TopologyConnectionEntity();
+		connection.enabled = true;
+		connection.source = new TopologyNode();
+		connection.source.componentId = component.id;
+		connection.source.channelName = "valawai/" + component.type.name().toLowerCase() + "/"
+				+ component.name.toLowerCase() + "/data/finished";
+		connection.target = new TopologyNode();
+		connection.target.componentId = otherComponent.id;
+		connection.target.channelName = "valawai/" + otherComponent.type.name().toLowerCase() + "/"
+				+ otherComponent.name.toLowerCase() + "/data/finished";
+		connection.createTimestamp = nextPastTime();
+		connection.updateTimestamp = nextPastTime();
+		this.assertItemNotNull(connection.persist());
+
+		final var payload = new UnregisterComponentPayload();
+		payload.componentId = component.id;
+
+		final var now = TimeManager.now();
+		this.executeAndWaitUntilNewLog(() -> this.assertPublish(this.unregisterComponentQueueName, payload));
+
+		this.waitUntilNotNull(() -> {
+
+			final Uni<TopologyConnectionEntity> find = TopologyConnectionEntity.findById(connection.id);
+			return find;
+
+		}, updatedConnection -> updatedConnection.deletedTimestamp != null);
+
+		final TopologyConnectionEntity updatedConnection = this
+				.assertItemNotNull(TopologyConnectionEntity.findById(connection.id));
+		assertTrue(now <= updatedConnection.deletedTimestamp);
+		final ComponentEntity updated = this.assertItemNotNull(ComponentEntity.findById(component.id));
+		assertEquals(component.finishedTime, updated.finishedTime);
+
 	}
 
 }
@@ -18,9 +18,11 @@ import eu.valawai.mov.TimeManager;
 import eu.valawai.mov.api.v1.logs.LogLevel;
 import eu.valawai.mov.events.MovEventTestCase;
 import eu.valawai.mov.persistence.live.logs.LogEntity;
+import eu.valawai.mov.persistence.live.logs.LogPayloadPolicy;
 import io.quarkus.panache.common.Sort;
 import io.quarkus.test.junit.QuarkusTest;
 import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
 
 /**
  * Test the {@link AddLogManager}.
@@ -68,7 +70,7 @@ public class AddLogManagerTest extends MovEventTestCase {
 		assertTrue(now <= last.timestamp);
 		assertEquals(payload.level, last.level);
 		assertEquals(payload.message, last.message);
-		assertEquals(payload.payload, last.payload);
+		assertEquals(new JsonObject(payload.payload), new JsonObject(LogPayloadPolicy.decode(last.payload)));
 
 	}
 
@@ -87,7 +89,7 @@ public class AddLogManagerTest extends MovEventTestCase {
 		assertTrue(now <= last.timestamp);
 		assertEquals(payload.level, last.level);
 		assertEquals(payload.message, last.message);
-		assertEquals(payload.payload, last.payload);
+		assertEquals(new JsonObject(payload.payload), new JsonObject(LogPayloadPolicy.decode(last.payload)));
 
 	}
 
@@ -0,0 +1,190 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.MOVConfiguration;
+import eu.valawai.mov.MasterOfValawaiTestCase;
+import eu.valawai.mov.persistence.design.component.ComponentDefinitionEntity;
+import eu.valawai.mov.persistence.design.topology.TopologyGraphEntities;
+import eu.valawai.mov.persistence.design.topology.TopologyGraphEntity;
+import eu.valawai.mov.services.LocalConfigService;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Test the {@link ActiveTopology}.
+ *
+ * @see ActiveTopology
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class ActiveTopologyTest extends MasterOfValawaiTestCase {
+
+	/**
+	 * The topology to test.
+	 */
+	@Inject
+	ActiveTopology activeTopology;
+
+	/**
+	 * The local configuration.
+	 */
+	@Inject
+	LocalConfigService configuration;
+
+	/**
+	 * Remove the topology to follow.
+	 */
+	@AfterEach
+	public void removeTopology() {
+
+		this.assertItemNotNull(this.configuration.setProperty(MOVConfiguration.TOPOLOGY_ID_NAME, null));
+	}
+
+	/**
+	 * Set the topology to follow.
+	 *
+	 * @param topology to follow.
+	 */
+	private void follow(TopologyGraphEntity topology) {
+
+		this.assertItemNotNull(
+				this.configuration.setProperty(MOVConfiguration.TOPOLOGY_ID_NAME, topology.id.toHexString()));
+	}
+
+	/**
+	 * Check that not get a topology if it is not defined.
+	 */
+	@Test
+	public void shouldNotGetTopologyWhenNotDefined() {
+
+		this.removeTopology();
+		assertNull(this.activeTopology.get().await().atMost(Duration.ofSeconds(30)));
+	}
+
+	/**
+	 * Check that not get an undefined topology.
+	 */
+	@Test
+	public void shouldNotGetUndefinedTopology() {
+
+		this.assertItemNotNull(this.configuration.setProperty(MOVConfiguration.TOPOLOGY_ID_NAME,
+				TopologyGraphEntities.undefined().toHexString()));
+		assertNull(this.activeTopology.get().await().atMost(Duration.ofSeconds(30)));
+	}
+
+	/**
+	 * Check that compile the topology.
+	 */
+	@Test
+	public void shouldCompileTopology() {
+
+		final var topology = TopologyGraphEntities.nextTopologyGraph();
+		this.follow(topology);
+
+		final var compiled = this.assertItemNotNull(this.activeTopology.get());
+		assertEquals(topology.id, compiled.id());
+		for (final var node : topology.nodes) {
+
+			final var definedNode = compiled.node(node.tag);
+			assertNotNull(definedNode);
+			assertEquals(node.componentRef, definedNode.component.id);
+
+			final ComponentDefinitionEntity component = this
+					.assertItemNotNull(ComponentDefinitionEntity.findById(node.componentRef));
+			final var channelNames = new ArrayList<String>();
+			if (component.channels != null) {
+
+				for (final var channel : component.channels) {
+
+					channelNames.add(channel.name);
+				}
+			}
+			assertTrue(compiled.candidatesFor(channelNames).contains(definedNode));
+
+			if (node.outputs != null) {
+
+				for (final var output : node.outputs) {
+
+					final var connection = compiled.connection(output.sourceChannel, output.targetChannel);
+					assertNotNull(connection);
+					assertTrue(compiled.connectionsOf(node.tag).contains(connection));
+					assertTrue(compiled.connectionsOf(output.targetTag).contains(connection));
+					if (output.notifications != null) {
+
+						for (final var notification : output.notifications) {
+
+							assertTrue(compiled.notificationsTo(notification.targetTag).stream()
+									.anyMatch(defined -> defined.connection() == connection
+											&& notification.targetChannel.equals(defined.notification().target.channel)));
+						}
+					}
+				}
+			}
+		}
+		assertNull(compiled.node("undefined"));
+		assertNull(compiled.connection("undefined", "undefined"));
+		assertTrue(compiled.connectionsOf("undefined").isEmpty());
+		assertTrue(compiled.notificationsTo("undefined").isEmpty());
+
+		assertSame(compiled, this.assertItemNotNull(this.activeTopology.get()));
+	}
+
+	/**
+	 * Check that compile again the topology when it is invalidated.
+	 */
+	@Test
+	public void shouldCompileAgainWhenInvalidate() {
+
+		final var topology = TopologyGraphEntities.nextTopologyGraph();
+		this.follow(topology);
+
+		final var compiled = this.assertItemNotNull(this.activeTopology.get());
+		this.activeTopology.invalidate(TopologyGraphEntities.undefined());
+		assertSame(compiled, this.assertItemNotNull(this.activeTopology.get()));
+
+		this.activeTopology.invalidate(topology.id);
+		final var recompiled = this.assertItemNotNull(this.activeTopology.get());
+		assertNotSame(compiled, recompiled);
+		assertEquals(topology.id, recompiled.id());
+	}
+
+	/**
+	 * Check that compile the topology when the topology to follow changes.
+	 */
+	@Test
+	public void shouldCompileWhenTopologyChanges() {
+
+		final var topology = TopologyGraphEntities.nextTopologyGraph();
+		this.follow(topology);
+		final var compiled = this.assertItemNotNull(this.activeTopology.get());
+
+		final var other = TopologyGraphEntities.nextTopologyGraph();
+		this.follow(other);
+		final var changed = this.assertItemNotNull(this.activeTopology.get());
+		assertEquals(other.id, changed.id());
+		assertFalse(compiled.id().equals(changed.id()));
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import static eu.valawai.mov.ValueGenerator.flipCoin;
+import static eu.valawai.mov.ValueGenerator.next;
+import static eu.valawai.mov.ValueGenerator.nextObjectId;
+import static eu.valawai.mov.ValueGenerator.nextPattern;
+import static eu.valawai.mov.ValueGenerator.rnd;
+
+import java.util.ArrayList;
+
+import eu.valawai.mov.events.PayloadTestCase;
+
+/**
+ * Test the {@link ChangeTopologyConnectionsPayload}.
+ *
+ * @see ChangeTopologyConnectionsPayload
+ *
+ * @author VALAWAI
+ */
+public class ChangeTopologyConnectionsPayloadTest extends PayloadTestCase<ChangeTopologyConnectionsPayload> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ChangeTopologyConnectionsPayload createEmptyModel() {
+
+		return new ChangeTopologyConnectionsPayload();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIn(ChangeTopologyConnectionsPayload payload) {
+
+		payload.action = next(TopologyAction.values());
+		if (flipCoin()) {
+
+			final var max = rnd().nextInt(1, 11);
+			payload.connectionIds = new ArrayList<>();
+			for (var i = 0; i < max; i++) {
+
+				payload.connectionIds.add(nextObjectId());
+			}
+		}
+		if (flipCoin()) {
+
+			payload.componentId = nextObjectId();
+		}
+		if (flipCoin()) {
+
+			payload.channelName = nextPattern("valawai/c0/test_{0}/data/channel");
+		}
+		if (flipCoin()) {
+
+			payload.topologyId = nextObjectId();
+		}
+	}
+
+}
@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.Duration;
 import java.util.ArrayList;
 
+import org.bson.types.ObjectId;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -59,6 +60,12 @@ public class ChangeTopologyManagerTest extends MovEventTestCase {
 	@ConfigProperty(name = "mp.messaging.incoming.change_topology.queue.name", defaultValue = "valawai/topology/change")
 	String changeTopologyQueueName;
 
+	/**
+	 * The queue name to send the change topology connections events.
+	 */
+	@ConfigProperty(name = "mp.messaging.incoming.change_topology_connections.queue.name", defaultValue = "valawai/topology/change_all")
+	String changeTopologyConnectionsQueueName;
+
 	/**
 	 * The Rabbit MQ service.
 	 */
@@ -624,4 +631,89 @@ public class ChangeTopologyManagerTest extends MovEventTestCase {
 		assertThat(targetOnConvertedMsg.getString("name"), is(connection.target.inferComponentName()));
 	}
 
+	/**
+	 * Check that cannot change some connections without conditions.
+	 */
+	@Test
+	public void shouldNotChangeTopologyConnectionsWithoutConditions() {
+
+		final var payload = new ChangeTopologyConnectionsPayload();
+		payload.action = TopologyAction.REMOVE;
+
+		this.executeAndWaitUntilNewLog(() -> this.assertPublish(this.changeTopologyConnectionsQueueName, payload));
+
+		assertEquals(1l, LogEntity.count("level = ?1 and payload = ?2", LogLevel.ERROR, Json.encodePrettily(payload))
+				.await().atMost(Duration.ofSeconds(30)));
+	}
+
+	/**
+	 * Check that can enable and disable some connections at the same time.
+	 */
+	@Test
+	public void shouldEnableAndDisableSomeConnections() {
+
+		final var connectionIds = new ArrayList<ObjectId>();
+		final var sources = new ArrayList<String>();
+		for (var i = 0; i < 3; i++) {
+
+			final var connection = TopologyConnectionEntities.nextTopologyConnection();
+			connection.enabled = false;
+			connection.deletedTimestamp = null;
+			this.assertItemNotNull(connection.update());
+			connectionIds.add(connection.id);
+			sources.add(connection.source.channelName);
+		}
+
+		final var payload = new ChangeTopologyConnectionsPayload();
+		payload.connectionIds = connectionIds;
+		payload.action = TopologyAction.ENABLE;
+		this.assertPublish(this.changeTopologyConnectionsQueueName, payload);
+		for (final var connectionId : connectionIds) {
+
+			this.waitUntilNotNull(() -> TopologyConnectionEntity.<TopologyConnectionEntity>findById(connectionId),
+					connection -> connection.enabled);
+		}
+		this.waitUntil(() -> sources.stream().allMatch(source -> this.listener.isOpen(source)), open -> open);
+
+		payload.action = TopologyAction.DISABLE;
+		this.assertPublish(this.changeTopologyConnectionsQueueName, payload);
+		for (final var connectionId : connectionIds) {
+
+			this.waitUntilNotNull(() -> TopologyConnectionEntity.<TopologyConnectionEntity>findById(connectionId),
+					connection -> !connection.enabled);
+		}
+		this.waitUntil(() -> sources.stream().noneMatch(source -> this.listener.isOpen(source)), closed -> closed);
+	}
+
+	/**
+	 * Check that can remove the connections of a component.
+	 */
+	@Test
+	public void shouldRemoveConnectionsOfComponent() {
+
+		final var component = ComponentEntities.nextComponent();
+		final var connectionIds = new ArrayList<ObjectId>();
+		for (var i = 0; i < 3; i++) {
+
+			final var connection = TopologyConnectionEntities.nextTopologyConnection();
+			connection.deletedTimestamp = null;
+			connection.target.componentId = component.id;
+			this.assertItemNotNull(connection.update());
+			connectionIds.add(connection.id);
+		}
+
+		final var payload = new ChangeTopologyConnectionsPayload();
+		payload.componentId = component.id;
+		payload.action = TopologyAction.REMOVE;
+		final var now = TimeManager.now();
+		this.assertPublish(this.changeTopologyConnectionsQueueName, payload);
+		for (final var connectionId : connectionIds) {
+
+			final var removed = this.waitUntilNotNull(
+					() -> TopologyConnectionEntity.<TopologyConnectionEntity>findById(connectionId),
+					connection -> connection.deletedTimestamp != null);
+			assertTrue(now <= removed.deletedTimestamp);
+		}
+	}
+
 }
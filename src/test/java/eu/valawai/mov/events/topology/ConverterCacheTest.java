@@ -0,0 +1,139 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.MasterOfValawaiTestCase;
+import eu.valawai.mov.ValueGenerator;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionNotification;
+import eu.valawai.mov.persistence.live.topology.TopologyNode;
+import io.quarkus.test.junit.QuarkusTest;
+import io.vertx.core.json.JsonObject;
+import jakarta.inject.Inject;
+
+/**
+ * Test the {@link ConverterCache}.
+ *
+ * @see ConverterCache
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class ConverterCacheTest extends MasterOfValawaiTestCase {
+
+	/**
+	 * The cache to test.
+	 */
+	@Inject
+	ConverterCache cache;
+
+	/**
+	 * Create a connection to use in the conversions.
+	 *
+	 * @return the connection to use.
+	 */
+	private TopologyConnectionEntity nextConnection() {
+
+		final var connection = new TopologyConnectionEntity();
+		connection.id = ValueGenerator.nextObjectId();
+		connection.source = new TopologyNode();
+		connection.source.componentId = ValueGenerator.nextObjectId();
+		connection.source.channelName = "valawai/c0/source/data/out";
+		connection.target = new TopologyNode();
+		connection.target.componentId = ValueGenerator.nextObjectId();
+		connection.target.channelName = "valawai/c1/target/data/in";
+		connection.targetMessageConverterJSCode = """
+				function convertEncodedMessage(source){
+
+					const msg = JSON.parse(source);
+					msg.converted = true;
+					return JSON.stringify(msg);
+				}
+				export {convertEncodedMessage};
+				""" + "\n" + ValueGenerator.nextPattern("// code {0}");
+		return connection;
+	}
+
+	/**
+	 * Check that reuse a compiled message converter.
+	 */
+	@Test
+	public void shouldReuseMessageConverter() {
+
+		final var before = this.cache.metrics();
+		final var connection = this.nextConnection();
+		final var msg = new JsonObject().put("value", 1);
+
+		var converted = this.cache.convertMessage(connection, msg);
+		assertThat(converted.getBoolean("converted"), is(true));
+		converted = this.cache.convertMessage(connection, msg);
+		assertThat(converted.getBoolean("converted"), is(true));
+
+		final var after = this.cache.metrics();
+		assertThat(after.misses, is(before.misses + 1));
+		assertThat(after.hits, greaterThanOrEqualTo(before.hits + 1));
+		assertThat(after.hitRate, greaterThan(0.0));
+	}
+
+	/**
+	 * Check that reuse a compiled notification converter.
+	 */
+	@Test
+	public void shouldReuseNotificationConverter() {
+
+		final var before = this.cache.metrics();
+		final var connection = this.nextConnection();
+		final var notification = new TopologyConnectionNotification();
+		notification.node = new TopologyNode();
+		notification.node.componentId = ValueGenerator.nextObjectId();
+		notification.node.channelName = "valawai/c2/notified/control/in";
+		notification.enabled = true;
+		notification.notificationMessageConverterJSCode = """
+				function convertEncodedNotification(source){
+
+					const msg = JSON.parse(source);
+					msg.notified = true;
+					return JSON.stringify(msg);
+				}
+				export {convertEncodedNotification};
+				""" + "\n" + ValueGenerator.nextPattern("// code {0}");
+		final var msg = new JsonObject().put("value", 1);
+
+		var converted = this.cache.convertNotification(connection, notification, msg);
+		assertThat(converted.getBoolean("notified"), is(true));
+		converted = this.cache.convertNotification(connection, notification, msg);
+		assertThat(converted.getBoolean("notified"), is(true));
+
+		final var after = this.cache.metrics();
+		assertThat(after.misses, is(before.misses + 1));
+		assertThat(after.hits, greaterThanOrEqualTo(before.hits + 1));
+	}
+
+	/**
+	 * Check that evict the converters when the cache is cleared.
+	 */
+	@Test
+	public void shouldClearCache() {
+
+		final var connection = this.nextConnection();
+		this.cache.convertMessage(connection, new JsonObject());
+		this.cache.clear();
+		final var metrics = this.cache.metrics();
+		assertThat(metrics.size, is(0));
+		assertThat(metrics.evictions, greaterThanOrEqualTo(1l));
+	}
+
+}
@@ -30,6 +30,8 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.mongodb.client.model.Sorts;
+
 import eu.valawai.mov.MOVConfiguration;
 import eu.valawai.mov.MOVConfiguration.TopologyBehavior;
 import eu.valawai.mov.TimeManager;
@@ -40,6 +42,7 @@ import eu.valawai.mov.api.v1.components.PayloadSchema;
 import eu.valawai.mov.api.v1.components.PayloadSchemaTestCase;
 import eu.valawai.mov.api.v1.logs.LogLevel;
 import eu.valawai.mov.events.MovEventTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
 import eu.valawai.mov.persistence.design.component.ComponentDefinitionEntity;
 import eu.valawai.mov.persistence.design.topology.TopologyGraphEntities;
 import eu.valawai.mov.persistence.live.components.ComponentEntities;
@@ -51,6 +54,7 @@ import eu.valawai.mov.persistence.live.topology.TopologyNode;
 import eu.valawai.mov.services.LocalConfigService;
 import io.quarkus.panache.common.Sort;
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 import jakarta.inject.Inject;
@@ -77,6 +81,12 @@ public class CreateConnectionManagerTest extends MovEventTestCase {
 	@ConfigProperty(name = "mp.messaging.incoming.create_connection.queue.name", defaultValue = "valawai/topology/create")
 	String createConnectionQueueName;
 
+	/**
+	 * The queue name to send the create connections events.
+	 */
+	@ConfigProperty(name = "mp.messaging.incoming.create_connections.queue.name", defaultValue = "valawai/topology/create_all")
+	String createConnectionsQueueName;
+
 	/**
 	 * Set auto discover as default.
 	 */
@@ -422,6 +432,55 @@ public class CreateConnectionManagerTest extends MovEventTestCase {
 		return last;
 	}
 
+	/**
+	 * Check that create some connections at the same time.
+	 */
+	@Test
+	public void shouldCreateConnections() {
+
+		final var enabled = this.createValidCreateConnectionPayload();
+		enabled.enabled = true;
+		final var disabled = this.createValidCreateConnectionPayload();
+		disabled.enabled = false;
+		final var undefined = new CreateConnectionPayloadTest().nextModel();
+		final var payload = new CreateConnectionsPayload();
+		payload.connections = List.of(enabled, undefined, disabled);
+
+		final var now = TimeManager.now();
+		this.executeAndWaitUntilNewLogs(4, () -> this.assertPublish(this.createConnectionsQueueName, payload));
+
+		assertEquals(1l, this.assertItemNotNull(LogEntity.count("level = ?1 and payload = ?2 and timestamp >= ?3",
+				LogLevel.ERROR, Json.encodePrettily(undefined), now)));
+		for (final var created : List.of(enabled, disabled)) {
+
+			final var connection = this.waitUntilNotNull(() -> {
+
+				final Uni<TopologyConnectionEntity> find = TopologyConnectionEntity.find(
+						"source.componentId = ?1 and source.channelName = ?2 and target.componentId = ?3 and target.channelName = ?4 and createTimestamp >= ?5",
+						created.source.componentId, created.source.channelName, created.target.componentId,
+						created.target.channelName, now).firstResult();
+				return find;
+
+			}, found -> found.enabled == created.enabled);
+			assertNull(connection.deletedTimestamp);
+			this.waitUntil(() -> this.listener.isOpen(created.source.channelName), open -> open == created.enabled);
+		}
+	}
+
+	/**
+	 * Check that cannot create some connections with an invalid payload.
+	 */
+	@Test
+	public void shouldNotCreateConnectionsWithInvalidPayload() {
+
+		final var payload = new CreateConnectionsPayload();
+		final var now = TimeManager.now();
+		this.executeAndWaitUntilNewLog(() -> this.assertPublish(this.createConnectionsQueueName, payload));
+
+		assertEquals(1l, this.assertItemNotNull(LogEntity.count("level = ?1 and payload = ?2 and timestamp >= ?3",
+				LogLevel.ERROR, Json.encodePrettily(payload), now)));
+	}
+
 	/**
 	 * Check that create a connection and not enable it.
 	 */
@@ -1114,4 +1173,26 @@ public class CreateConnectionManagerTest extends MovEventTestCase {
 
 	}
 
+	/**
+	 * Check that the query of the components that can be notified uses an index.
+	 */
+	@Test
+	public void shouldNotificationComponentsFilterUseIndex() {
+
+		QueryPlans.assertIndexed(ComponentEntity.mongoCollection(),
+				CreateConnectionManager.notificationComponentsFilter(), Sorts.ascending("_id"));
+	}
+
+	/**
+	 * Check that the query of the components that subscribe to a channel uses an
+	 * index.
+	 */
+	@Test
+	public void shouldSubscribedComponentsFilterUseIndex() {
+
+		QueryPlans.assertIndexed(ComponentEntity.mongoCollection(),
+				CreateConnectionManager.subscribedComponentsFilter("valawai/c1/source/data/input"),
+				Sorts.ascending("_id"));
+	}
+
 }
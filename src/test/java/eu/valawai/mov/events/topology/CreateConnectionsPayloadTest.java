@@ -0,0 +1,50 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import static eu.valawai.mov.ValueGenerator.rnd;
+
+import java.util.ArrayList;
+
+import eu.valawai.mov.events.PayloadTestCase;
+
+/**
+ * Test the {@link CreateConnectionsPayload}.
+ *
+ * @see CreateConnectionsPayload
+ *
+ * @author VALAWAI
+ */
+public class CreateConnectionsPayloadTest extends PayloadTestCase<CreateConnectionsPayload> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CreateConnectionsPayload createEmptyModel() {
+
+		return new CreateConnectionsPayload();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIn(CreateConnectionsPayload payload) {
+
+		final var builder = new CreateConnectionPayloadTest();
+		final var max = rnd().nextInt(1, 11);
+		payload.connections = new ArrayList<>();
+		for (var i = 0; i < max; i++) {
+
+			payload.connections.add(builder.nextModel());
+		}
+	}
+
+}
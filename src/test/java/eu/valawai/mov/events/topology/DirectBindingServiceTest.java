@@ -0,0 +1,70 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.MasterOfValawaiTestCase;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntities;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Test the {@link DirectBindingService}.
+ *
+ * @see DirectBindingService
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class DirectBindingServiceTest extends MasterOfValawaiTestCase {
+
+	/**
+	 * The service to test.
+	 */
+	@Inject
+	DirectBindingService bindings;
+
+	/**
+	 * Check that the exchange name is the prefix plus the source channel.
+	 */
+	@Test
+	public void shouldExchangeNameStartWithPrefix() {
+
+		assertEquals("valawai/mov/source/valawai/c0/source/data/input",
+				this.bindings.exchangeName("valawai/c0/source/data/input"));
+	}
+
+	/**
+	 * Check that any connection is direct when the direct bindings are disabled.
+	 */
+	@Test
+	public void shouldNotBeDirectWhenDisabled() {
+
+		final var connection = TopologyConnectionEntities.nextTopologyConnection();
+		connection.targetMessageConverterJSCode = null;
+		connection.notifications = null;
+		assertFalse(this.bindings.isDirect(connection));
+	}
+
+	/**
+	 * Check that nothing is done when the direct bindings are disabled.
+	 */
+	@Test
+	public void shouldSynchronizeDoNothingWhenDisabled() {
+
+		this.bindings.synchronizeAll().await().atMost(Duration.ofSeconds(30));
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.events.topology;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.MasterOfValawaiTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntities;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Test the {@link TopologyRoutingTable}.
+ *
+ * @see TopologyRoutingTable
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class TopologyRoutingTableTest extends MasterOfValawaiTestCase {
+
+	/**
+	 * The table to test.
+	 */
+	@Inject
+	TopologyRoutingTable routes;
+
+	/**
+	 * Create a connection with the specified enable status.
+	 *
+	 * @param enabled status of the connection.
+	 *
+	 * @return the created connection.
+	 */
+	private TopologyConnectionEntity nextConnection(boolean enabled) {
+
+		final var connection = TopologyConnectionEntities.nextTopologyConnection();
+		if (connection.enabled != enabled) {
+
+			connection.enabled = enabled;
+			connection.update().await().atMost(Duration.ofSeconds(30));
+		}
+		return connection;
+	}
+
+	/**
+	 * Check that the reload contains the enabled connections.
+	 */
+	@Test
+	public void shouldReloadEnabledConnections() {
+
+		final var enabled = this.nextConnection(true);
+		final var disabled = this.nextConnection(false);
+		final var version = this.routes.version();
+		this.assertItemNull(this.routes.reload());
+
+		assertTrue(version < this.routes.version());
+		assertTrue(this.routes.routesFor(enabled.source.channelName).stream()
+				.anyMatch(route -> route.id.equals(enabled.id)));
+		assertFalse(this.routes.routesFor(disabled.source.channelName).stream()
+				.anyMatch(route -> route.id.equals(disabled.id)));
+		assertTrue(this.routes.hasRoutes(enabled.source.channelName));
+	}
+
+	/**
+	 * Check that refresh a connection that has been enabled and disabled.
+	 */
+	@Test
+	public void shouldRefreshEnabledAndDisabledConnection() {
+
+		final var connection = this.nextConnection(true);
+		this.assertItemNull(this.routes.refresh(connection.id));
+		assertTrue(this.routes.routes().byId().containsKey(connection.id));
+
+		connection.enabled = false;
+		connection.update().await().atMost(Duration.ofSeconds(30));
+		final var version = this.routes.version();
+		this.assertItemNull(this.routes.refresh(connection.id));
+		assertFalse(this.routes.routes().byId().containsKey(connection.id));
+		assertTrue(version < this.routes.version());
+	}
+
+	/**
+	 * Check that refresh some connections at the same time.
+	 */
+	@Test
+	public void shouldRefreshSomeConnections() {
+
+		final var enabled = this.nextConnection(true);
+		final var disabled = this.nextConnection(true);
+		this.assertItemNull(this.routes.refresh(List.of(enabled.id, disabled.id)));
+		assertTrue(this.routes.routes().byId().containsKey(enabled.id));
+		assertTrue(this.routes.routes().byId().containsKey(disabled.id));
+
+		disabled.enabled = false;
+		disabled.update().await().atMost(Duration.ofSeconds(30));
+		final var version = this.routes.version();
+		this.assertItemNull(this.routes.refresh(List.of(enabled.id, disabled.id)));
+		assertTrue(this.routes.routes().byId().containsKey(enabled.id));
+		assertFalse(this.routes.routes().byId().containsKey(disabled.id));
+		assertTrue(version < this.routes.version());
+	}
+
+	/**
+	 * Check that remove a connection.
+	 */
+	@Test
+	public void shouldRemoveConnection() {
+
+		final var connection = this.nextConnection(true);
+		this.assertItemNull(this.routes.refresh(connection.id));
+		this.routes.remove(connection.id);
+		assertFalse(this.routes.routes().byId().containsKey(connection.id));
+	}
+
+	/**
+	 * Check that remove the notifications of a component.
+	 */
+	@Test
+	public void shouldRemoveNotificationsOfComponent() {
+
+		var connection = TopologyConnectionEntities.nextTopologyConnection(2);
+		connection.enabled = true;
+		connection.update().await().atMost(Duration.ofSeconds(30));
+		this.assertItemNull(this.routes.refresh(connection.id));
+		final var componentId = connection.notifications.get(0).node.componentId;
+
+		this.routes.removeNotificationsOf(componentId);
+
+		final var route = this.routes.routes().byId().get(connection.id);
+		assertTrue(route.notifications.stream().noneMatch(n -> n.node.componentId.equals(componentId)));
+		assertTrue(connection.notifications.stream().anyMatch(n -> n.node.componentId.equals(componentId)));
+	}
+
+	/**
+	 * Check that the check detect the differences.
+	 */
+	@Test
+	public void shouldCheckDetectDifferences() {
+
+		this.assertItemNull(this.routes.reload());
+		var check = this.assertItemNotNull(this.routes.check());
+		assertTrue(check.consistent);
+
+		final var connection = this.nextConnection(true);
+		check = this.assertItemNotNull(this.routes.check());
+		assertFalse(check.consistent);
+		assertTrue(check.missing.contains(connection.id.toHexString()));
+
+		this.assertItemNull(this.routes.refresh(connection.id));
+		connection.notifications = new ArrayList<>();
+		connection.targetMessageConverterJSCode = "function convertEncodedMessage(msg){ return msg; }";
+		connection.update().await().atMost(Duration.ofSeconds(30));
+		check = this.assertItemNotNull(this.routes.check());
+		assertTrue(check.outdated.contains(connection.id.toHexString()));
+
+		connection.enabled = false;
+		connection.update().await().atMost(Duration.ofSeconds(30));
+		check = this.assertItemNotNull(this.routes.check());
+		assertTrue(check.unexpected.contains(connection.id.toHexString()));
+
+		this.assertItemNull(this.routes.refresh(connection.id));
+		check = this.assertItemNotNull(this.routes.check());
+		assertTrue(check.consistent);
+	}
+
+	/**
+	 * Check that an outdated read does not replace the state of a newer one.
+	 */
+	@Test
+	public void shouldIgnoreOutdatedRefresh() {
+
+		final var connection = this.nextConnection(true);
+		final var disabled = TopologyConnectionEntities.nextTopologyConnection();
+		disabled.id = connection.id;
+		disabled.source = connection.source;
+		disabled.enabled = false;
+
+		final var older = this.routes.startRead();
+		final var newer = this.routes.startRead();
+		this.routes.refresh(newer, List.of(connection.id), List.of(connection));
+		this.routes.refresh(older, List.of(connection.id), List.of(disabled));
+		this.routes.finishRead();
+		this.routes.finishRead();
+
+		assertTrue(this.routes.routesFor(connection.source.channelName).stream()
+				.anyMatch(route -> route.id.equals(connection.id)));
+
+		this.assertItemNull(this.routes.refresh(connection.id));
+		assertTrue(this.routes.routesFor(connection.source.channelName).stream()
+				.anyMatch(route -> route.id.equals(connection.id)));
+	}
+
+	/**
+	 * Check that a refresh read before removing the notifications of a component
+	 * does not add them again.
+	 */
+	@Test
+	public void shouldIgnoreRefreshReadBeforeRemoveNotifications() {
+
+		final var connection = TopologyConnectionEntities.nextTopologyConnection(2);
+		connection.enabled = true;
+		connection.update().await().atMost(Duration.ofSeconds(30));
+		this.assertItemNull(this.routes.refresh(connection.id));
+		final var componentId = connection.notifications.get(0).node.componentId;
+
+		final var read = this.routes.startRead();
+		this.routes.removeNotificationsOf(componentId);
+		this.routes.refresh(read, List.of(connection.id), List.of(connection));
+		this.routes.finishRead();
+
+		final var route = this.routes.routes().byId().get(connection.id);
+		assertTrue(route.notifications.stream().noneMatch(n -> n.node.componentId.equals(componentId)));
+	}
+
+	/**
+	 * Check that the query of the connections to route uses an index.
+	 */
+	@Test
+	public void shouldEnabledConnectionsFilterUseIndex() {
+
+		QueryPlans.assertIndexed(TopologyConnectionEntity.mongoCollection(),
+				TopologyRoutingTable.enabledConnectionsFilter(), null);
+	}
+
+}
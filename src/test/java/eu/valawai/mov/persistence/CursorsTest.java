@@ -0,0 +1,65 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import static eu.valawai.mov.ValueGenerator.nextObjectId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test the {@link Cursors}.
+ *
+ * @see Cursors
+ *
+ * @author VALAWAI
+ */
+public class CursorsTest {
+
+	/**
+	 * Check that decode the encoded values.
+	 */
+	@Test
+	public void shouldDecodeEncodedValues() {
+
+		final var values = new BsonArray(List.of(new BsonString("name"), BsonNull.VALUE, new BsonInt64(1234567890123l),
+				new BsonDocument("channelName", new BsonString("valawai/c0/name/data/value")),
+				new BsonObjectId(nextObjectId())));
+		final var cursor = Cursors.encode(values);
+		assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+		assertEquals(values, Cursors.decode(cursor));
+
+	}
+
+	/**
+	 * Check that not decode an invalid cursor.
+	 *
+	 * @param cursor that is not valid.
+	 */
+	@ParameterizedTest(name = "Should not decode the cursor {0}")
+	@ValueSource(strings = { "invalid cursor", "AAAA", "aW52YWxpZA", "0123456789abcdef01234567" })
+	public void shouldNotDecodeInvalidCursor(String cursor) {
+
+		assertThrows(IllegalArgumentException.class, () -> Cursors.decode(cursor));
+
+	}
+
+}
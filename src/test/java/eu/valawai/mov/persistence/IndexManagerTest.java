@@ -0,0 +1,55 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.persistence.IndexManager.IndexStatus;
+import eu.valawai.mov.persistence.live.topology.TopologyConnectionEntity;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Test the {@link IndexManager}.
+ *
+ * @see IndexManager
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class IndexManagerTest extends MovPersistenceTestCase {
+
+	/**
+	 * The manager to test.
+	 */
+	@Inject
+	IndexManager manager;
+
+	/**
+	 * Check that all the indexes are ready.
+	 */
+	@Test
+	public void shouldAllIndexesBeReady() {
+
+		final var status = this.manager.status();
+		final var expected = IndexManager.connectionIndexes().size() + IndexManager.componentIndexes().size()
+				+ IndexManager.logIndexes().size() + IndexManager.definitionIndexes().size()
+				+ IndexManager.topologyIndexes().size();
+		assertEquals(expected, status.size());
+		for (final var entry : status.entrySet()) {
+
+			assertEquals(IndexStatus.READY, entry.getValue(), entry.getKey());
+		}
+		assertEquals(IndexStatus.READY, status.get(TopologyConnectionEntity.COLLECTION_NAME + "."
+				+ IndexManager.CONNECTION_SOURCE_INDEX));
+	}
+
+}
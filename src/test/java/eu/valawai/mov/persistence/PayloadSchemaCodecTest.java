@@ -0,0 +1,132 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import static eu.valawai.mov.api.v1.components.PayloadSchemaTestCase.nextPayloadSchema;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInvalidOperationException;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.RawBsonDocumentCodec;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.valawai.mov.api.v1.components.PayloadSchema;
+
+/**
+ * Test the {@link PayloadSchemaCodec}.
+ *
+ * @see PayloadSchemaCodec
+ *
+ * @author VALAWAI
+ */
+public class PayloadSchemaCodecTest {
+
+	/**
+	 * The codec to test.
+	 */
+	private final PayloadSchemaCodec codec = new PayloadSchemaCodec();
+
+	/**
+	 * The codec that used jackson to encode the schemas.
+	 */
+	private final JacksonCodec<PayloadSchema> jackson = new JacksonCodec<>(new ObjectMapper(),
+			new RawBsonDocumentCodec(), PayloadSchema.class);
+
+	/**
+	 * Encode a schema.
+	 *
+	 * @param codec  to use.
+	 * @param schema to encode.
+	 *
+	 * @return the encoded schema.
+	 */
+	private static BsonDocument encode(Codec<PayloadSchema> codec, PayloadSchema schema) {
+
+		final var document = new BsonDocument();
+		codec.encode(new BsonDocumentWriter(document), schema, EncoderContext.builder().build());
+		return document;
+	}
+
+	/**
+	 * Decode a schema.
+	 *
+	 * @param codec    to use.
+	 * @param document to decode.
+	 *
+	 * @return the decoded schema.
+	 */
+	private static PayloadSchema decode(Codec<PayloadSchema> codec, BsonDocument document) {
+
+		return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+	}
+
+	/**
+	 * Check that the codec encode and decode the same schema.
+	 */
+	@Test
+	public void shouldEncodeAndDecode() {
+
+		for (var i = 0; i < 100; i++) {
+
+			final var expected = nextPayloadSchema(4);
+			final var document = encode(this.codec, expected);
+			final var decoded = decode(this.codec, document);
+			assertEquals(expected, decoded);
+			assertEquals(document, encode(this.codec, decoded));
+		}
+	}
+
+	/**
+	 * Check that the codec decode the schemas encoded with jackson.
+	 */
+	@Test
+	public void shouldDecodeEncodedByJackson() {
+
+		for (var i = 0; i < 100; i++) {
+
+			final var schema = nextPayloadSchema(4);
+			final var document = encode(this.jackson, schema);
+			assertEquals(decode(this.jackson, document), decode(this.codec, document));
+		}
+	}
+
+	/**
+	 * Check that jackson decode the schemas encoded with the codec.
+	 */
+	@Test
+	public void shouldJacksonDecodeEncodedByCodec() {
+
+		for (var i = 0; i < 100; i++) {
+
+			final var schema = nextPayloadSchema(4);
+			final var document = encode(this.codec, schema);
+			assertEquals(decode(this.codec, document), decode(this.jackson, document));
+		}
+	}
+
+	/**
+	 * Check that cannot decode a schema without type.
+	 */
+	@Test
+	public void shouldNotDecodeWithoutType() {
+
+		final var document = RawBsonDocument.parse("{\"format\":\"STRING\"}");
+		assertThrows(BsonInvalidOperationException.class, () -> decode(this.codec, document));
+	}
+
+}
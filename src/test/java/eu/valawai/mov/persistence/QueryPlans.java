@@ -0,0 +1,95 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import eu.valawai.mov.persistence.live.logs.LogEntity;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+
+/**
+ * Methods to check the plans that the database selects for the queries of the
+ * operators over tests.
+ *
+ * @see IndexManager
+ *
+ * @author VALAWAI
+ */
+public interface QueryPlans {
+
+	/**
+	 * Obtain the plan that the database selects for a command.
+	 *
+	 * @param command to explain.
+	 *
+	 * @return the JSON of the explained command.
+	 */
+	private static String explain(Document command) {
+
+		final var explain = new Document("explain", command).append("verbosity", "queryPlanner");
+		return LogEntity.mongoDatabase().runCommand(explain).await().atMost(Duration.ofSeconds(30)).toJson();
+	}
+
+	/**
+	 * Check that a plan uses an index.
+	 *
+	 * @param plan to check.
+	 */
+	private static void assertIndexScan(String plan) {
+
+		assertTrue(plan.contains("IXSCAN"), plan);
+		assertFalse(plan.contains("COLLSCAN"), plan);
+	}
+
+	/**
+	 * Check that a query uses an index.
+	 *
+	 * @param collection to query.
+	 * @param filter     of the query.
+	 * @param sort       of the query, or {@code null} if it is not sorted.
+	 */
+	public static void assertIndexed(ReactiveMongoCollection<?> collection, Bson filter, Bson sort) {
+
+		final var find = new Document("find", collection.getNamespace().getCollectionName()).append("filter",
+				filter.toBsonDocument());
+		if (sort != null) {
+
+			find.append("sort", sort.toBsonDocument());
+		}
+		assertIndexScan(explain(find));
+	}
+
+	/**
+	 * Check that the pipeline that an operator uses to obtain a page uses an
+	 * index.
+	 *
+	 * @param page operator to obtain the page.
+	 */
+	public static void assertIndexed(AbstractGetMinPage<?, ?> page) {
+
+		final var collection = page.collection();
+		final var pipeline = new ArrayList<BsonDocument>();
+		for (final var stage : page.createPipeline(null, null)) {
+
+			pipeline.add(stage.toBsonDocument());
+		}
+		final var aggregate = new Document("aggregate", collection.getNamespace().getCollectionName())
+				.append("pipeline", pipeline).append("cursor", new Document());
+		assertIndexScan(explain(aggregate));
+	}
+
+}
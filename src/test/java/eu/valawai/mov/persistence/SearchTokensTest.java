@@ -0,0 +1,93 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonRegularExpression;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the {@link SearchTokens}.
+ *
+ * @see SearchTokens
+ *
+ * @author VALAWAI
+ */
+public class SearchTokensTest {
+
+	/**
+	 * Should not obtain tokens from texts without words.
+	 */
+	@Test
+	public void shouldNotObtainTokensWithoutWords() {
+
+		assertNull(SearchTokens.of());
+		assertNull(SearchTokens.of((String) null));
+		assertNull(SearchTokens.of(" ,;- ", null, "{}"));
+
+	}
+
+	/**
+	 * Should obtain the different words in lower case and without accents.
+	 */
+	@Test
+	public void shouldObtainDifferentNormalizedWords() {
+
+		assertEquals(List.of("received", "the", "message", "c1", "n01", "senal"),
+				SearchTokens.of("Received the message {'C1': 'N01'}", "the SEÑAL"));
+
+	}
+
+	/**
+	 * Should limit the length of the tokens.
+	 */
+	@Test
+	public void shouldLimitTokenLength() {
+
+		assertEquals(List.of("a".repeat(SearchTokens.MAX_TOKEN_LENGTH)), SearchTokens.of("a".repeat(100)));
+
+	}
+
+	/**
+	 * Should limit the number of tokens.
+	 */
+	@Test
+	public void shouldLimitNumberOfTokens() {
+
+		final var text = new StringBuilder();
+		for (var i = 0; i < 2 * SearchTokens.MAX_TOKENS; i++) {
+
+			text.append(i).append(' ');
+		}
+		assertEquals(SearchTokens.MAX_TOKENS, SearchTokens.of(text.toString()).size());
+
+	}
+
+	/**
+	 * Should create a prefix filter for each word of the search.
+	 */
+	@Test
+	public void shouldCreatePrefixFilterForEachWord() {
+
+		assertNull(Queries.filterBySearch("  "));
+		final var mess = new BsonDocument("tokens", new BsonRegularExpression("^mess"));
+		assertEquals(mess, Queries.filterBySearch("Mess").toBsonDocument());
+		final var number = new BsonDocument("tokens", new BsonRegularExpression("^12"));
+		assertEquals(new BsonDocument("$and", new BsonArray(List.of(mess, number))),
+				Queries.filterBySearch("Mess. 12").toBsonDocument());
+
+	}
+
+}
@@ -27,6 +27,7 @@ import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v1.components.PayloadSchema;
 import eu.valawai.mov.api.v1.components.PayloadSchemaTestCase;
 import eu.valawai.mov.api.v2.design.components.VersionInfoTest;
+import eu.valawai.mov.persistence.SearchTokens;
 import eu.valawai.mov.services.GitHubRepositoryTest;
 import io.quarkus.logging.Log;
 import io.quarkus.panache.common.Sort;
@@ -84,6 +85,7 @@ public interface ComponentDefinitionEntities {
 		entity.type = type;
 		entity.name = nextPattern("Component {0}");
 		entity.description = "Description of '" + entity.name + "'.";
+		entity.tokens = SearchTokens.of(entity.name, entity.description);
 		final var normalizedName = entity.name.toLowerCase().replaceAll("\\W", "_");
 		entity.docsLink = "https://valawai.github.io/docs/components/" + entity.type.name() + "/" + normalizedName;
 		entity.repository = new GitHubRepositoryTest().nextModel();
@@ -25,6 +25,8 @@ import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v2.design.components.ComponentDefinitionPage;
 import eu.valawai.mov.api.v2.design.components.ComponentDefinitionTest;
 import eu.valawai.mov.persistence.MovPersistenceTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
+import eu.valawai.mov.persistence.SearchTokens;
 import io.quarkus.test.junit.QuarkusTest;
 
 /**
@@ -244,4 +246,44 @@ public class GetComponentDefinitionPageTest extends MovPersistenceTestCase {
 
 	}
 
+	/**
+	 * Test get a page with the components that contains some words.
+	 */
+	@Test
+	public void shouldReturnPageWithSearch() {
+
+		final var search = "descr compo " + ValueGenerator.rnd().nextInt(0, 10);
+		final var words = SearchTokens.of(search);
+		final List<ComponentDefinitionEntity> components = this.assertItemNotNull(ComponentDefinitionEntity
+				.mongoCollection().find(Filters.empty(), ComponentDefinitionEntity.class).collect().asList());
+		components.sort((c1, c2) -> c1.id.compareTo(c2.id));
+		final var expected = new ComponentDefinitionPage();
+		expected.components = new ArrayList<>();
+		for (final var component : components) {
+
+			final var tokens = SearchTokens.of(component.name, component.description);
+			if (tokens != null
+					&& words.stream().allMatch(word -> tokens.stream().anyMatch(token -> token.startsWith(word)))) {
+
+				expected.total++;
+				expected.components.add(ComponentDefinitionTest.from(component));
+			}
+		}
+
+		final var page = this.assertExecutionNotNull(
+				GetComponentDefinitionPage.fresh().withSearch(search).withOffset(0).withLimit(Integer.MAX_VALUE));
+		assertEquals(expected, page);
+
+	}
+
+	/**
+	 * Check that the pages of component definitions use an index.
+	 */
+	@Test
+	public void shouldPagesUseIndex() {
+
+		QueryPlans.assertIndexed(GetComponentDefinitionPage.fresh().withOrder("name").withType(ComponentType.C2));
+		QueryPlans.assertIndexed(GetComponentDefinitionPage.fresh().withSearch("component definition"));
+	}
+
 }
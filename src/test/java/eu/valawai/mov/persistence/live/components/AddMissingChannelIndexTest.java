@@ -0,0 +1,135 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.components;
+
+import static eu.valawai.mov.ValueGenerator.nextPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+
+import eu.valawai.mov.api.v1.components.ChannelSchema;
+import eu.valawai.mov.api.v1.components.ComponentType;
+import eu.valawai.mov.api.v1.components.PayloadSchemaTestCase;
+import eu.valawai.mov.persistence.MovPersistenceTestCase;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Test the {@link AddMissingChannelIndex}.
+ *
+ * @see AddMissingChannelIndex
+ * @see ComponentEntity#indexChannels()
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class AddMissingChannelIndexTest extends MovPersistenceTestCase {
+
+	/**
+	 * Create a channel.
+	 *
+	 * @param name      of the channel.
+	 * @param publish   is {@code true} if the channel publish messages.
+	 * @param subscribe is {@code true} if the channel subscribe to messages.
+	 *
+	 * @return the new channel.
+	 */
+	private static ChannelSchema channel(String name, boolean publish, boolean subscribe) {
+
+		final var channel = new ChannelSchema();
+		channel.name = name;
+		if (publish) {
+
+			channel.publish = PayloadSchemaTestCase.nextPayloadSchema(2);
+		}
+		if (subscribe) {
+
+			channel.subscribe = PayloadSchemaTestCase.nextPayloadSchema(2);
+		}
+		return channel;
+	}
+
+	/**
+	 * Check that index the channels of a C2 component by its role.
+	 */
+	@Test
+	public void shouldIndexChannelsByRole() {
+
+		final var component = new ComponentEntity();
+		component.type = ComponentType.C2;
+		final var name = nextPattern("component_{0}");
+		final var publish = "valawai/c2/" + name + "/data/publish";
+		final var subscribe = "valawai/c2/" + name + "/data/subscribe";
+		final var notification = "valawai/c2/" + name + "/control/notification";
+		component.channels = new ArrayList<>();
+		component.channels.add(channel(publish, true, false));
+		component.channels.add(channel(subscribe, false, true));
+		component.channels.add(channel(notification, false, true));
+		component.indexChannels();
+
+		assertEquals(List.of(publish), component.publishChannels);
+		assertEquals(List.of(subscribe, notification), component.subscribeChannels);
+		assertEquals(List.of(notification), component.notificationChannels);
+
+		component.type = ComponentType.C1;
+		component.indexChannels();
+		assertNull(component.notificationChannels);
+
+		component.channels = null;
+		component.indexChannels();
+		assertTrue(component.publishChannels.isEmpty());
+		assertTrue(component.subscribeChannels.isEmpty());
+	}
+
+	/**
+	 * Check that the index is updated when the component is stored.
+	 */
+	@Test
+	public void shouldIndexChannelsWhenStoreComponent() {
+
+		final var component = ComponentEntities.nextComponent();
+		component.channels = new ArrayList<>();
+		component.channels.add(channel(component.name + "/data/input", false, true));
+		this.assertItemNotNull(component.update());
+
+		final ComponentEntity stored = this.assertItemNotNull(ComponentEntity.findById(component.id));
+		assertEquals(List.of(component.name + "/data/input"), stored.subscribeChannels);
+		assertTrue(stored.publishChannels.isEmpty());
+	}
+
+	/**
+	 * Check that add the index to the components stored without it.
+	 */
+	@Test
+	public void shouldAddMissingChannelIndex() {
+
+		final var component = ComponentEntities.nextComponent();
+		ComponentEntity.mongoCollection()
+				.updateOne(Filters.eq("_id", component.id),
+						Updates.combine(Updates.unset("publishChannels"), Updates.unset("subscribeChannels")))
+				.await().atMost(Duration.ofSeconds(30));
+
+		final var updated = this.assertItemNotNull(AddMissingChannelIndex.fresh().withBatchSize(2).execute());
+		assertTrue(updated > 0);
+
+		final ComponentEntity stored = this.assertItemNotNull(ComponentEntity.findById(component.id));
+		assertEquals(component.publishChannels, stored.publishChannels);
+		assertEquals(component.subscribeChannels, stored.subscribeChannels);
+		assertEquals(component.notificationChannels, stored.notificationChannels);
+	}
+
+}
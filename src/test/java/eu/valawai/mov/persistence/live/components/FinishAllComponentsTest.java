@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 
 import eu.valawai.mov.TimeManager;
 import eu.valawai.mov.persistence.MovPersistenceTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
 import io.quarkus.test.junit.QuarkusTest;
 
 /**
@@ -50,4 +51,13 @@ public class FinishAllComponentsTest extends MovPersistenceTestCase {
 
 	}
 
+	/**
+	 * Check that the query of the components to finish uses an index.
+	 */
+	@Test
+	public void shouldFilterUseIndex() {
+
+		QueryPlans.assertIndexed(ComponentEntity.mongoCollection(), FinishAllComponents.filter(), null);
+	}
+
 }
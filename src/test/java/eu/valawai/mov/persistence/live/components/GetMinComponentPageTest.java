@@ -26,6 +26,7 @@ import eu.valawai.mov.ValueGenerator;
 import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v1.components.MinComponentPage;
 import eu.valawai.mov.api.v1.components.MinComponentTest;
+import eu.valawai.mov.persistence.QueryPlans;
 import io.quarkus.test.junit.QuarkusTest;
 
 /**
@@ -444,4 +445,14 @@ public class GetMinComponentPageTest extends MasterOfValawaiTestCase {
 
 	}
 
+	/**
+	 * Check that the pages of components use an index.
+	 */
+	@Test
+	public void shouldPagesUseIndex() {
+
+		QueryPlans.assertIndexed(GetMinComponentPage.fresh().withOrder("name"));
+		QueryPlans.assertIndexed(GetMinComponentPage.fresh().withType(ComponentType.C1.name()));
+	}
+
 }
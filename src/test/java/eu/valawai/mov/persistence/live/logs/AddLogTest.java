@@ -24,8 +24,10 @@ import org.junit.jupiter.params.provider.EnumSource;
 import eu.valawai.mov.MasterOfValawaiTestCase;
 import eu.valawai.mov.TimeManager;
 import eu.valawai.mov.ValueGenerator;
+import eu.valawai.mov.api.v1.components.MinComponentTest;
 import eu.valawai.mov.api.v1.logs.LogLevel;
 import eu.valawai.mov.api.v1.logs.LogRecordTest;
+import eu.valawai.mov.persistence.live.components.ComponentEntities;
 import io.quarkus.panache.common.Sort;
 import io.quarkus.test.junit.QuarkusTest;
 import io.smallrye.mutiny.Uni;
@@ -74,7 +76,15 @@ public class AddLogTest extends MasterOfValawaiTestCase {
 		final LogEntity stored = this.assertItemNotNull(
 				LogEntity.find("level = ?1 and message = ?2", Sort.descending("_id"), log.level.name(), log.message)
 						.firstResult());
-		assertEquals(log.payload, stored.payload);
+		if (log.payload == null) {
+
+			assertNull(stored.payload);
+
+		} else {
+
+			assertTrue(stored.payload.isDocument());
+			assertEquals(new JsonObject(log.payload), new JsonObject(LogPayloadPolicy.decode(stored.payload)));
+		}
 		assertEquals(log.timestamp, stored.timestamp);
 
 	}
@@ -119,7 +129,8 @@ public class AddLogTest extends MasterOfValawaiTestCase {
 		assertEquals(LogLevel.ERROR, last.level);
 		assertEquals(message, last.message);
 		final var json = new JsonObject(payload);
-		assertEquals(json.encodePrettily(), last.payload);
+		assertTrue(last.payload.isDocument());
+		assertEquals(json, new JsonObject(LogPayloadPolicy.decode(last.payload)));
 
 	}
 
@@ -161,7 +172,8 @@ public class AddLogTest extends MasterOfValawaiTestCase {
 		final var last = this.assertItemNotNull(find);
 		assertEquals(LogLevel.WARN, last.level);
 		assertEquals(message, last.message);
-		assertEquals(json.encodePrettily(), last.payload);
+		assertTrue(last.payload.isDocument());
+		assertEquals(json, new JsonObject(LogPayloadPolicy.decode(last.payload)));
 
 	}
 
@@ -203,7 +215,8 @@ public class AddLogTest extends MasterOfValawaiTestCase {
 		assertEquals(LogLevel.INFO, last.level);
 		assertEquals(message, last.message);
 		final var json = new JsonObject(payload);
-		assertEquals(json.encodePrettily(), last.payload);
+		assertTrue(last.payload.isDocument());
+		assertEquals(json, new JsonObject(LogPayloadPolicy.decode(last.payload)));
 
 	}
 
@@ -225,7 +238,8 @@ public class AddLogTest extends MasterOfValawaiTestCase {
 		final var last = this.assertItemNotNull(find);
 		assertEquals(LogLevel.DEBUG, last.level);
 		assertEquals(message, last.message);
-		assertEquals(json.encodePrettily(), last.payload);
+		assertTrue(last.payload.isDocument());
+		assertEquals(json, new JsonObject(LogPayloadPolicy.decode(last.payload)));
 
 	}
 
@@ -251,4 +265,40 @@ public class AddLogTest extends MasterOfValawaiTestCase {
 
 	}
 
+	/**
+	 * Should store the summary of the component of the log.
+	 */
+	@Test
+	public void shouldStoreComponentSummary() {
+
+		final var component = ComponentEntities.nextComponent();
+		final var message = ValueGenerator.nextPattern("Message of the component {0}");
+		final var result = this.assertExecutionNotNull(
+				AddLog.fresh().withInfo().withMessage(message).withComponent(component.id));
+		assertTrue(result);
+
+		final LogEntity stored = this.assertItemNotNull(LogEntity.find("message", message).firstResult());
+		assertEquals(component.id, stored.componentId);
+		assertEquals(MinComponentTest.from(component), stored.component);
+
+	}
+
+	/**
+	 * Should store the log of an undefined component without summary.
+	 */
+	@Test
+	public void shouldStoreUndefinedComponentWithoutSummary() {
+
+		final var componentId = ComponentEntities.undefined();
+		final var message = ValueGenerator.nextPattern("Message of the undefined component {0}");
+		final var result = this.assertExecutionNotNull(
+				AddLog.fresh().withInfo().withMessage(message).withComponent(componentId));
+		assertTrue(result);
+
+		final LogEntity stored = this.assertItemNotNull(LogEntity.find("message", message).firstResult());
+		assertEquals(componentId, stored.componentId);
+		assertNull(stored.component);
+
+	}
+
 }
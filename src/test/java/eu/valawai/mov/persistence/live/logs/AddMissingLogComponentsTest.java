@@ -0,0 +1,64 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.MasterOfValawaiTestCase;
+import eu.valawai.mov.ValueGenerator;
+import eu.valawai.mov.api.v1.components.MinComponentTest;
+import eu.valawai.mov.api.v1.logs.LogLevel;
+import eu.valawai.mov.persistence.live.components.ComponentEntities;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Test the {@link AddMissingLogComponents}.
+ *
+ * @see AddMissingLogComponents
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class AddMissingLogComponentsTest extends MasterOfValawaiTestCase {
+
+	/**
+	 * Should add the summary of the component to the logs without it.
+	 */
+	@Test
+	public void shouldAddMissingComponents() {
+
+		final var component = ComponentEntities.nextComponent();
+		final var log = new LogEntity();
+		log.level = LogLevel.INFO;
+		log.message = ValueGenerator.nextPattern("Log without component summary {0}");
+		log.componentId = component.id;
+		this.assertItemNotNull(log.persist());
+
+		final var undefined = new LogEntity();
+		undefined.level = LogLevel.INFO;
+		undefined.message = ValueGenerator.nextPattern("Log of an undefined component {0}");
+		undefined.componentId = ComponentEntities.undefined();
+		this.assertItemNotNull(undefined.persist());
+
+		final var updated = this.assertExecutionNotNull(AddMissingLogComponents.fresh());
+		assertTrue(updated > 0);
+
+		final LogEntity stored = this.assertItemNotNull(LogEntity.findById(log.id));
+		assertEquals(MinComponentTest.from(component), stored.component);
+
+		final LogEntity storedUndefined = this.assertItemNotNull(LogEntity.findById(undefined.id));
+		assertNull(storedUndefined.component);
+
+	}
+
+}
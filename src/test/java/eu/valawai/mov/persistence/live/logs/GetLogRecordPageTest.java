@@ -11,7 +11,9 @@ package eu.valawai.mov.persistence.live.logs;
 import static eu.valawai.mov.ValueGenerator.next;
 import static eu.valawai.mov.ValueGenerator.rnd;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
@@ -29,7 +31,11 @@ import eu.valawai.mov.ValueGenerator;
 import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.api.v1.logs.LogLevel;
 import eu.valawai.mov.api.v1.logs.LogRecordPage;
+import eu.valawai.mov.api.v1.logs.LogRecord;
 import eu.valawai.mov.api.v1.logs.LogRecordTest;
+import eu.valawai.mov.persistence.PageTotal;
+import eu.valawai.mov.persistence.QueryPlans;
+import eu.valawai.mov.persistence.SearchTokens;
 import eu.valawai.mov.persistence.live.components.ComponentEntities;
 import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import io.quarkus.test.junit.QuarkusTest;
@@ -472,4 +478,174 @@ public class GetLogRecordPageTest extends MasterOfValawaiTestCase {
 
 	}
 
+	/**
+	 * Test walk over the logs following the cursor of the pages.
+	 */
+	@Test
+	public void shouldWalkPagesWithCursor() {
+
+		final var order = "-level,timestamp";
+		final var limit = ValueGenerator.rnd().nextInt(5, 11);
+		final var all = this.assertExecutionNotNull(
+				GetLogRecordPage.fresh().withOrder(order).withOffset(0).withLimit(Integer.MAX_VALUE));
+
+		final List<LogRecord> walked = new ArrayList<>();
+		var page = this.assertExecutionNotNull(
+				GetLogRecordPage.fresh().withOrder(order).withLimit(limit).withAfter("").withTotal(PageTotal.NONE));
+		while (true) {
+
+			assertEquals(0, page.offset);
+			assertEquals(0l, page.total);
+			if (page.logs != null) {
+
+				walked.addAll(page.logs);
+			}
+			if (page.next == null) {
+
+				break;
+			}
+			page = this.assertExecutionNotNull(GetLogRecordPage.fresh().withOrder(order).withLimit(limit)
+					.withAfter(page.next).withTotal(PageTotal.NONE));
+		}
+		assertEquals(all.logs, walked);
+
+	}
+
+	/**
+	 * Test get the first page of a cursor with the total.
+	 */
+	@Test
+	public void shouldReturnFirstCursorPageWithTotal() {
+
+		final var total = this.assertItemNotNull(LogEntity.count());
+		final var page = this.assertExecutionNotNull(GetLogRecordPage.fresh().withLimit(1).withAfter(""));
+		assertEquals(total, page.total);
+		assertEquals(1, page.logs.size());
+		assertNotNull(page.next);
+
+	}
+
+	/**
+	 * Test get the estimated total of the logs.
+	 */
+	@Test
+	public void shouldReturnEstimatedTotal() {
+
+		final var total = this.assertItemNotNull(LogEntity.count());
+		final var page = this
+				.assertExecutionNotNull(GetLogRecordPage.fresh().withLimit(1).withTotal(PageTotal.ESTIMATED));
+		assertEquals(total, page.total);
+		assertNull(page.next);
+
+	}
+
+	/**
+	 * Test not get a page after an invalid cursor.
+	 */
+	@Test
+	public void shouldNotReturnPageAfterInvalidCursor() {
+
+		final var error = this.assertFailure(
+				GetLogRecordPage.fresh().withAfter("invalid cursor").withTotal(PageTotal.NONE).execute());
+		assertInstanceOf(IllegalArgumentException.class, error);
+
+	}
+
+	/**
+	 * Test not get a page after a cursor obtained with another order.
+	 */
+	@Test
+	public void shouldNotReturnPageAfterCursorOfOtherOrder() {
+
+		final var page = this.assertExecutionNotNull(GetLogRecordPage.fresh().withOrder("level,timestamp").withLimit(1)
+				.withAfter("").withTotal(PageTotal.NONE));
+		assertNotNull(page.next);
+
+		final var error = this.assertFailure(
+				GetLogRecordPage.fresh().withOrder("level").withAfter(page.next).withTotal(PageTotal.NONE).execute());
+		assertInstanceOf(IllegalArgumentException.class, error);
+
+	}
+
+	/**
+	 * Test get the page after a log that has been removed.
+	 */
+	@Test
+	public void shouldReturnPageAfterRemovedLog() {
+
+		final var log = new LogEntity();
+		log.level = LogLevel.INFO;
+		log.message = "Log to remove";
+		log.timestamp = -1;
+		this.assertItemNotNull(log.persist());
+
+		final var first = this.assertExecutionNotNull(GetLogRecordPage.fresh().withOrder("timestamp").withLimit(1)
+				.withAfter("").withTotal(PageTotal.NONE));
+		assertEquals(log.message, first.logs.get(0).message);
+		assertNotNull(first.next);
+		this.assertItemNotNull(log.delete().replaceWith(true));
+
+		final var expected = this.assertExecutionNotNull(
+				GetLogRecordPage.fresh().withOrder("timestamp").withOffset(0).withLimit(1).withTotal(PageTotal.NONE));
+		final var page = this.assertExecutionNotNull(GetLogRecordPage.fresh().withOrder("timestamp").withLimit(1)
+				.withAfter(first.next).withTotal(PageTotal.NONE));
+		assertEquals(expected.logs, page.logs);
+
+	}
+
+	/**
+	 * Test get a page with the logs that contains some words.
+	 */
+	@Test
+	public void shouldReturnPageWithSearch() {
+
+		final var search = "MESS log " + rnd().nextInt(0, 10);
+		final var words = SearchTokens.of(search);
+		final List<LogEntity> logs = this.assertItemNotNull(
+				LogEntity.mongoCollection().find(Filters.empty(), LogEntity.class).collect().asList());
+		logs.sort((l1, l2) -> l1.id.compareTo(l2.id));
+		final var expected = new LogRecordPage();
+		expected.logs = new ArrayList<>();
+		for (final var log : logs) {
+
+			if (log.tokens != null
+					&& words.stream().allMatch(word -> log.tokens.stream().anyMatch(token -> token.startsWith(word)))) {
+
+				expected.total++;
+				expected.logs.add(LogRecordTest.from(log));
+			}
+		}
+
+		final var page = this.assertExecutionNotNull(
+				GetLogRecordPage.fresh().withSearch(search).withOffset(0).withLimit(Integer.MAX_VALUE));
+		assertEquals(expected, page);
+
+	}
+
+	/**
+	 * Test get all the logs when the search does not contain any word.
+	 */
+	@Test
+	public void shouldReturnAllLogsWhenSearchWithoutWords() {
+
+		final var total = this.assertItemNotNull(LogEntity.count());
+		final var page = this.assertExecutionNotNull(GetLogRecordPage.fresh().withSearch(" -,; ").withLimit(1));
+		assertEquals(total, page.total);
+
+	}
+
+	/**
+	 * Check that the pages of logs use an index.
+	 */
+	@Test
+	public void shouldPagesUseIndex() {
+
+		QueryPlans.assertIndexed(
+				GetLogRecordPage.fresh().withOrder("-timestamp").withAfter("").withTotal(PageTotal.NONE));
+		QueryPlans.assertIndexed(GetLogRecordPage.fresh().withOrder("-timestamp").withLevel(LogLevel.ERROR.name()));
+		QueryPlans.assertIndexed(
+				GetLogRecordPage.fresh().withOrder("-timestamp").withComponnetType(ComponentType.C1.name()));
+		QueryPlans.assertIndexed(GetLogRecordPage.fresh().withOrder("-timestamp").withSearch("message of log"));
+	}
+
 }
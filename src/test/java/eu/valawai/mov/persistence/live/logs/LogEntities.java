@@ -16,7 +16,9 @@ import java.util.List;
 
 import org.bson.conversions.Bson;
 
+import eu.valawai.mov.api.v1.components.MinComponentTest;
 import eu.valawai.mov.api.v1.logs.LogRecordTest;
+import eu.valawai.mov.persistence.SearchTokens;
 import eu.valawai.mov.persistence.live.components.ComponentEntities;
 import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import io.quarkus.logging.Log;
@@ -77,12 +79,15 @@ public interface LogEntities {
 			final LogEntity entity = new LogEntity();
 			entity.level = next.level;
 			entity.message = next.message;
-			entity.payload = next.payload;
+			LogPayloadPolicy.current().encode(next.payload, entity);
+			entity.tokens = SearchTokens.of(entity.message);
 			entity.timestamp = next.timestamp;
 			final var index = i % (maxComponents + 1);
 			if (index < maxComponents) {
 
-				entity.componentId = components.get(index).id;
+				final var component = components.get(index);
+				entity.componentId = component.id;
+				entity.component = MinComponentTest.from(component);
 			}
 			final var stored = entity.persist().onFailure().recoverWithItem(error -> {
 
@@ -0,0 +1,160 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import static eu.valawai.mov.ValueGenerator.nextJsonObject;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Test the {@link LogPayloadPolicy}.
+ *
+ * @see LogPayloadPolicy
+ *
+ * @author VALAWAI
+ */
+public class LogPayloadPolicyTest {
+
+	/**
+	 * Should not store an undefined payload.
+	 */
+	@Test
+	public void shouldNotStoreNullPayload() {
+
+		final var log = new LogEntity();
+		new LogPayloadPolicy(0, 0).encode(null, log);
+		assertNull(log.payload);
+		assertNull(log.payloadTruncated);
+		assertNull(LogPayloadPolicy.decode(log.payload));
+
+	}
+
+	/**
+	 * Should store an object as a document.
+	 */
+	@Test
+	public void shouldStoreObjectAsDocument() {
+
+		final var json = nextJsonObject();
+		final var log = new LogEntity();
+		new LogPayloadPolicy(0, 0).encode(json, log);
+		assertTrue(log.payload.isDocument());
+		assertNull(log.payloadTruncated);
+		assertEquals(json, new JsonObject(LogPayloadPolicy.decode(log.payload)));
+
+	}
+
+	/**
+	 * Should store an encoded object as a document.
+	 */
+	@Test
+	public void shouldStoreEncodedObjectAsDocument() {
+
+		final var json = nextJsonObject();
+		final var log = new LogEntity();
+		new LogPayloadPolicy(0, 0).encode(json.encodePrettily(), log);
+		assertTrue(log.payload.isDocument());
+		assertEquals(json, new JsonObject(LogPayloadPolicy.decode(log.payload)));
+
+	}
+
+	/**
+	 * Should store a map as a document.
+	 */
+	@Test
+	public void shouldStoreMapAsDocument() {
+
+		final var log = new LogEntity();
+		new LogPayloadPolicy(0, 0).encode(Map.of("number", 1, "flag", true, "values", List.of("a", "b")), log);
+		assertTrue(log.payload.isDocument());
+		assertEquals(new JsonObject().put("number", 1).put("flag", true).put("values", List.of("a", "b")),
+				new JsonObject(LogPayloadPolicy.decode(log.payload)));
+
+	}
+
+	/**
+	 * Should store an array as compact JSON.
+	 */
+	@Test
+	public void shouldStoreArrayAsCompactJson() {
+
+		final var log = new LogEntity();
+		new LogPayloadPolicy(0, 0).encode("[ 1, 2,\n 3 ]", log);
+		assertEquals(new BsonString("[1,2,3]"), log.payload);
+		assertEquals("[1,2,3]", LogPayloadPolicy.decode(log.payload));
+
+	}
+
+	/**
+	 * Should store a text that is not a JSON.
+	 */
+	@Test
+	public void shouldStoreText() {
+
+		final var log = new LogEntity();
+		new LogPayloadPolicy(0, 0).encode("Not a JSON {", log);
+		assertEquals("Not a JSON {", LogPayloadPolicy.decode(log.payload));
+
+	}
+
+	/**
+	 * Should truncate a large payload.
+	 */
+	@Test
+	public void shouldTruncateLargePayload() {
+
+		final var json = new JsonObject().put("value", "x".repeat(100));
+		final var log = new LogEntity();
+		new LogPayloadPolicy(20, 0).encode(json, log);
+		assertTrue(log.payload.isString());
+		assertTrue(log.payloadTruncated);
+		assertEquals(json.encode().substring(0, 20), LogPayloadPolicy.decode(log.payload));
+
+	}
+
+	/**
+	 * Should compress a large payload.
+	 */
+	@Test
+	public void shouldCompressLargePayload() {
+
+		final var json = new JsonObject().put("value", "x".repeat(1000));
+		final var log = new LogEntity();
+		new LogPayloadPolicy(0, 100).encode(json, log);
+		assertTrue(log.payload.isBinary());
+		assertEquals(LogPayloadPolicy.COMPRESSED_SUBTYPE, log.payload.asBinary().getType());
+		assertTrue(log.payload.asBinary().getData().length < 100);
+		assertNull(log.payloadTruncated);
+		assertEquals(json, new JsonObject(LogPayloadPolicy.decode(log.payload)));
+
+	}
+
+	/**
+	 * Should not compress a small payload.
+	 */
+	@Test
+	public void shouldNotCompressSmallPayload() {
+
+		final var json = new JsonObject().put("value", "x");
+		final var log = new LogEntity();
+		new LogPayloadPolicy(0, 100).encode(json, log);
+		assertTrue(log.payload.isDocument());
+
+	}
+
+}
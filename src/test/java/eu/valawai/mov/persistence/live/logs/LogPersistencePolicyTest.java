@@ -0,0 +1,130 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import eu.valawai.mov.api.v1.logs.LogLevel;
+
+/**
+ * Test the {@link LogPersistencePolicy}.
+ *
+ * @see LogPersistencePolicy
+ *
+ * @author VALAWAI
+ */
+public class LogPersistencePolicyTest {
+
+	/**
+	 * Should accept any level when the persist level is debug.
+	 *
+	 * @param level to check.
+	 */
+	@ParameterizedTest(name = "Should accept the level {0}")
+	@EnumSource(LogLevel.class)
+	public void shouldAcceptAnyLevelWhenPersistDebug(LogLevel level) {
+
+		final var policy = new LogPersistencePolicy(LogLevel.DEBUG, null);
+		assertTrue(policy.accept(level, null));
+
+	}
+
+	/**
+	 * Should accept only the levels more severe that the persist level.
+	 */
+	@Test
+	public void shouldAcceptOnlyMoreSevereLevels() {
+
+		final var policy = new LogPersistencePolicy(LogLevel.WARN, null);
+		assertTrue(policy.accept(LogLevel.ERROR, null));
+		assertTrue(policy.accept(LogLevel.WARN, null));
+		assertFalse(policy.accept(LogLevel.INFO, null));
+		assertFalse(policy.accept(LogLevel.DEBUG, null));
+
+	}
+
+	/**
+	 * Should accept the messages without level, as the ones submitted by the
+	 * components.
+	 */
+	@Test
+	public void shouldAcceptMessagesWithoutLevel() {
+
+		final var policy = new LogPersistencePolicy(LogLevel.ERROR, null);
+		assertTrue(policy.accept(null, null));
+
+	}
+
+	/**
+	 * Should store one of each rate messages of a sampled type.
+	 */
+	@Test
+	public void shouldSampleMessages() {
+
+		final var policy = new LogPersistencePolicy(LogLevel.DEBUG, Map.of("sampled", 10));
+		var accepted = 0;
+		for (var i = 0; i < 100; i++) {
+
+			if (policy.accept(LogLevel.DEBUG, "sampled")) {
+
+				accepted++;
+			}
+		}
+		assertEquals(10, accepted);
+
+	}
+
+	/**
+	 * Should store all the messages of a type without rate.
+	 */
+	@Test
+	public void shouldNotSampleUndefinedType() {
+
+		final var policy = new LogPersistencePolicy(LogLevel.DEBUG, Map.of("sampled", 10));
+		for (var i = 0; i < 100; i++) {
+
+			assertTrue(policy.accept(LogLevel.DEBUG, "undefined"));
+		}
+
+	}
+
+	/**
+	 * Should not sample the messages that are not accepted by level.
+	 */
+	@Test
+	public void shouldNotAcceptSampledMessageWithLowerLevel() {
+
+		final var policy = new LogPersistencePolicy(LogLevel.INFO, Map.of("sampled", 1));
+		assertFalse(policy.accept(LogLevel.DEBUG, "sampled"));
+		assertTrue(policy.accept(LogLevel.INFO, "sampled"));
+
+	}
+
+	/**
+	 * Should obtain the policy of the configuration.
+	 */
+	@Test
+	public void shouldObtainCurrentPolicy() {
+
+		final var policy = LogPersistencePolicy.current();
+		assertNotNull(policy);
+		assertTrue(policy.accept(LogLevel.ERROR, null));
+
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import eu.valawai.mov.TimeManager;
+import eu.valawai.mov.api.v1.logs.LogLevel;
+
+/**
+ * Test the {@link LogRetentionPolicy}.
+ *
+ * @see LogRetentionPolicy
+ *
+ * @author VALAWAI
+ */
+public class LogRetentionPolicyTest {
+
+	/**
+	 * Should use the default retention when the level is not defined.
+	 *
+	 * @param level to check.
+	 */
+	@ParameterizedTest(name = "Should use the default retention for the level {0}")
+	@EnumSource(LogLevel.class)
+	public void shouldUseDefaultRetention(LogLevel level) {
+
+		final var policy = new LogRetentionPolicy(100, null);
+		assertEquals(100, policy.retentionOf(level));
+
+	}
+
+	/**
+	 * Should use the retention of the level.
+	 */
+	@Test
+	public void shouldUseRetentionOfLevel() {
+
+		final var policy = new LogRetentionPolicy(100, Map.of("DEBUG", 10l, "ERROR", 1000l));
+		assertEquals(1000, policy.retentionOf(LogLevel.ERROR));
+		assertEquals(100, policy.retentionOf(LogLevel.WARN));
+		assertEquals(100, policy.retentionOf(LogLevel.INFO));
+		assertEquals(10, policy.retentionOf(LogLevel.DEBUG));
+		assertEquals(100, policy.retentionOf(null));
+
+	}
+
+	/**
+	 * Should not expire when the retention is zero or less.
+	 */
+	@Test
+	public void shouldNotExpire() {
+
+		final var policy = new LogRetentionPolicy(0, Map.of("DEBUG", -1l));
+		assertNull(policy.expireAt(LogLevel.DEBUG));
+		assertNull(policy.expireAt(LogLevel.INFO));
+
+	}
+
+	/**
+	 * Should expire after the retention of the level.
+	 */
+	@Test
+	public void shouldExpireAfterRetention() {
+
+		final var policy = new LogRetentionPolicy(100, Map.of("DEBUG", 10l));
+		final var now = TimeManager.now();
+		final var expireAt = policy.expireAt(LogLevel.DEBUG);
+		assertNotNull(expireAt);
+		final var seconds = expireAt.getTime() / 1000l;
+		assertTrue(now + 10 <= seconds);
+		assertTrue(seconds <= TimeManager.now() + 10);
+
+	}
+
+}
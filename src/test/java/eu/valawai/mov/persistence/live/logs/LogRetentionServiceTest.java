@@ -0,0 +1,84 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.MasterOfValawaiTestCase;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Test the {@link LogRetentionService}.
+ *
+ * @see LogRetentionService
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class LogRetentionServiceTest extends MasterOfValawaiTestCase {
+
+	/**
+	 * The service to test.
+	 */
+	@Inject
+	LogRetentionService retention;
+
+	/**
+	 * Should not remove any log without a maximum.
+	 */
+	@Test
+	public void shouldNotTrimWithoutMaximum() {
+
+		LogEntities.minLogs(10);
+		final long removed = this.assertItemNotNull(this.retention.trim(0));
+		assertEquals(0l, removed);
+
+	}
+
+	/**
+	 * Should not remove any log when there are less than the maximum.
+	 */
+	@Test
+	public void shouldNotTrimUnderMaximum() {
+
+		LogEntities.minLogs(10);
+		final long removed = this.assertItemNotNull(this.retention.trim(Long.MAX_VALUE));
+		assertEquals(0l, removed);
+
+	}
+
+	/**
+	 * Should remove the oldest logs when there are more than the maximum.
+	 */
+	@Test
+	public void shouldTrimOldestLogs() {
+
+		LogEntities.minLogs(20);
+		final var newest = LogEntities.nextLogs(5);
+		final long total = this.assertItemNotNull(LogEntity.count());
+
+		final long removed = this.assertItemNotNull(this.retention.trim(total - 3));
+		assertTrue(removed > 0);
+		for (final var log : newest) {
+
+			this.assertItemNotNull(LogEntity.findById(log.id));
+		}
+
+		final var status = this.assertItemNotNull(this.retention.status());
+		assertTrue(status.trimmed >= removed);
+		assertNotNull(status.lastTrimTimestamp);
+
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.logs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.MasterOfValawaiTestCase;
+import eu.valawai.mov.ValueGenerator;
+import eu.valawai.mov.api.v1.logs.LogLevel;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+
+/**
+ * Test the {@link LogWriter}.
+ *
+ * @see LogWriter
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class LogWriterTest extends MasterOfValawaiTestCase {
+
+	/**
+	 * The writer to test.
+	 */
+	@Inject
+	LogWriter writer;
+
+	/**
+	 * Should be the writer used by the logs.
+	 */
+	@Test
+	public void shouldBeCurrentWriter() {
+
+		assertNotNull(LogWriter.current());
+
+	}
+
+	/**
+	 * Should store a log.
+	 */
+	@Test
+	public void shouldWriteLog() {
+
+		final var log = new LogEntity();
+		log.level = LogLevel.INFO;
+		log.message = ValueGenerator.nextPattern("Log message {0}");
+		final var stored = this.assertItemNotNull(this.writer.write(log));
+		assertTrue(stored);
+
+		final LogEntity found = this.assertItemNotNull(LogEntity.find("message", log.message).firstResult());
+		assertEquals(LogLevel.INFO, found.level);
+
+	}
+
+	/**
+	 * Should store multiple logs in batches.
+	 */
+	@Test
+	public void shouldWriteLogsInBatches() {
+
+		final var before = this.writer.metrics();
+		final var pattern = ValueGenerator.nextPattern("Batch {0}") + " {0}";
+		final var writes = new ArrayList<Uni<Boolean>>();
+		final var max = 100;
+		for (var i = 0; i < max; i++) {
+
+			final var log = new LogEntity();
+			log.level = LogLevel.DEBUG;
+			log.message = MessageFormat.format(pattern, i);
+			writes.add(this.writer.write(log));
+		}
+		for (final var write : writes) {
+
+			assertTrue(this.assertItemNotNull(write));
+		}
+
+		final var after = this.writer.metrics();
+		assertTrue(after.batched >= before.batched + max);
+		assertTrue(after.batches > before.batches);
+		assertTrue(after.batches - before.batches <= max);
+
+	}
+
+}
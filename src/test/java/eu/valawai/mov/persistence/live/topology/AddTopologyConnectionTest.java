@@ -18,11 +18,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
 
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 
 import eu.valawai.mov.TimeManager;
 import eu.valawai.mov.ValueGenerator;
 import eu.valawai.mov.persistence.MovPersistenceTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
 import io.quarkus.test.junit.QuarkusTest;
 import io.smallrye.mutiny.Uni;
 
@@ -122,4 +124,16 @@ public class AddTopologyConnectionTest extends MovPersistenceTestCase {
 
 	}
 
+	/**
+	 * Check that the query of the connection to upsert uses an index.
+	 */
+	@Test
+	public void shouldUpsertFilterUseIndex() {
+
+		final var upsert = AddTopologyConnection.fresh().withSourceComponent(new ObjectId())
+				.withSourceChannel("valawai/c0/source/data/input").withTargetComponent(new ObjectId())
+				.withTargetChannel("valawai/c1/target/control/output").toUpsert();
+		QueryPlans.assertIndexed(TopologyConnectionEntity.mongoCollection(), upsert.getFilter(), null);
+	}
+
 }
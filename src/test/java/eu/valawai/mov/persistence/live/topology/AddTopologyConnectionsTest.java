@@ -0,0 +1,122 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.topology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.TimeManager;
+import eu.valawai.mov.ValueGenerator;
+import eu.valawai.mov.persistence.MovPersistenceTestCase;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Test the {@link AddTopologyConnections}.
+ *
+ * @see AddTopologyConnections
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class AddTopologyConnectionsTest extends MovPersistenceTestCase {
+
+	/**
+	 * Create the operation to add a connection between two nodes.
+	 *
+	 * @param source node of the connection.
+	 * @param target node of the connection.
+	 *
+	 * @return the operation to add the connection.
+	 */
+	private AddTopologyConnection connection(TopologyNode source, TopologyNode target) {
+
+		return AddTopologyConnection.fresh().withSourceComponent(source.componentId)
+				.withSourceChannel(source.channelName).withTargetComponent(target.componentId)
+				.withTargetChannel(target.channelName);
+	}
+
+	/**
+	 * Check that add nothing if no connections are defined.
+	 */
+	@Test
+	public void shouldAddNothing() {
+
+		final var ids = this.assertExecutionNotNull(AddTopologyConnections.fresh());
+		assertTrue(ids.isEmpty());
+	}
+
+	/**
+	 * Check that add some connections.
+	 */
+	@Test
+	public void shouldAddTopologyConnections() {
+
+		final var builder = new TopologyNodeTest();
+		final var now = TimeManager.now();
+		final var add = AddTopologyConnections.fresh();
+		final var sources = new TopologyNode[5];
+		final var targets = new TopologyNode[5];
+		for (var i = 0; i < sources.length; i++) {
+
+			sources[i] = builder.nextModel();
+			targets[i] = builder.nextModel();
+			add.withConnection(this.connection(sources[i], targets[i]));
+		}
+
+		final var ids = this.assertExecutionNotNull(add);
+		assertEquals(sources.length, ids.size());
+		for (var i = 0; i < sources.length; i++) {
+
+			final var connectionId = ids.get(i);
+			assertNotNull(connectionId);
+			final Uni<TopologyConnectionEntity> find = TopologyConnectionEntity.findById(connectionId);
+			final var entity = this.assertItemNotNull(find);
+			assertTrue(now <= entity.createTimestamp);
+			assertTrue(now <= entity.updateTimestamp);
+			assertNull(entity.deletedTimestamp);
+			assertFalse(entity.enabled);
+			assertEquals(sources[i], entity.source);
+			assertEquals(targets[i], entity.target);
+		}
+
+	}
+
+	/**
+	 * Check that not add the connections that are already defined.
+	 */
+	@Test
+	public void shouldNotAddDuplicatedTopologyConnections() {
+
+		final var builder = new TopologyNodeTest();
+		final var source = builder.nextModel();
+		final var target = builder.nextModel();
+		final var duplicated = new TopologyConnectionEntity();
+		duplicated.source = source;
+		duplicated.target = target;
+		duplicated.createTimestamp = ValueGenerator.nextPastTime();
+		duplicated.updateTimestamp = ValueGenerator.nextPastTime();
+		this.assertItemNotNull(duplicated.persist());
+
+		final var other = builder.nextModel();
+		final var ids = this.assertExecutionNotNull(AddTopologyConnections.fresh()
+				.withConnection(this.connection(source, target)).withConnection(this.connection(source, other))
+				.withConnection(this.connection(source, other)));
+		assertEquals(3, ids.size());
+		assertNull(ids.get(0));
+		assertTrue(ids.get(1) != null ^ ids.get(2) != null);
+
+	}
+
+}
@@ -0,0 +1,268 @@
+/*
+  Copyright 2022-2026 VALAWAI
+
+  Use of this source code is governed by GNU General Public License version 3
+  license that can be found in the LICENSE file or at
+  https://opensource.org/license/gpl-3-0/
+*/
+
+package eu.valawai.mov.persistence.live.topology;
+
+import static eu.valawai.mov.ValueGenerator.nextObjectId;
+import static eu.valawai.mov.ValueGenerator.nextPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import eu.valawai.mov.TimeManager;
+import eu.valawai.mov.events.topology.TopologyAction;
+import eu.valawai.mov.persistence.MovPersistenceTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
+import eu.valawai.mov.persistence.design.topology.TopologyGraphEntities;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Test the {@link ChangeTopologyConnections}.
+ *
+ * @see ChangeTopologyConnections
+ *
+ * @author VALAWAI
+ */
+@QuarkusTest
+public class ChangeTopologyConnectionsTest extends MovPersistenceTestCase {
+
+	/**
+	 * Create some live connections.
+	 *
+	 * @param enabled the state of the connections.
+	 *
+	 * @return the identifiers of the created connections.
+	 */
+	private List<ObjectId> nextConnections(boolean enabled) {
+
+		final var ids = new ArrayList<ObjectId>();
+		for (var i = 0; i < 5; i++) {
+
+			final var connection = TopologyConnectionEntities.nextTopologyConnection();
+			connection.enabled = enabled;
+			connection.deletedTimestamp = null;
+			this.assertItemNotNull(connection.update());
+			ids.add(connection.id);
+		}
+		return ids;
+	}
+
+	/**
+	 * Return a connection.
+	 *
+	 * @param connectionId identifier of the connection.
+	 *
+	 * @return the connection with the identifier.
+	 */
+	private TopologyConnectionEntity connection(ObjectId connectionId) {
+
+		final Uni<TopologyConnectionEntity> find = TopologyConnectionEntity.findById(connectionId);
+		return this.assertItemNotNull(find);
+	}
+
+	/**
+	 * Check that the operator without conditions does not have conditions.
+	 */
+	@Test
+	public void shouldNotHaveConditions() {
+
+		assertFalse(ChangeTopologyConnections.fresh().withAction(TopologyAction.REMOVE).hasConditions());
+		assertTrue(ChangeTopologyConnections.fresh().withChannel("channel").hasConditions());
+	}
+
+	/**
+	 * Check that not change undefined connections.
+	 */
+	@Test
+	public void shouldNotChangeUndefinedConnections() {
+
+		final var result = this.assertExecutionNotNull(ChangeTopologyConnections.fresh()
+				.withConnections(
+						List.of(TopologyConnectionEntities.undefined(), TopologyConnectionEntities.undefined()))
+				.withAction(TopologyAction.ENABLE));
+		assertTrue(result.isEmpty());
+	}
+
+	/**
+	 * Check that enable some connections.
+	 */
+	@Test
+	public void shouldEnableTopologyConnections() {
+
+		this.assertChangeConnections(TopologyAction.ENABLE);
+	}
+
+	/**
+	 * Check that disable some connections.
+	 */
+	@Test
+	public void shouldDisableTopologyConnections() {
+
+		this.assertChangeConnections(TopologyAction.DISABLE);
+	}
+
+	/**
+	 * Check that change the state of some connections.
+	 *
+	 * @param action to do over the connections.
+	 */
+	private void assertChangeConnections(TopologyAction action) {
+
+		final var enabled = action == TopologyAction.ENABLE;
+		final var toChange = this.nextConnections(!enabled);
+		final var unchanged = this.nextConnections(enabled);
+		final var all = new ArrayList<>(toChange);
+		all.addAll(unchanged);
+		final var now = TimeManager.now();
+		final var result = this.assertExecutionNotNull(
+				ChangeTopologyConnections.fresh().withConnections(all).withAction(action));
+		assertEquals(toChange.size(), result.size());
+		for (final var connection : result) {
+
+			assertTrue(toChange.contains(connection.id));
+			assertEquals(!enabled, connection.enabled);
+		}
+
+		for (final var connectionId : toChange) {
+
+			final var updated = this.connection(connectionId);
+			assertEquals(enabled, updated.enabled);
+			assertTrue(now <= updated.updateTimestamp);
+		}
+	}
+
+	/**
+	 * Check that remove the connections of a component.
+	 */
+	@Test
+	public void shouldRemoveConnectionsOfComponent() {
+
+		final var componentId = nextObjectId();
+		final var ids = this.nextConnections(true);
+		for (var i = 0; i < ids.size(); i++) {
+
+			final var connection = this.connection(ids.get(i));
+			if (i % 2 == 0) {
+
+				connection.source.componentId = componentId;
+
+			} else {
+
+				connection.target.componentId = componentId;
+			}
+			this.assertItemNotNull(connection.update());
+		}
+		final var other = this.nextConnections(true);
+
+		final var now = TimeManager.now();
+		final var result = this.assertExecutionNotNull(
+				ChangeTopologyConnections.fresh().withComponent(componentId).withAction(TopologyAction.REMOVE));
+		assertEquals(ids.size(), result.size());
+		for (final var connectionId : ids) {
+
+			final var removed = this.connection(connectionId);
+			assertNotNull(removed.deletedTimestamp);
+			assertTrue(now <= removed.deletedTimestamp);
+		}
+		for (final var connectionId : other) {
+
+			assertNull(this.connection(connectionId).deletedTimestamp);
+		}
+	}
+
+	/**
+	 * Check that disable the connections of a channel.
+	 */
+	@Test
+	public void shouldDisableConnectionsOfChannel() {
+
+		final var channelName = nextPattern("valawai/c0/test_{0}/data/channel");
+		final var ids = this.nextConnections(true);
+		for (var i = 0; i < ids.size(); i++) {
+
+			final var connection = this.connection(ids.get(i));
+			if (i % 2 == 0) {
+
+				connection.source.channelName = channelName;
+
+			} else {
+
+				connection.target.channelName = channelName;
+			}
+			this.assertItemNotNull(connection.update());
+		}
+
+		final var result = this.assertExecutionNotNull(
+				ChangeTopologyConnections.fresh().withChannel(channelName).withAction(TopologyAction.DISABLE));
+		assertEquals(ids.size(), result.size());
+		for (final var connectionId : ids) {
+
+			assertFalse(this.connection(connectionId).enabled);
+		}
+	}
+
+	/**
+	 * Check that enable the connections defined in a topology.
+	 */
+	@Test
+	public void shouldEnableConnectionsOfTopology() {
+
+		final var topology = TopologyGraphEntities.nextTopologyGraph();
+		final var ids = new ArrayList<ObjectId>();
+		for (final var node : topology.nodes) {
+
+			if (node.outputs != null) {
+
+				for (final var output : node.outputs) {
+
+					final var connection = TopologyConnectionEntities.nextTopologyConnection();
+					connection.enabled = false;
+					connection.deletedTimestamp = null;
+					connection.source.channelName = output.sourceChannel;
+					connection.target.channelName = output.targetChannel;
+					this.assertItemNotNull(connection.update());
+					ids.add(connection.id);
+				}
+			}
+		}
+		final var other = this.nextConnections(false);
+
+		final var result = this.assertExecutionNotNull(ChangeTopologyConnections.fresh().withTopology(topology.id)
+				.withConnections(ids).withAction(TopologyAction.ENABLE));
+		assertEquals(ids.size(), result.size());
+		for (final var connectionId : ids) {
+
+			assertTrue(this.connection(connectionId).enabled);
+		}
+
+		assertTrue(this.assertExecutionNotNull(ChangeTopologyConnections.fresh().withTopology(topology.id)
+				.withConnections(other).withAction(TopologyAction.ENABLE)).isEmpty());
+		assertTrue(this.assertExecutionNotNull(ChangeTopologyConnections.fresh()
+				.withTopology(TopologyGraphEntities.undefined()).withAction(TopologyAction.ENABLE)).isEmpty());
+	}
+
+	/**
+	 * Check that the query of the connections of a component uses an index.
+	 */
+	@Test
+	public void shouldFilterByComponentUseIndex() {
+
+		QueryPlans.assertIndexed(TopologyConnectionEntity.mongoCollection(), ChangeTopologyConnections.fresh()
+				.withComponent(new ObjectId()).withAction(TopologyAction.REMOVE).filter(null), null);
+	}
+
+}
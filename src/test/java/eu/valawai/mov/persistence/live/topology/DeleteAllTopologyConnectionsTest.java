@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 
 import eu.valawai.mov.TimeManager;
 import eu.valawai.mov.persistence.MovPersistenceTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
 import io.quarkus.test.junit.QuarkusTest;
 
 /**
@@ -50,4 +51,14 @@ public class DeleteAllTopologyConnectionsTest extends MovPersistenceTestCase {
 
 	}
 
+	/**
+	 * Check that the query of the connections to delete uses an index.
+	 */
+	@Test
+	public void shouldFilterUseIndex() {
+
+		QueryPlans.assertIndexed(TopologyConnectionEntity.mongoCollection(), DeleteAllTopologyConnections.filter(),
+				null);
+	}
+
 }
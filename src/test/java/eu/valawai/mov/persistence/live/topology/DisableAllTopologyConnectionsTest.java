@@ -21,6 +21,7 @@ import com.mongodb.client.model.Filters;
 
 import eu.valawai.mov.TimeManager;
 import eu.valawai.mov.persistence.MovPersistenceTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
 import io.quarkus.test.junit.QuarkusTest;
 
 /**
@@ -59,4 +60,14 @@ public class DisableAllTopologyConnectionsTest extends MovPersistenceTestCase {
 
 	}
 
+	/**
+	 * Check that the query of the connections to disable uses an index.
+	 */
+	@Test
+	public void shouldFilterUseIndex() {
+
+		QueryPlans.assertIndexed(TopologyConnectionEntity.mongoCollection(), DisableAllTopologyConnections.filter(),
+				null);
+	}
+
 }
@@ -18,11 +18,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 
 import eu.valawai.mov.TimeManager;
 import eu.valawai.mov.api.v1.components.ComponentType;
 import eu.valawai.mov.persistence.MovPersistenceTestCase;
+import eu.valawai.mov.persistence.QueryPlans;
 import eu.valawai.mov.persistence.live.components.ComponentEntities;
 import eu.valawai.mov.persistence.live.components.ComponentEntity;
 import io.quarkus.test.junit.QuarkusTest;
@@ -206,4 +208,15 @@ public class RemoveAllNotificationsWithComponentTest extends MovPersistenceTestC
 		}
 	}
 
+	/**
+	 * Check that the query of the connections that notify a component uses an
+	 * index.
+	 */
+	@Test
+	public void shouldFilterUseIndex() {
+
+		QueryPlans.assertIndexed(TopologyConnectionEntity.mongoCollection(),
+				RemoveAllNotificationsWithComponent.fresh().withComponent(new ObjectId()).filter(), null);
+	}
+
 }